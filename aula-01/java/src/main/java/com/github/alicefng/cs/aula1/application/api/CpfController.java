@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.application.api;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class CpfController {
+
+    /**
+     * Tipo de conteúdo da resposta (um objeto JSON por linha).
+     */
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Valida um lote de CPFs, um por linha (texto ou NDJSON com strings).
+     * A requisição é lida e a resposta é produzida à medida que os CPFs
+     * chegam, sem manter o lote em memória.
+     *
+     * @param entrada  Corpo da requisição
+     * @param resposta Resposta, na qual é escrito um objeto JSON por CPF
+     * @throws IOException Se ocorrer erro de leitura ou escrita
+     */
+    @CrossOrigin
+    @PostMapping(value = "cpf/lote", produces = NDJSON)
+    public void validaLote(final InputStream entrada,
+                           final HttpServletResponse resposta)
+            throws IOException {
+        resposta.setContentType(NDJSON);
+        ValidacaoCpfEmLote.valida(entrada, resposta.getOutputStream());
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.application.api;
+
+import com.github.alicefng.cs.aula1.domain.CpfUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validação em fluxo de CPFs, um por linha. Cada linha contém o CPF (com ou
+ * sem máscara), opcionalmente entre aspas (string JSON). Para cada linha não
+ * vazia é produzida uma linha JSON na saída:
+ * {@code {"cpf":"...","valido":true,"posicao":-1}}.
+ *
+ * <p>A entrada é lida em blocos de tamanho fixo e os CPFs são avaliados
+ * diretamente nos bytes lidos, de forma que a memória empregada não depende
+ * do tamanho do lote.</p>
+ */
+final class ValidacaoCpfEmLote {
+
+    /**
+     * Tamanho do bloco de leitura (e maior linha aceita).
+     */
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    /**
+     * Prefixo de cada linha produzida.
+     */
+    private static final byte[] PREFIXO = bytes("{\"cpf\":\"");
+
+    /**
+     * Trecho produzido para CPF válido.
+     */
+    private static final byte[] VALIDO = bytes("\",\"valido\":true,\"posicao\":");
+
+    /**
+     * Trecho produzido para CPF inválido.
+     */
+    private static final byte[] INVALIDO =
+            bytes("\",\"valido\":false,\"posicao\":");
+
+    /**
+     * Sufixo de cada linha produzida.
+     */
+    private static final byte[] SUFIXO = bytes("}\n");
+
+    /**
+     * Dígitos hexadecimais empregados para escapar caracteres de controle.
+     */
+    private static final byte[] HEXA = bytes("0123456789abcdef");
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private ValidacaoCpfEmLote() {
+    }
+
+    /**
+     * Valida os CPFs lidos da entrada e escreve os resultados na saída. A
+     * saída é descarregada sempre que um bloco da entrada é consumido.
+     *
+     * @param entrada Fluxo contendo um CPF por linha
+     * @param saida   Fluxo no qual os resultados são escritos
+     * @return A quantidade de CPFs avaliados
+     * @throws IOException Se ocorrer erro de leitura ou escrita
+     */
+    static long valida(final InputStream entrada, final OutputStream saida)
+            throws IOException {
+        final OutputStream destino = new BufferedOutputStream(saida,
+                TAMANHO_BUFFER);
+        final byte[] buffer = new byte[TAMANHO_BUFFER];
+        long total = 0;
+        int inicio = 0;
+        int fim = 0;
+        boolean descartando = false;
+
+        int lidos;
+        while ((lidos = entrada.read(buffer, fim, buffer.length - fim)) != -1) {
+            fim += lidos;
+            for (int i = inicio; i < fim; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                if (descartando) {
+                    descartando = false;
+                } else if (avalia(buffer, inicio, i, destino)) {
+                    total++;
+                }
+                inicio = i + 1;
+            }
+
+            if (inicio == 0 && fim == buffer.length) {
+                // Linha maior que o buffer: não é um CPF, descarta o restante.
+                if (!descartando && avalia(buffer, 0, fim, destino)) {
+                    total++;
+                }
+                descartando = true;
+                fim = 0;
+            } else {
+                System.arraycopy(buffer, inicio, buffer, 0, fim - inicio);
+                fim -= inicio;
+            }
+            inicio = 0;
+            destino.flush();
+        }
+
+        if (!descartando && fim > 0 && avalia(buffer, 0, fim, destino)) {
+            total++;
+        }
+        destino.flush();
+
+        return total;
+    }
+
+    /**
+     * Avalia o CPF contido em uma linha e escreve o resultado.
+     *
+     * @param dados   Vetor que contém a linha
+     * @param inicio  Início da linha (inclusive)
+     * @param fim     Fim da linha (exclusive, sem o '\n')
+     * @param destino Fluxo no qual o resultado é escrito
+     * @return verdadeiro, se a linha contém um CPF (não está vazia), falso,
+     * caso contrário
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    private static boolean avalia(final byte[] dados, final int inicio,
+                                  final int fim, final OutputStream destino)
+            throws IOException {
+        int primeiro = inicio;
+        int ultimo = fim;
+        while (primeiro < ultimo && dados[primeiro] <= ' ') {
+            primeiro++;
+        }
+        while (ultimo > primeiro && dados[ultimo - 1] <= ' ') {
+            ultimo--;
+        }
+        if (ultimo - primeiro >= 2 && dados[primeiro] == '"'
+                && dados[ultimo - 1] == '"') {
+            primeiro++;
+            ultimo--;
+        }
+        if (primeiro == ultimo) {
+            return false;
+        }
+
+        final int erro = CpfUtils.posicaoErroCPF(dados, primeiro, ultimo);
+        final int posicao = erro == CpfUtils.CPF_VALIDO
+                ? erro
+                : erro - primeiro;
+
+        destino.write(PREFIXO);
+        escreveEscapado(dados, primeiro, ultimo, destino);
+        destino.write(erro == CpfUtils.CPF_VALIDO ? VALIDO : INVALIDO);
+        escreveInteiro(posicao, destino);
+        destino.write(SUFIXO);
+
+        return true;
+    }
+
+    /**
+     * Escreve bytes como conteúdo de uma string JSON, escapando aspas, barras
+     * invertidas e caracteres de controle.
+     *
+     * @param dados   Vetor que contém os bytes
+     * @param inicio  Posição inicial (inclusive)
+     * @param fim     Posição final (exclusive)
+     * @param destino Fluxo no qual os bytes são escritos
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    private static void escreveEscapado(final byte[] dados, final int inicio,
+                                        final int fim,
+                                        final OutputStream destino)
+            throws IOException {
+        final int deslocamento = 4;
+        final int mascara = 0xF;
+        for (int i = inicio; i < fim; i++) {
+            final byte b = dados[i];
+            if (b == '"' || b == '\\') {
+                destino.write('\\');
+                destino.write(b);
+            } else if (b >= 0 && b < ' ') {
+                destino.write('\\');
+                destino.write('u');
+                destino.write('0');
+                destino.write('0');
+                destino.write(HEXA[(b >> deslocamento) & mascara]);
+                destino.write(HEXA[b & mascara]);
+            } else {
+                destino.write(b);
+            }
+        }
+    }
+
+    /**
+     * Escreve um inteiro em notação decimal (ASCII).
+     *
+     * @param valor   O valor a ser escrito
+     * @param destino Fluxo no qual o valor é escrito
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    private static void escreveInteiro(final int valor,
+                                       final OutputStream destino)
+            throws IOException {
+        final int base = 10;
+        if (valor < 0) {
+            destino.write('-');
+            escreveInteiro(-valor, destino);
+            return;
+        }
+        if (valor >= base) {
+            escreveInteiro(valor / base, destino);
+        }
+        destino.write('0' + valor % base);
+    }
+
+    /**
+     * Converte um texto ASCII em bytes.
+     *
+     * @param texto O texto a ser convertido
+     * @return Os bytes correspondentes
+     */
+    private static byte[] bytes(final String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Pacote do repositório "cs-2019-01". Contém a API REST para validação de
+ * CPFs: (a) {@link com.github.alicefng.cs.aula1.application.api.Application},
+ * (b) {@link com.github.alicefng.cs.aula1.application.api.CpfController} e
+ * (c) {@link com.github.alicefng.cs.aula1.application.api.ValidacaoCpfEmLote}.
+ *
+ * @see com.github.alicefng.cs.aula1.application.api.CpfController
+ * @see com.github.alicefng.cs.aula1.application.api.ValidacaoCpfEmLote
+ */
+package com.github.alicefng.cs.aula1.application.api;
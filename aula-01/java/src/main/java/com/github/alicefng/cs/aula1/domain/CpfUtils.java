@@ -54,6 +54,32 @@ public final class CpfUtils {
      */
     private static final int DIGITO_11 = 10;
 
+    /**
+     * Valor produzido por {@link #posicaoErroCPF(CharSequence)} quando o CPF
+     * é válido (não há posição de erro).
+     */
+    public static final int CPF_VALIDO = -1;
+
+    /**
+     * Tamanho de um CPF com máscara (formato "ddd.ddd.ddd-dd").
+     */
+    private static final int TAMANHO_CPF_MASCARA = 14;
+
+    /**
+     * Posição do primeiro ponto em um CPF com máscara.
+     */
+    private static final int PRIMEIRO_PONTO = 3;
+
+    /**
+     * Posição do segundo ponto em um CPF com máscara.
+     */
+    private static final int SEGUNDO_PONTO = 7;
+
+    /**
+     * Posição do hífen em um CPF com máscara.
+     */
+    private static final int HIFEN = 11;
+
     /**
      * Previne a classe utilitária de ser instanciada.
      */
@@ -200,4 +226,200 @@ public final class CpfUtils {
         return converteCaracteresEmInteiros(cpf);
     }
 
+    /**
+     * Avalia se CPF fornecido, com ou sem máscara ("ddd.ddd.ddd-dd" ou
+     * "ddddddddddd"), é válido.
+     *
+     * @param cpf Sequência de caracteres que contém o CPF
+     * @return verdadeiro, se o CPF está bem formado e os dígitos
+     * verificadores estão corretos, falso, caso contrário
+     * @throws IllegalArgumentException Se argumento é null
+     */
+    public static boolean validarCPF(final CharSequence cpf) {
+        return posicaoErroCPF(cpf) == CPF_VALIDO;
+    }
+
+    /**
+     * Identifica a posição do primeiro erro em um CPF, com ou sem máscara.
+     * Os caracteres são lidos diretamente da sequência fornecida, sem
+     * produzir cópias nem empregar expressões regulares.
+     *
+     * <p>A posição produzida é a do primeiro caractere que não é o esperado
+     * (separador ou dígito), a do dígito verificador incorreto ou, se a
+     * sequência é curta, o seu tamanho.</p>
+     *
+     * @param cpf Sequência de caracteres que contém o CPF
+     * @return {@link #CPF_VALIDO}, se o CPF é válido, ou a posição do
+     * primeiro erro, caso contrário
+     * @throws IllegalArgumentException Se argumento é null
+     */
+    public static int posicaoErroCPF(final CharSequence cpf) {
+        if (cpf == null) {
+            throw new IllegalArgumentException("cpf null");
+        }
+
+        final int tamanho = cpf.length();
+        final boolean mascara = tamanho > PRIMEIRO_PONTO
+                && cpf.charAt(PRIMEIRO_PONTO) == '.';
+        final int esperado = mascara ? TAMANHO_CPF_MASCARA : TAMANHO_CPF;
+
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int digito = 0;
+        for (int i = 0; i < esperado; i++) {
+            if (i >= tamanho) {
+                return tamanho;
+            }
+
+            final char c = cpf.charAt(i);
+            final char separador = mascara ? separadorEsperado(i) : 0;
+            if (separador != 0) {
+                if (c != separador) {
+                    return i;
+                }
+                continue;
+            }
+
+            if (c < '0' || c > '9') {
+                return i;
+            }
+
+            final int valor = c - '0';
+            if (!confereDigito(digito, valor, somaPrimeiro, somaSegundo)) {
+                return i;
+            }
+            somaPrimeiro += pesoPrimeiro(digito) * valor;
+            somaSegundo += pesoSegundo(digito) * valor;
+            digito++;
+        }
+
+        return tamanho > esperado ? esperado : CPF_VALIDO;
+    }
+
+    /**
+     * Identifica a posição do primeiro erro em um CPF, com ou sem máscara,
+     * contido em um intervalo de bytes (ASCII ou UTF-8). Os bytes são lidos
+     * diretamente do vetor, sem conversão para {@link String}.
+     *
+     * @param dados  Vetor de bytes que contém o CPF
+     * @param inicio Posição do primeiro byte do CPF (inclusive)
+     * @param fim    Posição final do CPF (exclusive)
+     * @return {@link #CPF_VALIDO}, se o CPF é válido, ou a posição (no vetor)
+     * do primeiro byte com erro, caso contrário
+     * @throws IllegalArgumentException Se o vetor é null ou o intervalo não
+     *                                  está contido no vetor
+     */
+    public static int posicaoErroCPF(final byte[] dados, final int inicio,
+                                     final int fim) {
+        if (dados == null) {
+            throw new IllegalArgumentException("dados null");
+        }
+        if (inicio < 0 || fim < inicio || fim > dados.length) {
+            throw new IllegalArgumentException(String.format(
+                    "intervalo inválido: [%d, %d)", inicio, fim));
+        }
+
+        final int tamanho = fim - inicio;
+        final boolean mascara = tamanho > PRIMEIRO_PONTO
+                && dados[inicio + PRIMEIRO_PONTO] == '.';
+        final int esperado = mascara ? TAMANHO_CPF_MASCARA : TAMANHO_CPF;
+
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int digito = 0;
+        for (int i = 0; i < esperado; i++) {
+            if (i >= tamanho) {
+                return fim;
+            }
+
+            final byte b = dados[inicio + i];
+            final char separador = mascara ? separadorEsperado(i) : 0;
+            if (separador != 0) {
+                if (b != separador) {
+                    return inicio + i;
+                }
+                continue;
+            }
+
+            if (b < '0' || b > '9') {
+                return inicio + i;
+            }
+
+            final int valor = b - '0';
+            if (!confereDigito(digito, valor, somaPrimeiro, somaSegundo)) {
+                return inicio + i;
+            }
+            somaPrimeiro += pesoPrimeiro(digito) * valor;
+            somaSegundo += pesoSegundo(digito) * valor;
+            digito++;
+        }
+
+        return tamanho > esperado ? inicio + esperado : CPF_VALIDO;
+    }
+
+    /**
+     * Identifica o separador esperado em uma posição de um CPF com máscara.
+     *
+     * @param posicao Posição no CPF com máscara
+     * @return O separador ('.' ou '-') esperado na posição, ou 0, se na
+     * posição é esperado um dígito
+     */
+    private static char separadorEsperado(final int posicao) {
+        switch (posicao) {
+            case PRIMEIRO_PONTO:
+            case SEGUNDO_PONTO:
+                return '.';
+            case HIFEN:
+                return '-';
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Peso de um dígito no cálculo do primeiro dígito verificador.
+     *
+     * @param digito Índice do dígito no CPF (0 a 10)
+     * @return O peso do dígito (1 a 9), ou 0, se o dígito não participa
+     */
+    private static int pesoPrimeiro(final int digito) {
+        return digito < DIGITO_10 ? digito + 1 : 0;
+    }
+
+    /**
+     * Peso de um dígito no cálculo do segundo dígito verificador.
+     *
+     * @param digito Índice do dígito no CPF (0 a 10)
+     * @return O peso do dígito (1 a 9), ou 0, se o dígito não participa
+     */
+    private static int pesoSegundo(final int digito) {
+        return digito < DIGITO_11 ? digito : 0;
+    }
+
+    /**
+     * Confere, quando se trata de um dígito verificador, se o valor lido
+     * corresponde ao valor calculado a partir dos dígitos anteriores.
+     *
+     * @param digito       Índice do dígito no CPF (0 a 10)
+     * @param valor        Valor lido para o dígito
+     * @param somaPrimeiro Soma ponderada para o primeiro verificador
+     * @param somaSegundo  Soma ponderada para o segundo verificador
+     * @return falso, se o dígito é verificador e não confere, verdadeiro,
+     * caso contrário
+     */
+    private static boolean confereDigito(final int digito, final int valor,
+                                         final int somaPrimeiro,
+                                         final int somaSegundo) {
+        final int numeroDigitos = 11;
+        final int constante = 10;
+        if (digito == DIGITO_10) {
+            return valor == (somaPrimeiro % numeroDigitos) % constante;
+        }
+        if (digito == DIGITO_11) {
+            return valor == (somaSegundo % numeroDigitos) % constante;
+        }
+
+        return true;
+    }
+
 }
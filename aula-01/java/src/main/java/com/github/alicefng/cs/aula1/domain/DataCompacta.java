@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.domain;
+
+import java.util.Arrays;
+
+/**
+ * Datas representadas como um único {@code int}, sem a criação de objetos.
+ * Dois formatos são empregados: {@code yyyymmdd} (por exemplo, 20190513),
+ * cuja ordem numérica coincide com a ordem temporal, e dia da época
+ * (quantidade de dias desde 01/01/1970), adequado para aritmética.
+ *
+ * <p>As conversões entre os formatos seguem o calendário gregoriano
+ * proléptico e são feitas em tempo constante. Vetores ordenados de datas no
+ * formato {@code yyyymmdd} (colunas) podem ser consultados por intervalo
+ * via busca binária.</p>
+ */
+public final class DataCompacta {
+
+    /**
+     * Menor ano representável no formato {@code yyyymmdd}.
+     */
+    private static final int MENOR_ANO = 1;
+
+    /**
+     * Maior ano representável no formato {@code yyyymmdd}.
+     */
+    private static final int MAIOR_ANO = 9999;
+
+    /**
+     * Fator do ano no formato {@code yyyymmdd}.
+     */
+    private static final int FATOR_ANO = 10000;
+
+    /**
+     * Fator do mês no formato {@code yyyymmdd}.
+     */
+    private static final int FATOR_MES = 100;
+
+    /**
+     * Último mês do ano.
+     */
+    private static final int DEZEMBRO = 12;
+
+    /**
+     * Mês de fevereiro.
+     */
+    private static final int FEVEREIRO = 2;
+
+    /**
+     * Quantidade de dias em um ciclo de 400 anos do calendário gregoriano.
+     */
+    private static final int DIAS_POR_ERA = 146097;
+
+    /**
+     * Quantidade de anos em um ciclo (era) do calendário gregoriano.
+     */
+    private static final int ANOS_POR_ERA = 400;
+
+    /**
+     * Dias entre 01/03/0000 e 01/01/1970.
+     */
+    private static final int DESLOCAMENTO_EPOCA = 719468;
+
+    /**
+     * Dia da semana de 01/01/1970 (quinta-feira, com 0 = segunda).
+     */
+    private static final int DIA_DA_SEMANA_EPOCA = 3;
+
+    /**
+     * Total de dias da semana.
+     */
+    private static final int DIAS_DA_SEMANA = 7;
+
+    /**
+     * Quantidade de dias de cada mês (1 a 12) em ano comum.
+     */
+    private static final int[] DIAS_NO_MES =
+            {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private DataCompacta() {
+    }
+
+    /**
+     * Produz a data no formato {@code yyyymmdd}.
+     *
+     * @param ano Ano (1 a 9999)
+     * @param mes Mês (1 a 12)
+     * @param dia Dia do mês
+     * @return A data no formato {@code yyyymmdd}
+     * @throws IllegalArgumentException Se os argumentos não formam uma data
+     *                                  válida
+     */
+    public static int codifica(final int ano, final int mes, final int dia) {
+        if (!dataValida(ano, mes, dia)) {
+            throw new IllegalArgumentException(String.format(
+                    "data inválida: %d/%d/%d", dia, mes, ano));
+        }
+
+        return ano * FATOR_ANO + mes * FATOR_MES + dia;
+    }
+
+    /**
+     * Obtém o ano de uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data no formato {@code yyyymmdd}
+     * @return O ano da data
+     */
+    public static int ano(final int data) {
+        return data / FATOR_ANO;
+    }
+
+    /**
+     * Obtém o mês de uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data no formato {@code yyyymmdd}
+     * @return O mês da data
+     */
+    public static int mes(final int data) {
+        return data / FATOR_MES % FATOR_MES;
+    }
+
+    /**
+     * Obtém o dia do mês de uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data no formato {@code yyyymmdd}
+     * @return O dia do mês da data
+     */
+    public static int dia(final int data) {
+        return data % FATOR_MES;
+    }
+
+    /**
+     * Avalia se um ano é bissexto.
+     *
+     * @param ano O ano a ser avaliado
+     * @return verdadeiro, se o ano é bissexto, falso, caso contrário
+     */
+    public static boolean isBissexto(final int ano) {
+        final int quatro = 4;
+        final int cem = 100;
+        return ano % quatro == 0 && (ano % cem != 0 || ano % ANOS_POR_ERA == 0);
+    }
+
+    /**
+     * Avalia se uma data no formato {@code yyyymmdd} é válida.
+     *
+     * @param data Data no formato {@code yyyymmdd}
+     * @return verdadeiro, se a data é válida, falso, caso contrário
+     */
+    public static boolean dataValida(final int data) {
+        return data > 0 && dataValida(ano(data), mes(data), dia(data));
+    }
+
+    /**
+     * Avalia se ano, mês e dia formam uma data válida e representável.
+     *
+     * @param ano Ano
+     * @param mes Mês
+     * @param dia Dia do mês
+     * @return verdadeiro, se a data é válida, falso, caso contrário
+     */
+    private static boolean dataValida(final int ano, final int mes,
+                                      final int dia) {
+        if (ano < MENOR_ANO || ano > MAIOR_ANO || mes < 1 || mes > DEZEMBRO
+                || dia < 1) {
+            return false;
+        }
+
+        final int ultimoDia = mes == FEVEREIRO && isBissexto(ano)
+                ? DIAS_NO_MES[mes] + 1
+                : DIAS_NO_MES[mes];
+        return dia <= ultimoDia;
+    }
+
+    /**
+     * Converte uma data no formato {@code yyyymmdd} em dia da época.
+     *
+     * @param data Data válida no formato {@code yyyymmdd}
+     * @return Quantidade de dias desde 01/01/1970 (negativa para datas
+     * anteriores)
+     */
+    public static int paraDiaDaEpoca(final int data) {
+        final int mes = mes(data);
+        final int ano = mes <= FEVEREIRO ? ano(data) - 1 : ano(data);
+        final int era = ano / ANOS_POR_ERA;
+        final int anoDaEra = ano - era * ANOS_POR_ERA;
+
+        // Ano iniciado em março: fevereiro (e o dia bissexto) ao final.
+        final int mesDesdeMarco = mes > FEVEREIRO ? mes - 3 : mes + 9;
+        final int diaDoAno = (153 * mesDesdeMarco + 2) / 5 + dia(data) - 1;
+        final int diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100
+                + diaDoAno;
+
+        return era * DIAS_POR_ERA + diaDaEra - DESLOCAMENTO_EPOCA;
+    }
+
+    /**
+     * Converte um dia da época em data no formato {@code yyyymmdd}.
+     *
+     * @param diaDaEpoca Quantidade de dias desde 01/01/1970
+     * @return A data correspondente no formato {@code yyyymmdd}
+     */
+    public static int deDiaDaEpoca(final int diaDaEpoca) {
+        final int dias = diaDaEpoca + DESLOCAMENTO_EPOCA;
+        final int era = Math.floorDiv(dias, DIAS_POR_ERA);
+        final int diaDaEra = dias - era * DIAS_POR_ERA;
+        final int anoDaEra = (diaDaEra - diaDaEra / 1460 + diaDaEra / 36524
+                - diaDaEra / (DIAS_POR_ERA - 1)) / 365;
+        final int diaDoAno = diaDaEra
+                - (365 * anoDaEra + anoDaEra / 4 - anoDaEra / 100);
+        final int mesDesdeMarco = (5 * diaDoAno + 2) / 153;
+        final int dia = diaDoAno - (153 * mesDesdeMarco + 2) / 5 + 1;
+        final int mes = mesDesdeMarco < 10
+                ? mesDesdeMarco + 3
+                : mesDesdeMarco - 9;
+        final int ano = anoDaEra + era * ANOS_POR_ERA
+                + (mes <= FEVEREIRO ? 1 : 0);
+
+        return ano * FATOR_ANO + mes * FATOR_MES + dia;
+    }
+
+    /**
+     * Obtém o dia da semana de uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data válida no formato {@code yyyymmdd}
+     * @return O código do dia da semana (0 = segunda, 1 = terça, e assim
+     * sucessivamente; ver {@link DiaDaSemana#doCodigo(int)})
+     */
+    public static int diaDaSemana(final int data) {
+        return Math.floorMod(paraDiaDaEpoca(data) + DIA_DA_SEMANA_EPOCA,
+                DIAS_DA_SEMANA);
+    }
+
+    /**
+     * Adiciona dias a uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data válida no formato {@code yyyymmdd}
+     * @param dias Quantidade de dias a adicionar (negativa para subtrair)
+     * @return A data resultante no formato {@code yyyymmdd}
+     */
+    public static int adicionaDias(final int data, final int dias) {
+        return deDiaDaEpoca(paraDiaDaEpoca(data) + dias);
+    }
+
+    /**
+     * Calcula a diferença, em dias, entre duas datas no formato
+     * {@code yyyymmdd}.
+     *
+     * @param inicio Data inicial
+     * @param fim    Data final
+     * @return Quantidade de dias de inicio até fim (negativa se fim é
+     * anterior a inicio)
+     */
+    public static int diferencaEmDias(final int inicio, final int fim) {
+        return paraDiaDaEpoca(fim) - paraDiaDaEpoca(inicio);
+    }
+
+    /**
+     * Produz uma coluna de datas: cópia ordenada das datas fornecidas.
+     *
+     * @param datas Datas no formato {@code yyyymmdd}
+     * @return Vetor ordenado com as datas
+     * @throws IllegalArgumentException Se o argumento é null
+     */
+    public static int[] coluna(final int[] datas) {
+        if (datas == null) {
+            throw new IllegalArgumentException("datas null");
+        }
+
+        final int[] coluna = datas.clone();
+        Arrays.parallelSort(coluna);
+        return coluna;
+    }
+
+    /**
+     * Identifica a posição da primeira data, em uma coluna ordenada, que não
+     * é anterior à data fornecida.
+     *
+     * @param coluna Vetor ordenado de datas (ver {@link #coluna(int[])})
+     * @param data   Data no formato {@code yyyymmdd}
+     * @return A posição da primeira data maior ou igual a data, ou o tamanho
+     * da coluna, se não há tal data
+     */
+    public static int primeiraPosicao(final int[] coluna, final int data) {
+        int inicio = 0;
+        int fim = coluna.length;
+        while (inicio < fim) {
+            final int meio = (inicio + fim) >>> 1;
+            if (coluna[meio] < data) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+
+        return inicio;
+    }
+
+    /**
+     * Conta as datas de uma coluna ordenada contidas em um intervalo.
+     *
+     * @param coluna Vetor ordenado de datas (ver {@link #coluna(int[])})
+     * @param inicio Data inicial do intervalo (inclusive)
+     * @param fim    Data final do intervalo (inclusive)
+     * @return Quantidade de datas no intervalo
+     */
+    public static int contaNoIntervalo(final int[] coluna, final int inicio,
+                                       final int fim) {
+        if (fim < inicio) {
+            return 0;
+        }
+
+        return posicaoApos(coluna, fim) - primeiraPosicao(coluna, inicio);
+    }
+
+    /**
+     * Produz as datas de uma coluna ordenada contidas em um intervalo.
+     *
+     * @param coluna Vetor ordenado de datas (ver {@link #coluna(int[])})
+     * @param inicio Data inicial do intervalo (inclusive)
+     * @param fim    Data final do intervalo (inclusive)
+     * @return Vetor ordenado com as datas do intervalo
+     */
+    public static int[] datasNoIntervalo(final int[] coluna, final int inicio,
+                                         final int fim) {
+        if (fim < inicio) {
+            return new int[0];
+        }
+
+        return Arrays.copyOfRange(coluna, primeiraPosicao(coluna, inicio),
+                posicaoApos(coluna, fim));
+    }
+
+    /**
+     * Identifica a posição da primeira data, em uma coluna ordenada,
+     * posterior à data fornecida.
+     *
+     * @param coluna Vetor ordenado de datas
+     * @param data   Data no formato {@code yyyymmdd}
+     * @return A posição da primeira data maior que data
+     */
+    private static int posicaoApos(final int[] coluna, final int data) {
+        return data == Integer.MAX_VALUE
+                ? coluna.length
+                : primeiraPosicao(coluna, data + 1);
+    }
+
+}
@@ -6,6 +6,8 @@
 
 package com.github.alicefng.cs.aula1.domain;
 
+import java.util.Arrays;
+
 /**
  * Implementação do algoritmo para calcular o  dia da semana de acordo com uma
  * data válida fornecida.
@@ -43,6 +45,86 @@ public final class DataUtils {
      */
     private static final int MENOR_ANO = 1753;
 
+    /**
+     * Situação de uma data válida (ver {@link #validaData(int, int, int)}).
+     */
+    public static final int DATA_VALIDA = 0;
+
+    /**
+     * Situação de uma data cujo dia é inválido.
+     */
+    public static final int DIA_INVALIDO = -1;
+
+    /**
+     * Situação de uma data cujo mês é inválido.
+     */
+    public static final int MES_INVALIDO = -2;
+
+    /**
+     * Situação de uma data cujo ano é inválido.
+     */
+    public static final int ANO_INVALIDO = -3;
+
+    /**
+     * Total de dias da semana.
+     */
+    private static final int DIAS_DA_SEMANA = 7;
+
+    /**
+     * Quantidade de anos em um século.
+     */
+    private static final int ANOS_POR_SECULO = 100;
+
+    /**
+     * Período (em séculos) após o qual a contribuição do século para o dia
+     * da semana se repete.
+     */
+    private static final int PERIODO_SECULOS = 28;
+
+    /**
+     * Quantidade de datas a partir da qual o cálculo em lote é feito em
+     * paralelo.
+     */
+    private static final int LIMIAR_PARALELO = 1 << 13;
+
+    /**
+     * Contribuição (módulo 7) de cada mês (1 a 12) para o dia da semana.
+     * Janeiro e fevereiro são tratados como meses 13 e 14 do ano anterior.
+     */
+    private static final int[] DESLOCAMENTO_MES = new int[DEZEMBRO + 1];
+
+    /**
+     * Contribuição (módulo 7) do século, indexada por século módulo 28.
+     */
+    private static final int[] DESLOCAMENTO_SECULO = new int[PERIODO_SECULOS];
+
+    /**
+     * Contribuição (módulo 7) do ano dentro do século (0 a 99).
+     */
+    private static final int[] DESLOCAMENTO_ANO = new int[ANOS_POR_SECULO];
+
+    static {
+        final int totalMesesDeAno = 12;
+        for (int mes = JANEIRO; mes <= DEZEMBRO; mes++) {
+            final int mesAux = mes == JANEIRO || mes == FEVEREIRO
+                    ? mes + totalMesesDeAno
+                    : mes;
+            DESLOCAMENTO_MES[mes] = (2 * mesAux + 3 * (mesAux + 1) / 5)
+                    % DIAS_DA_SEMANA;
+        }
+
+        // ano = 100 * c + r: ano + ano/4 - ano/100 + ano/400
+        // = (124 * c + c/4) + (r + r/4).
+        final int fatorSeculo = 124;
+        for (int c = 0; c < PERIODO_SECULOS; c++) {
+            DESLOCAMENTO_SECULO[c] = (fatorSeculo * c + c / 4)
+                    % DIAS_DA_SEMANA;
+        }
+        for (int r = 0; r < ANOS_POR_SECULO; r++) {
+            DESLOCAMENTO_ANO[r] = (r + r / 4) % DIAS_DA_SEMANA;
+        }
+    }
+
     /**
      * Previne a classe utilitária de ser instanciada.
      */
@@ -88,6 +170,32 @@ public final class DataUtils {
         }
     }
 
+    /**
+     * Avalia se uma data é válida, sem lançar exceção.
+     *
+     * @param dia Inteiro que informa dia do mês
+     * @param mes Inteiro que informa mês do ano
+     * @param ano Inteiro que informa ano
+     * @return {@link #DATA_VALIDA}, se a data é válida, ou a situação
+     * correspondente ao primeiro argumento inválido
+     * ({@link #DIA_INVALIDO}, {@link #MES_INVALIDO} ou
+     * {@link #ANO_INVALIDO})
+     */
+    public static int validaData(final int dia, final int mes,
+                                 final int ano) {
+        if (dia < MENOR_DIA || dia > MAIOR_DIA) {
+            return DIA_INVALIDO;
+        }
+        if (mes < JANEIRO || mes > DEZEMBRO) {
+            return MES_INVALIDO;
+        }
+        if (ano <= MENOR_ANO) {
+            return ANO_INVALIDO;
+        }
+
+        return DATA_VALIDA;
+    }
+
     /**
      * Transforma inteiros (0 a 6) em strings correspondetes aos dias da semana.
      *
@@ -98,17 +206,7 @@ public final class DataUtils {
      *                                  amplitude
      */
     public static String diaDaSemanaToString(final int dia) {
-        final int maximoDiasSemana = 6;
-        if (dia < 0 || dia > maximoDiasSemana) {
-            throw new IllegalArgumentException(String.format(
-                    "dia inválido: %d. dia deve estar entre 0 e 6", dia));
-        }
-
-        final String[] nomesDiasDaSemana = {"segunda-feira", "terça-feira",
-                "quarta-feira", "quinta-feira", "sexta-feira", "sábado",
-                "domingo"};
-
-        return nomesDiasDaSemana[dia];
+        return DiaDaSemana.doCodigo(dia).getNome();
     }
 
     /**
@@ -124,23 +222,107 @@ public final class DataUtils {
     public static String diaDaSemana(final int dia, final int mes,
                                      final int ano)
             throws DataInvalidaException {
+        return diaDaSemanaEnum(dia, mes, ano).getNome();
+    }
+
+    /**
+     * Calcula o dia da semana equivalente a data fornecida.
+     *
+     * @param dia Inteiro que informa dia do mês
+     * @param mes Inteiro que informa mês do ano
+     * @param ano Inteiro que informa ano
+     * @return O dia da semana correspondente a data fornecida
+     * @throws DataInvalidaException Se algum dos argumentos for uma
+     *                               data inválida
+     */
+    public static DiaDaSemana diaDaSemanaEnum(final int dia, final int mes,
+                                              final int ano)
+            throws DataInvalidaException {
         validaDia(dia);
         validaMes(mes);
         validaAno(ano);
 
-        final int totalMesesDeAno = 12;
-        final int mesAux = mes == JANEIRO || mes == FEVEREIRO
-                ? mes + totalMesesDeAno
-                : mes;
+        return DiaDaSemana.doCodigo(calculaDiaDaSemana(dia, mes, ano));
+    }
+
+    /**
+     * Calcula o dia da semana equivalente a data fornecida, sem lançar
+     * exceção.
+     *
+     * @param dia Inteiro que informa dia do mês
+     * @param mes Inteiro que informa mês do ano
+     * @param ano Inteiro que informa ano
+     * @return O código do dia da semana (0 = segunda, 1 = terça, e assim
+     * sucessivamente; ver {@link DiaDaSemana#doCodigo(int)}) ou, se a data
+     * é inválida, a situação produzida por
+     * {@link #validaData(int, int, int)} (valor negativo)
+     */
+    public static int codigoDiaDaSemana(final int dia, final int mes,
+                                        final int ano) {
+        final int situacao = validaData(dia, mes, ano);
+        if (situacao != DATA_VALIDA) {
+            return situacao;
+        }
+
+        return calculaDiaDaSemana(dia, mes, ano);
+    }
+
+    /**
+     * Calcula o dia da semana de cada data fornecida no formato
+     * {@code yyyymmdd} (por exemplo, 20190513). Vetores grandes são
+     * processados em paralelo.
+     *
+     * @param datas Datas no formato {@code yyyymmdd}
+     * @return Vetor com o código do dia da semana de cada data, na mesma
+     * ordem, conforme {@link #codigoDiaDaSemana(int, int, int)}
+     * @throws IllegalArgumentException Se o argumento é null
+     */
+    public static int[] diaDaSemana(final int[] datas) {
+        if (datas == null) {
+            throw new IllegalArgumentException("datas null");
+        }
+
+        final int[] dias = new int[datas.length];
+        if (datas.length < LIMIAR_PARALELO) {
+            Arrays.setAll(dias, i -> codigoDiaDaSemana(datas[i]));
+        } else {
+            Arrays.parallelSetAll(dias, i -> codigoDiaDaSemana(datas[i]));
+        }
+
+        return dias;
+    }
+
+    /**
+     * Calcula o dia da semana de uma data no formato {@code yyyymmdd}.
+     *
+     * @param data Data no formato {@code yyyymmdd}
+     * @return O código do dia da semana ou a situação da data inválida
+     */
+    private static int codigoDiaDaSemana(final int data) {
+        return codigoDiaDaSemana(DataCompacta.dia(data),
+                DataCompacta.mes(data), DataCompacta.ano(data));
+    }
+
+    /**
+     * Calcula o dia da semana de uma data válida por meio das tabelas de
+     * deslocamento de mês, século e ano.
+     *
+     * @param dia Inteiro que informa dia do mês
+     * @param mes Inteiro que informa mês do ano
+     * @param ano Inteiro que informa ano
+     * @return O código do dia da semana (0 = segunda)
+     */
+    private static int calculaDiaDaSemana(final int dia, final int mes,
+                                          final int ano) {
         final int anoAux = mes == JANEIRO || mes == FEVEREIRO
                 ? ano - 1
                 : ano;
+        final int seculo = anoAux / ANOS_POR_SECULO;
 
-        final int diaDaSemana = dia + 2 * mesAux + 3 * (mesAux + 1) / 5 + anoAux
-                + anoAux / 4 - anoAux / 100 + anoAux / 400;
-
-        final int totalDiasDaSemana = 7;
-        return diaDaSemanaToString(diaDaSemana % totalDiasDaSemana);
+        return (dia + DESLOCAMENTO_MES[mes]
+                + DESLOCAMENTO_SECULO[seculo % PERIODO_SECULOS]
+                + DESLOCAMENTO_ANO[anoAux % ANOS_POR_SECULO])
+                % DIAS_DA_SEMANA;
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.domain;
+
+/**
+ * Dias da semana, na ordem empregada por {@link DataUtils} (0 = segunda,
+ * 1 = terça, e assim sucessivamente).
+ */
+public enum DiaDaSemana {
+
+    /**
+     * Segunda-feira (código 0).
+     */
+    SEGUNDA("segunda-feira"),
+
+    /**
+     * Terça-feira (código 1).
+     */
+    TERCA("terça-feira"),
+
+    /**
+     * Quarta-feira (código 2).
+     */
+    QUARTA("quarta-feira"),
+
+    /**
+     * Quinta-feira (código 3).
+     */
+    QUINTA("quinta-feira"),
+
+    /**
+     * Sexta-feira (código 4).
+     */
+    SEXTA("sexta-feira"),
+
+    /**
+     * Sábado (código 5).
+     */
+    SABADO("sábado"),
+
+    /**
+     * Domingo (código 6).
+     */
+    DOMINGO("domingo");
+
+    /**
+     * Dias da semana indexados pelo código, sem a cópia feita por
+     * {@link #values()} a cada chamada.
+     */
+    private static final DiaDaSemana[] DIAS = values();
+
+    /**
+     * Nome do dia da semana.
+     */
+    private final String nome;
+
+    /**
+     * Cria dia da semana com o nome correspondente.
+     *
+     * @param nome Nome do dia da semana
+     */
+    DiaDaSemana(final String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Recupera o nome do dia da semana.
+     *
+     * @return O nome do dia da semana (por exemplo, "segunda-feira")
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Recupera o dia da semana correspondente a um código.
+     *
+     * @param codigo Inteiro que representa o dia da semana (0 = segunda,
+     *               1 = terça, e assim sucessivamente)
+     * @return O dia da semana correspondente ao código
+     * @throws IllegalArgumentException se o código estiver fora da amplitude
+     */
+    public static DiaDaSemana doCodigo(final int codigo) {
+        if (codigo < 0 || codigo >= DIAS.length) {
+            throw new IllegalArgumentException(String.format(
+                    "dia inválido: %d. dia deve estar entre 0 e 6", codigo));
+        }
+
+        return DIAS[codigo];
+    }
+
+}
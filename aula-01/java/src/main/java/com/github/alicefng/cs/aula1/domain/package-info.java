@@ -1,13 +1,17 @@
 /**
- * Pacote do repositório de "cs-2019-01". Contém quatro classes:
+ * Pacote do repositório de "cs-2019-01". Contém seis classes:
  * (a) {@link com.github.alicefng.cs.aula1.domain.CpfUtils},
  * (b) {@link com.github.alicefng.cs.aula1.domain.DataUtils},
- * (c) {@link com.github.alicefng.cs.aula1.domain.DataInvalidaException},
- * (d) {@link com.github.alicefng.cs.aula1.domain.MatematicaUtils} e
+ * (c) {@link com.github.alicefng.cs.aula1.domain.DataCompacta},
+ * (d) {@link com.github.alicefng.cs.aula1.domain.DataInvalidaException},
+ * (e) {@link com.github.alicefng.cs.aula1.domain.DiaDaSemana} e
+ * (f) {@link com.github.alicefng.cs.aula1.domain.MatematicaUtils}
  *
  * @see com.github.alicefng.cs.aula1.domain.CpfUtils
  * @see com.github.alicefng.cs.aula1.domain.DataUtils
+ * @see com.github.alicefng.cs.aula1.domain.DataCompacta
  * @see com.github.alicefng.cs.aula1.domain.DataInvalidaException
+ * @see com.github.alicefng.cs.aula1.domain.DiaDaSemana
  * @see com.github.alicefng.cs.aula1.domain.MatematicaUtils
  */
 package com.github.alicefng.cs.aula1.domain;
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.application.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ValidacaoCpfEmLoteTest {
+
+    private static String valida(final String entrada, final long esperado)
+            throws IOException {
+        final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        final long total = ValidacaoCpfEmLote.valida(new ByteArrayInputStream(
+                entrada.getBytes(StandardCharsets.UTF_8)), saida);
+        assertEquals(esperado, total);
+        return new String(saida.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void textoSimples() throws IOException {
+        assertEquals("{\"cpf\":\"43415200086\",\"valido\":true,\"posicao\":-1}\n"
+                        + "{\"cpf\":\"434.152.000-16\",\"valido\":false,"
+                        + "\"posicao\":12}\n",
+                valida("43415200086\r\n\n434.152.000-16", 2));
+    }
+
+    @Test
+    public void ndjson() throws IOException {
+        assertEquals("{\"cpf\":\"434.152.000-86\",\"valido\":true,"
+                        + "\"posicao\":-1}\n"
+                        + "{\"cpf\":\"a\\\"b\",\"valido\":false,"
+                        + "\"posicao\":0}\n",
+                valida("\"434.152.000-86\"\na\"b\n", 2));
+    }
+
+    @Test
+    public void vazio() throws IOException {
+        assertEquals("", valida("", 0));
+        assertEquals("", valida("\n \n", 0));
+    }
+
+    @Test
+    public void loteMaiorQueBuffer() throws IOException {
+        final int quantidade = 100_000;
+        final StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            entrada.append("434.152.000-86\n");
+        }
+        final String saida = valida(entrada.toString(), quantidade);
+        assertEquals(quantidade, saida.split("\n").length);
+    }
+
+    @Test
+    public void linhaMaiorQueBuffer() throws IOException {
+        final StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            entrada.append('9');
+        }
+        entrada.append("\n43415200086\n");
+        final String saida = valida(entrada.toString(), 2);
+        assertEquals("{\"cpf\":\"43415200086\",\"valido\":true,\"posicao\":-1}",
+                saida.split("\n")[1]);
+    }
+
+}
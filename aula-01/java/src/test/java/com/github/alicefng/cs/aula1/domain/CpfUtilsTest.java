@@ -8,6 +8,8 @@ package com.github.alicefng.cs.aula1.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CpfUtilsTest {
@@ -56,4 +58,44 @@ public class CpfUtilsTest {
         assertFalse(CpfUtils.validarDigitosCPF2("43415200016"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void cpfComMascaraValido() {
+        assertTrue(CpfUtils.validarCPF("434.152.000-86"));
+        assertTrue(CpfUtils.validarCPF("43415200086"));
+        assertEquals(CpfUtils.CPF_VALIDO,
+                CpfUtils.posicaoErroCPF("434.152.000-86"));
+    }
+
+    @Test
+    public void cpfComMascaraPosicaoDoErro() {
+        assertEquals(12, CpfUtils.posicaoErroCPF("434.152.000-16"));
+        assertEquals(9, CpfUtils.posicaoErroCPF("43415200016"));
+        assertEquals(13, CpfUtils.posicaoErroCPF("434.152.000-87"));
+        assertEquals(7, CpfUtils.posicaoErroCPF("434.152-000-86"));
+        assertEquals(11, CpfUtils.posicaoErroCPF("434.152.000.86"));
+        assertEquals(5, CpfUtils.posicaoErroCPF("434.1a2.000-86"));
+        assertEquals(3, CpfUtils.posicaoErroCPF("434-152.000-86"));
+        assertEquals(9, CpfUtils.posicaoErroCPF("434.152.0"));
+        assertEquals(11, CpfUtils.posicaoErroCPF("434152000860"));
+        assertEquals(14, CpfUtils.posicaoErroCPF("434.152.000-860"));
+        assertEquals(0, CpfUtils.posicaoErroCPF(""));
+        assertFalse(CpfUtils.validarCPF("434.152.000-16"));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpfUtils.posicaoErroCPF((CharSequence) null));
+    }
+
+    @Test
+    public void cpfEmBytes() {
+        final byte[] dados = "x;434.152.000-86;43415200016"
+                .getBytes(StandardCharsets.US_ASCII);
+        assertEquals(CpfUtils.CPF_VALIDO,
+                CpfUtils.posicaoErroCPF(dados, 2, 16));
+        assertEquals(26, CpfUtils.posicaoErroCPF(dados, 17, 28));
+        assertEquals(0, CpfUtils.posicaoErroCPF(dados, 0, 11));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpfUtils.posicaoErroCPF(dados, 2, 29));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpfUtils.posicaoErroCPF(null, 0, 0));
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataCompactaTest {
+
+    private static int codifica(final LocalDate data) {
+        return DataCompacta.codifica(data.getYear(), data.getMonthValue(),
+                data.getDayOfMonth());
+    }
+
+    @Test
+    public void codificaDecodifica() {
+        final int data = DataCompacta.codifica(2019, 5, 13);
+        assertEquals(20190513, data);
+        assertEquals(2019, DataCompacta.ano(data));
+        assertEquals(5, DataCompacta.mes(data));
+        assertEquals(13, DataCompacta.dia(data));
+    }
+
+    @Test
+    public void datasInvalidas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DataCompacta.codifica(2019, 2, 29));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataCompacta.codifica(2019, 13, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataCompacta.codifica(0, 1, 1));
+        assertTrue(DataCompacta.dataValida(20000229));
+        assertFalse(DataCompacta.dataValida(19000229));
+        assertFalse(DataCompacta.dataValida(20190431));
+        assertFalse(DataCompacta.dataValida(-20190101));
+    }
+
+    @Test
+    public void confereComLocalDate() {
+        final LocalDate epoca = LocalDate.of(1970, 1, 1);
+        LocalDate data = LocalDate.of(1, 1, 1);
+        final LocalDate fim = LocalDate.of(9999, 12, 31);
+        while (!data.isAfter(fim)) {
+            final int compacta = codifica(data);
+            final int diaDaEpoca = (int) ChronoUnit.DAYS.between(epoca, data);
+            assertEquals(diaDaEpoca, DataCompacta.paraDiaDaEpoca(compacta));
+            assertEquals(compacta, DataCompacta.deDiaDaEpoca(diaDaEpoca));
+            assertEquals(data.getDayOfWeek().ordinal(),
+                    DataCompacta.diaDaSemana(compacta));
+            data = data.plusDays(1);
+        }
+    }
+
+    @Test
+    public void aritmetica() {
+        assertEquals(20190301, DataCompacta.adicionaDias(20190228, 1));
+        assertEquals(20200229, DataCompacta.adicionaDias(20200301, -1));
+        assertEquals(20200101, DataCompacta.adicionaDias(20191231, 1));
+        assertEquals(366, DataCompacta.diferencaEmDias(20200101, 20210101));
+        assertEquals(-1, DataCompacta.diferencaEmDias(20190102, 20190101));
+    }
+
+    @Test
+    public void consultasPorIntervalo() {
+        final int[] coluna = DataCompacta.coluna(new int[]{20190513,
+                20180101, 20190101, 20190513, 20201231});
+        assertArrayEquals(new int[]{20180101, 20190101, 20190513, 20190513,
+                20201231}, coluna);
+        assertEquals(2, DataCompacta.primeiraPosicao(coluna, 20190513));
+        assertEquals(5, DataCompacta.primeiraPosicao(coluna, 20210101));
+        assertEquals(3, DataCompacta.contaNoIntervalo(coluna, 20190101,
+                20191231));
+        assertEquals(0, DataCompacta.contaNoIntervalo(coluna, 20191231,
+                20190101));
+        assertArrayEquals(new int[]{20190513, 20190513},
+                DataCompacta.datasNoIntervalo(coluna, 20190513, 20190513));
+        assertEquals(5, DataCompacta.contaNoIntervalo(coluna,
+                Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataCompacta.coluna(null));
+    }
+
+}
@@ -8,6 +8,9 @@ package com.github.alicefng.cs.aula1.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -55,6 +58,16 @@ public class DataUtilsTest {
         assertEquals("domingo", DataUtils.diaDaSemana(10, 2, 2019));
     }
 
+    @Test
+    public void diaDaSemanaEnum() {
+        assertEquals(DiaDaSemana.SEGUNDA,
+                DataUtils.diaDaSemanaEnum(13, 5, 2019));
+        assertEquals(DiaDaSemana.DOMINGO,
+                DataUtils.diaDaSemanaEnum(10, 2, 2019));
+        assertThrows(DataInvalidaException.class,
+                () -> DataUtils.diaDaSemanaEnum(1, 13, 2019));
+    }
+
     @Test
     public void diaDaSemanaToStringTest() {
         assertThrows(IllegalArgumentException.class,
@@ -63,4 +76,61 @@ public class DataUtilsTest {
                 () -> DataUtils.diaDaSemanaToString(-1));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void validaDataSemExcecao() {
+        assertEquals(DataUtils.DATA_VALIDA, DataUtils.validaData(13, 5, 2019));
+        assertEquals(DataUtils.DIA_INVALIDO, DataUtils.validaData(0, 5, 2019));
+        assertEquals(DataUtils.MES_INVALIDO, DataUtils.validaData(1, 13, 2019));
+        assertEquals(DataUtils.ANO_INVALIDO, DataUtils.validaData(1, 5, 1700));
+    }
+
+    @Test
+    public void codigoDiaDaSemana() {
+        assertEquals(DiaDaSemana.SEGUNDA,
+                DiaDaSemana.doCodigo(DataUtils.codigoDiaDaSemana(13, 5, 2019)));
+        assertEquals(DiaDaSemana.DOMINGO,
+                DiaDaSemana.doCodigo(DataUtils.codigoDiaDaSemana(10, 2, 2019)));
+        assertEquals(DataUtils.MES_INVALIDO,
+                DataUtils.codigoDiaDaSemana(1, 0, 2019));
+        assertEquals("sábado", DiaDaSemana.SABADO.getNome());
+    }
+
+    @Test
+    public void codigoDiaDaSemanaConfereComLocalDate() {
+        LocalDate data = LocalDate.of(1754, 1, 1);
+        final LocalDate fim = LocalDate.of(2500, 1, 1);
+        while (data.isBefore(fim)) {
+            assertEquals(data.getDayOfWeek().ordinal(),
+                    DataUtils.codigoDiaDaSemana(data.getDayOfMonth(),
+                            data.getMonthValue(), data.getYear()));
+            data = data.plusDays(1);
+        }
+    }
+
+    @Test
+    public void diaDaSemanaEmLote() {
+        assertArrayEquals(new int[]{0, 6, DataUtils.DIA_INVALIDO,
+                        DataUtils.MES_INVALIDO, DataUtils.ANO_INVALIDO},
+                DataUtils.diaDaSemana(new int[]{20190513, 20190210,
+                        20190500, 20191301, 17000510}));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataUtils.diaDaSemana(null));
+    }
+
+    @Test
+    public void diaDaSemanaEmLoteParalelo() {
+        final int total = 100_000;
+        final int[] datas = new int[total];
+        final int[] esperado = new int[total];
+        LocalDate data = LocalDate.of(1800, 1, 1);
+        for (int i = 0; i < total; i++) {
+            datas[i] = data.getYear() * 10000 + data.getMonthValue() * 100
+                    + data.getDayOfMonth();
+            esperado[i] = data.getDayOfWeek().ordinal();
+            data = data.plusDays(1);
+        }
+
+        assertArrayEquals(esperado, DataUtils.diaDaSemana(datas));
+    }
+
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Bloco de leituras de temperatura compactadas no formato Gorilla: os
+ * instantes são codificados pela diferença entre intervalos consecutivos
+ * (quase sempre 0 para leituras periódicas, um único bit) e cada
+ * temperatura, pelo ou-exclusivo dos seus bits com os da anterior (apenas
+ * os bits significativos, em geral poucos para séries que variam pouco).
+ *
+ * <p>O cabeçalho do bloco (quantidade, menor e maior temperatura, primeiro
+ * e último instante) permite responder ou descartar consultas sem
+ * decodificar as leituras.</p>
+ *
+ * @see SerieTemperatura
+ */
+public final class BlocoTemperatura {
+
+    /**
+     * Tamanho inicial, em palavras de 64 bits, do fluxo de um bloco aberto.
+     */
+    private static final int PALAVRAS_INICIAIS = 16;
+
+    /**
+     * Maior quantidade de zeros à esquerda representável (5 bits).
+     */
+    private static final int MAXIMO_ZEROS = 31;
+
+    /**
+     * Quantidade de leituras.
+     */
+    private int quantidade;
+
+    /**
+     * Menor temperatura (exceto NaN), ou NaN se não há.
+     */
+    private double menor = Double.NaN;
+
+    /**
+     * Maior temperatura (exceto NaN), ou NaN se não há.
+     */
+    private double maior = Double.NaN;
+
+    /**
+     * Instante da primeira leitura.
+     */
+    private long primeiroInstante;
+
+    /**
+     * Instante da última leitura.
+     */
+    private long ultimoInstante;
+
+    /**
+     * Fluxo de bits, do bit mais significativo ao menos significativo de
+     * cada palavra.
+     */
+    private long[] palavras;
+
+    /**
+     * Quantidade de bits escritos.
+     */
+    private int bits;
+
+    /**
+     * Intervalo entre os dois últimos instantes (estado do codificador).
+     */
+    private long ultimoIntervalo;
+
+    /**
+     * Bits da última temperatura (estado do codificador).
+     */
+    private long ultimaTemperatura;
+
+    /**
+     * Zeros à esquerda da janela de bits significativos em uso (65 antes da
+     * primeira janela, de forma que nenhum valor cabe nela).
+     */
+    private int zerosEsquerda = Long.SIZE + 1;
+
+    /**
+     * Zeros à direita da janela de bits significativos em uso.
+     */
+    private int zerosDireita;
+
+    /**
+     * Recebe cada leitura decodificada.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeLeituras {
+
+        /**
+         * Recebe uma leitura.
+         *
+         * @param instante    Instante da leitura
+         * @param temperatura A temperatura lida
+         */
+        void aceita(long instante, double temperatura);
+    }
+
+    /**
+     * Cria bloco aberto, vazio.
+     */
+    BlocoTemperatura() {
+        palavras = new long[PALAVRAS_INICIAIS];
+    }
+
+    /**
+     * Cria bloco fechado a partir do seu conteúdo.
+     *
+     * @param quantidade       Quantidade de leituras
+     * @param menor            Menor temperatura
+     * @param maior            Maior temperatura
+     * @param primeiroInstante Instante da primeira leitura
+     * @param ultimoInstante   Instante da última leitura
+     * @param palavras         Fluxo de bits
+     * @param bits             Quantidade de bits do fluxo
+     */
+    private BlocoTemperatura(final int quantidade, final double menor,
+                             final double maior, final long primeiroInstante,
+                             final long ultimoInstante, final long[] palavras,
+                             final int bits) {
+        this.quantidade = quantidade;
+        this.menor = menor;
+        this.maior = maior;
+        this.primeiroInstante = primeiroInstante;
+        this.ultimoInstante = ultimoInstante;
+        this.palavras = palavras;
+        this.bits = bits;
+    }
+
+    /**
+     * Acrescenta uma leitura ao bloco aberto.
+     *
+     * @param instante    Instante da leitura (não anterior ao último)
+     * @param temperatura A temperatura lida
+     */
+    void adiciona(final long instante, final double temperatura) {
+        final long valor = Double.doubleToRawLongBits(temperatura);
+        if (quantidade == 0) {
+            primeiroInstante = instante;
+            escreve(valor, Long.SIZE);
+        } else {
+            final long intervalo = instante - ultimoInstante;
+            escreveInstante(intervalo - ultimoIntervalo);
+            ultimoIntervalo = intervalo;
+            escreveTemperatura(valor ^ ultimaTemperatura);
+        }
+        ultimoInstante = instante;
+        ultimaTemperatura = valor;
+        quantidade++;
+
+        if (!Double.isNaN(temperatura)) {
+            // Comparações falsas com NaN: a primeira leitura inicializa.
+            if (!(temperatura >= menor)) {
+                menor = temperatura;
+            }
+            if (!(temperatura <= maior)) {
+                maior = temperatura;
+            }
+        }
+    }
+
+    /**
+     * Libera o espaço não utilizado do fluxo. O bloco não recebe mais
+     * leituras.
+     */
+    void fecha() {
+        palavras = Arrays.copyOf(palavras, palavrasUsadas());
+    }
+
+    /**
+     * Recupera a quantidade de leituras.
+     *
+     * @return A quantidade de leituras
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Recupera a menor temperatura, sem decodificar o bloco.
+     *
+     * @return A menor temperatura, ou NaN, se não há leituras (exceto NaN)
+     */
+    public double getMenor() {
+        return menor;
+    }
+
+    /**
+     * Recupera a maior temperatura, sem decodificar o bloco.
+     *
+     * @return A maior temperatura, ou NaN, se não há leituras (exceto NaN)
+     */
+    public double getMaior() {
+        return maior;
+    }
+
+    /**
+     * Recupera o instante da primeira leitura.
+     *
+     * @return O instante da primeira leitura
+     */
+    public long getPrimeiroInstante() {
+        return primeiroInstante;
+    }
+
+    /**
+     * Recupera o instante da última leitura.
+     *
+     * @return O instante da última leitura
+     */
+    public long getUltimoInstante() {
+        return ultimoInstante;
+    }
+
+    /**
+     * Recupera o tamanho das leituras compactadas.
+     *
+     * @return A quantidade de bits do fluxo
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * Decodifica as leituras, em ordem.
+     *
+     * @param consumidor Recebe cada leitura
+     */
+    public void percorre(final ConsumidorDeLeituras consumidor) {
+        if (quantidade == 0) {
+            return;
+        }
+
+        final Leitor leitor = new Leitor(palavras);
+        long instante = primeiroInstante;
+        long intervalo = 0;
+        long valor = leitor.le(Long.SIZE);
+        int esquerda = 0;
+        int direita = 0;
+        consumidor.aceita(instante, Double.longBitsToDouble(valor));
+
+        for (int i = 1; i < quantidade; i++) {
+            intervalo += leInstante(leitor);
+            instante += intervalo;
+
+            if (leitor.le(1) != 0) {
+                if (leitor.le(1) != 0) {
+                    esquerda = (int) leitor.le(5);
+                    final int significativos = (int) leitor.le(6);
+                    direita = Long.SIZE - esquerda
+                            - (significativos == 0 ? Long.SIZE
+                            : significativos);
+                }
+                valor ^= leitor.le(Long.SIZE - esquerda - direita) << direita;
+            }
+            consumidor.aceita(instante, Double.longBitsToDouble(valor));
+        }
+    }
+
+    /**
+     * Grava o bloco.
+     *
+     * @param saida Destino do bloco
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    void escreve(final DataOutput saida) throws IOException {
+        saida.writeInt(quantidade);
+        saida.writeDouble(menor);
+        saida.writeDouble(maior);
+        saida.writeLong(primeiroInstante);
+        saida.writeLong(ultimoInstante);
+        saida.writeInt(bits);
+        final int usadas = palavrasUsadas();
+        for (int i = 0; i < usadas; i++) {
+            saida.writeLong(palavras[i]);
+        }
+    }
+
+    /**
+     * Lê um bloco gravado por {@link #escreve(DataOutput)}. O bloco lido
+     * está fechado.
+     *
+     * @param entrada Fonte do bloco
+     * @return O bloco
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    static BlocoTemperatura le(final DataInput entrada) throws IOException {
+        final int quantidade = entrada.readInt();
+        final double menor = entrada.readDouble();
+        final double maior = entrada.readDouble();
+        final long primeiroInstante = entrada.readLong();
+        final long ultimoInstante = entrada.readLong();
+        final int bits = entrada.readInt();
+        if (quantidade < 0 || bits < 0) {
+            throw new IOException(String.format(
+                    "bloco inválido: %d leituras, %d bits", quantidade, bits));
+        }
+
+        final long[] palavras = new long[(bits + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < palavras.length; i++) {
+            palavras[i] = entrada.readLong();
+        }
+
+        return new BlocoTemperatura(quantidade, menor, maior,
+                primeiroInstante, ultimoInstante, palavras, bits);
+    }
+
+    /**
+     * Calcula a quantidade de palavras ocupadas pelo fluxo.
+     *
+     * @return A quantidade de palavras de 64 bits
+     */
+    private int palavrasUsadas() {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Escreve a diferença entre intervalos consecutivos: 0 em um bit; caso
+     * contrário, um prefixo de 2 a 4 bits seguido do valor (em zigue-zague)
+     * em 7, 9, 12 ou 64 bits.
+     *
+     * @param diferenca A diferença entre o intervalo atual e o anterior
+     */
+    private void escreveInstante(final long diferenca) {
+        final long z = (diferenca << 1) ^ (diferenca >> (Long.SIZE - 1));
+        if (z == 0) {
+            escreve(0, 1);
+        } else if (z >>> 7 == 0) {
+            escreve(0b10L << 7 | z, 9);
+        } else if (z >>> 9 == 0) {
+            escreve(0b110L << 9 | z, 12);
+        } else if (z >>> 12 == 0) {
+            escreve(0b1110L << 12 | z, 16);
+        } else {
+            escreve(0b1111, 4);
+            escreve(z, Long.SIZE);
+        }
+    }
+
+    /**
+     * Lê a diferença entre intervalos consecutivos.
+     *
+     * @param leitor O leitor do fluxo
+     * @return A diferença
+     * @see #escreveInstante(long)
+     */
+    private static long leInstante(final Leitor leitor) {
+        final long z;
+        if (leitor.le(1) == 0) {
+            return 0;
+        } else if (leitor.le(1) == 0) {
+            z = leitor.le(7);
+        } else if (leitor.le(1) == 0) {
+            z = leitor.le(9);
+        } else if (leitor.le(1) == 0) {
+            z = leitor.le(12);
+        } else {
+            z = leitor.le(Long.SIZE);
+        }
+
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    /**
+     * Escreve o ou-exclusivo entre a temperatura e a anterior: 0 em um bit;
+     * "10" e os bits significativos, se cabem na janela em uso; caso
+     * contrário, "11", os zeros à esquerda (5 bits), a quantidade de bits
+     * significativos (6 bits, 0 para 64) e os bits significativos.
+     *
+     * @param xor O ou-exclusivo entre os bits das temperaturas
+     */
+    private void escreveTemperatura(final long xor) {
+        if (xor == 0) {
+            escreve(0, 1);
+            return;
+        }
+
+        final int esquerda = Math.min(Long.numberOfLeadingZeros(xor),
+                MAXIMO_ZEROS);
+        final int direita = Long.numberOfTrailingZeros(xor);
+        if (esquerda >= zerosEsquerda && direita >= zerosDireita) {
+            escreve(0b10, 2);
+            escreve(xor >>> zerosDireita,
+                    Long.SIZE - zerosEsquerda - zerosDireita);
+            return;
+        }
+
+        final int significativos = Long.SIZE - esquerda - direita;
+        escreve(0b11L << 11 | (long) esquerda << 6 | significativos & 0x3F,
+                13);
+        escreve(xor >>> direita, significativos);
+        zerosEsquerda = esquerda;
+        zerosDireita = direita;
+    }
+
+    /**
+     * Escreve os bits menos significativos de um valor ao final do fluxo.
+     *
+     * @param valor      O valor
+     * @param quantidade Quantidade de bits (1 a 64)
+     */
+    private void escreve(final long valor, final int quantidade) {
+        final long bitsDoValor = quantidade == Long.SIZE
+                ? valor
+                : valor & ((1L << quantidade) - 1);
+        final int indice = bits >>> 6;
+        final int livres = Long.SIZE - (bits & (Long.SIZE - 1));
+        if (indice + 1 >= palavras.length) {
+            palavras = Arrays.copyOf(palavras, 2 * palavras.length);
+        }
+
+        if (quantidade <= livres) {
+            palavras[indice] |= bitsDoValor << (livres - quantidade);
+        } else {
+            palavras[indice] |= bitsDoValor >>> (quantidade - livres);
+            palavras[indice + 1] = bitsDoValor
+                    << (Long.SIZE - (quantidade - livres));
+        }
+        bits += quantidade;
+    }
+
+    /**
+     * Leitura sequencial de um fluxo de bits.
+     */
+    private static final class Leitor {
+
+        /**
+         * O fluxo de bits.
+         */
+        private final long[] palavras;
+
+        /**
+         * Quantidade de bits lidos.
+         */
+        private int posicao;
+
+        /**
+         * Cria leitor no início de um fluxo.
+         *
+         * @param palavras O fluxo de bits
+         */
+        Leitor(final long[] palavras) {
+            this.palavras = palavras;
+        }
+
+        /**
+         * Lê os próximos bits do fluxo.
+         *
+         * @param quantidade Quantidade de bits (1 a 64)
+         * @return Os bits lidos, nas posições menos significativas
+         */
+        long le(final int quantidade) {
+            final int indice = posicao >>> 6;
+            final int lidos = posicao & (Long.SIZE - 1);
+            final int restantes = Long.SIZE - lidos;
+            long valor = (palavras[indice] << lidos)
+                    >>> (Long.SIZE - quantidade);
+            if (quantidade > restantes) {
+                valor |= palavras[indice + 1]
+                        >>> (Long.SIZE - (quantidade - restantes));
+            }
+            posicao += quantidade;
+
+            return valor;
+        }
+    }
+
+}
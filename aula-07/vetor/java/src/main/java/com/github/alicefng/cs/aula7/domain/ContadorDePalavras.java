@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.util.Arrays;
+
+/**
+ * Contagem de palavras identificadas por trechos [inicio, fim) de um texto.
+ * As palavras são mantidas em uma tabela hash de endereçamento aberto
+ * (sondagem linear) que guarda apenas posições no texto: nenhuma
+ * {@link String} é criada durante a contagem.
+ *
+ * <p>Cada palavra distinta recebe um identificador sequencial, na ordem da
+ * sua primeira ocorrência.</p>
+ */
+final class ContadorDePalavras {
+
+    /**
+     * Capacidade inicial (quantidade de palavras distintas).
+     */
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    /**
+     * Constante multiplicativa para espalhar o hash (razão áurea).
+     */
+    private static final int ESPALHAMENTO = 0x9E3779B9;
+
+    /**
+     * Texto do qual as palavras são trechos.
+     */
+    private final String texto;
+
+    /**
+     * Posição inicial de cada palavra distinta, por identificador.
+     */
+    private int[] inicios;
+
+    /**
+     * Tamanho de cada palavra distinta, por identificador.
+     */
+    private int[] tamanhos;
+
+    /**
+     * Hash de cada palavra distinta, por identificador.
+     */
+    private int[] hashes;
+
+    /**
+     * Ocorrências de cada palavra distinta, por identificador.
+     */
+    private int[] contagens;
+
+    /**
+     * Tabela de endereçamento aberto: identificador + 1 ou 0 (vazio).
+     */
+    private int[] tabela;
+
+    /**
+     * Quantidade de palavras distintas.
+     */
+    private int quantidade;
+
+    /**
+     * Cria contador para palavras de um texto.
+     *
+     * @param texto Texto do qual as palavras são trechos
+     */
+    ContadorDePalavras(final String texto) {
+        this.texto = texto;
+        inicios = new int[CAPACIDADE_INICIAL];
+        tamanhos = new int[CAPACIDADE_INICIAL];
+        hashes = new int[CAPACIDADE_INICIAL];
+        contagens = new int[CAPACIDADE_INICIAL];
+        tabela = new int[2 * CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Registra uma ocorrência da palavra contida em um trecho do texto.
+     *
+     * @param inicio Posição inicial da palavra (inclusive)
+     * @param fim    Posição final da palavra (exclusive)
+     * @return O identificador da palavra
+     */
+    int conta(final int inicio, final int fim) {
+        final int tamanho = fim - inicio;
+        int hash = 0;
+        for (int i = inicio; i < fim; i++) {
+            hash = 31 * hash + texto.charAt(i);
+        }
+
+        final int mascara = tabela.length - 1;
+        int posicao = posicaoInicial(hash);
+        while (tabela[posicao] != 0) {
+            final int id = tabela[posicao] - 1;
+            if (hashes[id] == hash && tamanhos[id] == tamanho
+                    && texto.regionMatches(inicios[id], texto, inicio,
+                    tamanho)) {
+                contagens[id]++;
+                return id;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+
+        final int id = quantidade++;
+        if (id == inicios.length) {
+            cresce();
+            return registra(id, inicio, tamanho, hash);
+        }
+        tabela[posicao] = id + 1;
+        inicios[id] = inicio;
+        tamanhos[id] = tamanho;
+        hashes[id] = hash;
+        contagens[id] = 1;
+
+        return id;
+    }
+
+    /**
+     * Recupera a quantidade de palavras distintas.
+     *
+     * @return A quantidade de palavras distintas
+     */
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Recupera a quantidade de ocorrências de uma palavra.
+     *
+     * @param id O identificador da palavra
+     * @return A quantidade de ocorrências
+     */
+    int getContagem(final int id) {
+        return contagens[id];
+    }
+
+    /**
+     * Produz a palavra correspondente a um identificador.
+     *
+     * @param id O identificador da palavra
+     * @return A palavra
+     */
+    String getPalavra(final int id) {
+        return texto.substring(inicios[id], inicios[id] + tamanhos[id]);
+    }
+
+    /**
+     * Identifica a palavra com mais ocorrências. Em caso de empate,
+     * prevalece a que ocorreu primeiro no texto.
+     *
+     * @return O identificador da palavra mais frequente, ou -1, se não há
+     * palavras
+     */
+    int maisFrequente() {
+        int maisFrequente = -1;
+        int maior = 0;
+        for (int id = 0; id < quantidade; id++) {
+            if (contagens[id] > maior) {
+                maior = contagens[id];
+                maisFrequente = id;
+            }
+        }
+
+        return maisFrequente;
+    }
+
+    /**
+     * Registra palavra nova após o crescimento das estruturas.
+     *
+     * @param id      O identificador da palavra
+     * @param inicio  Posição inicial da palavra
+     * @param tamanho Tamanho da palavra
+     * @param hash    Hash da palavra
+     * @return O identificador da palavra
+     */
+    private int registra(final int id, final int inicio, final int tamanho,
+                         final int hash) {
+        inicios[id] = inicio;
+        tamanhos[id] = tamanho;
+        hashes[id] = hash;
+        contagens[id] = 1;
+        insere(id);
+
+        return id;
+    }
+
+    /**
+     * Insere um identificador na tabela, sem verificar duplicidade.
+     *
+     * @param id O identificador a ser inserido
+     */
+    private void insere(final int id) {
+        final int mascara = tabela.length - 1;
+        int posicao = posicaoInicial(hashes[id]);
+        while (tabela[posicao] != 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        tabela[posicao] = id + 1;
+    }
+
+    /**
+     * Produz a posição inicial de sondagem de um hash, tomando os bits mais
+     * significativos do produto pela constante de espalhamento.
+     *
+     * @param hash O hash da palavra
+     * @return A posição inicial na tabela
+     */
+    private int posicaoInicial(final int hash) {
+        return (hash * ESPALHAMENTO)
+                >>> Integer.numberOfLeadingZeros(tabela.length - 1);
+    }
+
+    /**
+     * Dobra a capacidade e reconstrói a tabela (fator de carga até 1/2).
+     */
+    private void cresce() {
+        final int capacidade = 2 * inicios.length;
+        inicios = Arrays.copyOf(inicios, capacidade);
+        tamanhos = Arrays.copyOf(tamanhos, capacidade);
+        hashes = Arrays.copyOf(hashes, capacidade);
+        contagens = Arrays.copyOf(contagens, capacidade);
+        tabela = new int[2 * capacidade];
+        for (int id = 0; id < quantidade - 1; id++) {
+            insere(id);
+        }
+    }
+
+}
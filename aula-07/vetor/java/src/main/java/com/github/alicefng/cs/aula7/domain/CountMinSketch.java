@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+/**
+ * Estrutura Count-Min (Cormode e Muthukrishnan) para estimar frequências em
+ * memória fixa. A estimativa nunca é menor que a frequência real e, com
+ * probabilidade ao menos 1 - delta, excede a frequência real em no máximo
+ * epsilon * N, onde N é o total de ocorrências registradas.
+ *
+ * <p>Os itens são identificados por um hash de 64 bits. Duas estruturas com
+ * as mesmas dimensões podem ser combinadas (soma elemento a elemento), o
+ * que permite contagens independentes por thread.</p>
+ */
+public final class CountMinSketch {
+
+    /**
+     * Quantidade de colunas de cada linha (potência de 2).
+     */
+    private final int largura;
+
+    /**
+     * Quantidade de linhas (funções hash).
+     */
+    private final int profundidade;
+
+    /**
+     * Contadores, linha a linha.
+     */
+    private final long[] contadores;
+
+    /**
+     * Total de ocorrências registradas.
+     */
+    private long total;
+
+    /**
+     * Cria estrutura com as dimensões necessárias para a garantia de erro.
+     *
+     * @param epsilon Erro relativo máximo (em relação ao total), entre 0 e 1
+     * @param delta   Probabilidade de o erro exceder o máximo, entre 0 e 1
+     * @throws IllegalArgumentException Se epsilon ou delta não estão entre
+     *                                  0 e 1 (exclusive)
+     */
+    public CountMinSketch(final double epsilon, final double delta) {
+        this(largura(epsilon), profundidade(delta));
+    }
+
+    /**
+     * Cria estrutura com dimensões fornecidas.
+     *
+     * @param largura      Quantidade de colunas (potência de 2)
+     * @param profundidade Quantidade de linhas
+     */
+    private CountMinSketch(final int largura, final int profundidade) {
+        this.largura = largura;
+        this.profundidade = profundidade;
+        this.contadores = new long[largura * profundidade];
+    }
+
+    /**
+     * Registra ocorrências de um item e produz a estimativa atualizada.
+     *
+     * @param hash       Hash de 64 bits do item
+     * @param quantidade Quantidade de ocorrências
+     * @return A estimativa da frequência do item após o registro
+     */
+    public long adiciona(final long hash, final long quantidade) {
+        total += quantidade;
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> Integer.SIZE) | 1;
+        final int mascara = largura - 1;
+
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            final int posicao = linha * largura + (h1 + linha * h2 & mascara);
+            contadores[posicao] += quantidade;
+            estimativa = Math.min(estimativa, contadores[posicao]);
+        }
+
+        return estimativa;
+    }
+
+    /**
+     * Estima a frequência de um item.
+     *
+     * @param hash Hash de 64 bits do item
+     * @return A estimativa (nunca inferior à frequência real)
+     */
+    public long estimativa(final long hash) {
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> Integer.SIZE) | 1;
+        final int mascara = largura - 1;
+
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            estimativa = Math.min(estimativa,
+                    contadores[linha * largura + (h1 + linha * h2 & mascara)]);
+        }
+
+        return estimativa;
+    }
+
+    /**
+     * Incorpora as contagens de outra estrutura de mesmas dimensões.
+     *
+     * @param outra A estrutura a ser incorporada
+     * @throws IllegalArgumentException Se as dimensões são distintas
+     */
+    public void combina(final CountMinSketch outra) {
+        if (outra.largura != largura || outra.profundidade != profundidade) {
+            throw new IllegalArgumentException(String.format(
+                    "dimensões distintas: %dx%d e %dx%d", profundidade,
+                    largura, outra.profundidade, outra.largura));
+        }
+
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] += outra.contadores[i];
+        }
+        total += outra.total;
+    }
+
+    /**
+     * Produz uma cópia independente da estrutura.
+     *
+     * @return A cópia
+     */
+    public CountMinSketch copia() {
+        final CountMinSketch copia = new CountMinSketch(largura, profundidade);
+        System.arraycopy(contadores, 0, copia.contadores, 0,
+                contadores.length);
+        copia.total = total;
+        return copia;
+    }
+
+    /**
+     * Recupera o total de ocorrências registradas.
+     *
+     * @return O total de ocorrências
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Recupera o erro máximo das estimativas (com probabilidade 1 - delta).
+     *
+     * @return O erro máximo, em ocorrências
+     */
+    public long getErroMaximo() {
+        return (long) Math.ceil(Math.E / largura * total);
+    }
+
+    /**
+     * Calcula a largura (potência de 2) para um erro relativo.
+     *
+     * @param epsilon Erro relativo máximo
+     * @return A quantidade de colunas
+     */
+    private static int largura(final double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "epsilon inválido: %f", epsilon));
+        }
+
+        final int minima = (int) Math.ceil(Math.E / epsilon);
+        return Integer.highestOneBit(minima - 1) << 1;
+    }
+
+    /**
+     * Calcula a profundidade para uma probabilidade de falha.
+     *
+     * @param delta Probabilidade de o erro exceder o máximo
+     * @return A quantidade de linhas
+     */
+    private static int profundidade(final double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "delta inválido: %f", delta));
+        }
+
+        return Math.max(1, (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+/**
+ * Estatísticas de uma sequência de temperaturas, acumuladas uma leitura por
+ * vez: menor e maior valor, posição do menor, média e variância (método de
+ * Welford). Leituras NaN não participam das estatísticas, apenas são
+ * contadas.
+ *
+ * <p>Estatísticas parciais (por exemplo, de trechos distintos de um arquivo)
+ * podem ser combinadas por {@link #combina(EstatisticasTemperatura)}. A
+ * combinação de média e variância segue a fórmula de Chan et al.</p>
+ */
+public final class EstatisticasTemperatura {
+
+    /**
+     * Quantidade de leituras consideradas (exceto NaN).
+     */
+    private long quantidade;
+
+    /**
+     * Quantidade de leituras NaN.
+     */
+    private long quantidadeNaN;
+
+    /**
+     * Média das leituras consideradas.
+     */
+    private double media;
+
+    /**
+     * Soma dos quadrados das diferenças em relação à média.
+     */
+    private double somaQuadrados;
+
+    /**
+     * Menor leitura.
+     */
+    private double menor = Double.POSITIVE_INFINITY;
+
+    /**
+     * Maior leitura.
+     */
+    private double maior = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Posição da (primeira) menor leitura.
+     */
+    private long posicaoMenor = -1;
+
+    /**
+     * Acrescenta uma leitura às estatísticas.
+     *
+     * @param temperatura O valor lido
+     * @param posicao     A posição da leitura na sequência
+     */
+    public void adiciona(final double temperatura, final long posicao) {
+        if (Double.isNaN(temperatura)) {
+            quantidadeNaN++;
+            return;
+        }
+
+        quantidade++;
+        final double delta = temperatura - media;
+        media += delta / quantidade;
+        somaQuadrados += delta * (temperatura - media);
+
+        if (temperatura < menor || posicaoMenor < 0) {
+            menor = temperatura;
+            posicaoMenor = posicao;
+        }
+        if (temperatura > maior) {
+            maior = temperatura;
+        }
+    }
+
+    /**
+     * Incorpora as estatísticas de outra sequência. Em caso de empate na
+     * menor leitura, prevalece a menor posição.
+     *
+     * @param outra Estatísticas a serem incorporadas
+     */
+    public void combina(final EstatisticasTemperatura outra) {
+        quantidadeNaN += outra.quantidadeNaN;
+        if (outra.quantidade == 0) {
+            return;
+        }
+        if (quantidade == 0) {
+            quantidade = outra.quantidade;
+            media = outra.media;
+            somaQuadrados = outra.somaQuadrados;
+            menor = outra.menor;
+            maior = outra.maior;
+            posicaoMenor = outra.posicaoMenor;
+            return;
+        }
+
+        final long total = quantidade + outra.quantidade;
+        final double delta = outra.media - media;
+        media += delta * outra.quantidade / total;
+        somaQuadrados += outra.somaQuadrados
+                + delta * delta * quantidade / total * outra.quantidade;
+        quantidade = total;
+
+        if (outra.menor < menor
+                || outra.menor == menor && outra.posicaoMenor < posicaoMenor) {
+            menor = outra.menor;
+            posicaoMenor = outra.posicaoMenor;
+        }
+        if (outra.maior > maior) {
+            maior = outra.maior;
+        }
+    }
+
+    /**
+     * Recupera a quantidade de leituras consideradas (exceto NaN).
+     *
+     * @return A quantidade de leituras
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Recupera a quantidade de leituras NaN (ignoradas).
+     *
+     * @return A quantidade de leituras NaN
+     */
+    public long getQuantidadeNaN() {
+        return quantidadeNaN;
+    }
+
+    /**
+     * Recupera a menor leitura.
+     *
+     * @return A menor leitura, ou NaN, se não há leituras
+     */
+    public double getMenor() {
+        return quantidade == 0 ? Double.NaN : menor;
+    }
+
+    /**
+     * Recupera a maior leitura.
+     *
+     * @return A maior leitura, ou NaN, se não há leituras
+     */
+    public double getMaior() {
+        return quantidade == 0 ? Double.NaN : maior;
+    }
+
+    /**
+     * Recupera a posição da menor leitura (a primeira, em caso de empate).
+     *
+     * @return A posição da menor leitura, ou -1, se não há leituras
+     */
+    public long getPosicaoMenor() {
+        return posicaoMenor;
+    }
+
+    /**
+     * Recupera a média das leituras.
+     *
+     * @return A média, ou NaN, se não há leituras
+     */
+    public double getMedia() {
+        return quantidade == 0 ? Double.NaN : media;
+    }
+
+    /**
+     * Recupera a variância (populacional) das leituras.
+     *
+     * @return A variância, ou NaN, se não há leituras
+     */
+    public double getVariancia() {
+        return quantidade == 0 ? Double.NaN : somaQuadrados / quantidade;
+    }
+
+    /**
+     * Recupera a variância amostral das leituras.
+     *
+     * @return A variância amostral, ou NaN, se há menos de duas leituras
+     */
+    public double getVarianciaAmostral() {
+        return quantidade < 2 ? Double.NaN : somaQuadrados / (quantidade - 1);
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.stream.IntStream;
+
+/**
+ * Histograma das letras de a a z em textos de qualquer tamanho, sem
+ * distinguir maiúsculas de minúsculas e desconsiderando acentos (á e Ç são
+ * contadas como a e c). Os caracteres ASCII e Latin-1 são convertidos por
+ * uma tabela de 256 posições; os demais são ignorados.
+ *
+ * <p>Textos em UTF-8 são processados diretamente sobre os bytes, sem
+ * decodificação. Arquivos são mapeados em memória em trechos processados
+ * em paralelo, cada um com o seu próprio histograma, combinados ao
+ * final.</p>
+ */
+public final class HistogramaLetrasUtils {
+
+    /**
+     * Quantidade de letras do alfabeto.
+     */
+    public static final int LETRAS = 26;
+
+    /**
+     * Posição, nos histogramas parciais, dos caracteres que não são letras.
+     */
+    private static final int NENHUMA = LETRAS;
+
+    /**
+     * Quantidade de caracteres Latin-1.
+     */
+    private static final int LATIN1 = 256;
+
+    /**
+     * Letra (0 a 25) de cada caractere Latin-1, ou {@link #NENHUMA}.
+     */
+    private static final byte[] DOBRA = criaDobra();
+
+    /**
+     * Tamanho máximo (em bytes) de cada trecho mapeado em memória.
+     */
+    private static final long TAMANHO_TRECHO = 64L * 1024 * 1024;
+
+    /**
+     * Tamanho do bloco lido de um fluxo.
+     */
+    private static final int TAMANHO_BLOCO = 64 * 1024;
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private HistogramaLetrasUtils() {
+    }
+
+    /**
+     * Identifica a letra correspondente a um caractere.
+     *
+     * @param c O caractere
+     * @return A letra (0 para a, 1 para b etc.), ou -1, se o caractere não
+     * corresponde a uma letra de a a z
+     */
+    public static int letra(final char c) {
+        if (c >= LATIN1 || DOBRA[c] == NENHUMA) {
+            return -1;
+        }
+
+        return DOBRA[c];
+    }
+
+    /**
+     * Produz o histograma das letras de um texto.
+     *
+     * @param texto O texto
+     * @return Quantidade de cada letra (posição 0 para a, 1 para b etc.)
+     */
+    public static long[] histograma(final CharSequence texto) {
+        final int[] contagem = new int[LETRAS + 1];
+        for (int i = 0; i < texto.length(); i++) {
+            final char c = texto.charAt(i);
+            if (c < LATIN1) {
+                contagem[DOBRA[c]]++;
+            }
+        }
+
+        final long[] histograma = new long[LETRAS];
+        acumula(contagem, histograma);
+        return histograma;
+    }
+
+    /**
+     * Produz o histograma das letras de um texto lido até o seu final.
+     *
+     * @param leitor Fonte do texto
+     * @return Quantidade de cada letra (posição 0 para a, 1 para b etc.)
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    public static long[] histograma(final Reader leitor) throws IOException {
+        final long[] histograma = new long[LETRAS];
+        final int[] contagem = new int[LETRAS + 1];
+        final char[] bloco = new char[TAMANHO_BLOCO];
+        int lidos;
+        while ((lidos = leitor.read(bloco)) != -1) {
+            for (int i = 0; i < lidos; i++) {
+                final char c = bloco[i];
+                if (c < LATIN1) {
+                    contagem[DOBRA[c]]++;
+                }
+            }
+            // Contagens parciais em int: um bloco não excede 2^31.
+            acumula(contagem, histograma);
+        }
+
+        return histograma;
+    }
+
+    /**
+     * Produz o histograma das letras de um texto em UTF-8 lido até o seu
+     * final.
+     *
+     * @param entrada Fonte do texto, em UTF-8
+     * @return Quantidade de cada letra (posição 0 para a, 1 para b etc.)
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    public static long[] histograma(final InputStream entrada)
+            throws IOException {
+        final long[] histograma = new long[LETRAS];
+        final int[] contagem = new int[LETRAS + 1];
+        final byte[] bloco = new byte[TAMANHO_BLOCO + 1];
+        final ByteBuffer bytes = ByteBuffer.wrap(bloco);
+        int fim = 0;
+        int lidos;
+        while ((lidos = entrada.read(bloco, fim, TAMANHO_BLOCO)) != -1) {
+            fim += lidos;
+            // Um primeiro byte no final do bloco aguarda a continuação.
+            final int consumidos = acumula(bytes, 0, fim, fim == 0
+                    || !primeiroByteLatin1(bloco[fim - 1]) ? fim : fim - 1,
+                    contagem);
+            acumula(contagem, histograma);
+            System.arraycopy(bloco, consumidos, bloco, 0, fim - consumidos);
+            fim -= consumidos;
+        }
+        acumula(bytes, 0, fim, fim, contagem);
+        acumula(contagem, histograma);
+
+        return histograma;
+    }
+
+    /**
+     * Produz o histograma das letras de um arquivo texto em UTF-8. O arquivo
+     * é processado em paralelo, em trechos mapeados em memória.
+     *
+     * @param arquivo O arquivo
+     * @return Quantidade de cada letra (posição 0 para a, 1 para b etc.)
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    public static long[] histograma(final Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            final long tamanho = canal.size();
+            final int trechos = (int) ((tamanho + TAMANHO_TRECHO - 1)
+                    / TAMANHO_TRECHO);
+
+            final int[][] parciais;
+            try {
+                parciais = IntStream.range(0, trechos).parallel()
+                        .mapToObj(i -> histogramaDoTrecho(canal,
+                                i * TAMANHO_TRECHO, tamanho))
+                        .toArray(int[][]::new);
+            } catch (UncheckedIOException exp) {
+                throw exp.getCause();
+            }
+
+            final long[] histograma = new long[LETRAS];
+            for (final int[] parcial : parciais) {
+                acumula(parcial, histograma);
+            }
+
+            return histograma;
+        }
+    }
+
+    /**
+     * Produz o histograma de um trecho do arquivo. O trecho inclui as
+     * sequências UTF-8 cujo primeiro byte está em
+     * [inicio, inicio + {@link #TAMANHO_TRECHO}).
+     *
+     * @param canal   Canal do arquivo
+     * @param inicio  Posição inicial do trecho
+     * @param tamanho Tamanho do arquivo
+     * @return Contagem de cada letra no trecho
+     */
+    private static int[] histogramaDoTrecho(final FileChannel canal,
+                                            final long inicio,
+                                            final long tamanho) {
+        final long fim = Math.min(inicio + TAMANHO_TRECHO, tamanho);
+        // Um byte adicional completa a sequência iniciada no último byte.
+        final long mapeado = Math.min(fim + 1, tamanho);
+        final ByteBuffer trecho;
+        try {
+            trecho = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                    mapeado - inicio);
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        }
+
+        final int[] contagem = new int[LETRAS + 1];
+        acumula(trecho, 0, (int) (mapeado - inicio), (int) (fim - inicio),
+                contagem);
+        return contagem;
+    }
+
+    /**
+     * Conta as letras de um trecho de texto em UTF-8. Apenas os caracteres
+     * ASCII (um byte) e Latin-1 (dois bytes, iniciados por 0xC2 ou 0xC3)
+     * podem ser letras; os demais bytes são ignorados.
+     *
+     * @param bytes    O texto em UTF-8
+     * @param inicio   Posição inicial do trecho (inclusive)
+     * @param fim      Posição final dos bytes disponíveis (exclusive)
+     * @param limite   Posição a partir da qual não se inicia uma nova
+     *                 sequência (no máximo fim)
+     * @param contagem Contagem de cada letra, a ser incrementada
+     * @return A posição do primeiro byte não consumido
+     */
+    static int acumula(final ByteBuffer bytes, final int inicio,
+                       final int fim, final int limite,
+                       final int[] contagem) {
+        int i = inicio;
+        while (i < limite) {
+            final int b = bytes.get(i);
+            if (b >= 0) {
+                contagem[DOBRA[b]]++;
+                i++;
+            } else if (primeiroByteLatin1((byte) b) && i + 1 < fim
+                    && (bytes.get(i + 1) & 0xC0) == 0x80) {
+                contagem[DOBRA[(b & 0x03) << 6 | bytes.get(i + 1) & 0x3F]]++;
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+
+        return i;
+    }
+
+    /**
+     * Acumula uma contagem parcial em um histograma e zera a contagem.
+     *
+     * @param contagem   Contagem parcial (a última posição é descartada)
+     * @param histograma Histograma que recebe a soma
+     */
+    private static void acumula(final int[] contagem,
+                                final long[] histograma) {
+        for (int letra = 0; letra < LETRAS; letra++) {
+            histograma[letra] += contagem[letra];
+            contagem[letra] = 0;
+        }
+        contagem[NENHUMA] = 0;
+    }
+
+    /**
+     * Verifica se um byte inicia a codificação UTF-8 de um caractere Latin-1
+     * fora da faixa ASCII (U+0080 a U+00FF).
+     *
+     * @param b O byte
+     * @return verdadeiro, se o byte é 0xC2 ou 0xC3
+     */
+    private static boolean primeiroByteLatin1(final byte b) {
+        return (b & 0xFE) == 0xC2;
+    }
+
+    /**
+     * Cria a tabela de letras dos caracteres Latin-1: a letra base da
+     * decomposição canônica, em minúscula.
+     *
+     * @return A tabela
+     */
+    private static byte[] criaDobra() {
+        final byte[] dobra = new byte[LATIN1];
+        for (char c = 0; c < LATIN1; c++) {
+            final char base = Character.toLowerCase(Normalizer.normalize(
+                    String.valueOf(c), Normalizer.Form.NFD).charAt(0));
+            dobra[c] = (byte) (base >= 'a' && base <= 'z'
+                    ? base - 'a'
+                    : NENHUMA);
+        }
+
+        return dobra;
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.util.Arrays;
+
+/**
+ * Índice de um vetor de números para consultas repetidas de contagem:
+ * mantém uma cópia ordenada do vetor, de forma que cada consulta é uma busca
+ * binária, em O(log n), e não uma varredura, como em
+ * {@link VetorUtils#conteIguais(double[], double)}. Os resultados são
+ * idênticos aos das operações de {@link VetorUtils}.
+ *
+ * <p>Números acrescentados após a criação são acumulados e incorporados à
+ * cópia ordenada na consulta seguinte, por intercalação em O(n + k log k)
+ * para k números novos, sem reordenar o vetor inteiro.</p>
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+public final class IndiceNumeros {
+
+    /**
+     * Números, em ordem crescente (NaN ao final).
+     */
+    private double[] ordenados;
+
+    /**
+     * Quantidade de números ordenados.
+     */
+    private int quantidade;
+
+    /**
+     * Quantidade de NaN entre os números ordenados.
+     */
+    private int quantidadeNaN;
+
+    /**
+     * Números acrescentados ainda não incorporados.
+     */
+    private double[] novos = new double[0];
+
+    /**
+     * Quantidade de números acrescentados ainda não incorporados.
+     */
+    private int quantidadeNovos;
+
+    /**
+     * Cria índice para um vetor de números. O vetor não é alterado.
+     *
+     * @param numeros Os números
+     */
+    public IndiceNumeros(final double[] numeros) {
+        ordenados = numeros.clone();
+        Arrays.parallelSort(ordenados);
+        quantidade = ordenados.length;
+        quantidadeNaN = contaNaN(ordenados, quantidade);
+    }
+
+    /**
+     * Acrescenta números ao índice.
+     *
+     * @param numeros Os números a serem acrescentados
+     */
+    public void adiciona(final double... numeros) {
+        if (quantidadeNovos + numeros.length > novos.length) {
+            novos = Arrays.copyOf(novos, Math.max(quantidadeNovos
+                    + numeros.length, 2 * novos.length));
+        }
+        System.arraycopy(numeros, 0, novos, quantidadeNovos, numeros.length);
+        quantidadeNovos += numeros.length;
+    }
+
+    /**
+     * Recupera a quantidade de números do índice.
+     *
+     * @return A quantidade de números
+     */
+    public int getQuantidade() {
+        return quantidade + quantidadeNovos;
+    }
+
+    /**
+     * Produz a contagem em que determinado número ocorre.
+     *
+     * @param comparador Valor a ser comparado
+     * @return Quantidade de números iguais (==) ao comparador
+     * @see VetorUtils#conteIguais(double[], double)
+     */
+    public long conteIguais(final double comparador) {
+        if (Double.isNaN(comparador)) {
+            return 0;
+        }
+
+        return conteNoIntervalo(comparador, comparador);
+    }
+
+    /**
+     * Produz a contagem de números que diferem de determinado número em no
+     * máximo uma tolerância.
+     *
+     * @param comparador Valor a ser comparado
+     * @param tolerancia Maior diferença (absoluta) admitida
+     * @return Quantidade de números próximos do comparador
+     * @throws IllegalArgumentException Se a tolerância é negativa ou NaN
+     * @see VetorUtils#conteIguais(double[], double, double)
+     */
+    public long conteIguais(final double comparador,
+                            final double tolerancia) {
+        VetorUtils.validaTolerancia(tolerancia);
+        incorporaNovos();
+
+        final int validos = quantidade - quantidadeNaN;
+        if (Double.isInfinite(comparador)) {
+            // A diferença é NaN para o próprio comparador e infinita para os
+            // demais números.
+            return tolerancia == Double.POSITIVE_INFINITY
+                    ? validos - conteNoIntervalo(comparador, comparador)
+                    : 0;
+        }
+
+        // A diferença (arredondada) não decresce com o número: os números
+        // próximos formam um trecho contíguo da cópia ordenada.
+        int inicio = 0;
+        int fim = validos;
+        while (inicio < fim) {
+            final int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] - comparador >= -tolerancia) {
+                fim = meio;
+            } else {
+                inicio = meio + 1;
+            }
+        }
+
+        final int primeiro = inicio;
+        fim = validos;
+        while (inicio < fim) {
+            final int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] - comparador > tolerancia) {
+                fim = meio;
+            } else {
+                inicio = meio + 1;
+            }
+        }
+
+        return inicio - primeiro;
+    }
+
+    /**
+     * Produz a contagem de números em um intervalo fechado.
+     *
+     * @param menor Limite inferior (inclusive)
+     * @param maior Limite superior (inclusive)
+     * @return Quantidade de números x tais que menor &lt;= x &lt;= maior
+     */
+    public long conteNoIntervalo(final double menor, final double maior) {
+        incorporaNovos();
+        if (!(menor <= maior)) {
+            return 0;
+        }
+
+        final int validos = quantidade - quantidadeNaN;
+        return primeiroMaior(maior, validos)
+                - primeiroNaoMenor(menor, validos);
+    }
+
+    /**
+     * Encontra a posição do primeiro número não menor que um valor.
+     *
+     * @param valor   O valor
+     * @param validos Quantidade de números que não são NaN
+     * @return A posição, em [0, validos]
+     */
+    private int primeiroNaoMenor(final double valor, final int validos) {
+        int inicio = 0;
+        int fim = validos;
+        while (inicio < fim) {
+            final int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] < valor) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+
+        return inicio;
+    }
+
+    /**
+     * Encontra a posição do primeiro número maior que um valor.
+     *
+     * @param valor   O valor
+     * @param validos Quantidade de números que não são NaN
+     * @return A posição, em [0, validos]
+     */
+    private int primeiroMaior(final double valor, final int validos) {
+        int inicio = 0;
+        int fim = validos;
+        while (inicio < fim) {
+            final int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] > valor) {
+                fim = meio;
+            } else {
+                inicio = meio + 1;
+            }
+        }
+
+        return inicio;
+    }
+
+    /**
+     * Incorpora à cópia ordenada os números acrescentados, ordenando-os e
+     * intercalando-os com os já ordenados.
+     */
+    private void incorporaNovos() {
+        if (quantidadeNovos == 0) {
+            return;
+        }
+
+        Arrays.sort(novos, 0, quantidadeNovos);
+        final double[] intercalados = new double[quantidade + quantidadeNovos];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < quantidade && j < quantidadeNovos) {
+            intercalados[k++] = Double.compare(ordenados[i], novos[j]) <= 0
+                    ? ordenados[i++]
+                    : novos[j++];
+        }
+        System.arraycopy(ordenados, i, intercalados, k, quantidade - i);
+        System.arraycopy(novos, j, intercalados, k + quantidade - i,
+                quantidadeNovos - j);
+
+        quantidadeNaN += contaNaN(novos, quantidadeNovos);
+        ordenados = intercalados;
+        quantidade = intercalados.length;
+        quantidadeNovos = 0;
+    }
+
+    /**
+     * Conta os NaN de um vetor.
+     *
+     * @param numeros    O vetor
+     * @param quantidade Quantidade de posições consideradas
+     * @return A quantidade de NaN
+     */
+    private static int contaNaN(final double[] numeros, final int quantidade) {
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (Double.isNaN(numeros[i])) {
+                total++;
+            }
+        }
+
+        return total;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de um vetor de palavras para consultas repetidas de contagem:
+ * mantém a frequência de cada palavra em uma tabela hash, de forma que cada
+ * consulta é feita em O(1), e não por varredura, como em
+ * {@link VetorUtils#contePalavra(String, String[])}. Palavras podem ser
+ * acrescentadas a qualquer momento.
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+public final class IndicePalavras {
+
+    /**
+     * Frequência de cada palavra (vetor de uma posição, incrementado sem
+     * criar objetos).
+     */
+    private final Map<String, long[]> frequencias = new HashMap<>();
+
+    /**
+     * Quantidade total de palavras.
+     */
+    private long total;
+
+    /**
+     * Cria índice para um vetor de palavras.
+     *
+     * @param palavras As palavras
+     */
+    public IndicePalavras(final String... palavras) {
+        adiciona(palavras);
+    }
+
+    /**
+     * Acrescenta palavras ao índice.
+     *
+     * @param palavras As palavras a serem acrescentadas
+     */
+    public void adiciona(final String... palavras) {
+        for (final String palavra : palavras) {
+            frequencias.computeIfAbsent(palavra, p -> new long[1])[0]++;
+        }
+        total += palavras.length;
+    }
+
+    /**
+     * Produz a quantidade de vezes que uma palavra ocorre.
+     *
+     * @param palavra A palavra a ser contada
+     * @return Quantidade de vezes que a palavra ocorre
+     * @see VetorUtils#contePalavra(String, String[])
+     */
+    public long contePalavra(final String palavra) {
+        final long[] frequencia = frequencias.get(palavra);
+        return frequencia == null ? 0 : frequencia[0];
+    }
+
+    /**
+     * Recupera a quantidade total de palavras.
+     *
+     * @return A quantidade de palavras
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Recupera a quantidade de palavras distintas.
+     *
+     * @return A quantidade de palavras distintas
+     */
+    public int getDistintas() {
+        return frequencias.size();
+    }
+
+}
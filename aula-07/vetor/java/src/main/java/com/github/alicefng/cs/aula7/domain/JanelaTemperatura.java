@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+/**
+ * Menor e maior temperatura de uma janela deslizante sobre leituras que
+ * chegam continuamente: as últimas N leituras ou as leituras dos últimos T
+ * instantes (na unidade em que os instantes são informados).
+ *
+ * <p>Cada extremo é mantido em uma fila dupla monotônica (valores crescentes
+ * para o mínimo e decrescentes para o máximo), armazenada em vetores
+ * circulares de tipos primitivos. Cada leitura entra e sai de cada fila no
+ * máximo uma vez, de forma que {@link #adiciona(long, double)} custa O(1)
+ * amortizado e as consultas, O(1). Janelas por quantidade não alocam
+ * memória após a criação; janelas por tempo dobram a capacidade quando
+ * necessário.</p>
+ *
+ * <p>Leituras NaN são desconsideradas. Não é seguro para uso por várias
+ * threads.</p>
+ */
+public final class JanelaTemperatura {
+
+    /**
+     * Capacidade inicial das filas de janelas por tempo.
+     */
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /**
+     * Quantidade de leituras da janela, ou 0 para janelas por tempo.
+     */
+    private final int quantidade;
+
+    /**
+     * Duração da janela, para janelas por tempo.
+     */
+    private final long duracao;
+
+    /**
+     * Candidatos ao mínimo, em ordem crescente de valor.
+     */
+    private final FilaMonotona menores;
+
+    /**
+     * Candidatos ao máximo, em ordem decrescente de valor.
+     */
+    private final FilaMonotona maiores;
+
+    /**
+     * Quantidade de leituras recebidas.
+     */
+    private long leituras;
+
+    /**
+     * Instante da leitura mais recente.
+     */
+    private long ultimoInstante = Long.MIN_VALUE;
+
+    /**
+     * Cria janela.
+     *
+     * @param quantidade Quantidade de leituras, ou 0
+     * @param duracao    Duração, para janelas por tempo
+     * @param capacidade Capacidade inicial das filas (potência de 2)
+     */
+    private JanelaTemperatura(final int quantidade, final long duracao,
+                              final int capacidade) {
+        this.quantidade = quantidade;
+        this.duracao = duracao;
+        menores = new FilaMonotona(capacidade, true);
+        maiores = new FilaMonotona(capacidade, false);
+    }
+
+    /**
+     * Cria janela sobre as últimas leituras.
+     *
+     * @param quantidade Quantidade de leituras da janela
+     * @return A janela
+     * @throws IllegalArgumentException Se a quantidade não é positiva
+     */
+    public static JanelaTemperatura ultimasLeituras(final int quantidade) {
+        if (quantidade <= 0 || quantidade > 1 << 30) {
+            throw new IllegalArgumentException(String.format(
+                    "quantidade inválida: %d", quantidade));
+        }
+
+        return new JanelaTemperatura(quantidade, 0,
+                Math.max(2, Integer.highestOneBit(quantidade - 1) << 1));
+    }
+
+    /**
+     * Cria janela sobre as leituras dos últimos instantes: uma leitura
+     * permanece na janela enquanto o seu instante é posterior ao instante
+     * mais recente menos a duração.
+     *
+     * @param duracao Duração da janela
+     * @return A janela
+     * @throws IllegalArgumentException Se a duração não é positiva
+     */
+    public static JanelaTemperatura ultimosInstantes(final long duracao) {
+        if (duracao <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "duração inválida: %d", duracao));
+        }
+
+        return new JanelaTemperatura(0, duracao, CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Registra uma leitura. Em janelas por quantidade, o instante é
+     * desconsiderado.
+     *
+     * @param instante    Instante da leitura (não decrescente, em janelas
+     *                    por tempo)
+     * @param temperatura A temperatura lida
+     * @throws IllegalArgumentException Se o instante é anterior ao da
+     *                                  leitura mais recente, em janelas por
+     *                                  tempo
+     */
+    public void adiciona(final long instante, final double temperatura) {
+        final long chave;
+        if (quantidade > 0) {
+            chave = leituras;
+            menores.expira(chave - quantidade);
+            maiores.expira(chave - quantidade);
+        } else {
+            expira(instante);
+            chave = instante;
+        }
+        leituras++;
+
+        if (!Double.isNaN(temperatura)) {
+            menores.adiciona(chave, temperatura);
+            maiores.adiciona(chave, temperatura);
+        }
+    }
+
+    /**
+     * Expira as leituras anteriores à janela que termina em um instante,
+     * sem registrar leitura. Sem efeito em janelas por quantidade.
+     *
+     * @param instante O instante atual
+     * @throws IllegalArgumentException Se o instante é anterior ao da
+     *                                  leitura mais recente
+     */
+    public void expira(final long instante) {
+        if (quantidade > 0) {
+            return;
+        }
+        if (instante < ultimoInstante) {
+            throw new IllegalArgumentException(String.format(
+                    "instante %d anterior a %d", instante, ultimoInstante));
+        }
+
+        ultimoInstante = instante;
+        menores.expira(instante - duracao);
+        maiores.expira(instante - duracao);
+    }
+
+    /**
+     * Verifica se a janela não contém leituras (exceto NaN).
+     *
+     * @return verdadeiro, se a janela está vazia
+     */
+    public boolean isVazia() {
+        return menores.isVazia();
+    }
+
+    /**
+     * Recupera a menor temperatura da janela.
+     *
+     * @return A menor temperatura
+     * @throws IllegalStateException Se a janela está vazia
+     */
+    public double getMenor() {
+        return menores.getPrimeiro();
+    }
+
+    /**
+     * Recupera a maior temperatura da janela.
+     *
+     * @return A maior temperatura
+     * @throws IllegalStateException Se a janela está vazia
+     */
+    public double getMaior() {
+        return maiores.getPrimeiro();
+    }
+
+    /**
+     * Fila dupla monotônica em vetores circulares: os valores, do início ao
+     * fim, são estritamente crescentes (mínimo) ou decrescentes (máximo), e
+     * as chaves (posição ou instante da leitura), crescentes.
+     */
+    private static final class FilaMonotona {
+
+        /**
+         * Indica se a fila mantém o mínimo (ou o máximo).
+         */
+        private final boolean minimo;
+
+        /**
+         * Chaves das leituras.
+         */
+        private long[] chaves;
+
+        /**
+         * Valores das leituras.
+         */
+        private double[] valores;
+
+        /**
+         * Posição do primeiro elemento.
+         */
+        private int inicio;
+
+        /**
+         * Quantidade de elementos.
+         */
+        private int tamanho;
+
+        /**
+         * Cria fila vazia.
+         *
+         * @param capacidade Capacidade (potência de 2)
+         * @param minimo     Indica se a fila mantém o mínimo
+         */
+        FilaMonotona(final int capacidade, final boolean minimo) {
+            this.minimo = minimo;
+            chaves = new long[capacidade];
+            valores = new double[capacidade];
+        }
+
+        /**
+         * Acrescenta uma leitura ao final, descartando as que não podem mais
+         * ser o extremo da janela.
+         *
+         * @param chave A chave da leitura
+         * @param valor O valor da leitura
+         */
+        void adiciona(final long chave, final double valor) {
+            final int mascara = valores.length - 1;
+            while (tamanho > 0) {
+                final double ultimo =
+                        valores[(inicio + tamanho - 1) & mascara];
+                if (minimo ? ultimo < valor : ultimo > valor) {
+                    break;
+                }
+                tamanho--;
+            }
+
+            if (tamanho == valores.length) {
+                cresce();
+            }
+            final int posicao = (inicio + tamanho) & (valores.length - 1);
+            chaves[posicao] = chave;
+            valores[posicao] = valor;
+            tamanho++;
+        }
+
+        /**
+         * Remove do início as leituras com chave até um limite.
+         *
+         * @param limite A maior chave expirada
+         */
+        void expira(final long limite) {
+            final int mascara = valores.length - 1;
+            while (tamanho > 0 && chaves[inicio] <= limite) {
+                inicio = (inicio + 1) & mascara;
+                tamanho--;
+            }
+        }
+
+        /**
+         * Verifica se a fila está vazia.
+         *
+         * @return verdadeiro, se não há elementos
+         */
+        boolean isVazia() {
+            return tamanho == 0;
+        }
+
+        /**
+         * Recupera o valor do início da fila (o extremo da janela).
+         *
+         * @return O valor
+         * @throws IllegalStateException Se a fila está vazia
+         */
+        double getPrimeiro() {
+            if (tamanho == 0) {
+                throw new IllegalStateException("janela vazia");
+            }
+
+            return valores[inicio];
+        }
+
+        /**
+         * Dobra a capacidade, mantendo a ordem dos elementos.
+         */
+        private void cresce() {
+            final long[] novasChaves = new long[2 * chaves.length];
+            final double[] novosValores = new double[2 * valores.length];
+            final int mascara = valores.length - 1;
+            for (int i = 0; i < tamanho; i++) {
+                novasChaves[i] = chaves[(inicio + i) & mascara];
+                novosValores[i] = valores[(inicio + i) & mascara];
+            }
+            chaves = novasChaves;
+            valores = novosValores;
+            inicio = 0;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import com.github.alicefng.cs.aula7.domain.colecoes.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Janelas deslizantes de temperatura de vários sensores, identificados por
+ * um número. A janela de um sensor é criada na sua primeira leitura; as
+ * leituras seguintes localizam a janela por um {@link LongLongHashMap}, sem
+ * criar objetos.
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ *
+ * @see JanelaTemperatura
+ */
+public final class JanelasPorSensor {
+
+    /**
+     * Cria a janela de um novo sensor.
+     */
+    private final Supplier<JanelaTemperatura> fabrica;
+
+    /**
+     * Posição, em {@link #janelas}, da janela de cada sensor.
+     */
+    private final LongLongHashMap posicoes = new LongLongHashMap();
+
+    /**
+     * Janelas dos sensores, na ordem da primeira leitura.
+     */
+    private final List<JanelaTemperatura> janelas = new ArrayList<>();
+
+    /**
+     * Cria janelas com o formato fornecido, por exemplo
+     * {@code () -> JanelaTemperatura.ultimasLeituras(60)}.
+     *
+     * @param fabrica Cria a janela de um novo sensor
+     */
+    public JanelasPorSensor(final Supplier<JanelaTemperatura> fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Registra uma leitura de um sensor.
+     *
+     * @param sensor      Identificador do sensor
+     * @param instante    Instante da leitura
+     * @param temperatura A temperatura lida
+     * @see JanelaTemperatura#adiciona(long, double)
+     */
+    public void adiciona(final long sensor, final long instante,
+                         final double temperatura) {
+        long posicao = posicoes.getOrDefault(sensor, -1);
+        if (posicao < 0) {
+            posicao = janelas.size();
+            janelas.add(fabrica.get());
+            posicoes.put(sensor, posicao);
+        }
+
+        janelas.get((int) posicao).adiciona(instante, temperatura);
+    }
+
+    /**
+     * Expira as leituras anteriores à janela que termina em um instante, em
+     * todos os sensores.
+     *
+     * @param instante O instante atual
+     * @see JanelaTemperatura#expira(long)
+     */
+    public void expira(final long instante) {
+        for (final JanelaTemperatura janela : janelas) {
+            janela.expira(instante);
+        }
+    }
+
+    /**
+     * Recupera a janela de um sensor.
+     *
+     * @param sensor Identificador do sensor
+     * @return A janela, ou null, se não houve leitura do sensor
+     */
+    public JanelaTemperatura getJanela(final long sensor) {
+        final long posicao = posicoes.getOrDefault(sensor, -1);
+        return posicao < 0 ? null : janelas.get((int) posicao);
+    }
+
+    /**
+     * Recupera a menor temperatura da janela de um sensor.
+     *
+     * @param sensor Identificador do sensor
+     * @return A menor temperatura
+     * @throws IllegalStateException Se não há leituras do sensor na janela
+     */
+    public double getMenor(final long sensor) {
+        return janelaExistente(sensor).getMenor();
+    }
+
+    /**
+     * Recupera a maior temperatura da janela de um sensor.
+     *
+     * @param sensor Identificador do sensor
+     * @return A maior temperatura
+     * @throws IllegalStateException Se não há leituras do sensor na janela
+     */
+    public double getMaior(final long sensor) {
+        return janelaExistente(sensor).getMaior();
+    }
+
+    /**
+     * Recupera a quantidade de sensores com leituras.
+     *
+     * @return A quantidade de sensores
+     */
+    public int getSensores() {
+        return janelas.size();
+    }
+
+    /**
+     * Recupera a janela de um sensor com leituras.
+     *
+     * @param sensor Identificador do sensor
+     * @return A janela
+     * @throws IllegalStateException Se não houve leitura do sensor
+     */
+    private JanelaTemperatura janelaExistente(final long sensor) {
+        final JanelaTemperatura janela = getJanela(sensor);
+        if (janela == null) {
+            throw new IllegalStateException(String.format(
+                    "sensor sem leituras: %d", sensor));
+        }
+
+        return janela;
+    }
+
+}
@@ -0,0 +1,622 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Palavras mais frequentes (top-K) de um texto de tamanho ilimitado, em
+ * memória fixa. As frequências de todas as palavras são estimadas por um
+ * {@link CountMinSketch}, e um heap mínimo mantém as K candidatas com as
+ * maiores estimativas: uma palavra nova substitui a menos frequente das
+ * monitoradas apenas quando a sua estimativa a supera (não há herança da
+ * contagem substituída, como no Space-Saving). Cada frequência informada
+ * excede a real em no máximo epsilon * N, com probabilidade 1 - delta; o
+ * topo é, portanto, probabilístico, sem garantia determinística de que
+ * contém as K palavras mais frequentes.
+ *
+ * <p>As palavras são sequências de caracteres delimitadas por espaços em
+ * branco. Palavras com mais de {@link #TAMANHO_MAXIMO_PALAVRA} caracteres
+ * são truncadas (o restante é descartado), de forma que a memória empregada
+ * na leitura não depende do texto. Uma {@link String} é criada apenas
+ * quando uma palavra passa a ser monitorada. As operações são
+ * sincronizadas: {@link #topo()} pode ser chamado por outra thread durante
+ * a contagem. Contagens feitas em threads distintas podem ser combinadas
+ * por {@link #combina(PalavrasFrequentes)}.</p>
+ */
+public final class PalavrasFrequentes {
+
+    /**
+     * Quantidade máxima de caracteres de uma palavra; os seguintes são
+     * descartados.
+     */
+    public static final int TAMANHO_MAXIMO_PALAVRA = 8192;
+
+    /**
+     * Tamanho do bloco lido de um {@link Reader}: uma palavra incompleta
+     * no final de um bloco é mantida para o próximo, e só não cabe se
+     * excede o tamanho máximo.
+     */
+    private static final int TAMANHO_BLOCO = TAMANHO_MAXIMO_PALAVRA;
+
+    /**
+     * Constante multiplicativa para espalhar o hash (razão áurea).
+     */
+    private static final long ESPALHAMENTO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Quantidade máxima de palavras monitoradas (K).
+     */
+    private final int capacidade;
+
+    /**
+     * Estimativa das frequências de todas as palavras.
+     */
+    private final CountMinSketch sketch;
+
+    /**
+     * Palavras monitoradas, por entrada.
+     */
+    private final String[] palavras;
+
+    /**
+     * Hash de cada palavra monitorada, por entrada.
+     */
+    private final long[] hashes;
+
+    /**
+     * Frequência estimada de cada palavra monitorada, por entrada.
+     */
+    private final long[] contagens;
+
+    /**
+     * Heap mínimo de entradas, ordenado pela frequência.
+     */
+    private final int[] heap;
+
+    /**
+     * Posição de cada entrada no heap.
+     */
+    private final int[] posicaoNoHeap;
+
+    /**
+     * Tabela de endereçamento aberto: entrada + 1 ou 0 (vazio).
+     */
+    private final int[] tabela;
+
+    /**
+     * Quantidade de palavras monitoradas.
+     */
+    private int quantidade;
+
+    /**
+     * Frequência estimada de uma palavra.
+     */
+    public static final class Frequencia {
+
+        /**
+         * A palavra.
+         */
+        private final String palavra;
+
+        /**
+         * A frequência estimada.
+         */
+        private final long estimativa;
+
+        /**
+         * O erro máximo da estimativa.
+         */
+        private final long erroMaximo;
+
+        /**
+         * Cria frequência estimada.
+         *
+         * @param palavra    A palavra
+         * @param estimativa A frequência estimada
+         * @param erroMaximo O erro máximo da estimativa
+         */
+        Frequencia(final String palavra, final long estimativa,
+                   final long erroMaximo) {
+            this.palavra = palavra;
+            this.estimativa = estimativa;
+            this.erroMaximo = erroMaximo;
+        }
+
+        /**
+         * Recupera a palavra.
+         *
+         * @return A palavra
+         */
+        public String getPalavra() {
+            return palavra;
+        }
+
+        /**
+         * Recupera a frequência estimada (nunca inferior à real).
+         *
+         * @return A frequência estimada
+         */
+        public long getEstimativa() {
+            return estimativa;
+        }
+
+        /**
+         * Recupera o erro máximo da estimativa: a frequência real é ao menos
+         * estimativa - erroMaximo (com probabilidade 1 - delta).
+         *
+         * @return O erro máximo
+         */
+        public long getErroMaximo() {
+            return erroMaximo;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s=%d(±%d)", palavra, estimativa,
+                    erroMaximo);
+        }
+    }
+
+    /**
+     * Cria contagem das K palavras mais frequentes.
+     *
+     * @param capacidade Quantidade de palavras monitoradas (K)
+     * @param epsilon    Erro relativo máximo das frequências
+     * @param delta      Probabilidade de o erro exceder o máximo
+     * @throws IllegalArgumentException Se a capacidade não é positiva ou se
+     *                                  epsilon ou delta não estão entre 0 e 1
+     */
+    public PalavrasFrequentes(final int capacidade, final double epsilon,
+                              final double delta) {
+        this(capacidade, new CountMinSketch(epsilon, delta));
+    }
+
+    /**
+     * Cria contagem com a estrutura de estimativa fornecida.
+     *
+     * @param capacidade Quantidade de palavras monitoradas (K)
+     * @param sketch     Estrutura de estimativa
+     */
+    private PalavrasFrequentes(final int capacidade,
+                               final CountMinSketch sketch) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "capacidade inválida: %d", capacidade));
+        }
+
+        this.capacidade = capacidade;
+        this.sketch = sketch;
+        palavras = new String[capacidade];
+        hashes = new long[capacidade];
+        contagens = new long[capacidade];
+        heap = new int[capacidade];
+        posicaoNoHeap = new int[capacidade];
+        tabela = new int[Integer.highestOneBit(capacidade) << 2];
+    }
+
+    /**
+     * Registra uma ocorrência de uma palavra.
+     *
+     * @param palavra A palavra
+     */
+    public synchronized void adiciona(final CharSequence palavra) {
+        registra(palavra, 0, Math.min(palavra.length(),
+                TAMANHO_MAXIMO_PALAVRA));
+    }
+
+    /**
+     * Registra as palavras lidas de um texto, até o seu final. O texto é
+     * lido em blocos de tamanho fixo e {@link #topo()} pode ser chamado
+     * entre blocos.
+     *
+     * @param leitor Fonte do texto
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    public void adiciona(final Reader leitor) throws IOException {
+        final char[] buffer = new char[TAMANHO_BLOCO];
+        int fim = 0;
+        boolean descartando = false;
+        int lidos;
+        while ((lidos = leitor.read(buffer, fim, buffer.length - fim)) != -1) {
+            fim += lidos;
+            if (descartando) {
+                // Restante de palavra truncada (o buffer estava vazio).
+                int i = 0;
+                while (i < fim && !Character.isWhitespace(buffer[i])) {
+                    i++;
+                }
+                descartando = i == fim;
+                System.arraycopy(buffer, i, buffer, 0, fim - i);
+                fim -= i;
+            }
+
+            final int consumidos = registraPalavras(buffer, fim, false);
+            System.arraycopy(buffer, consumidos, buffer, 0, fim - consumidos);
+            fim -= consumidos;
+            if (fim == buffer.length) {
+                // O buffer contém apenas uma palavra: é truncada.
+                registraPalavras(buffer, fim, true);
+                fim = 0;
+                descartando = true;
+            }
+        }
+        registraPalavras(buffer, fim, true);
+    }
+
+    /**
+     * Registra as palavras de um bloco de caracteres.
+     *
+     * @param bloco  Caracteres lidos
+     * @param fim    Quantidade de caracteres válidos no bloco
+     * @param ultimo Indica se não há mais caracteres após o bloco
+     * @return Quantidade de caracteres consumidos (uma palavra no final do
+     * bloco só é consumida se ultimo é verdadeiro)
+     */
+    private synchronized int registraPalavras(final char[] bloco,
+                                              final int fim,
+                                              final boolean ultimo) {
+        final CharSequence texto = CharBuffer.wrap(bloco, 0, fim);
+        int inicio = -1;
+        for (int i = 0; i < fim; i++) {
+            if (Character.isWhitespace(bloco[i])) {
+                if (inicio >= 0) {
+                    registra(texto, inicio, i);
+                    inicio = -1;
+                }
+            } else if (inicio < 0) {
+                inicio = i;
+            }
+        }
+
+        if (inicio < 0) {
+            return fim;
+        }
+        if (ultimo) {
+            registra(texto, inicio, fim);
+            return fim;
+        }
+
+        return inicio;
+    }
+
+    /**
+     * Incorpora a contagem feita por outra instância com os mesmos
+     * parâmetros (por exemplo, em outra thread). As palavras monitoradas
+     * passam a ser as K mais frequentes entre as monitoradas por ambas.
+     *
+     * @param outra A contagem a ser incorporada
+     * @throws IllegalArgumentException Se os parâmetros são distintos
+     */
+    public void combina(final PalavrasFrequentes outra) {
+        final PalavrasFrequentes copia = outra.copia();
+        synchronized (this) {
+            sketch.combina(copia.sketch);
+
+            final List<String> candidatas = new ArrayList<>();
+            final List<Long> hashesCandidatas = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                candidatas.add(palavras[i]);
+                hashesCandidatas.add(hashes[i]);
+            }
+            for (int i = 0; i < copia.quantidade; i++) {
+                if (procura(copia.hashes[i], copia.palavras[i], 0,
+                        copia.palavras[i].length()) < 0) {
+                    candidatas.add(copia.palavras[i]);
+                    hashesCandidatas.add(copia.hashes[i]);
+                }
+            }
+
+            final Integer[] ordem = new Integer[candidatas.size()];
+            final long[] estimativas = new long[candidatas.size()];
+            for (int i = 0; i < ordem.length; i++) {
+                ordem[i] = i;
+                estimativas[i] = sketch.estimativa(hashesCandidatas.get(i));
+            }
+            Arrays.sort(ordem, (a, b) -> Long.compare(estimativas[b],
+                    estimativas[a]));
+
+            Arrays.fill(tabela, 0);
+            quantidade = 0;
+            for (int i = 0; i < Math.min(capacidade, ordem.length); i++) {
+                final int candidata = ordem[i];
+                insere(candidatas.get(candidata),
+                        hashesCandidatas.get(candidata),
+                        estimativas[candidata]);
+            }
+        }
+    }
+
+    /**
+     * Produz as palavras monitoradas, da mais para a menos frequente, com a
+     * estimativa atual. Pode ser chamado durante a contagem.
+     *
+     * @return As palavras mais frequentes (no máximo K)
+     */
+    public synchronized List<Frequencia> topo() {
+        final long erro = sketch.getErroMaximo();
+        final List<Frequencia> topo = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            topo.add(new Frequencia(palavras[i],
+                    sketch.estimativa(hashes[i]), erro));
+        }
+        topo.sort((a, b) -> a.getEstimativa() != b.getEstimativa()
+                ? Long.compare(b.getEstimativa(), a.getEstimativa())
+                : a.getPalavra().compareTo(b.getPalavra()));
+
+        return Collections.unmodifiableList(topo);
+    }
+
+    /**
+     * Recupera o total de palavras registradas.
+     *
+     * @return O total de palavras
+     */
+    public synchronized long getTotal() {
+        return sketch.getTotal();
+    }
+
+    /**
+     * Produz uma cópia independente da contagem.
+     *
+     * @return A cópia
+     */
+    synchronized PalavrasFrequentes copia() {
+        final PalavrasFrequentes copia = new PalavrasFrequentes(capacidade,
+                sketch.copia());
+        for (int i = 0; i < quantidade; i++) {
+            copia.insere(palavras[i], hashes[i], contagens[i]);
+        }
+
+        return copia;
+    }
+
+    /**
+     * Calcula o hash de 64 bits de um trecho de texto (FNV-1a seguido de
+     * mistura final).
+     *
+     * @param texto  O texto
+     * @param inicio Posição inicial (inclusive)
+     * @param fim    Posição final (exclusive)
+     * @return O hash do trecho
+     */
+    static long hash(final CharSequence texto, final int inicio,
+                     final int fim) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = inicio; i < fim; i++) {
+            hash = (hash ^ texto.charAt(i)) * 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Registra uma ocorrência da palavra contida em um trecho de texto.
+     *
+     * @param texto  O texto
+     * @param inicio Posição inicial da palavra (inclusive)
+     * @param fim    Posição final da palavra (exclusive)
+     */
+    private void registra(final CharSequence texto, final int inicio,
+                          final int fim) {
+        final long hash = hash(texto, inicio, fim);
+        final long estimativa = sketch.adiciona(hash, 1);
+
+        final int entrada = procura(hash, texto, inicio, fim);
+        if (entrada >= 0) {
+            contagens[entrada] = estimativa;
+            desce(posicaoNoHeap[entrada]);
+            return;
+        }
+
+        if (quantidade < capacidade) {
+            insere(texto.subSequence(inicio, fim).toString(), hash,
+                    estimativa);
+            return;
+        }
+
+        final int minima = heap[0];
+        if (estimativa > contagens[minima]) {
+            removeDaTabela(minima);
+            palavras[minima] = texto.subSequence(inicio, fim).toString();
+            hashes[minima] = hash;
+            contagens[minima] = estimativa;
+            insereNaTabela(minima);
+            desce(0);
+        }
+    }
+
+    /**
+     * Passa a monitorar uma palavra (há espaço disponível).
+     *
+     * @param palavra    A palavra
+     * @param hash       O hash da palavra
+     * @param estimativa A frequência estimada
+     */
+    private void insere(final String palavra, final long hash,
+                        final long estimativa) {
+        final int entrada = quantidade++;
+        palavras[entrada] = palavra;
+        hashes[entrada] = hash;
+        contagens[entrada] = estimativa;
+        insereNaTabela(entrada);
+        heap[entrada] = entrada;
+        posicaoNoHeap[entrada] = entrada;
+        sobe(entrada);
+    }
+
+    /**
+     * Procura uma palavra monitorada.
+     *
+     * @param hash   O hash da palavra
+     * @param texto  Texto que contém a palavra
+     * @param inicio Posição inicial da palavra (inclusive)
+     * @param fim    Posição final da palavra (exclusive)
+     * @return A entrada da palavra, ou -1, se não é monitorada
+     */
+    private int procura(final long hash, final CharSequence texto,
+                        final int inicio, final int fim) {
+        final int mascara = tabela.length - 1;
+        for (int i = posicaoInicial(hash); tabela[i] != 0;
+             i = (i + 1) & mascara) {
+            final int entrada = tabela[i] - 1;
+            if (hashes[entrada] == hash
+                    && iguais(palavras[entrada], texto, inicio, fim)) {
+                return entrada;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compara uma palavra com um trecho de texto.
+     *
+     * @param palavra A palavra
+     * @param texto   O texto
+     * @param inicio  Posição inicial do trecho (inclusive)
+     * @param fim     Posição final do trecho (exclusive)
+     * @return verdadeiro, se o trecho é igual à palavra
+     */
+    private static boolean iguais(final String palavra,
+                                  final CharSequence texto, final int inicio,
+                                  final int fim) {
+        if (palavra.length() != fim - inicio) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (palavra.charAt(i - inicio) != texto.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Insere uma entrada na tabela de endereçamento aberto.
+     *
+     * @param entrada A entrada
+     */
+    private void insereNaTabela(final int entrada) {
+        final int mascara = tabela.length - 1;
+        int i = posicaoInicial(hashes[entrada]);
+        while (tabela[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        tabela[i] = entrada + 1;
+    }
+
+    /**
+     * Remove uma entrada da tabela, deslocando as seguintes para preservar
+     * as sequências de sondagem.
+     *
+     * @param entrada A entrada
+     */
+    private void removeDaTabela(final int entrada) {
+        final int mascara = tabela.length - 1;
+        int livre = posicaoInicial(hashes[entrada]);
+        while (tabela[livre] != entrada + 1) {
+            livre = (livre + 1) & mascara;
+        }
+
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (tabela[i] == 0) {
+                break;
+            }
+            final int ideal = posicaoInicial(hashes[tabela[i] - 1]);
+            final boolean permanece = livre <= i
+                    ? livre < ideal && ideal <= i
+                    : livre < ideal || ideal <= i;
+            if (!permanece) {
+                tabela[livre] = tabela[i];
+                livre = i;
+            }
+        }
+        tabela[livre] = 0;
+    }
+
+    /**
+     * Produz a posição inicial de sondagem de um hash.
+     *
+     * @param hash O hash
+     * @return A posição inicial na tabela
+     */
+    private int posicaoInicial(final long hash) {
+        return (int) ((hash * ESPALHAMENTO)
+                >>> Long.numberOfLeadingZeros(tabela.length - 1L));
+    }
+
+    /**
+     * Move uma posição do heap em direção à raiz, enquanto menor que o pai.
+     *
+     * @param posicao A posição no heap
+     */
+    private void sobe(final int posicao) {
+        int i = posicao;
+        while (i > 0) {
+            final int pai = (i - 1) / 2;
+            if (contagens[heap[pai]] <= contagens[heap[i]]) {
+                return;
+            }
+            troca(i, pai);
+            i = pai;
+        }
+    }
+
+    /**
+     * Move uma posição do heap em direção às folhas, enquanto maior que
+     * algum filho.
+     *
+     * @param posicao A posição no heap
+     */
+    private void desce(final int posicao) {
+        int i = posicao;
+        while (true) {
+            final int esquerdo = 2 * i + 1;
+            if (esquerdo >= quantidade) {
+                return;
+            }
+            final int direito = esquerdo + 1;
+            final int menor = direito < quantidade
+                    && contagens[heap[direito]] < contagens[heap[esquerdo]]
+                    ? direito
+                    : esquerdo;
+            if (contagens[heap[i]] <= contagens[heap[menor]]) {
+                return;
+            }
+            troca(i, menor);
+            i = menor;
+        }
+    }
+
+    /**
+     * Troca duas posições do heap.
+     *
+     * @param i Uma posição
+     * @param j Outra posição
+     */
+    private void troca(final int i, final int j) {
+        final int entrada = heap[i];
+        heap[i] = heap[j];
+        heap[j] = entrada;
+        posicaoNoHeap[heap[i]] = i;
+        posicaoNoHeap[heap[j]] = j;
+    }
+
+}
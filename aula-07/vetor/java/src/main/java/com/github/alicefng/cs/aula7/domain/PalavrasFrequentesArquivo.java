@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Palavras mais frequentes de um arquivo texto (UTF-8), contadas em
+ * paralelo. O arquivo é dividido em trechos terminados em espaço em branco,
+ * mapeados em memória e distribuídos entre as threads. Cada thread mantém a
+ * sua própria {@link PalavrasFrequentes}, combinadas ao final ou, durante a
+ * contagem, a cada chamada de {@link #parcial()}.
+ */
+public final class PalavrasFrequentesArquivo {
+
+    /**
+     * Tamanho aproximado (em bytes) de cada trecho do arquivo.
+     */
+    private static final long TAMANHO_TRECHO = 16L * 1024 * 1024;
+
+    /**
+     * Tamanho do bloco lido na procura do fim de um trecho.
+     */
+    private static final int TAMANHO_PROCURA = 4096;
+
+    /**
+     * O arquivo a ser processado.
+     */
+    private final Path arquivo;
+
+    /**
+     * Quantidade de palavras monitoradas (K).
+     */
+    private final int capacidade;
+
+    /**
+     * Erro relativo máximo das frequências.
+     */
+    private final double epsilon;
+
+    /**
+     * Probabilidade de o erro exceder o máximo.
+     */
+    private final double delta;
+
+    /**
+     * Contagens parciais, uma por thread.
+     */
+    private final PalavrasFrequentes[] parciais;
+
+    /**
+     * Cria contagem paralela das K palavras mais frequentes de um arquivo,
+     * com uma thread por processador.
+     *
+     * @param arquivo    O arquivo a ser processado
+     * @param capacidade Quantidade de palavras monitoradas (K)
+     * @param epsilon    Erro relativo máximo das frequências
+     * @param delta      Probabilidade de o erro exceder o máximo
+     */
+    public PalavrasFrequentesArquivo(final Path arquivo, final int capacidade,
+                                     final double epsilon,
+                                     final double delta) {
+        this(arquivo, capacidade, epsilon, delta,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria contagem paralela das K palavras mais frequentes de um arquivo.
+     *
+     * @param arquivo    O arquivo a ser processado
+     * @param capacidade Quantidade de palavras monitoradas (K)
+     * @param epsilon    Erro relativo máximo das frequências
+     * @param delta      Probabilidade de o erro exceder o máximo
+     * @param threads    Quantidade de threads
+     * @throws IllegalArgumentException Se algum parâmetro é inválido
+     */
+    public PalavrasFrequentesArquivo(final Path arquivo, final int capacidade,
+                                     final double epsilon, final double delta,
+                                     final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "threads inválido: %d", threads));
+        }
+
+        this.arquivo = arquivo;
+        this.capacidade = capacidade;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        parciais = new PalavrasFrequentes[threads];
+        for (int i = 0; i < threads; i++) {
+            parciais[i] = new PalavrasFrequentes(capacidade, epsilon, delta);
+        }
+    }
+
+    /**
+     * Conta as palavras de todo o arquivo. Bloqueia até o final da contagem.
+     *
+     * @return A combinação das contagens de todas as threads
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    public PalavrasFrequentes executa() throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            final long[] limites = limitesDosTrechos(canal);
+            final AtomicInteger proximo = new AtomicInteger();
+            final ExecutorService executor =
+                    Executors.newFixedThreadPool(parciais.length);
+            try {
+                final List<Future<?>> tarefas = new ArrayList<>();
+                for (final PalavrasFrequentes parcial : parciais) {
+                    tarefas.add(executor.submit(() -> {
+                        int trecho;
+                        while ((trecho = proximo.getAndIncrement())
+                                < limites.length - 1) {
+                            contaTrecho(canal, limites[trecho],
+                                    limites[trecho + 1], parcial);
+                        }
+                    }));
+                }
+                for (final Future<?> tarefa : tarefas) {
+                    aguarda(tarefa);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        return parcial();
+    }
+
+    /**
+     * Combina as contagens das threads no estado atual. Pode ser chamado
+     * durante {@link #executa()}.
+     *
+     * @return A combinação das contagens parciais
+     */
+    public PalavrasFrequentes parcial() {
+        final PalavrasFrequentes total = new PalavrasFrequentes(capacidade,
+                epsilon, delta);
+        for (final PalavrasFrequentes parcial : parciais) {
+            total.combina(parcial);
+        }
+
+        return total;
+    }
+
+    /**
+     * Aguarda o final de uma tarefa, repassando a exceção de leitura.
+     *
+     * @param tarefa A tarefa
+     * @throws IOException Se a tarefa falhou por erro de leitura
+     */
+    private static void aguarda(final Future<?> tarefa) throws IOException {
+        try {
+            tarefa.get();
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            throw new IOException("contagem interrompida", exp);
+        } catch (ExecutionException exp) {
+            if (exp.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) exp.getCause()).getCause();
+            }
+            throw new IllegalStateException(exp.getCause());
+        }
+    }
+
+    /**
+     * Conta as palavras de um trecho do arquivo.
+     *
+     * @param canal   Canal do arquivo
+     * @param inicio  Posição inicial do trecho (inclusive)
+     * @param fim     Posição final do trecho (exclusive)
+     * @param parcial Contagem da thread
+     */
+    private static void contaTrecho(final FileChannel canal, final long inicio,
+                                    final long fim,
+                                    final PalavrasFrequentes parcial) {
+        try {
+            final ByteBuffer trecho = canal.map(FileChannel.MapMode.READ_ONLY,
+                    inicio, fim - inicio);
+            parcial.adiciona(new InputStreamReader(new EntradaDeBytes(trecho),
+                    StandardCharsets.UTF_8));
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        }
+    }
+
+    /**
+     * Divide o arquivo em trechos que terminam após um espaço em branco
+     * ASCII (ou no final do arquivo), de forma que nenhuma palavra é
+     * dividida. Em UTF-8, tais bytes nunca fazem parte de outro caractere.
+     *
+     * @param canal Canal do arquivo
+     * @return Os limites dos trechos (o primeiro é 0 e o último é o tamanho
+     * do arquivo)
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    private static long[] limitesDosTrechos(final FileChannel canal)
+            throws IOException {
+        final long tamanho = canal.size();
+        final List<Long> limites = new ArrayList<>();
+        limites.add(0L);
+
+        final ByteBuffer bloco = ByteBuffer.allocate(TAMANHO_PROCURA);
+        long posicao = TAMANHO_TRECHO;
+        while (posicao < tamanho) {
+            long limite = tamanho;
+            procura:
+            for (long p = posicao; p < tamanho; p += bloco.limit()) {
+                bloco.clear();
+                canal.read(bloco, p);
+                bloco.flip();
+                for (int i = 0; i < bloco.limit(); i++) {
+                    if (espaco(bloco.get(i))) {
+                        limite = p + i + 1;
+                        break procura;
+                    }
+                }
+            }
+            if (limite > limites.get(limites.size() - 1)) {
+                limites.add(limite);
+            }
+            posicao = limite + TAMANHO_TRECHO;
+        }
+        if (limites.get(limites.size() - 1) < tamanho) {
+            limites.add(tamanho);
+        }
+
+        final long[] resultado = new long[limites.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = limites.get(i);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Avalia se um byte é um espaço em branco ASCII.
+     *
+     * @param b O byte
+     * @return verdadeiro, se é espaço, tabulação ou quebra de linha
+     */
+    private static boolean espaco(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Fluxo de entrada sobre um {@link ByteBuffer}.
+     */
+    private static final class EntradaDeBytes extends InputStream {
+
+        /**
+         * Os bytes a serem lidos.
+         */
+        private final ByteBuffer bytes;
+
+        /**
+         * Cria fluxo sobre os bytes.
+         *
+         * @param bytes Os bytes a serem lidos
+         */
+        EntradaDeBytes(final ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return bytes.hasRemaining() ? bytes.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] destino, final int inicio,
+                        final int tamanho) {
+            if (tamanho == 0) {
+                return 0;
+            }
+            if (!bytes.hasRemaining()) {
+                return -1;
+            }
+
+            final int lidos = Math.min(tamanho, bytes.remaining());
+            bytes.get(destino, inicio, lidos);
+            return lidos;
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Série de leituras de temperatura armazenada em colunas compactadas, em
+ * blocos de tamanho fixo no formato Gorilla ({@link BlocoTemperatura}).
+ * Leituras periódicas de temperaturas que variam pouco ocupam, em geral,
+ * poucos bits cada, em vez dos 16 bytes de um instante e um {@code double}.
+ *
+ * <p>As consultas pela menor e pela maior temperatura empregam o cabeçalho
+ * de cada bloco: blocos inteiramente contidos no período consultado não são
+ * decodificados, e blocos parcialmente contidos são decodificados apenas se
+ * o seu extremo pode alterar o resultado. Leituras NaN são armazenadas, mas
+ * não participam das consultas.</p>
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+public final class SerieTemperatura {
+
+    /**
+     * Quantidade padrão de leituras por bloco.
+     */
+    private static final int LEITURAS_POR_BLOCO = 1024;
+
+    /**
+     * Maior quantidade de leituras por bloco (de forma que a quantidade de
+     * bits de um bloco não excede {@code int}).
+     */
+    private static final int MAXIMO_POR_BLOCO = 1 << 20;
+
+    /**
+     * Quantidade de leituras de cada bloco (exceto o último).
+     */
+    private final int leiturasPorBloco;
+
+    /**
+     * Os blocos, em ordem cronológica. O último pode estar aberto.
+     */
+    private final List<BlocoTemperatura> blocos = new ArrayList<>();
+
+    /**
+     * Bloco que recebe as novas leituras, ou null.
+     */
+    private BlocoTemperatura aberto;
+
+    /**
+     * Quantidade de leituras.
+     */
+    private long quantidade;
+
+    /**
+     * Cria série vazia com a quantidade padrão de leituras por bloco.
+     */
+    public SerieTemperatura() {
+        this(LEITURAS_POR_BLOCO);
+    }
+
+    /**
+     * Cria série vazia.
+     *
+     * @param leiturasPorBloco Quantidade de leituras de cada bloco
+     * @throws IllegalArgumentException Se a quantidade não está em
+     *                                  [1, 2^20]
+     */
+    public SerieTemperatura(final int leiturasPorBloco) {
+        if (leiturasPorBloco <= 0 || leiturasPorBloco > MAXIMO_POR_BLOCO) {
+            throw new IllegalArgumentException(String.format(
+                    "leituras por bloco inválidas: %d", leiturasPorBloco));
+        }
+
+        this.leiturasPorBloco = leiturasPorBloco;
+    }
+
+    /**
+     * Acrescenta uma leitura.
+     *
+     * @param instante    Instante da leitura
+     * @param temperatura A temperatura lida
+     * @throws IllegalArgumentException Se o instante é anterior ao da última
+     *                                  leitura
+     */
+    public void adiciona(final long instante, final double temperatura) {
+        if (quantidade > 0 && instante < getUltimoInstante()) {
+            throw new IllegalArgumentException(String.format(
+                    "instante %d anterior a %d", instante,
+                    getUltimoInstante()));
+        }
+
+        if (aberto == null) {
+            aberto = new BlocoTemperatura();
+            blocos.add(aberto);
+        }
+        aberto.adiciona(instante, temperatura);
+        quantidade++;
+
+        if (aberto.getQuantidade() == leiturasPorBloco) {
+            aberto.fecha();
+            aberto = null;
+        }
+    }
+
+    /**
+     * Acrescenta leituras igualmente espaçadas.
+     *
+     * @param instante     Instante da primeira leitura
+     * @param intervalo    Intervalo entre leituras consecutivas
+     * @param temperaturas As temperaturas lidas
+     * @throws IllegalArgumentException Se o intervalo é negativo ou se o
+     *                                  instante é anterior ao da última
+     *                                  leitura
+     */
+    public void adiciona(final long instante, final long intervalo,
+                         final double[] temperaturas) {
+        if (intervalo < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "intervalo inválido: %d", intervalo));
+        }
+
+        for (int i = 0; i < temperaturas.length; i++) {
+            adiciona(instante + i * intervalo, temperaturas[i]);
+        }
+    }
+
+    /**
+     * Recupera a quantidade de leituras.
+     *
+     * @return A quantidade de leituras
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Recupera os blocos da série.
+     *
+     * @return Os blocos, em ordem cronológica (somente leitura)
+     */
+    public List<BlocoTemperatura> getBlocos() {
+        return Collections.unmodifiableList(blocos);
+    }
+
+    /**
+     * Recupera o tamanho das leituras compactadas.
+     *
+     * @return A quantidade de bytes ocupada pelos fluxos dos blocos
+     */
+    public long getBytes() {
+        long bits = 0;
+        for (final BlocoTemperatura bloco : blocos) {
+            bits += bloco.getBits();
+        }
+
+        return (bits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Encontra a menor temperatura, apenas pelos cabeçalhos dos blocos.
+     *
+     * @return A menor temperatura, ou NaN, se não há leituras (exceto NaN)
+     */
+    public double getMenor() {
+        return getMenor(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Encontra a maior temperatura, apenas pelos cabeçalhos dos blocos.
+     *
+     * @return A maior temperatura, ou NaN, se não há leituras (exceto NaN)
+     */
+    public double getMaior() {
+        return getMaior(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Encontra a menor temperatura lida em um período.
+     *
+     * @param inicio Início do período (inclusive)
+     * @param fim    Fim do período (inclusive)
+     * @return A menor temperatura, ou NaN, se não há leituras (exceto NaN)
+     * no período
+     */
+    public double getMenor(final long inicio, final long fim) {
+        return -extremo(inicio, fim, true);
+    }
+
+    /**
+     * Encontra a maior temperatura lida em um período.
+     *
+     * @param inicio Início do período (inclusive)
+     * @param fim    Fim do período (inclusive)
+     * @return A maior temperatura, ou NaN, se não há leituras (exceto NaN)
+     * no período
+     */
+    public double getMaior(final long inicio, final long fim) {
+        return extremo(inicio, fim, false);
+    }
+
+    /**
+     * Decodifica as leituras, em ordem.
+     *
+     * @param consumidor Recebe cada leitura
+     */
+    public void percorre(
+            final BlocoTemperatura.ConsumidorDeLeituras consumidor) {
+        for (final BlocoTemperatura bloco : blocos) {
+            bloco.percorre(consumidor);
+        }
+    }
+
+    /**
+     * Decodifica as temperaturas, por exemplo, para
+     * {@link VetorUtils#menorTemperatura(double[])}.
+     *
+     * @return As temperaturas, em ordem
+     * @throws IllegalStateException Se a série não cabe em um vetor
+     */
+    public double[] getTemperaturas() {
+        if (quantidade > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(String.format(
+                    "série muito grande: %d leituras", quantidade));
+        }
+
+        final double[] temperaturas = new double[(int) quantidade];
+        final int[] posicao = new int[1];
+        percorre((instante, temperatura) ->
+                temperaturas[posicao[0]++] = temperatura);
+        return temperaturas;
+    }
+
+    /**
+     * Grava a série. A quantidade de leituras por bloco é preservada.
+     *
+     * @param saida Destino da série
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    public void escreve(final DataOutput saida) throws IOException {
+        saida.writeInt(leiturasPorBloco);
+        saida.writeInt(blocos.size());
+        for (final BlocoTemperatura bloco : blocos) {
+            bloco.escreve(saida);
+        }
+    }
+
+    /**
+     * Lê uma série gravada por {@link #escreve(DataOutput)}. Novas leituras
+     * são acrescentadas em um novo bloco.
+     *
+     * @param entrada Fonte da série
+     * @return A série
+     * @throws IOException Se ocorrer erro de leitura ou se o conteúdo é
+     *                     inválido
+     */
+    public static SerieTemperatura le(final DataInput entrada)
+            throws IOException {
+        final int leiturasPorBloco = entrada.readInt();
+        final int quantidadeBlocos = entrada.readInt();
+        if (leiturasPorBloco <= 0 || leiturasPorBloco > MAXIMO_POR_BLOCO
+                || quantidadeBlocos < 0) {
+            throw new IOException(String.format(
+                    "série inválida: %d blocos de %d leituras",
+                    quantidadeBlocos, leiturasPorBloco));
+        }
+
+        final SerieTemperatura serie = new SerieTemperatura(leiturasPorBloco);
+        for (int i = 0; i < quantidadeBlocos; i++) {
+            final BlocoTemperatura bloco = BlocoTemperatura.le(entrada);
+            serie.blocos.add(bloco);
+            serie.quantidade += bloco.getQuantidade();
+        }
+
+        return serie;
+    }
+
+    /**
+     * Recupera o instante da última leitura (havendo leituras).
+     *
+     * @return O instante da última leitura
+     */
+    private long getUltimoInstante() {
+        return blocos.get(blocos.size() - 1).getUltimoInstante();
+    }
+
+    /**
+     * Encontra a maior temperatura (ou a menor, com o sinal trocado) lida em
+     * um período.
+     *
+     * @param inicio Início do período (inclusive)
+     * @param fim    Fim do período (inclusive)
+     * @param menor  Indica se a menor temperatura é procurada
+     * @return O extremo (com o sinal trocado, para a menor), ou NaN
+     */
+    private double extremo(final long inicio, final long fim,
+                           final boolean menor) {
+        final double[] extremo = {Double.NaN};
+        for (final BlocoTemperatura bloco : blocos) {
+            final double doBloco = menor ? -bloco.getMenor() : bloco.getMaior();
+            if (bloco.getUltimoInstante() < inicio
+                    || bloco.getPrimeiroInstante() > fim
+                    || Double.isNaN(doBloco) || doBloco <= extremo[0]) {
+                continue;
+            }
+
+            if (bloco.getPrimeiroInstante() >= inicio
+                    && bloco.getUltimoInstante() <= fim) {
+                extremo[0] = doBloco;
+            } else {
+                bloco.percorre((instante, temperatura) -> {
+                    final double valor = menor ? -temperatura : temperatura;
+                    if (instante >= inicio && instante <= fim
+                            && !(valor <= extremo[0])
+                            && !Double.isNaN(valor)) {
+                        extremo[0] = valor;
+                    }
+                });
+            }
+        }
+
+        return extremo[0];
+    }
+
+}
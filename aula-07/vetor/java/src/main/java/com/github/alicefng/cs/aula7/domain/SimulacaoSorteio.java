@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import com.github.alicefng.cs.aula7.domain.colecoes.IntCounter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Simulação de sorteios de números inteiros em [0, faixa), com a frequência
+ * de cada número e os números mais sorteados.
+ *
+ * <p>Os sorteios são divididos em blocos de tamanho fixo, cada um com o seu
+ * próprio gerador, obtido por {@link SplittableRandom#split()} a partir da
+ * semente. Os blocos são repartidos em tantas tarefas quanto as threads do
+ * pool, cada uma com um trecho contíguo de blocos e um histograma próprio:
+ * um vetor {@code long[]} indexado pelo número ou, se a faixa é muito maior
+ * que a quantidade de sorteios, um {@link IntCounter}. Os histogramas das
+ * tarefas são somados uma única vez, ao final. Como a divisão em blocos não
+ * depende da quantidade de threads, o resultado depende apenas dos
+ * parâmetros.</p>
+ */
+public final class SimulacaoSorteio {
+
+    /**
+     * Quantidade de sorteios de cada bloco.
+     */
+    private static final int BLOCO = 1 << 20;
+
+    /**
+     * Menor faixa para a qual as frequências podem ser esparsas.
+     */
+    private static final int FAIXA_ESPARSA = 1 << 16;
+
+    /**
+     * Razão mínima entre a faixa e a quantidade de sorteios para que as
+     * frequências sejam esparsas.
+     */
+    private static final int RAZAO_ESPARSA = 4;
+
+    /**
+     * Quantidade de sorteios realizados.
+     */
+    private final long sorteios;
+
+    /**
+     * Quantidade de números possíveis.
+     */
+    private final int faixa;
+
+    /**
+     * Frequência de cada número, ou null se as frequências são esparsas.
+     */
+    private final long[] frequencias;
+
+    /**
+     * Frequências dos números sorteados, ou null se são densas.
+     */
+    private final IntCounter esparsas;
+
+    /**
+     * A maior frequência.
+     */
+    private final long maiorFrequencia;
+
+    /**
+     * Os números com a maior frequência, em ordem crescente.
+     */
+    private final int[] maisSorteados;
+
+    /**
+     * Cria o resultado de uma simulação.
+     *
+     * @param sorteios      Quantidade de sorteios realizados
+     * @param faixa         Quantidade de números possíveis
+     * @param frequencias   Frequência de cada número, ou null
+     * @param esparsas      Frequências dos números sorteados, ou null
+     * @param maisSorteados Números com a maior frequência e a maior
+     *                      frequência
+     */
+    private SimulacaoSorteio(final long sorteios, final int faixa,
+                             final long[] frequencias,
+                             final IntCounter esparsas,
+                             final Maximo maisSorteados) {
+        this.sorteios = sorteios;
+        this.faixa = faixa;
+        this.frequencias = frequencias;
+        this.esparsas = esparsas;
+        this.maiorFrequencia = maisSorteados.maior;
+        this.maisSorteados = maisSorteados.numeros();
+    }
+
+    /**
+     * Executa uma simulação, em paralelo.
+     *
+     * @param sorteios Quantidade de sorteios
+     * @param faixa    Quantidade de números possíveis (sorteados em
+     *                 [0, faixa))
+     * @param semente  Semente do gerador
+     * @return O resultado da simulação
+     * @throws IllegalArgumentException Se a quantidade de sorteios é
+     *                                  negativa ou excessiva, ou se a faixa
+     *                                  não é positiva
+     */
+    public static SimulacaoSorteio executa(final long sorteios,
+                                           final int faixa,
+                                           final long semente) {
+        if (sorteios < 0 || sorteios / BLOCO >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "quantidade de sorteios inválida: %d", sorteios));
+        }
+        if (faixa <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "faixa inválida: %d", faixa));
+        }
+
+        final int blocos = (int) ((sorteios + BLOCO - 1) / BLOCO);
+        final SplittableRandom raiz = new SplittableRandom(semente);
+        final SplittableRandom[] geradores = new SplittableRandom[blocos];
+        for (int i = 0; i < blocos; i++) {
+            geradores[i] = raiz.split();
+        }
+
+        final Maximo maximo = new Maximo();
+        if (faixa >= FAIXA_ESPARSA && sorteios < faixa / RAZAO_ESPARSA) {
+            final IntCounter esparsas = acumula(blocos, IntCounter::new,
+                    (contagem, bloco) -> sorteia(geradores[bloco],
+                            tamanhoBloco(sorteios, bloco), faixa, contagem),
+                    IntCounter::addAll);
+            esparsas.forEach(maximo);
+
+            return new SimulacaoSorteio(sorteios, faixa, null, esparsas,
+                    maximo);
+        }
+
+        final long[] frequencias = acumula(blocos, () -> new long[faixa],
+                (histograma, bloco) -> sorteia(geradores[bloco],
+                        tamanhoBloco(sorteios, bloco), histograma),
+                SimulacaoSorteio::soma);
+        for (int numero = 0; numero < faixa; numero++) {
+            maximo.accept(numero, frequencias[numero]);
+        }
+
+        return new SimulacaoSorteio(sorteios, faixa, frequencias, null,
+                maximo);
+    }
+
+    /**
+     * Recupera a quantidade de sorteios realizados.
+     *
+     * @return A quantidade de sorteios
+     */
+    public long getSorteios() {
+        return sorteios;
+    }
+
+    /**
+     * Recupera a quantidade de números possíveis.
+     *
+     * @return A faixa dos números sorteados
+     */
+    public int getFaixa() {
+        return faixa;
+    }
+
+    /**
+     * Recupera a frequência de um número.
+     *
+     * @param numero O número, em [0, faixa)
+     * @return A quantidade de vezes em que o número foi sorteado
+     * @throws IndexOutOfBoundsException Se o número está fora da faixa
+     */
+    public long getFrequencia(final int numero) {
+        if (numero < 0 || numero >= faixa) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "número fora da faixa [0, %d): %d", faixa, numero));
+        }
+
+        return frequencias != null
+                ? frequencias[numero]
+                : esparsas.get(numero);
+    }
+
+    /**
+     * Recupera a maior frequência.
+     *
+     * @return A maior frequência (0, se não houve sorteios)
+     */
+    public long getMaiorFrequencia() {
+        return maiorFrequencia;
+    }
+
+    /**
+     * Recupera os números com a maior frequência.
+     *
+     * @return Os números mais sorteados, em ordem crescente
+     */
+    public int[] getMaisSorteados() {
+        return maisSorteados.clone();
+    }
+
+    /**
+     * Processa os blocos em paralelo, repartidos em uma tarefa por thread do
+     * pool em uso (no máximo uma por bloco), cada uma com um trecho contíguo
+     * de blocos e um único histograma. Os histogramas das tarefas são somados
+     * ao final, de forma que não há mais histogramas que threads.
+     *
+     * @param blocos Quantidade de blocos
+     * @param novo   Cria um histograma vazio
+     * @param bloco  Realiza os sorteios de um bloco em um histograma
+     * @param soma   Acumula o segundo histograma no primeiro
+     * @param <T>    Tipo do histograma
+     * @return A soma dos histogramas das tarefas
+     */
+    private static <T> T acumula(final int blocos, final Supplier<T> novo,
+                                 final ObjIntConsumer<T> bloco,
+                                 final BiConsumer<T, T> soma) {
+        final int tarefas = Math.min(blocos, paralelismo());
+        if (tarefas <= 1) {
+            final T histograma = novo.get();
+            for (int i = 0; i < blocos; i++) {
+                bloco.accept(histograma, i);
+            }
+            return histograma;
+        }
+
+        final List<T> parciais = IntStream.range(0, tarefas).parallel()
+                .mapToObj(tarefa -> {
+                    final T histograma = novo.get();
+                    final int fim = primeiroBloco(blocos, tarefas,
+                            tarefa + 1);
+                    for (int i = primeiroBloco(blocos, tarefas, tarefa);
+                         i < fim; i++) {
+                        bloco.accept(histograma, i);
+                    }
+                    return histograma;
+                })
+                .collect(Collectors.toList());
+
+        final T total = parciais.get(0);
+        for (int i = 1; i < parciais.size(); i++) {
+            soma.accept(total, parciais.get(i));
+        }
+
+        return total;
+    }
+
+    /**
+     * Recupera a quantidade de threads do pool em que a simulação executa:
+     * o pool da tarefa corrente ou, fora de um pool, o pool comum.
+     *
+     * @return A quantidade de threads
+     */
+    private static int paralelismo() {
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * Calcula o primeiro bloco de uma tarefa, de forma que as tarefas
+     * recebam quantidades de blocos que diferem no máximo em um.
+     *
+     * @param blocos  Quantidade de blocos
+     * @param tarefas Quantidade de tarefas
+     * @param tarefa  A tarefa, em [0, tarefas]
+     * @return O primeiro bloco da tarefa (ou o fim, para a última + 1)
+     */
+    private static int primeiroBloco(final int blocos, final int tarefas,
+                                     final int tarefa) {
+        return (int) ((long) blocos * tarefa / tarefas);
+    }
+
+    /**
+     * Calcula a quantidade de sorteios de um bloco.
+     *
+     * @param sorteios Quantidade total de sorteios
+     * @param bloco    O bloco
+     * @return A quantidade de sorteios do bloco
+     */
+    private static int tamanhoBloco(final long sorteios, final int bloco) {
+        return (int) Math.min(BLOCO, sorteios - (long) bloco * BLOCO);
+    }
+
+    /**
+     * Realiza os sorteios de um bloco.
+     *
+     * @param gerador    Gerador do bloco
+     * @param quantidade Quantidade de sorteios
+     * @param histograma Frequências, a serem incrementadas
+     */
+    private static void sorteia(final SplittableRandom gerador,
+                                final int quantidade,
+                                final long[] histograma) {
+        final int faixa = histograma.length;
+        for (int i = 0; i < quantidade; i++) {
+            histograma[gerador.nextInt(faixa)]++;
+        }
+    }
+
+    /**
+     * Realiza os sorteios de um bloco, com frequências esparsas.
+     *
+     * @param gerador    Gerador do bloco
+     * @param quantidade Quantidade de sorteios
+     * @param faixa      Quantidade de números possíveis
+     * @param contagem   Frequências, a serem incrementadas
+     */
+    private static void sorteia(final SplittableRandom gerador,
+                                final int quantidade, final int faixa,
+                                final IntCounter contagem) {
+        for (int i = 0; i < quantidade; i++) {
+            contagem.increment(gerador.nextInt(faixa));
+        }
+    }
+
+    /**
+     * Acumula um histograma em outro.
+     *
+     * @param esquerda Histograma que recebe a soma
+     * @param direita  Histograma a ser somado
+     */
+    private static void soma(final long[] esquerda, final long[] direita) {
+        for (int i = 0; i < esquerda.length; i++) {
+            esquerda[i] += direita[i];
+        }
+    }
+
+    /**
+     * Maior frequência e números correspondentes, determinados em uma só
+     * passagem pelas frequências.
+     */
+    private static final class Maximo implements IntCounter.IntLongConsumer {
+
+        /**
+         * A maior frequência encontrada.
+         */
+        private long maior;
+
+        /**
+         * Números com a maior frequência encontrada.
+         */
+        private int[] empatados = new int[1];
+
+        /**
+         * Quantidade de números com a maior frequência encontrada.
+         */
+        private int quantidade;
+
+        @Override
+        public void accept(final int numero, final long frequencia) {
+            if (frequencia > maior) {
+                maior = frequencia;
+                quantidade = 0;
+            }
+            if (frequencia == maior && frequencia > 0) {
+                if (quantidade == empatados.length) {
+                    empatados = Arrays.copyOf(empatados, 2 * quantidade);
+                }
+                empatados[quantidade++] = numero;
+            }
+        }
+
+        /**
+         * Produz os números com a maior frequência.
+         *
+         * @return Os números, em ordem crescente
+         */
+        int[] numeros() {
+            final int[] numeros = Arrays.copyOf(empatados, quantidade);
+            Arrays.sort(numeros);
+            return numeros;
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Estatísticas de temperaturas armazenadas em arquivos binários (amostras
+ * {@code float} ou {@code double} consecutivas, sem cabeçalho). O arquivo é
+ * mapeado em memória em trechos, processados em paralelo, de forma que o
+ * seu tamanho não é limitado pela memória disponível.
+ */
+public final class TemperaturaArquivoUtils {
+
+    /**
+     * Tamanho máximo (em bytes) de cada trecho mapeado em memória.
+     */
+    private static final long TAMANHO_TRECHO = 64L * 1024 * 1024;
+
+    /**
+     * Tipo das amostras armazenadas no arquivo.
+     */
+    public enum Amostra {
+
+        /**
+         * Amostras {@code float} (4 bytes).
+         */
+        FLOAT(Float.BYTES),
+
+        /**
+         * Amostras {@code double} (8 bytes).
+         */
+        DOUBLE(Double.BYTES);
+
+        /**
+         * Tamanho de cada amostra em bytes.
+         */
+        private final int bytes;
+
+        /**
+         * Cria tipo de amostra com o tamanho correspondente.
+         *
+         * @param bytes Tamanho de cada amostra em bytes
+         */
+        Amostra(final int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Recupera o tamanho de cada amostra em bytes.
+         *
+         * @return O tamanho da amostra
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private TemperaturaArquivoUtils() {
+    }
+
+    /**
+     * Calcula as estatísticas das temperaturas contidas em um arquivo.
+     *
+     * @param arquivo O arquivo contendo as amostras
+     * @param amostra O tipo das amostras
+     * @param ordem   A ordem dos bytes de cada amostra
+     * @return As estatísticas de todas as amostras do arquivo (posições
+     * contadas em amostras desde o início do arquivo)
+     * @throws IOException              Se ocorrer erro de leitura
+     * @throws IllegalArgumentException Se o tamanho do arquivo não é múltiplo
+     *                                  do tamanho da amostra
+     */
+    public static EstatisticasTemperatura estatisticas(final Path arquivo,
+                                                       final Amostra amostra,
+                                                       final ByteOrder ordem)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            final long tamanho = canal.size();
+            if (tamanho % amostra.getBytes() != 0) {
+                throw new IllegalArgumentException(String.format(
+                        "tamanho do arquivo (%d) não é múltiplo de %d",
+                        tamanho, amostra.getBytes()));
+            }
+
+            final long porTrecho = TAMANHO_TRECHO / amostra.getBytes();
+            final long amostras = tamanho / amostra.getBytes();
+            final int trechos = (int) ((amostras + porTrecho - 1) / porTrecho);
+
+            final EstatisticasTemperatura[] parciais;
+            try {
+                parciais = IntStream.range(0, trechos).parallel()
+                        .mapToObj(i -> estatisticasDoTrecho(canal, amostra,
+                                ordem, i * porTrecho,
+                                Math.min(porTrecho, amostras - i * porTrecho)))
+                        .toArray(EstatisticasTemperatura[]::new);
+            } catch (UncheckedIOException exp) {
+                throw exp.getCause();
+            }
+
+            // Combinação na ordem dos trechos: resultado determinístico.
+            final EstatisticasTemperatura total = new EstatisticasTemperatura();
+            for (final EstatisticasTemperatura parcial : parciais) {
+                total.combina(parcial);
+            }
+
+            return total;
+        }
+    }
+
+    /**
+     * Calcula as estatísticas de um trecho do arquivo.
+     *
+     * @param canal      Canal do arquivo
+     * @param amostra    O tipo das amostras
+     * @param ordem      A ordem dos bytes de cada amostra
+     * @param primeira   Posição (em amostras) da primeira amostra do trecho
+     * @param quantidade Quantidade de amostras do trecho
+     * @return As estatísticas do trecho
+     */
+    private static EstatisticasTemperatura estatisticasDoTrecho(
+            final FileChannel canal, final Amostra amostra,
+            final ByteOrder ordem, final long primeira,
+            final long quantidade) {
+        final MappedByteBuffer mapa;
+        try {
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY,
+                    primeira * amostra.getBytes(),
+                    quantidade * amostra.getBytes());
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        }
+
+        final ByteBuffer bytes = mapa.order(ordem);
+        final EstatisticasTemperatura estatisticas =
+                new EstatisticasTemperatura();
+        final int total = (int) quantidade;
+        if (amostra == Amostra.FLOAT) {
+            final FloatBuffer valores = bytes.asFloatBuffer();
+            for (int i = 0; i < total; i++) {
+                estatisticas.adiciona(valores.get(i), primeira + i);
+            }
+        } else {
+            final DoubleBuffer valores = bytes.asDoubleBuffer();
+            for (int i = 0; i < total; i++) {
+                estatisticas.adiciona(valores.get(i), primeira + i);
+            }
+        }
+
+        return estatisticas;
+    }
+
+}
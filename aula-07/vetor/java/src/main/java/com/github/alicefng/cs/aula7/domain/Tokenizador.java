@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+/**
+ * Divide um texto em palavras separadas por delimitadores, sem criar
+ * objetos por palavra: cada palavra é informada como um trecho
+ * [inicio, fim) do texto, por meio de um {@link Cursor} ou de um
+ * {@link ConsumidorDeTrechos}. O texto pode ser uma {@link CharSequence}
+ * ou um vetor de bytes em UTF-8 (posições em bytes).
+ *
+ * <p>Por padrão, delimitadores consecutivos não produzem palavras vazias.
+ * A variante {@link #comVazios()} reproduz {@link String#split(String)}:
+ * produz uma palavra vazia entre delimitadores consecutivos e no início do
+ * texto, mas não no final.</p>
+ *
+ * <p>Instâncias são imutáveis e podem ser compartilhadas entre
+ * threads.</p>
+ */
+public final class Tokenizador {
+
+    /**
+     * Quantidade de caracteres ASCII.
+     */
+    private static final int ASCII = 128;
+
+    /**
+     * Delimitador {@code ' '}, como em {@code frase.split(" ")}.
+     */
+    private static final Tokenizador ESPACO = new Tokenizador(" ", false,
+            false);
+
+    /**
+     * Delimitadores: espaços em branco Unicode.
+     */
+    private static final Tokenizador ESPACOS_EM_BRANCO = new Tokenizador("",
+            true, false);
+
+    /**
+     * Indica, para cada caractere ASCII, se é delimitador.
+     */
+    private final boolean[] delimitadoresAscii = new boolean[ASCII];
+
+    /**
+     * Delimitadores fora da faixa ASCII.
+     */
+    private final String outrosDelimitadores;
+
+    /**
+     * Indica se espaços em branco Unicode são delimitadores.
+     */
+    private final boolean unicode;
+
+    /**
+     * Indica se palavras vazias são produzidas (como em
+     * {@link String#split(String)}).
+     */
+    private final boolean vazios;
+
+    /**
+     * Cria tokenizador.
+     *
+     * @param delimitadores Caracteres delimitadores
+     * @param unicode       Indica se espaços em branco Unicode também são
+     *                      delimitadores
+     * @param vazios        Indica se palavras vazias são produzidas
+     */
+    private Tokenizador(final String delimitadores, final boolean unicode,
+                        final boolean vazios) {
+        final StringBuilder outros = new StringBuilder();
+        for (int i = 0; i < delimitadores.length();) {
+            final int c = delimitadores.codePointAt(i);
+            if (c < ASCII) {
+                delimitadoresAscii[c] = true;
+            } else {
+                outros.appendCodePoint(c);
+            }
+            i += Character.charCount(c);
+        }
+        if (unicode) {
+            for (int c = 0; c < ASCII; c++) {
+                delimitadoresAscii[c] |= espacoEmBranco(c);
+            }
+        }
+
+        this.outrosDelimitadores = outros.toString();
+        this.unicode = unicode;
+        this.vazios = vazios;
+    }
+
+    /**
+     * Produz tokenizador que separa palavras pelo caractere espaço
+     * ({@code ' '}).
+     *
+     * @return O tokenizador
+     */
+    public static Tokenizador espaco() {
+        return ESPACO;
+    }
+
+    /**
+     * Produz tokenizador que separa palavras por espaços em branco Unicode
+     * ({@link Character#isWhitespace(int)} ou
+     * {@link Character#isSpaceChar(int)}).
+     *
+     * @return O tokenizador
+     */
+    public static Tokenizador espacosEmBranco() {
+        return ESPACOS_EM_BRANCO;
+    }
+
+    /**
+     * Produz tokenizador que separa palavras por quaisquer dos caracteres
+     * fornecidos.
+     *
+     * @param delimitadores Caracteres delimitadores
+     * @return O tokenizador
+     * @throws IllegalArgumentException Se nenhum delimitador é fornecido
+     */
+    public static Tokenizador delimitadoPor(final String delimitadores) {
+        if (delimitadores.isEmpty()) {
+            throw new IllegalArgumentException("nenhum delimitador");
+        }
+
+        return new Tokenizador(delimitadores, false, false);
+    }
+
+    /**
+     * Produz variante deste tokenizador que reproduz
+     * {@link String#split(String)}: palavras vazias entre delimitadores
+     * consecutivos e no início do texto, nenhuma no final e, para texto
+     * vazio, uma única palavra vazia.
+     *
+     * @return O tokenizador
+     */
+    public Tokenizador comVazios() {
+        final Tokenizador variante = new Tokenizador(outrosDelimitadores,
+                unicode, true);
+        System.arraycopy(delimitadoresAscii, 0, variante.delimitadoresAscii,
+                0, ASCII);
+        return variante;
+    }
+
+    /**
+     * Verifica se um caractere é delimitador.
+     *
+     * @param c O caractere (code point)
+     * @return verdadeiro, se o caractere é delimitador
+     */
+    public boolean isDelimitador(final int c) {
+        if (c < ASCII) {
+            return c >= 0 && delimitadoresAscii[c];
+        }
+
+        return unicode && espacoEmBranco(c)
+                || outrosDelimitadores.indexOf(c) >= 0;
+    }
+
+    /**
+     * Percorre as palavras de um texto.
+     *
+     * @param texto      O texto
+     * @param consumidor Recebe o trecho de cada palavra
+     * @return A quantidade de palavras
+     */
+    public int percorre(final CharSequence texto,
+                        final ConsumidorDeTrechos consumidor) {
+        return percorre(cursor(texto), consumidor);
+    }
+
+    /**
+     * Percorre as palavras de um trecho de texto em UTF-8.
+     *
+     * @param utf8       O texto, em UTF-8
+     * @param inicio     Posição inicial do trecho (inclusive)
+     * @param fim        Posição final do trecho (exclusive)
+     * @param consumidor Recebe o trecho (em bytes) de cada palavra
+     * @return A quantidade de palavras
+     */
+    public int percorre(final byte[] utf8, final int inicio, final int fim,
+                        final ConsumidorDeTrechos consumidor) {
+        return percorre(cursor(utf8, inicio, fim), consumidor);
+    }
+
+    /**
+     * Cria cursor sobre as palavras de um texto.
+     *
+     * @param texto O texto
+     * @return O cursor, posicionado antes da primeira palavra
+     */
+    public Cursor cursor(final CharSequence texto) {
+        return new Cursor(this, texto, null, 0, texto.length());
+    }
+
+    /**
+     * Cria cursor sobre as palavras de um trecho de texto em UTF-8.
+     *
+     * @param utf8   O texto, em UTF-8
+     * @param inicio Posição inicial do trecho (inclusive)
+     * @param fim    Posição final do trecho (exclusive)
+     * @return O cursor, posicionado antes da primeira palavra
+     * @throws IndexOutOfBoundsException Se o trecho não está contido no
+     *                                   vetor
+     */
+    public Cursor cursor(final byte[] utf8, final int inicio, final int fim) {
+        if (inicio < 0 || fim > utf8.length || inicio > fim) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "trecho [%d, %d) fora de [0, %d)", inicio, fim,
+                    utf8.length));
+        }
+
+        return new Cursor(this, null, utf8, inicio, fim);
+    }
+
+    /**
+     * Percorre as palavras de um cursor.
+     *
+     * @param cursor     O cursor
+     * @param consumidor Recebe o trecho de cada palavra
+     * @return A quantidade de palavras
+     */
+    private static int percorre(final Cursor cursor,
+                                final ConsumidorDeTrechos consumidor) {
+        int quantidade = 0;
+        while (cursor.proximo()) {
+            consumidor.aceita(cursor.inicio(), cursor.fim());
+            quantidade++;
+        }
+
+        return quantidade;
+    }
+
+    /**
+     * Verifica se um caractere é espaço em branco Unicode.
+     *
+     * @param c O caractere (code point)
+     * @return verdadeiro, se é espaço em branco
+     */
+    private static boolean espacoEmBranco(final int c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    /**
+     * Recebe o trecho [inicio, fim) de cada palavra.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeTrechos {
+
+        /**
+         * Recebe o trecho de uma palavra.
+         *
+         * @param inicio Posição inicial da palavra (inclusive)
+         * @param fim    Posição final da palavra (exclusive)
+         */
+        void aceita(int inicio, int fim);
+    }
+
+    /**
+     * Cursor sobre as palavras de um texto. Após {@link #proximo()} produzir
+     * verdadeiro, {@link #inicio()} e {@link #fim()} delimitam a palavra
+     * corrente. Não é seguro para uso por várias threads.
+     */
+    public static final class Cursor {
+
+        /**
+         * Tokenizador que define os delimitadores.
+         */
+        private final Tokenizador tokenizador;
+
+        /**
+         * Texto percorrido, ou null se o texto é UTF-8.
+         */
+        private final CharSequence texto;
+
+        /**
+         * Texto percorrido em UTF-8, ou null.
+         */
+        private final byte[] utf8;
+
+        /**
+         * Posição final do texto (exclusive).
+         */
+        private final int limite;
+
+        /**
+         * Próxima posição a ser examinada.
+         */
+        private int posicao;
+
+        /**
+         * Início do segmento corrente (após o último delimitador), ou -1 se
+         * o segmento corrente não é vazio.
+         */
+        private int inicioSegmento;
+
+        /**
+         * Quantidade de palavras vazias a serem produzidas antes da próxima
+         * palavra não vazia.
+         */
+        private int pendentes;
+
+        /**
+         * Posição da próxima palavra vazia pendente.
+         */
+        private int posicaoPendente;
+
+        /**
+         * Indica se há palavra não vazia aguardando as vazias pendentes.
+         */
+        private boolean guardada;
+
+        /**
+         * Início da palavra não vazia guardada.
+         */
+        private int inicioGuardado;
+
+        /**
+         * Fim da palavra não vazia guardada.
+         */
+        private int fimGuardado;
+
+        /**
+         * Início da palavra corrente.
+         */
+        private int inicio;
+
+        /**
+         * Fim da palavra corrente.
+         */
+        private int fim;
+
+        /**
+         * Cria cursor.
+         *
+         * @param tokenizador Tokenizador que define os delimitadores
+         * @param texto       Texto, ou null se o texto é UTF-8
+         * @param utf8        Texto em UTF-8, ou null
+         * @param inicio      Posição inicial (inclusive)
+         * @param fim         Posição final (exclusive)
+         */
+        Cursor(final Tokenizador tokenizador, final CharSequence texto,
+               final byte[] utf8, final int inicio, final int fim) {
+            this.tokenizador = tokenizador;
+            this.texto = texto;
+            this.utf8 = utf8;
+            this.limite = fim;
+            this.posicao = inicio;
+            this.inicioSegmento = inicio;
+            if (tokenizador.vazios && inicio == fim) {
+                // Como em "".split(" "): uma única palavra vazia.
+                pendentes = 1;
+                posicaoPendente = inicio;
+            }
+        }
+
+        /**
+         * Avança para a próxima palavra.
+         *
+         * @return verdadeiro, se há próxima palavra
+         */
+        public boolean proximo() {
+            if (pendentes > 0) {
+                inicio = posicaoPendente;
+                fim = posicaoPendente;
+                if (--pendentes > 0) {
+                    posicaoPendente += tamanhoDelimitador(posicaoPendente);
+                }
+                return true;
+            }
+            if (guardada) {
+                guardada = false;
+                inicio = inicioGuardado;
+                fim = fimGuardado;
+                return true;
+            }
+
+            while (posicao < limite) {
+                final int delimitador = tamanhoDelimitador(posicao);
+                if (delimitador > 0) {
+                    if (tokenizador.vazios && posicao == inicioSegmento) {
+                        if (pendentes++ == 0) {
+                            posicaoPendente = posicao;
+                        }
+                    }
+                    posicao += delimitador;
+                    inicioSegmento = posicao;
+                    continue;
+                }
+
+                final int inicioPalavra = posicao;
+                do {
+                    posicao += tamanhoCaractere(posicao);
+                } while (posicao < limite && tamanhoDelimitador(posicao) == 0);
+                inicioSegmento = -1;
+
+                if (pendentes > 0) {
+                    guardada = true;
+                    inicioGuardado = inicioPalavra;
+                    fimGuardado = posicao;
+                    return proximo();
+                }
+                inicio = inicioPalavra;
+                fim = posicao;
+                return true;
+            }
+
+            // Palavras vazias no final do texto não são produzidas.
+            pendentes = 0;
+            return false;
+        }
+
+        /**
+         * Recupera a posição inicial da palavra corrente.
+         *
+         * @return A posição inicial (inclusive)
+         */
+        public int inicio() {
+            return inicio;
+        }
+
+        /**
+         * Recupera a posição final da palavra corrente.
+         *
+         * @return A posição final (exclusive)
+         */
+        public int fim() {
+            return fim;
+        }
+
+        /**
+         * Determina o tamanho do delimitador em uma posição.
+         *
+         * @param p A posição
+         * @return O tamanho (em chars ou bytes) do delimitador, ou 0, se o
+         * caractere na posição não é delimitador
+         */
+        private int tamanhoDelimitador(final int p) {
+            if (utf8 == null) {
+                final char c = texto.charAt(p);
+                if (c < ASCII) {
+                    return tokenizador.delimitadoresAscii[c] ? 1 : 0;
+                }
+                if (Character.isHighSurrogate(c) && p + 1 < limite
+                        && Character.isLowSurrogate(texto.charAt(p + 1))) {
+                    final int cp = Character.toCodePoint(c,
+                            texto.charAt(p + 1));
+                    return tokenizador.isDelimitador(cp) ? 2 : 0;
+                }
+                return tokenizador.isDelimitador(c) ? 1 : 0;
+            }
+
+            final int b = utf8[p];
+            if (b >= 0) {
+                return tokenizador.delimitadoresAscii[b] ? 1 : 0;
+            }
+            if (!tokenizador.unicode
+                    && tokenizador.outrosDelimitadores.isEmpty()) {
+                return 0;
+            }
+
+            final int tamanho = tamanhoCaractere(p);
+            if (tamanho == 1) {
+                return 0;
+            }
+            int cp = b & (0xFF >>> (tamanho + 1));
+            for (int i = 1; i < tamanho; i++) {
+                cp = cp << 6 | utf8[p + i] & 0x3F;
+            }
+            return tokenizador.isDelimitador(cp) ? tamanho : 0;
+        }
+
+        /**
+         * Determina o tamanho do caractere em uma posição. Bytes que não
+         * iniciam uma sequência UTF-8 válida têm tamanho 1.
+         *
+         * @param p A posição
+         * @return O tamanho (em chars ou bytes) do caractere
+         */
+        private int tamanhoCaractere(final int p) {
+            if (utf8 == null || utf8[p] >= 0) {
+                return 1;
+            }
+
+            final int b = utf8[p] & 0xFF;
+            final int tamanho = b < 0xC0 ? 1
+                    : b < 0xE0 ? 2
+                    : b < 0xF0 ? 3
+                    : b < 0xF8 ? 4
+                    : 1;
+            if (tamanho > 1 && p + tamanho > limite) {
+                return 1;
+            }
+            for (int i = 1; i < tamanho; i++) {
+                if ((utf8[p + i] & 0xC0) != 0x80) {
+                    return 1;
+                }
+            }
+
+            return tamanho;
+        }
+    }
+
+}
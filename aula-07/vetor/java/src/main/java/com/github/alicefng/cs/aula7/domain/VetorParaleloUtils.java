@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Versões paralelas (fork/join) das operações de {@link VetorUtils}. O vetor
+ * é dividido recursivamente até trechos de tamanho {@link #getLimiar()},
+ * processados pelas mesmas rotinas da versão sequencial, e os resultados
+ * parciais são combinados da esquerda para a direita. Assim, os resultados
+ * são idênticos aos produzidos por {@link VetorUtils}.
+ *
+ * <p>O limiar é definido na inicialização da classe por uma breve medição
+ * do custo por elemento, de forma que cada trecho corresponda a cerca de
+ * 100 microssegundos de processamento. Vetores com até duas vezes o limiar
+ * são processados sequencialmente.</p>
+ */
+public final class VetorParaleloUtils {
+
+    /**
+     * Custo alvo (em nanossegundos) do processamento de cada trecho.
+     */
+    private static final long CUSTO_TRECHO_NS = 100_000;
+
+    /**
+     * Menor limiar admitido.
+     */
+    private static final int LIMIAR_MINIMO = 1 << 12;
+
+    /**
+     * Maior limiar admitido.
+     */
+    private static final int LIMIAR_MAXIMO = 1 << 22;
+
+    /**
+     * Tamanho do vetor empregado na calibração.
+     */
+    private static final int TAMANHO_CALIBRACAO = 1 << 16;
+
+    /**
+     * Quantidade de medições feitas na calibração.
+     */
+    private static final int MEDICOES_CALIBRACAO = 32;
+
+    /**
+     * Tamanho máximo de trecho processado sem divisão.
+     */
+    private static final int LIMIAR = calibraLimiar();
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private VetorParaleloUtils() {
+    }
+
+    /**
+     * Recupera o tamanho máximo de trecho processado sem divisão.
+     *
+     * @return O limiar definido na calibração
+     */
+    public static int getLimiar() {
+        return LIMIAR;
+    }
+
+    /**
+     * Encontra a menor temperatura em um vetor de valores.
+     *
+     * @param temperaturas Vetor contendo valores de temperaturas
+     * @return A menor temperatura registrada no vetor
+     * @see VetorUtils#menorTemperatura(double[])
+     */
+    public static double menorTemperatura(final double[] temperaturas) {
+        if (temperaturas.length == 0) {
+            return VetorUtils.menorTemperatura(temperaturas);
+        }
+
+        // Todos os trechos partem do primeiro valor, como a varredura
+        // sequencial: um NaN no início de um trecho não o descarta.
+        final double primeira = temperaturas[0];
+        return executa(temperaturas.length,
+                (inicio, fim) -> VetorUtils.menorTemperatura(temperaturas,
+                        inicio, fim, primeira),
+                VetorUtils::menor);
+    }
+
+    /**
+     * Produz a soma dos números ímpares de um vetor.
+     *
+     * @param numeros Vetor contendo inteiros
+     * @return A soma dos ímpares do vetor
+     * @see VetorUtils#somaImpares(int[])
+     */
+    public static long somaImpares(final int[] numeros) {
+        return executa(numeros.length,
+                (inicio, fim) -> VetorUtils.somaImpares(numeros, inicio, fim),
+                Long::sum);
+    }
+
+    /**
+     * Produz a contagem em que determinado número ocorre em um vetor.
+     *
+     * @param numeros    Vetor contendo números a serem comparados
+     * @param comparador Valor a ser comparado com vetor
+     * @return Quantidade de vezes que o valor comparado ocorre no vetor
+     * @see VetorUtils#conteIguais(double[], double)
+     */
+    public static long conteIguais(final double[] numeros,
+                                   final double comparador) {
+        return executa(numeros.length,
+                (inicio, fim) -> VetorUtils.conteIguais(numeros, comparador,
+                        inicio, fim),
+                Long::sum);
+    }
+
+    /**
+     * Produz a contagem de números de um vetor que diferem de determinado
+     * número em no máximo uma tolerância.
+     *
+     * @param numeros    Vetor contendo números a serem comparados
+     * @param comparador Valor a ser comparado com vetor
+     * @param tolerancia Maior diferença (absoluta) admitida
+     * @return Quantidade de números próximos do comparador
+     * @throws IllegalArgumentException Se a tolerância é negativa ou NaN
+     * @see VetorUtils#conteIguais(double[], double, double)
+     */
+    public static long conteIguais(final double[] numeros,
+                                   final double comparador,
+                                   final double tolerancia) {
+        VetorUtils.validaTolerancia(tolerancia);
+        return executa(numeros.length,
+                (inicio, fim) -> VetorUtils.conteIguais(numeros, comparador,
+                        tolerancia, inicio, fim),
+                Long::sum);
+    }
+
+    /**
+     * Produz a quantidade de cada uma das letras do alfabeto em uma sequência
+     * de caracteres (não distingue maiúsculas de minúsculas).
+     *
+     * @param frase String contendo sequência de caracteres
+     * @return Quantidade de cada uma das letras na String
+     * @see VetorUtils#conteLetras(String)
+     */
+    public static int[] conteLetras(final String frase) {
+        return executa(frase.length(),
+                (inicio, fim) -> VetorUtils.conteLetras(frase, inicio, fim),
+                VetorParaleloUtils::somaHistogramas);
+    }
+
+    /**
+     * Produz a quantidade de vezes que uma palavra ocorre em um vetor de
+     * palavras.
+     *
+     * @param palavra A palavra a ser contada
+     * @param frase   O vetor de palavras a ser comparado
+     * @return Quantidade de vezes que a palavra ocorre
+     * @see VetorUtils#contePalavra(String, String[])
+     */
+    public static long contePalavra(final String palavra,
+                                    final String[] frase) {
+        return executa(frase.length,
+                (inicio, fim) -> VetorUtils.contePalavra(palavra, frase,
+                        inicio, fim),
+                Long::sum);
+    }
+
+    /**
+     * Acumula um histograma em outro.
+     *
+     * @param esquerda Histograma que recebe a soma
+     * @param direita  Histograma a ser somado
+     * @return O histograma esquerda, após a soma
+     */
+    private static int[] somaHistogramas(final int[] esquerda,
+                                         final int[] direita) {
+        for (int i = 0; i < esquerda.length; i++) {
+            esquerda[i] += direita[i];
+        }
+
+        return esquerda;
+    }
+
+    /**
+     * Executa uma operação sobre o intervalo [0, tamanho), em paralelo se o
+     * tamanho justifica.
+     *
+     * @param tamanho    Tamanho do intervalo
+     * @param operacao   Operação sobre um trecho do intervalo
+     * @param combinacao Combinação (associativa) de resultados parciais
+     * @param <T>        Tipo do resultado
+     * @return O resultado da operação sobre todo o intervalo
+     */
+    private static <T> T executa(final int tamanho,
+                                 final OperacaoTrecho<T> operacao,
+                                 final BinaryOperator<T> combinacao) {
+        if (tamanho <= 2 * LIMIAR) {
+            return operacao.aplica(0, tamanho);
+        }
+
+        return ForkJoinPool.commonPool().invoke(
+                new Tarefa<>(operacao, combinacao, 0, tamanho));
+    }
+
+    /**
+     * Mede o custo por elemento da soma de ímpares e define o tamanho de
+     * trecho correspondente a {@link #CUSTO_TRECHO_NS}.
+     *
+     * @return O limiar calibrado
+     */
+    private static int calibraLimiar() {
+        final int[] amostra = new int[TAMANHO_CALIBRACAO];
+        for (int i = 0; i < amostra.length; i++) {
+            amostra[i] = i;
+        }
+
+        long menorTempo = Long.MAX_VALUE;
+        long soma = 0;
+        for (int i = 0; i < MEDICOES_CALIBRACAO; i++) {
+            final long inicio = System.nanoTime();
+            soma += VetorUtils.somaImpares(amostra, 0, amostra.length);
+            menorTempo = Math.min(menorTempo, System.nanoTime() - inicio);
+        }
+
+        // A soma participa do cálculo para que a medição não seja eliminada.
+        final long tempo = Math.max(1, menorTempo + (soma & 1));
+        final long limiar = CUSTO_TRECHO_NS * amostra.length / tempo;
+
+        return (int) Math.max(LIMIAR_MINIMO, Math.min(LIMIAR_MAXIMO, limiar));
+    }
+
+    /**
+     * Operação sobre um trecho [inicio, fim) de um vetor.
+     *
+     * @param <T> Tipo do resultado
+     */
+    @FunctionalInterface
+    private interface OperacaoTrecho<T> {
+
+        /**
+         * Aplica a operação ao trecho.
+         *
+         * @param inicio Posição inicial (inclusive)
+         * @param fim    Posição final (exclusive)
+         * @return O resultado da operação no trecho
+         */
+        T aplica(int inicio, int fim);
+    }
+
+    /**
+     * Tarefa que divide um trecho ao meio até o limiar e combina os
+     * resultados da esquerda para a direita.
+     *
+     * @param <T> Tipo do resultado
+     */
+    private static final class Tarefa<T> extends RecursiveTask<T> {
+
+        /**
+         * Serial para resolver MissingSerialVersionUID.
+         */
+        private static final long serialVersionUID = 1;
+
+        /**
+         * Operação sobre um trecho.
+         */
+        private final transient OperacaoTrecho<T> operacao;
+
+        /**
+         * Combinação de resultados parciais.
+         */
+        private final transient BinaryOperator<T> combinacao;
+
+        /**
+         * Posição inicial do trecho (inclusive).
+         */
+        private final int inicio;
+
+        /**
+         * Posição final do trecho (exclusive).
+         */
+        private final int fim;
+
+        /**
+         * Cria tarefa para um trecho.
+         *
+         * @param operacao   Operação sobre um trecho
+         * @param combinacao Combinação de resultados parciais
+         * @param inicio     Posição inicial do trecho (inclusive)
+         * @param fim        Posição final do trecho (exclusive)
+         */
+        Tarefa(final OperacaoTrecho<T> operacao,
+               final BinaryOperator<T> combinacao, final int inicio,
+               final int fim) {
+            this.operacao = operacao;
+            this.combinacao = combinacao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected T compute() {
+            if (fim - inicio <= LIMIAR) {
+                return operacao.aplica(inicio, fim);
+            }
+
+            final int meio = (inicio + fim) >>> 1;
+            final Tarefa<T> esquerda = new Tarefa<>(operacao, combinacao,
+                    inicio, meio);
+            esquerda.fork();
+            final T direita = new Tarefa<>(operacao, combinacao, meio, fim)
+                    .compute();
+
+            return combinacao.apply(esquerda.join(), direita);
+        }
+    }
+
+}
@@ -6,17 +6,36 @@
 
 package com.github.alicefng.cs.aula7.domain;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
-import java.util.Locale;
 
 /**
  * Implementação de várias operações com vetores.
  */
 public final class VetorUtils {
 
+    /**
+     * Quantidade de acumuladores independentes nos laços de redução.
+     */
+    private static final int ACUMULADORES = 4;
+
+    /**
+     * Separação de palavras idêntica a {@code frase.split(" ")}.
+     */
+    private static final Tokenizador SEPARA_POR_ESPACO =
+            Tokenizador.espaco().comVazios();
+
+    /**
+     * Quantidade de sorteios de {@link #numeroMaiSorteado()}.
+     */
+    private static final int SORTEIOS = 1_000_000;
+
+    /**
+     * Quantidade de números sorteados por {@link #numeroMaiSorteado()}.
+     */
+    private static final int FAIXA_SORTEIO = 1000;
+
     /**
      * Previne a classe utilitária de ser instanciada.
      */
@@ -30,24 +49,88 @@ public final class VetorUtils {
      * @return A menor temperatura registrada no vetor
      */
     public static double menorTemperatura(final double[] temperaturas) {
-        double menorTemperatura = temperaturas[0];
-        for (final double temperatura : temperaturas) {
-            if (temperatura < menorTemperatura) {
-                menorTemperatura = temperatura;
-            }
+        return menorTemperatura(temperaturas, 0, temperaturas.length,
+                temperaturas[0]);
+    }
+
+    /**
+     * Encontra a menor temperatura em um trecho de um vetor, partindo de
+     * um valor inicial. Como {@link #menor(double, double)} nunca substitui
+     * o valor atual por NaN (e nunca substitui NaN), trechos de um mesmo
+     * vetor produzem, combinados, o resultado da varredura sequencial desde
+     * que todos partam do mesmo valor inicial (o primeiro do vetor).
+     *
+     * @param temperaturas Vetor contendo valores de temperaturas
+     * @param inicio       Posição inicial do trecho (inclusive)
+     * @param fim          Posição final do trecho (exclusive)
+     * @param inicial      Valor a partir do qual o menor é procurado
+     * @return A menor temperatura registrada no trecho, ou o valor inicial
+     */
+    static double menorTemperatura(final double[] temperaturas,
+                                   final int inicio, final int fim,
+                                   final double inicial) {
+        // Quatro acumuladores independentes: sem dependência entre
+        // iterações consecutivas, o laço pode ser vetorizado pelo JIT.
+        double menor0 = inicial;
+        double menor1 = menor0;
+        double menor2 = menor0;
+        double menor3 = menor0;
+
+        final int limite = fim - (fim - inicio) % ACUMULADORES;
+        int i = inicio;
+        for (; i < limite; i += ACUMULADORES) {
+            menor0 = menor(menor0, temperaturas[i]);
+            menor1 = menor(menor1, temperaturas[i + 1]);
+            menor2 = menor(menor2, temperaturas[i + 2]);
+            menor3 = menor(menor3, temperaturas[i + 3]);
+        }
+        for (; i < fim; i++) {
+            menor0 = menor(menor0, temperaturas[i]);
         }
 
-        return menorTemperatura;
+        return menor(menor(menor0, menor1), menor(menor2, menor3));
     }
 
     /**
-     * Produz a soma dos números ímpares de um vetor.
+     * Produz a soma dos números ímpares de um vetor. A soma é acumulada em
+     * {@code long}, de forma que não há estouro para vetores de até
+     * 2^32 elementos.
      *
      * @param numeros Vetor contendo inteiros
      * @return A soma dos ímpares do vetor
      */
-    public static int somaImpares(final int[] numeros) {
-        return Arrays.stream(numeros).filter(n -> n % 2 != 0).sum();
+    public static long somaImpares(final int[] numeros) {
+        return somaImpares(numeros, 0, numeros.length);
+    }
+
+    /**
+     * Produz a soma dos números ímpares de um trecho de um vetor.
+     *
+     * @param numeros Vetor contendo inteiros
+     * @param inicio  Posição inicial do trecho (inclusive)
+     * @param fim     Posição final do trecho (exclusive)
+     * @return A soma dos ímpares do trecho
+     */
+    static long somaImpares(final int[] numeros, final int inicio,
+                            final int fim) {
+        long soma0 = 0;
+        long soma1 = 0;
+        long soma2 = 0;
+        long soma3 = 0;
+
+        final int limite = fim - (fim - inicio) % ACUMULADORES;
+        int i = inicio;
+        for (; i < limite; i += ACUMULADORES) {
+            soma0 += valorSeImpar(numeros[i]);
+            soma1 += valorSeImpar(numeros[i + 1]);
+            soma2 += valorSeImpar(numeros[i + 2]);
+            soma3 += valorSeImpar(numeros[i + 3]);
+        }
+        for (; i < fim; i++) {
+            soma0 += valorSeImpar(numeros[i]);
+        }
+
+        return soma0 + soma1 + soma2 + soma3;
     }
 
     /**
@@ -59,26 +142,164 @@ public final class VetorUtils {
      */
     public static long conteIguais(final double[] numeros,
                                    final double comparador) {
-        return Arrays.stream(numeros).filter(n -> n == comparador).count();
+        return conteIguais(numeros, comparador, 0, numeros.length);
+    }
+
+    /**
+     * Produz a contagem em que determinado número ocorre em um trecho de um
+     * vetor.
+     *
+     * @param numeros    Vetor contendo números a serem comparados
+     * @param comparador Valor a ser comparado com vetor
+     * @param inicio     Posição inicial do trecho (inclusive)
+     * @param fim        Posição final do trecho (exclusive)
+     * @return Quantidade de vezes que o valor comparado ocorre no trecho
+     */
+    static long conteIguais(final double[] numeros, final double comparador,
+                            final int inicio, final int fim) {
+        long total0 = 0;
+        long total1 = 0;
+        long total2 = 0;
+        long total3 = 0;
+
+        final int limite = fim - (fim - inicio) % ACUMULADORES;
+        int i = inicio;
+        for (; i < limite; i += ACUMULADORES) {
+            total0 += numeros[i] == comparador ? 1 : 0;
+            total1 += numeros[i + 1] == comparador ? 1 : 0;
+            total2 += numeros[i + 2] == comparador ? 1 : 0;
+            total3 += numeros[i + 3] == comparador ? 1 : 0;
+        }
+        for (; i < fim; i++) {
+            total0 += numeros[i] == comparador ? 1 : 0;
+        }
+
+        return total0 + total1 + total2 + total3;
+    }
+
+    /**
+     * Produz a contagem de números de um vetor que diferem de determinado
+     * número em no máximo uma tolerância.
+     *
+     * @param numeros    Vetor contendo números a serem comparados
+     * @param comparador Valor a ser comparado com vetor
+     * @param tolerancia Maior diferença (absoluta) admitida
+     * @return Quantidade de números n tais que |n - comparador| é menor ou
+     * igual à tolerância (NaN nunca é contado)
+     * @throws IllegalArgumentException Se a tolerância é negativa ou NaN
+     */
+    public static long conteIguais(final double[] numeros,
+                                   final double comparador,
+                                   final double tolerancia) {
+        validaTolerancia(tolerancia);
+        return conteIguais(numeros, comparador, tolerancia, 0,
+                numeros.length);
+    }
+
+    /**
+     * Produz a contagem de números de um trecho de um vetor que diferem de
+     * determinado número em no máximo uma tolerância.
+     *
+     * @param numeros    Vetor contendo números a serem comparados
+     * @param comparador Valor a ser comparado com vetor
+     * @param tolerancia Maior diferença (absoluta) admitida
+     * @param inicio     Posição inicial do trecho (inclusive)
+     * @param fim        Posição final do trecho (exclusive)
+     * @return Quantidade de números do trecho próximos do comparador
+     */
+    static long conteIguais(final double[] numeros, final double comparador,
+                            final double tolerancia, final int inicio,
+                            final int fim) {
+        long total0 = 0;
+        long total1 = 0;
+        long total2 = 0;
+        long total3 = 0;
+
+        final int limite = fim - (fim - inicio) % ACUMULADORES;
+        int i = inicio;
+        for (; i < limite; i += ACUMULADORES) {
+            total0 += Math.abs(numeros[i] - comparador) <= tolerancia ? 1 : 0;
+            total1 += Math.abs(numeros[i + 1] - comparador) <= tolerancia
+                    ? 1 : 0;
+            total2 += Math.abs(numeros[i + 2] - comparador) <= tolerancia
+                    ? 1 : 0;
+            total3 += Math.abs(numeros[i + 3] - comparador) <= tolerancia
+                    ? 1 : 0;
+        }
+        for (; i < fim; i++) {
+            total0 += Math.abs(numeros[i] - comparador) <= tolerancia ? 1 : 0;
+        }
+
+        return total0 + total1 + total2 + total3;
+    }
+
+    /**
+     * Verifica se uma tolerância é válida (não negativa).
+     *
+     * @param tolerancia A tolerância a ser verificada
+     * @throws IllegalArgumentException Se a tolerância é negativa ou NaN
+     */
+    static void validaTolerancia(final double tolerancia) {
+        if (!(tolerancia >= 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "tolerancia inválida: %f", tolerancia));
+        }
+    }
+
+    /**
+     * Produz o menor de dois valores, com a mesma semântica da comparação
+     * {@code <} empregada originalmente (um NaN em valor é ignorado).
+     *
+     * @param atual O menor valor encontrado até então
+     * @param valor O valor a ser comparado
+     * @return valor, se for menor que atual, ou atual, caso contrário
+     */
+    static double menor(final double atual, final double valor) {
+        return valor < atual ? valor : atual;
+    }
+
+    /**
+     * Produz o próprio número, se ímpar, ou zero, se par, sem desvio
+     * condicional.
+     *
+     * @param numero O número a ser avaliado
+     * @return O número, se ímpar, ou 0, se par
+     */
+    private static int valorSeImpar(final int numero) {
+        return numero & -(numero & 1);
     }
 
     /**
      * Produz a quantidade de cada uma das letras do alfabeto em uma sequência
-     * de caracteres (não distingue maiúsculas de minísculas).
+     * de caracteres (não distingue maiúsculas de minísculas). Letras
+     * acentuadas são contadas como a letra sem acento (ç como c).
      *
      * @param frase String contendo sequência de caracteres
      * @return Quantidade de cada uma das letras na String (sendo a posição 0
      * a letra a, a posição 1 a letra b, e assim sucessivamente)
      */
     public static int[] conteLetras(final String frase) {
-        final String fraseMinuscula = frase.toLowerCase(Locale.getDefault());
+        return conteLetras(frase, 0, frase.length());
+    }
+
+    /**
+     * Produz a quantidade de cada uma das letras do alfabeto em um trecho de
+     * uma sequência de caracteres (não distingue maiúsculas de minúsculas).
+     *
+     * @param frase  String contendo sequência de caracteres
+     * @param inicio Posição inicial do trecho (inclusive)
+     * @param fim    Posição final do trecho (exclusive)
+     * @return Quantidade de cada uma das letras no trecho
+     */
+    static int[] conteLetras(final String frase, final int inicio,
+                             final int fim) {
         final int numeroLetrasAlfabeto = 26;
         int[] alfabeto = new int[numeroLetrasAlfabeto];
 
-        for (int i = 0; i < fraseMinuscula.length(); i++) {
-            final char caracter = fraseMinuscula.charAt(i);
-            if (caracter >= 'a' && caracter <= 'z') {
-                alfabeto[caracter - 'a']++;
+        for (int i = inicio; i < fim; i++) {
+            final int letra = HistogramaLetrasUtils.letra(frase.charAt(i));
+            if (letra >= 0) {
+                alfabeto[letra]++;
             }
         }
 
@@ -95,99 +316,116 @@ public final class VetorUtils {
      */
     public static long contePalavra(final String palavra,
                                     final String[] frase) {
-        return Arrays.stream(frase).filter(palavraEach ->
-                palavraEach.equals(palavra)).count();
+        return contePalavra(palavra, frase, 0, frase.length);
     }
 
     /**
-     * Retorna a palavra mais frequence em uma determinada sequêcia de
-     * caracteres.
+     * Produz a quantidade de vezes que uma palavra ocorre em um texto, cujas
+     * palavras são separadas por espaços em branco. Nenhuma {@link String} é
+     * criada por palavra do texto.
      *
-     * @param frase Frase a ser analisada
-     * @return Palavra que ocorre com mais frequência na frase analisada.
+     * @param palavra A palavra a ser contada
+     * @param texto   O texto
+     * @return Quantidade de vezes que a palavra ocorre
+     * @see Tokenizador#espacosEmBranco()
      */
-    public static String palavraMaisFrequente(final String frase) {
-        final String[] palavras = frase.split(" ");
+    public static long contePalavra(final String palavra,
+                                    final CharSequence texto) {
+        final Tokenizador.Cursor cursor =
+                Tokenizador.espacosEmBranco().cursor(texto);
+        long total = 0;
+        while (cursor.proximo()) {
+            if (iguais(palavra, texto, cursor.inicio(), cursor.fim())) {
+                total++;
+            }
+        }
 
-        String palavra = palavras[0];
-        long frequenciaPalavra = contePalavra(palavra, palavras);
+        return total;
+    }
 
-        for (int i = 0; i < palavras.length; i++) {
-            final long frequenciaProxPalavra = contePalavra(palavras[i],
-                    palavras);
-            if (frequenciaPalavra < frequenciaProxPalavra) {
-                palavra = palavras[i];
-                frequenciaPalavra = frequenciaProxPalavra;
+    /**
+     * Compara uma palavra com um trecho de texto.
+     *
+     * @param palavra A palavra
+     * @param texto   O texto
+     * @param inicio  Posição inicial do trecho (inclusive)
+     * @param fim     Posição final do trecho (exclusive)
+     * @return verdadeiro, se o trecho é igual à palavra
+     */
+    private static boolean iguais(final String palavra,
+                                  final CharSequence texto, final int inicio,
+                                  final int fim) {
+        if (palavra.length() != fim - inicio) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (palavra.charAt(i - inicio) != texto.charAt(i)) {
+                return false;
             }
         }
 
-        return palavra;
+        return true;
     }
 
     /**
-     * Produz coleção contendo número mais sorteado e sua frequência. Se
-     * houver mais de um número com a mesma frequência máxima, todos são
-     * retornados.
+     * Produz a quantidade de vezes que uma palavra ocorre em um trecho de um
+     * vetor de palavras.
      *
-     * @return Coleção com número(s) mais sorteado e sua(s) frequência(s)
+     * @param palavra A palavra a ser contada
+     * @param frase   O vetor de palavras a ser comparado
+     * @param inicio  Posição inicial do trecho (inclusive)
+     * @param fim     Posição final do trecho (exclusive)
+     * @return Quantidade de vezes que a palavra ocorre no trecho
      */
-    public static Map<Integer, Integer> numeroMaiSorteado() {
-        final int qtdAleat = 1_000_000;
-        final Random gerador = new Random();
-        final Map<Integer, Integer> mapAleatorios = new HashMap<>();
-
-        for (int i = 0; i < qtdAleat; i++) {
-            final int numeroAleat = gerador.nextInt(1000);
-            if (mapAleatorios.containsKey(numeroAleat)) {
-                int freq = mapAleatorios.get(numeroAleat);
-                freq++;
-                mapAleatorios.put(numeroAleat, freq);
-            } else {
-                mapAleatorios.put(numeroAleat, 1);
+    static long contePalavra(final String palavra, final String[] frase,
+                             final int inicio, final int fim) {
+        long total = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (frase[i].equals(palavra)) {
+                total++;
             }
         }
 
-        final int maxCount = getMaxFreq(mapAleatorios);
-
-        return getMaxNumeroFreq(mapAleatorios, maxCount);
+        return total;
     }
 
     /**
-     * Obtém a maior frequência de determinados números.
+     * Retorna a palavra mais frequence em uma determinada sequêcia de
+     * caracteres. As palavras são separadas por espaço e contadas em uma
+     * única passagem, sem criar uma {@link String} por palavra. Em caso de
+     * empate, prevalece a palavra que ocorre primeiro.
      *
-     * @param mapNumerosFreq Números e suas determinadas frequências
-     * @return A maior frequência encontrada
+     * @param frase Frase a ser analisada
+     * @return Palavra que ocorre com mais frequência na frase analisada.
+     * @throws IllegalArgumentException Se a frase contém apenas espaços
      */
-    private static int getMaxFreq(final Map<Integer, Integer> mapNumerosFreq) {
-        int maxFreq = 0;
-        for (final Map.Entry<Integer, Integer> val
-                : mapNumerosFreq.entrySet()) {
-            if (maxFreq < val.getValue()) {
-                maxFreq = val.getValue();
-            }
+    public static String palavraMaisFrequente(final String frase) {
+        final ContadorDePalavras contador = new ContadorDePalavras(frase);
+        if (SEPARA_POR_ESPACO.percorre(frase, contador::conta) == 0) {
+            throw new IllegalArgumentException("frase sem palavras");
         }
 
-        return maxFreq;
+        return contador.getPalavra(contador.maisFrequente());
     }
 
     /**
-     * Produz coleção com inteiros que contêm determinada frequência.
+     * Produz coleção contendo número mais sorteado e sua frequência. Se
+     * houver mais de um número com a mesma frequência máxima, todos são
+     * retornados. São realizados 1.000.000 de sorteios entre 0 e 999.
      *
-     * @param mapNumerosFreq Números e suas determinadas frequências
-     * @param frequencia     Frequência desejeda dos números a serem obtidos
-     * @return Map com números e suas determinadas ocorrências
+     * @return Coleção com número(s) mais sorteado e sua(s) frequência(s)
+     * @see SimulacaoSorteio
      */
-    private static Map<Integer, Integer> getMaxNumeroFreq(
-            final Map<Integer, Integer> mapNumerosFreq, final int frequencia) {
-        final Map<Integer, Integer> mapAleatoriosMaxFreq = new HashMap<>();
-        for (final Map.Entry<Integer, Integer> val
-                : mapNumerosFreq.entrySet()) {
-            if (frequencia == val.getValue()) {
-                mapAleatoriosMaxFreq.put(val.getKey(), frequencia);
-            }
+    public static Map<Integer, Integer> numeroMaiSorteado() {
+        final SimulacaoSorteio simulacao = SimulacaoSorteio.executa(
+                SORTEIOS, FAIXA_SORTEIO, new Random().nextLong());
+
+        final Map<Integer, Integer> maisSorteados = new HashMap<>();
+        for (final int numero : simulacao.getMaisSorteados()) {
+            maisSorteados.put(numero, (int) simulacao.getMaiorFrequencia());
         }
 
-        return mapAleatoriosMaxFreq;
+        return maisSorteados;
     }
 
 }
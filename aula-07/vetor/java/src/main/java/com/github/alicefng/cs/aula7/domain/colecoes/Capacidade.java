@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+/**
+ * Dimensionamento das tabelas de endereçamento aberto do pacote.
+ */
+final class Capacidade {
+
+    /**
+     * Menor tamanho de tabela.
+     */
+    private static final int MINIMA = 4;
+
+    /**
+     * Maior tamanho de tabela.
+     */
+    private static final int MAXIMA = 1 << 30;
+
+    /**
+     * Previne a classe utilitária de ser instanciada.
+     */
+    private Capacidade() {
+    }
+
+    /**
+     * Valida um fator de carga.
+     *
+     * @param fator O fator de carga
+     * @return O fator de carga, se válido
+     * @throws IllegalArgumentException Se o fator não está entre 0 e 1
+     *                                  (exclusive)
+     */
+    static float validaFator(final float fator) {
+        if (!(fator > 0 && fator < 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "fator de carga inválido: %f", fator));
+        }
+
+        return fator;
+    }
+
+    /**
+     * Calcula o tamanho de tabela que comporta uma quantidade de entradas
+     * sem crescimento.
+     *
+     * @param esperadas Quantidade esperada de entradas
+     * @param fator     Fator de carga
+     * @return O tamanho da tabela (potência de 2)
+     * @throws IllegalArgumentException Se a quantidade é negativa ou
+     *                                  excede a capacidade máxima
+     */
+    static int tabela(final int esperadas, final float fator) {
+        if (esperadas < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "quantidade esperada inválida: %d", esperadas));
+        }
+
+        final long necessaria = (long) Math.ceil(esperadas / (double) fator)
+                + 1;
+        if (necessaria > MAXIMA) {
+            throw new IllegalArgumentException(String.format(
+                    "quantidade esperada excessiva: %d", esperadas));
+        }
+
+        return Math.max(MINIMA,
+                Integer.highestOneBit((int) necessaria - 1) << 1);
+    }
+
+    /**
+     * Calcula a quantidade de entradas a partir da qual a tabela cresce.
+     * Ao menos uma posição permanece vazia, o que encerra toda sondagem.
+     *
+     * @param tamanho Tamanho da tabela
+     * @param fator   Fator de carga
+     * @return O limite de entradas
+     */
+    static int limite(final int tamanho, final float fator) {
+        return Math.min((int) (tamanho * (double) fator), tamanho - 1);
+    }
+
+    /**
+     * Calcula o tamanho de tabela após o crescimento.
+     *
+     * @param tamanho Tamanho atual
+     * @return O dobro do tamanho atual
+     * @throws IllegalStateException Se a tabela já tem o tamanho máximo
+     */
+    static int dobra(final int tamanho) {
+        if (tamanho >= MAXIMA) {
+            throw new IllegalStateException("capacidade máxima excedida");
+        }
+
+        return tamanho << 1;
+    }
+
+}
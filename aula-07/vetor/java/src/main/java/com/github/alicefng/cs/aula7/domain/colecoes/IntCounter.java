@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+import java.util.Arrays;
+
+/**
+ * Contagem de ocorrências de valores {@code int} sem objetos por entrada:
+ * tabela de endereçamento aberto com sondagem linear, capacidade potência
+ * de 2 e fator de carga configurável, com contagens {@code long}. O valor 0
+ * é mantido fora da tabela, onde indica posição vazia. Adequada a valores
+ * esparsos; para uma faixa pequena e densa, um vetor indexado pelo valor é
+ * preferível.
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+public final class IntCounter {
+
+    /**
+     * Capacidade esperada padrão.
+     */
+    private static final int CAPACIDADE_PADRAO = 16;
+
+    /**
+     * Fator de carga padrão.
+     */
+    private static final float FATOR_PADRAO = 0.5f;
+
+    /**
+     * Constante multiplicativa para espalhar o hash (razão áurea).
+     */
+    private static final int ESPALHAMENTO = 0x9E3779B9;
+
+    /**
+     * Fração máxima ocupada da tabela.
+     */
+    private final float fatorDeCarga;
+
+    /**
+     * Chaves (0 indica posição vazia).
+     */
+    private int[] chaves;
+
+    /**
+     * Contagens, na posição da chave correspondente.
+     */
+    private long[] valores;
+
+    /**
+     * Deslocamento que reduz o hash à faixa da tabela.
+     */
+    private int deslocamento;
+
+    /**
+     * Quantidade de entradas a partir da qual a tabela cresce.
+     */
+    private int limite;
+
+    /**
+     * Quantidade de entradas na tabela (exceto a chave 0).
+     */
+    private int tamanho;
+
+    /**
+     * Indica se a chave 0 foi contada.
+     */
+    private boolean temZero;
+
+    /**
+     * Contagem da chave 0.
+     */
+    private long valorZero;
+
+    /**
+     * Recebe cada valor contado e a sua contagem.
+     */
+    @FunctionalInterface
+    public interface IntLongConsumer {
+
+        /**
+         * Recebe um valor contado.
+         *
+         * @param chave    O valor contado
+         * @param contagem A contagem
+         */
+        void accept(int chave, long contagem);
+    }
+
+    /**
+     * Cria contagem vazia com capacidade e fator de carga padrões.
+     */
+    public IntCounter() {
+        this(CAPACIDADE_PADRAO, FATOR_PADRAO);
+    }
+
+    /**
+     * Cria contagem vazia com capacidade para uma quantidade esperada de
+     * entradas sem crescimento.
+     *
+     * @param esperadas    Quantidade esperada de entradas
+     * @param fatorDeCarga Fração máxima ocupada da tabela, entre 0 e 1
+     *                     (exclusive)
+     * @throws IllegalArgumentException Se algum parâmetro é inválido
+     */
+    public IntCounter(final int esperadas, final float fatorDeCarga) {
+        this.fatorDeCarga = Capacidade.validaFator(fatorDeCarga);
+        aloca(Capacidade.tabela(esperadas, fatorDeCarga));
+    }
+
+    /**
+     * Recupera a contagem de um valor.
+     *
+     * @param chave O valor
+     * @return A quantidade de ocorrências (0, se nunca contado)
+     */
+    public long get(final int chave) {
+        if (chave == 0) {
+            return valorZero;
+        }
+
+        final int posicao = procura(chave);
+        return chaves[posicao] == 0 ? 0 : valores[posicao];
+    }
+
+    /**
+     * Registra uma ocorrência de um valor.
+     *
+     * @param chave O valor
+     * @return A contagem após o registro
+     */
+    public long increment(final int chave) {
+        return add(chave, 1);
+    }
+
+    /**
+     * Registra ocorrências de um valor.
+     *
+     * @param chave      O valor
+     * @param quantidade Quantidade de ocorrências
+     * @return A contagem após o registro
+     */
+    public long add(final int chave, final long quantidade) {
+        if (chave == 0) {
+            temZero = true;
+            valorZero += quantidade;
+            return valorZero;
+        }
+
+        final int posicao = procura(chave);
+        if (chaves[posicao] != 0) {
+            valores[posicao] += quantidade;
+            return valores[posicao];
+        }
+        insere(posicao, chave, quantidade);
+        return quantidade;
+    }
+
+    /**
+     * Soma as contagens de outra instância a esta.
+     *
+     * @param outra A contagem a ser somada
+     */
+    public void addAll(final IntCounter outra) {
+        if (outra.temZero) {
+            add(0, outra.valorZero);
+        }
+        for (int i = 0; i < outra.chaves.length; i++) {
+            if (outra.chaves[i] != 0) {
+                add(outra.chaves[i], outra.valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Recupera a quantidade de valores distintos contados.
+     *
+     * @return A quantidade de valores distintos
+     */
+    public int size() {
+        return temZero ? tamanho + 1 : tamanho;
+    }
+
+    /**
+     * Verifica se a contagem está vazia.
+     *
+     * @return verdadeiro, se nenhum valor foi contado
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove todas as contagens, preservando a capacidade.
+     */
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        tamanho = 0;
+        temZero = false;
+        valorZero = 0;
+    }
+
+    /**
+     * Percorre os valores contados, em ordem não especificada, sem criar
+     * objetos.
+     *
+     * @param consumidor Recebe cada valor e a sua contagem
+     */
+    public void forEach(final IntLongConsumer consumidor) {
+        if (temZero) {
+            consumidor.accept(0, valorZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                consumidor.accept(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Procura a posição de uma chave (diferente de 0).
+     *
+     * @param chave A chave
+     * @return A posição da chave, ou a posição vazia em que seria inserida
+     */
+    private int procura(final int chave) {
+        final int mascara = chaves.length - 1;
+        int i = (chave * ESPALHAMENTO) >>> deslocamento;
+        while (chaves[i] != 0 && chaves[i] != chave) {
+            i = (i + 1) & mascara;
+        }
+
+        return i;
+    }
+
+    /**
+     * Insere uma entrada em uma posição vazia, crescendo a tabela se
+     * necessário.
+     *
+     * @param posicao A posição vazia
+     * @param chave   A chave
+     * @param valor   O valor
+     */
+    private void insere(final int posicao, final int chave,
+                        final long valor) {
+        chaves[posicao] = chave;
+        valores[posicao] = valor;
+        if (++tamanho > limite) {
+            cresce();
+        }
+    }
+
+    /**
+     * Dobra a capacidade da tabela e reinsere as entradas.
+     */
+    private void cresce() {
+        final int[] antigasChaves = chaves;
+        final long[] antigosValores = valores;
+        aloca(Capacidade.dobra(chaves.length));
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != 0) {
+                final int posicao = procura(antigasChaves[i]);
+                chaves[posicao] = antigasChaves[i];
+                valores[posicao] = antigosValores[i];
+            }
+        }
+    }
+
+    /**
+     * Aloca tabela vazia.
+     *
+     * @param capacidade Tamanho da tabela (potência de 2)
+     */
+    private void aloca(final int capacidade) {
+        chaves = new int[capacidade];
+        valores = new long[capacidade];
+        deslocamento = Integer.numberOfLeadingZeros(capacidade - 1);
+        limite = Capacidade.limite(capacidade, fatorDeCarga);
+    }
+
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de {@code int} para {@code int} sem objetos por entrada: tabela de
+ * endereçamento aberto com sondagem linear, capacidade potência de 2 e
+ * fator de carga configurável. A chave 0 é mantida fora da tabela, onde
+ * indica posição vazia.
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+public final class IntIntHashMap {
+
+    /**
+     * Capacidade esperada padrão.
+     */
+    private static final int CAPACIDADE_PADRAO = 16;
+
+    /**
+     * Fator de carga padrão.
+     */
+    private static final float FATOR_PADRAO = 0.5f;
+
+    /**
+     * Constante multiplicativa para espalhar o hash (razão áurea).
+     */
+    private static final int ESPALHAMENTO = 0x9E3779B9;
+
+    /**
+     * Fração máxima ocupada da tabela.
+     */
+    private final float fatorDeCarga;
+
+    /**
+     * Chaves (0 indica posição vazia).
+     */
+    private int[] chaves;
+
+    /**
+     * Valores, na posição da chave correspondente.
+     */
+    private int[] valores;
+
+    /**
+     * Deslocamento que reduz o hash à faixa da tabela.
+     */
+    private int deslocamento;
+
+    /**
+     * Quantidade de entradas a partir da qual a tabela cresce.
+     */
+    private int limite;
+
+    /**
+     * Quantidade de entradas na tabela (exceto a chave 0).
+     */
+    private int tamanho;
+
+    /**
+     * Indica se a chave 0 está presente.
+     */
+    private boolean temZero;
+
+    /**
+     * Valor associado à chave 0.
+     */
+    private int valorZero;
+
+    /**
+     * Recebe cada entrada do mapa.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+
+        /**
+         * Recebe uma entrada.
+         *
+         * @param chave A chave
+         * @param valor O valor
+         */
+        void accept(int chave, int valor);
+    }
+
+    /**
+     * Cria mapa vazio com capacidade e fator de carga padrões.
+     */
+    public IntIntHashMap() {
+        this(CAPACIDADE_PADRAO, FATOR_PADRAO);
+    }
+
+    /**
+     * Cria mapa vazio com capacidade para uma quantidade esperada de
+     * entradas sem crescimento.
+     *
+     * @param esperadas    Quantidade esperada de entradas
+     * @param fatorDeCarga Fração máxima ocupada da tabela, entre 0 e 1
+     *                     (exclusive)
+     * @throws IllegalArgumentException Se algum parâmetro é inválido
+     */
+    public IntIntHashMap(final int esperadas, final float fatorDeCarga) {
+        this.fatorDeCarga = Capacidade.validaFator(fatorDeCarga);
+        aloca(Capacidade.tabela(esperadas, fatorDeCarga));
+    }
+
+    /**
+     * Recupera o valor associado a uma chave.
+     *
+     * @param chave  A chave
+     * @param padrao Valor produzido se a chave não está presente
+     * @return O valor associado, ou o padrão
+     */
+    public int getOrDefault(final int chave, final int padrao) {
+        if (chave == 0) {
+            return temZero ? valorZero : padrao;
+        }
+
+        final int posicao = procura(chave);
+        return chaves[posicao] == 0 ? padrao : valores[posicao];
+    }
+
+    /**
+     * Verifica se uma chave está presente.
+     *
+     * @param chave A chave
+     * @return verdadeiro, se a chave está presente
+     */
+    public boolean containsKey(final int chave) {
+        return chave == 0 ? temZero : chaves[procura(chave)] != 0;
+    }
+
+    /**
+     * Associa um valor a uma chave.
+     *
+     * @param chave A chave
+     * @param valor O valor
+     * @return O valor associado anteriormente, ou 0
+     */
+    public int put(final int chave, final int valor) {
+        if (chave == 0) {
+            final int anterior = valorZero;
+            valorZero = valor;
+            temZero = true;
+            return anterior;
+        }
+
+        final int posicao = procura(chave);
+        if (chaves[posicao] != 0) {
+            final int anterior = valores[posicao];
+            valores[posicao] = valor;
+            return anterior;
+        }
+        insere(posicao, chave, valor);
+        return 0;
+    }
+
+    /**
+     * Soma um incremento ao valor associado a uma chave (0, se ausente).
+     *
+     * @param chave      A chave
+     * @param incremento O incremento
+     * @return O valor associado após a soma
+     */
+    public int addTo(final int chave, final int incremento) {
+        if (chave == 0) {
+            temZero = true;
+            valorZero += incremento;
+            return valorZero;
+        }
+
+        final int posicao = procura(chave);
+        if (chaves[posicao] != 0) {
+            valores[posicao] += incremento;
+            return valores[posicao];
+        }
+        insere(posicao, chave, incremento);
+        return incremento;
+    }
+
+    /**
+     * Remove uma chave.
+     *
+     * @param chave A chave
+     * @return O valor associado anteriormente, ou 0
+     */
+    public int remove(final int chave) {
+        if (chave == 0) {
+            final int anterior = valorZero;
+            temZero = false;
+            valorZero = 0;
+            return anterior;
+        }
+
+        final int posicao = procura(chave);
+        if (chaves[posicao] == 0) {
+            return 0;
+        }
+        final int anterior = valores[posicao];
+        desloca(posicao);
+        tamanho--;
+        return anterior;
+    }
+
+    /**
+     * Recupera a quantidade de entradas.
+     *
+     * @return A quantidade de entradas
+     */
+    public int size() {
+        return temZero ? tamanho + 1 : tamanho;
+    }
+
+    /**
+     * Verifica se o mapa está vazio.
+     *
+     * @return verdadeiro, se não há entradas
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove todas as entradas, preservando a capacidade.
+     */
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        tamanho = 0;
+        temZero = false;
+        valorZero = 0;
+    }
+
+    /**
+     * Percorre as entradas, em ordem não especificada, sem criar objetos.
+     *
+     * @param consumidor Recebe cada entrada
+     */
+    public void forEach(final IntIntConsumer consumidor) {
+        if (temZero) {
+            consumidor.accept(0, valorZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                consumidor.accept(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Procura a posição de uma chave (diferente de 0).
+     *
+     * @param chave A chave
+     * @return A posição da chave, ou a posição vazia em que seria inserida
+     */
+    private int procura(final int chave) {
+        final int mascara = chaves.length - 1;
+        int i = (chave * ESPALHAMENTO) >>> deslocamento;
+        while (chaves[i] != 0 && chaves[i] != chave) {
+            i = (i + 1) & mascara;
+        }
+
+        return i;
+    }
+
+    /**
+     * Insere uma entrada em uma posição vazia, crescendo a tabela se
+     * necessário.
+     *
+     * @param posicao A posição vazia
+     * @param chave   A chave
+     * @param valor   O valor
+     */
+    private void insere(final int posicao, final int chave, final int valor) {
+        chaves[posicao] = chave;
+        valores[posicao] = valor;
+        if (++tamanho > limite) {
+            cresce();
+        }
+    }
+
+    /**
+     * Esvazia uma posição, deslocando as entradas seguintes para preservar
+     * as sequências de sondagem.
+     *
+     * @param posicao A posição a ser esvaziada
+     */
+    private void desloca(final int posicao) {
+        final int mascara = chaves.length - 1;
+        int livre = posicao;
+        int i = posicao;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (chaves[i] == 0) {
+                break;
+            }
+            final int ideal = (chaves[i] * ESPALHAMENTO) >>> deslocamento;
+            final boolean permanece = livre <= i
+                    ? livre < ideal && ideal <= i
+                    : livre < ideal || ideal <= i;
+            if (!permanece) {
+                chaves[livre] = chaves[i];
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        chaves[livre] = 0;
+    }
+
+    /**
+     * Dobra a capacidade da tabela e reinsere as entradas.
+     */
+    private void cresce() {
+        final int[] antigasChaves = chaves;
+        final int[] antigosValores = valores;
+        aloca(Capacidade.dobra(chaves.length));
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != 0) {
+                final int posicao = procura(antigasChaves[i]);
+                chaves[posicao] = antigasChaves[i];
+                valores[posicao] = antigosValores[i];
+            }
+        }
+    }
+
+    /**
+     * Aloca tabela vazia.
+     *
+     * @param capacidade Tamanho da tabela (potência de 2)
+     */
+    private void aloca(final int capacidade) {
+        chaves = new int[capacidade];
+        valores = new int[capacidade];
+        deslocamento = Integer.numberOfLeadingZeros(capacidade - 1);
+        limite = Capacidade.limite(capacidade, fatorDeCarga);
+    }
+
+}
@@ -0,0 +1,11 @@
+/**
+ * Coleções especializadas em tipos primitivos, sem objetos por entrada.
+ * Contém as classes:
+ * (a) {@link com.github.alicefng.cs.aula7.domain.colecoes.IntIntHashMap},
+ * (b) {@link com.github.alicefng.cs.aula7.domain.colecoes.LongLongHashMap} e
+ * (c) {@link com.github.alicefng.cs.aula7.domain.colecoes.IntCounter}
+ * @see com.github.alicefng.cs.aula7.domain.colecoes.IntIntHashMap
+ * @see com.github.alicefng.cs.aula7.domain.colecoes.LongLongHashMap
+ * @see com.github.alicefng.cs.aula7.domain.colecoes.IntCounter
+ */
+package com.github.alicefng.cs.aula7.domain.colecoes;
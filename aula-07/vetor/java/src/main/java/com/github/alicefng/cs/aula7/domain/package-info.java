@@ -1,6 +1,36 @@
 /**
- * Pacote do repositório "cs-2019-01". Contém uma classe:
- * {@link com.github.alicefng.cs.aula7.domain.VetorUtils}
+ * Pacote do repositório "cs-2019-01". Contém as classes:
+ * (a) {@link com.github.alicefng.cs.aula7.domain.VetorUtils},
+ * (b) {@link com.github.alicefng.cs.aula7.domain.VetorParaleloUtils},
+ * (c) {@link com.github.alicefng.cs.aula7.domain.EstatisticasTemperatura},
+ * (d) {@link com.github.alicefng.cs.aula7.domain.TemperaturaArquivoUtils},
+ * (e) {@link com.github.alicefng.cs.aula7.domain.CountMinSketch},
+ * (f) {@link com.github.alicefng.cs.aula7.domain.PalavrasFrequentes},
+ * (g) {@link com.github.alicefng.cs.aula7.domain.PalavrasFrequentesArquivo},
+ * (h) {@link com.github.alicefng.cs.aula7.domain.Tokenizador},
+ * (i) {@link com.github.alicefng.cs.aula7.domain.HistogramaLetrasUtils},
+ * (j) {@link com.github.alicefng.cs.aula7.domain.SimulacaoSorteio},
+ * (k) {@link com.github.alicefng.cs.aula7.domain.IndicePalavras},
+ * (l) {@link com.github.alicefng.cs.aula7.domain.IndiceNumeros},
+ * (m) {@link com.github.alicefng.cs.aula7.domain.JanelaTemperatura},
+ * (n) {@link com.github.alicefng.cs.aula7.domain.JanelasPorSensor},
+ * (o) {@link com.github.alicefng.cs.aula7.domain.BlocoTemperatura} e
+ * (p) {@link com.github.alicefng.cs.aula7.domain.SerieTemperatura}
  * @see com.github.alicefng.cs.aula7.domain.VetorUtils
+ * @see com.github.alicefng.cs.aula7.domain.VetorParaleloUtils
+ * @see com.github.alicefng.cs.aula7.domain.EstatisticasTemperatura
+ * @see com.github.alicefng.cs.aula7.domain.TemperaturaArquivoUtils
+ * @see com.github.alicefng.cs.aula7.domain.CountMinSketch
+ * @see com.github.alicefng.cs.aula7.domain.PalavrasFrequentes
+ * @see com.github.alicefng.cs.aula7.domain.PalavrasFrequentesArquivo
+ * @see com.github.alicefng.cs.aula7.domain.Tokenizador
+ * @see com.github.alicefng.cs.aula7.domain.HistogramaLetrasUtils
+ * @see com.github.alicefng.cs.aula7.domain.SimulacaoSorteio
+ * @see com.github.alicefng.cs.aula7.domain.IndicePalavras
+ * @see com.github.alicefng.cs.aula7.domain.IndiceNumeros
+ * @see com.github.alicefng.cs.aula7.domain.JanelaTemperatura
+ * @see com.github.alicefng.cs.aula7.domain.JanelasPorSensor
+ * @see com.github.alicefng.cs.aula7.domain.BlocoTemperatura
+ * @see com.github.alicefng.cs.aula7.domain.SerieTemperatura
  */
 package com.github.alicefng.cs.aula7.domain;
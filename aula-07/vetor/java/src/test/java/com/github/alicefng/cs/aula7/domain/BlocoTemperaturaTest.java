@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlocoTemperaturaTest {
+
+    private static void confere(final long[] instantes,
+                                final double[] temperaturas,
+                                final BlocoTemperatura bloco) {
+        final List<Long> lidos = new ArrayList<>();
+        final List<Long> bits = new ArrayList<>();
+        bloco.percorre((instante, temperatura) -> {
+            lidos.add(instante);
+            bits.add(Double.doubleToRawLongBits(temperatura));
+        });
+
+        assertEquals(instantes.length, lidos.size());
+        for (int i = 0; i < instantes.length; i++) {
+            assertEquals(instantes[i], (long) lidos.get(i));
+            assertEquals(Double.doubleToRawLongBits(temperaturas[i]),
+                    (long) bits.get(i));
+        }
+    }
+
+    private static BlocoTemperatura codifica(final long[] instantes,
+                                             final double[] temperaturas) {
+        final BlocoTemperatura bloco = new BlocoTemperatura();
+        for (int i = 0; i < instantes.length; i++) {
+            bloco.adiciona(instantes[i], temperaturas[i]);
+        }
+        return bloco;
+    }
+
+    @Test
+    public void valoresExtremos() {
+        final long[] instantes = {Long.MIN_VALUE, -1, 0, 0, 1, 60, 120,
+                Long.MAX_VALUE};
+        final double[] temperaturas = {-0.0, 0.0, Double.NaN,
+                Double.NEGATIVE_INFINITY, Double.MAX_VALUE,
+                Double.MIN_VALUE, 21.5, Double.POSITIVE_INFINITY};
+        final BlocoTemperatura bloco = codifica(instantes, temperaturas);
+
+        confere(instantes, temperaturas, bloco);
+        assertEquals(Double.NEGATIVE_INFINITY, bloco.getMenor());
+        assertEquals(Double.POSITIVE_INFINITY, bloco.getMaior());
+        assertEquals(Long.MIN_VALUE, bloco.getPrimeiroInstante());
+        assertEquals(Long.MAX_VALUE, bloco.getUltimoInstante());
+    }
+
+    @Test
+    public void aleatorios() {
+        final Random gerador = new Random(41);
+        for (int caso = 0; caso < 50; caso++) {
+            final int n = 1 + gerador.nextInt(500);
+            final long[] instantes = new long[n];
+            final double[] temperaturas = new double[n];
+            long instante = gerador.nextLong() >> 8;
+            for (int i = 0; i < n; i++) {
+                instante += caso % 2 == 0
+                        ? 60 + gerador.nextInt(5) - 2
+                        : gerador.nextInt(1 << (1 + gerador.nextInt(30)));
+                instantes[i] = instante;
+                temperaturas[i] = caso % 3 == 0
+                        ? Double.longBitsToDouble(gerador.nextLong())
+                        : Math.round(gerador.nextGaussian() * 50) / 10.0;
+            }
+
+            final BlocoTemperatura bloco = codifica(instantes, temperaturas);
+            confere(instantes, temperaturas, bloco);
+            bloco.fecha();
+            confere(instantes, temperaturas, bloco);
+        }
+    }
+
+    @Test
+    public void compactaLeiturasPeriodicas() {
+        final int n = 1000;
+        final long[] instantes = new long[n];
+        final double[] temperaturas = new double[n];
+        for (int i = 0; i < n; i++) {
+            instantes[i] = 1_500_000_000L + 60L * i;
+            temperaturas[i] = 20 + (i / 50) * 0.5;
+        }
+
+        final BlocoTemperatura bloco = codifica(instantes, temperaturas);
+        confere(instantes, temperaturas, bloco);
+        // Leitura repetida: 1 bit do instante e 1 da temperatura.
+        assertTrue(bloco.getBits() < 3 * n, "bits: " + bloco.getBits());
+        assertEquals(20, bloco.getMenor());
+        assertEquals(29.5, bloco.getMaior());
+    }
+
+    @Test
+    public void apenasNaN() {
+        final BlocoTemperatura bloco = codifica(new long[] {1, 2},
+                new double[] {Double.NaN, Double.NaN});
+        assertTrue(Double.isNaN(bloco.getMenor()));
+        assertTrue(Double.isNaN(bloco.getMaior()));
+        assertEquals(2, bloco.getQuantidade());
+    }
+
+    @Test
+    public void gravaELe() throws IOException {
+        final long[] instantes = {10, 20, 35, 35};
+        final double[] temperaturas = {1.5, -3, 2.25, 2.25};
+        final BlocoTemperatura bloco = codifica(instantes, temperaturas);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bloco.escreve(new DataOutputStream(bytes));
+        final BlocoTemperatura lido = BlocoTemperatura.le(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())));
+
+        confere(instantes, temperaturas, lido);
+        assertEquals(-3, lido.getMenor());
+        assertEquals(2.25, lido.getMaior());
+        assertEquals(bloco.getBits(), lido.getBits());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountMinSketchTest {
+
+    private static long hash(final int item) {
+        return PalavrasFrequentes.hash(Integer.toString(item), 0,
+                Integer.toString(item).length());
+    }
+
+    @Test
+    public void estimativaNuncaInferiorEDentroDoErro() {
+        final CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        final int[] frequencias = new int[5000];
+        for (int i = 0; i < frequencias.length; i++) {
+            frequencias[i] = 1 + i % 17;
+            sketch.adiciona(hash(i), frequencias[i]);
+        }
+
+        final long erro = sketch.getErroMaximo();
+        int excedidos = 0;
+        for (int i = 0; i < frequencias.length; i++) {
+            final long estimativa = sketch.estimativa(hash(i));
+            assertTrue(estimativa >= frequencias[i]);
+            if (estimativa - frequencias[i] > erro) {
+                excedidos++;
+            }
+        }
+        assertTrue(excedidos <= frequencias.length / 100);
+    }
+
+    @Test
+    public void adicionaProduzEstimativa() {
+        final CountMinSketch sketch = new CountMinSketch(0.01, 0.05);
+        sketch.adiciona(hash(1), 3);
+        assertEquals(5, sketch.adiciona(hash(1), 2));
+        assertEquals(5, sketch.estimativa(hash(1)));
+        assertEquals(5, sketch.getTotal());
+    }
+
+    @Test
+    public void combinaSomaContagens() {
+        final CountMinSketch a = new CountMinSketch(0.01, 0.05);
+        final CountMinSketch b = new CountMinSketch(0.01, 0.05);
+        a.adiciona(hash(7), 10);
+        b.adiciona(hash(7), 5);
+        b.adiciona(hash(8), 1);
+
+        final CountMinSketch copia = a.copia();
+        a.combina(b);
+
+        assertEquals(15, a.estimativa(hash(7)));
+        assertEquals(16, a.getTotal());
+        assertEquals(10, copia.estimativa(hash(7)));
+    }
+
+    @Test
+    public void combinaDimensoesDistintas() {
+        final CountMinSketch a = new CountMinSketch(0.01, 0.05);
+        final CountMinSketch b = new CountMinSketch(0.001, 0.05);
+        assertThrows(IllegalArgumentException.class, () -> a.combina(b));
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(0, 0.1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(0.1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(Double.NaN, 0.1));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EstatisticasTemperaturaTest {
+
+    private static EstatisticasTemperatura de(final double[] valores,
+                                              final int inicio,
+                                              final int fim) {
+        final EstatisticasTemperatura estatisticas =
+                new EstatisticasTemperatura();
+        for (int i = inicio; i < fim; i++) {
+            estatisticas.adiciona(valores[i], i);
+        }
+        return estatisticas;
+    }
+
+    @Test
+    public void semLeituras() {
+        final EstatisticasTemperatura vazia = new EstatisticasTemperatura();
+        assertEquals(0, vazia.getQuantidade());
+        assertTrue(Double.isNaN(vazia.getMenor()));
+        assertTrue(Double.isNaN(vazia.getMedia()));
+        assertTrue(Double.isNaN(vazia.getVarianciaAmostral()));
+        assertEquals(-1, vazia.getPosicaoMenor());
+    }
+
+    @Test
+    public void estatisticasComNaN() {
+        final double[] valores = {30, Double.NaN, 100.2, -55, -55, 2};
+        final EstatisticasTemperatura estatisticas =
+                de(valores, 0, valores.length);
+
+        assertEquals(5, estatisticas.getQuantidade());
+        assertEquals(1, estatisticas.getQuantidadeNaN());
+        assertEquals(-55, estatisticas.getMenor());
+        assertEquals(100.2, estatisticas.getMaior());
+        assertEquals(3, estatisticas.getPosicaoMenor());
+        assertEquals(4.44, estatisticas.getMedia(), 1e-9);
+        assertEquals(3379.0944, estatisticas.getVariancia(), 1e-9);
+        assertEquals(4223.868, estatisticas.getVarianciaAmostral(), 1e-9);
+    }
+
+    @Test
+    public void combinacao() {
+        final double[] valores = {30, Double.NaN, -55, 100.2, -55, 2, 7};
+        final EstatisticasTemperatura completa =
+                de(valores, 0, valores.length);
+        final EstatisticasTemperatura parcial = de(valores, 0, 3);
+        parcial.combina(new EstatisticasTemperatura());
+        parcial.combina(de(valores, 3, valores.length));
+
+        assertEquals(completa.getQuantidade(), parcial.getQuantidade());
+        assertEquals(completa.getQuantidadeNaN(), parcial.getQuantidadeNaN());
+        assertEquals(completa.getMenor(), parcial.getMenor());
+        assertEquals(completa.getMaior(), parcial.getMaior());
+        assertEquals(2, parcial.getPosicaoMenor());
+        assertEquals(completa.getMedia(), parcial.getMedia(), 1e-9);
+        assertEquals(completa.getVariancia(), parcial.getVariancia(), 1e-9);
+
+        final EstatisticasTemperatura inversa = de(valores, 4, 5);
+        inversa.combina(de(valores, 2, 3));
+        assertEquals(2, inversa.getPosicaoMenor());
+    }
+
+}
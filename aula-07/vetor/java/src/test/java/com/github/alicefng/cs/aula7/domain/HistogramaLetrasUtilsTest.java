@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HistogramaLetrasUtilsTest {
+
+    private static final String TEXTO = "Ação, ÁGUA e Pão! Über ñandú ÿ "
+            + "Ø ß 123 — 😀 Kelvin";
+
+    private static long[] esperado() {
+        final long[] esperado = new long[HistogramaLetrasUtils.LETRAS];
+        // "acao agua e pao uber nandu y kelvin", sem Ø e ß.
+        for (final char c : "acaoaguaepaoubernanduykelvin".toCharArray()) {
+            esperado[c - 'a']++;
+        }
+        return esperado;
+    }
+
+    @Test
+    public void letra() {
+        assertEquals(0, HistogramaLetrasUtils.letra('Á'));
+        assertEquals(2, HistogramaLetrasUtils.letra('ç'));
+        assertEquals(25, HistogramaLetrasUtils.letra('Z'));
+        assertEquals(-1, HistogramaLetrasUtils.letra('ß'));
+        assertEquals(-1, HistogramaLetrasUtils.letra('1'));
+        assertEquals(-1, HistogramaLetrasUtils.letra('ā'));
+    }
+
+    @Test
+    public void histogramaDeTexto() throws IOException {
+        assertArrayEquals(esperado(), HistogramaLetrasUtils.histograma(TEXTO));
+        assertArrayEquals(esperado(), HistogramaLetrasUtils.histograma(
+                new StringReader(TEXTO)));
+    }
+
+    @Test
+    public void histogramaDeFluxoUtf8() throws IOException {
+        final byte[] utf8 = TEXTO.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(esperado(), HistogramaLetrasUtils.histograma(
+                new ByteArrayInputStream(utf8)));
+
+        // Leituras de um byte por vez dividem todas as sequências.
+        final InputStream lento = new FilterInputStream(
+                new ByteArrayInputStream(utf8)) {
+            @Override
+            public int read(final byte[] b, final int off, final int len)
+                    throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        assertArrayEquals(esperado(), HistogramaLetrasUtils.histograma(lento));
+    }
+
+    @Test
+    public void histogramaDeArquivo() throws IOException {
+        final Path arquivo = Files.createTempFile("letras", ".txt");
+        arquivo.toFile().deleteOnExit();
+        // Mais de um trecho; "ç" ocupa dois bytes e cruza os limites.
+        final int repeticoes = 50_000_000;
+        final StringBuilder linha = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            linha.append("ç");
+        }
+        final byte[] bloco = linha.toString()
+                .getBytes(StandardCharsets.UTF_8);
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            saida.write('x');
+            for (int i = 0; i < repeticoes / 1000; i++) {
+                saida.write(bloco);
+            }
+        }
+
+        final long[] histograma = HistogramaLetrasUtils.histograma(arquivo);
+
+        assertEquals(repeticoes, histograma['c' - 'a']);
+        assertEquals(1, histograma['x' - 'a']);
+    }
+
+    @Test
+    public void arquivoVazio() throws IOException {
+        final Path arquivo = Files.createTempFile("letras", ".txt");
+        arquivo.toFile().deleteOnExit();
+
+        assertArrayEquals(new long[HistogramaLetrasUtils.LETRAS],
+                HistogramaLetrasUtils.histograma(arquivo));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IndiceNumerosTest {
+
+    private static final double[] ESPECIAIS = {0.0, -0.0, Double.NaN,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE, 0.1, 0.2, 0.3};
+
+    private static double[] numeros(final Random gerador, final int n) {
+        final double[] numeros = new double[n];
+        for (int i = 0; i < n; i++) {
+            numeros[i] = gerador.nextInt(4) == 0
+                    ? ESPECIAIS[gerador.nextInt(ESPECIAIS.length)]
+                    : gerador.nextInt(50) / 10.0 - 2;
+        }
+        return numeros;
+    }
+
+    private static void confere(final IndiceNumeros indice,
+                                final double[] numeros,
+                                final Random gerador) {
+        assertEquals(numeros.length, indice.getQuantidade());
+        for (int i = 0; i < 200; i++) {
+            final double c = gerador.nextBoolean()
+                    ? ESPECIAIS[gerador.nextInt(ESPECIAIS.length)]
+                    : gerador.nextInt(60) / 10.0 - 3;
+            final double tolerancia = gerador.nextInt(5) == 0
+                    ? Double.POSITIVE_INFINITY
+                    : gerador.nextInt(10) / 10.0;
+
+            assertEquals(VetorUtils.conteIguais(numeros, c),
+                    indice.conteIguais(c), "c = " + c);
+            assertEquals(VetorUtils.conteIguais(numeros, c, tolerancia),
+                    indice.conteIguais(c, tolerancia),
+                    "c = " + c + ", tolerância = " + tolerancia);
+        }
+    }
+
+    @Test
+    public void confereComVetorUtils() {
+        final Random gerador = new Random(19);
+        final double[] numeros = numeros(gerador, 2000);
+
+        confere(new IndiceNumeros(numeros), numeros, gerador);
+    }
+
+    @Test
+    public void acrescentaSemReconstruir() {
+        final Random gerador = new Random(23);
+        double[] numeros = numeros(gerador, 500);
+        final IndiceNumeros indice = new IndiceNumeros(numeros);
+
+        for (int lote = 0; lote < 10; lote++) {
+            final double[] novos = numeros(gerador, gerador.nextInt(100));
+            indice.adiciona(novos);
+            final int anterior = numeros.length;
+            numeros = Arrays.copyOf(numeros, anterior + novos.length);
+            System.arraycopy(novos, 0, numeros, anterior, novos.length);
+
+            confere(indice, numeros, gerador);
+        }
+    }
+
+    @Test
+    public void conteNoIntervalo() {
+        final IndiceNumeros indice = new IndiceNumeros(
+                new double[] {5, 1, 3, 3, Double.NaN, -0.0, 0.0, 9});
+
+        assertEquals(5, indice.conteNoIntervalo(0, 3));
+        assertEquals(2, indice.conteNoIntervalo(-0.0, 0.0));
+        assertEquals(7, indice.conteNoIntervalo(Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY));
+        assertEquals(0, indice.conteNoIntervalo(4, 2));
+        assertEquals(0, indice.conteNoIntervalo(Double.NaN, 10));
+    }
+
+    @Test
+    public void toleranciaInvalida() {
+        final IndiceNumeros indice = new IndiceNumeros(new double[] {1});
+        assertThrows(IllegalArgumentException.class,
+                () -> indice.conteIguais(1, -1));
+    }
+}
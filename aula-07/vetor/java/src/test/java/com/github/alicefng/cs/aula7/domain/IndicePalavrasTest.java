@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndicePalavrasTest {
+
+    @Test
+    public void contaPalavras() {
+        final String[] palavras = {"hello", "hello", "1235", "hello"};
+        final IndicePalavras indice = new IndicePalavras(palavras);
+
+        assertEquals(VetorUtils.contePalavra("hello", palavras),
+                indice.contePalavra("hello"));
+        assertEquals(0, indice.contePalavra("teste"));
+        assertEquals(4, indice.getTotal());
+        assertEquals(2, indice.getDistintas());
+    }
+
+    @Test
+    public void acrescentaPalavras() {
+        final IndicePalavras indice = new IndicePalavras();
+        indice.adiciona("a", "b");
+        indice.adiciona("a");
+
+        assertEquals(2, indice.contePalavra("a"));
+        assertEquals(1, indice.contePalavra("b"));
+        assertEquals(3, indice.getTotal());
+    }
+}
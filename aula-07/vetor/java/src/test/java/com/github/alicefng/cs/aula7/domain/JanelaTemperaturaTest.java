@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JanelaTemperaturaTest {
+
+    @Test
+    public void ultimasLeiturasConfereComVarredura() {
+        final Random gerador = new Random(29);
+        for (final int tamanho : new int[] {1, 2, 3, 7, 64, 100}) {
+            final JanelaTemperatura janela =
+                    JanelaTemperatura.ultimasLeituras(tamanho);
+            final double[] leituras = new double[1000];
+            for (int i = 0; i < leituras.length; i++) {
+                leituras[i] = gerador.nextInt(40) - 10;
+                janela.adiciona(0, leituras[i]);
+
+                final double[] trecho = Arrays.copyOfRange(leituras,
+                        Math.max(0, i + 1 - tamanho), i + 1);
+                assertEquals(VetorUtils.menorTemperatura(trecho),
+                        janela.getMenor());
+                assertEquals(Arrays.stream(trecho).max().getAsDouble(),
+                        janela.getMaior());
+            }
+        }
+    }
+
+    @Test
+    public void ultimosInstantes() {
+        final JanelaTemperatura janela =
+                JanelaTemperatura.ultimosInstantes(10);
+        assertTrue(janela.isVazia());
+        assertThrows(IllegalStateException.class, janela::getMenor);
+
+        janela.adiciona(0, 20);
+        janela.adiciona(5, 15);
+        janela.adiciona(9, 30);
+        assertEquals(15, janela.getMenor());
+        assertEquals(30, janela.getMaior());
+
+        janela.adiciona(15, 25);
+        assertEquals(25, janela.getMenor());
+        assertEquals(30, janela.getMaior());
+
+        janela.expira(19);
+        assertEquals(25, janela.getMaior());
+
+        janela.expira(25);
+        assertTrue(janela.isVazia());
+        assertThrows(IllegalArgumentException.class,
+                () -> janela.adiciona(24, 1));
+    }
+
+    @Test
+    public void ultimosInstantesCresce() {
+        final JanelaTemperatura janela =
+                JanelaTemperatura.ultimosInstantes(1_000_000);
+        for (int i = 0; i < 10_000; i++) {
+            janela.adiciona(i, i);
+        }
+        // Valores crescentes: todos permanecem candidatos ao mínimo.
+        assertEquals(0, janela.getMenor());
+        assertEquals(9999, janela.getMaior());
+    }
+
+    @Test
+    public void desconsideraNaN() {
+        final JanelaTemperatura janela = JanelaTemperatura.ultimasLeituras(2);
+        janela.adiciona(0, Double.NaN);
+        assertTrue(janela.isVazia());
+
+        janela.adiciona(0, 3);
+        janela.adiciona(0, Double.NaN);
+        assertFalse(janela.isVazia());
+        assertEquals(3, janela.getMenor());
+
+        janela.adiciona(0, Double.NaN);
+        assertTrue(janela.isVazia());
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JanelaTemperatura.ultimasLeituras(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> JanelaTemperatura.ultimosInstantes(-1));
+    }
+}
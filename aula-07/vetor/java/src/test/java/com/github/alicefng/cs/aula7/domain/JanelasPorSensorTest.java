@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JanelasPorSensorTest {
+
+    @Test
+    public void janelaPorSensor() {
+        final JanelasPorSensor sensores = new JanelasPorSensor(
+                () -> JanelaTemperatura.ultimasLeituras(2));
+        sensores.adiciona(7, 0, 10);
+        sensores.adiciona(1L << 40, 0, -5);
+        sensores.adiciona(7, 0, 20);
+        sensores.adiciona(7, 0, 30);
+
+        assertEquals(2, sensores.getSensores());
+        assertEquals(20, sensores.getMenor(7));
+        assertEquals(30, sensores.getMaior(7));
+        assertEquals(-5, sensores.getMaior(1L << 40));
+        assertNull(sensores.getJanela(8));
+        assertThrows(IllegalStateException.class,
+                () -> sensores.getMenor(8));
+    }
+
+    @Test
+    public void expiraTodos() {
+        final JanelasPorSensor sensores = new JanelasPorSensor(
+                () -> JanelaTemperatura.ultimosInstantes(60));
+        sensores.adiciona(0, 100, 1);
+        sensores.adiciona(-1, 130, 2);
+
+        sensores.expira(170);
+
+        assertThrows(IllegalStateException.class,
+                () -> sensores.getMenor(0));
+        assertEquals(2, sensores.getMenor(-1));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PalavrasFrequentesArquivoTest {
+
+    @Test
+    public void arquivoComVariosTrechos() throws IOException {
+        final Path arquivo = Files.createTempFile("palavras", ".txt");
+        arquivo.toFile().deleteOnExit();
+        long total = 0;
+        try (Writer saida = Files.newBufferedWriter(arquivo,
+                StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 2_000_000; i++) {
+                saida.write(i % 2 == 0 ? "ação " : "palavra" + i % 1000
+                        + (i % 7 == 0 ? "\n" : " "));
+                total++;
+                if (i % 3 == 0) {
+                    saida.write("é\t");
+                    total++;
+                }
+            }
+        }
+
+        final PalavrasFrequentesArquivo contagem =
+                new PalavrasFrequentesArquivo(arquivo, 5, 0.0001, 0.01, 4);
+        final List<PalavrasFrequentes.Frequencia> topo =
+                contagem.executa().topo();
+
+        assertEquals("ação", topo.get(0).getPalavra());
+        assertEquals("é", topo.get(1).getPalavra());
+        assertEquals(1_000_000, topo.get(0).getEstimativa(),
+                topo.get(0).getErroMaximo());
+        assertEquals(total, contagem.parcial().getTotal());
+    }
+
+    @Test
+    public void arquivoVazio() throws IOException {
+        final Path arquivo = Files.createTempFile("palavras", ".txt");
+        arquivo.toFile().deleteOnExit();
+
+        final PalavrasFrequentes resultado = new PalavrasFrequentesArquivo(
+                arquivo, 5, 0.01, 0.01).executa();
+
+        assertEquals(0, resultado.getTotal());
+        assertEquals(0, resultado.topo().size());
+    }
+
+    @Test
+    public void threadsInvalidas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PalavrasFrequentesArquivo(null, 5, 0.01, 0.01, 0));
+    }
+}
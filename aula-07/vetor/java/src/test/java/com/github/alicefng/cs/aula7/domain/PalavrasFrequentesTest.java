@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PalavrasFrequentesTest {
+
+    /**
+     * Texto em que a palavra "p" + i ocorre cerca de 1/(i + 1) vezes
+     * (distribuição de Zipf), em ordem aleatória.
+     */
+    private static String textoZipf(final int palavras, final long semente) {
+        final Random aleatorio = new Random(semente);
+        final StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            final int rank = (int) Math.floor(Math.pow(1000,
+                    aleatorio.nextDouble())) - 1;
+            texto.append('p').append(rank).append(i % 10 == 0 ? '\n' : ' ');
+        }
+        return texto.toString();
+    }
+
+    @Test
+    public void palavrasDeUmTexto() throws IOException {
+        final PalavrasFrequentes frequentes = new PalavrasFrequentes(2, 0.01,
+                0.01);
+        frequentes.adiciona(new StringReader(
+                "  a b\ta c\n\na d b a  "));
+
+        final List<PalavrasFrequentes.Frequencia> topo = frequentes.topo();
+        assertEquals(2, topo.size());
+        assertEquals("a", topo.get(0).getPalavra());
+        assertEquals(4, topo.get(0).getEstimativa());
+        assertEquals("b", topo.get(1).getPalavra());
+        assertEquals(2, topo.get(1).getEstimativa());
+        assertEquals(8, frequentes.getTotal());
+    }
+
+    @Test
+    public void palavraMaiorQueOBloco() throws IOException {
+        final StringBuilder longa = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            longa.append('x');
+        }
+        final PalavrasFrequentes frequentes = new PalavrasFrequentes(4, 0.01,
+                0.01);
+        frequentes.adiciona(new StringReader("a " + longa + " " + longa
+                + " b"));
+
+        // Palavras longas são truncadas; a leitura prossegue após elas.
+        final String truncada = longa.substring(0,
+                PalavrasFrequentes.TAMANHO_MAXIMO_PALAVRA);
+        assertEquals(truncada, frequentes.topo().get(0).getPalavra());
+        assertEquals(2, frequentes.topo().get(0).getEstimativa());
+        assertEquals(4, frequentes.getTotal());
+        assertEquals(3, frequentes.topo().size());
+
+        final PalavrasFrequentes direta = new PalavrasFrequentes(4, 0.01,
+                0.01);
+        direta.adiciona(longa);
+        assertEquals(truncada, direta.topo().get(0).getPalavra());
+    }
+
+    @Test
+    public void maisFrequentesDeDistribuicaoZipf() throws IOException {
+        final PalavrasFrequentes frequentes = new PalavrasFrequentes(20,
+                0.001, 0.01);
+        frequentes.adiciona(new StringReader(textoZipf(200_000, 1)));
+
+        final List<PalavrasFrequentes.Frequencia> topo = frequentes.topo();
+        assertEquals(20, topo.size());
+        assertEquals("p0", topo.get(0).getPalavra());
+        assertEquals("p1", topo.get(1).getPalavra());
+        for (int i = 1; i < topo.size(); i++) {
+            assertTrue(topo.get(i - 1).getEstimativa()
+                    >= topo.get(i).getEstimativa());
+        }
+    }
+
+    @Test
+    public void combinaContagensDeThreads() throws Exception {
+        final PalavrasFrequentes a = new PalavrasFrequentes(10, 0.001, 0.01);
+        final PalavrasFrequentes b = new PalavrasFrequentes(10, 0.001, 0.01);
+        final Thread ta = new Thread(() -> adiciona(a, "x y x z x"));
+        final Thread tb = new Thread(() -> adiciona(b, "y y w x y"));
+        ta.start();
+        tb.start();
+        ta.join();
+        tb.join();
+
+        a.combina(b);
+
+        final List<PalavrasFrequentes.Frequencia> topo = a.topo();
+        assertEquals(10, a.getTotal());
+        assertEquals("x", topo.get(0).getPalavra());
+        assertEquals(4, topo.get(0).getEstimativa());
+        assertEquals("y", topo.get(1).getPalavra());
+        assertEquals(4, topo.get(1).getEstimativa());
+        assertEquals(4, topo.size());
+        assertEquals(5, b.getTotal());
+    }
+
+    private static void adiciona(final PalavrasFrequentes frequentes,
+                                 final String texto) {
+        try {
+            frequentes.adiciona(new StringReader(texto));
+        } catch (IOException exp) {
+            throw new IllegalStateException(exp);
+        }
+    }
+
+    @Test
+    public void substituiMenosFrequente() {
+        final PalavrasFrequentes frequentes = new PalavrasFrequentes(2, 0.01,
+                0.01);
+        frequentes.adiciona("a");
+        frequentes.adiciona("a");
+        frequentes.adiciona("b");
+        frequentes.adiciona("c");
+        frequentes.adiciona("c");
+
+        final List<PalavrasFrequentes.Frequencia> topo = frequentes.topo();
+        assertEquals("a", topo.get(0).getPalavra());
+        assertEquals("c", topo.get(1).getPalavra());
+    }
+
+    @Test
+    public void capacidadeInvalida() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PalavrasFrequentes(0, 0.01, 0.01));
+    }
+}
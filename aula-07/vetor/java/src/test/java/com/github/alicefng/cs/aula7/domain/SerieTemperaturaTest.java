@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerieTemperaturaTest {
+
+    private static double menor(final long[] instantes,
+                                final double[] temperaturas,
+                                final long inicio, final long fim) {
+        double menor = Double.NaN;
+        for (int i = 0; i < instantes.length; i++) {
+            if (instantes[i] >= inicio && instantes[i] <= fim
+                    && !(temperaturas[i] >= menor)
+                    && !Double.isNaN(temperaturas[i])) {
+                menor = temperaturas[i];
+            }
+        }
+        return menor;
+    }
+
+    private static double maior(final long[] instantes,
+                                final double[] temperaturas,
+                                final long inicio, final long fim) {
+        double maior = Double.NaN;
+        for (int i = 0; i < instantes.length; i++) {
+            if (instantes[i] >= inicio && instantes[i] <= fim
+                    && !(temperaturas[i] <= maior)
+                    && !Double.isNaN(temperaturas[i])) {
+                maior = temperaturas[i];
+            }
+        }
+        return maior;
+    }
+
+    @Test
+    public void consultasConferemComVarredura() {
+        final Random gerador = new Random(41);
+        final int n = 5000;
+        final long[] instantes = new long[n];
+        final double[] temperaturas = new double[n];
+        final SerieTemperatura serie = new SerieTemperatura(128);
+        long instante = 0;
+        for (int i = 0; i < n; i++) {
+            instante += gerador.nextInt(3) * 30;
+            instantes[i] = instante;
+            temperaturas[i] = gerador.nextInt(20) == 0
+                    ? Double.NaN
+                    : Math.round(gerador.nextGaussian() * 100) / 10.0;
+            serie.adiciona(instantes[i], temperaturas[i]);
+        }
+
+        assertEquals(n, serie.getQuantidade());
+        assertEquals((n + 127) / 128, serie.getBlocos().size());
+        assertEquals(menor(instantes, temperaturas, Long.MIN_VALUE,
+                Long.MAX_VALUE), serie.getMenor());
+        assertEquals(maior(instantes, temperaturas, Long.MIN_VALUE,
+                Long.MAX_VALUE), serie.getMaior());
+
+        for (int caso = 0; caso < 200; caso++) {
+            final long a = gerador.nextInt((int) instante + 100) - 50;
+            final long b = a + gerador.nextInt(5000);
+            assertEquals(menor(instantes, temperaturas, a, b),
+                    serie.getMenor(a, b));
+            assertEquals(maior(instantes, temperaturas, a, b),
+                    serie.getMaior(a, b));
+        }
+    }
+
+    @Test
+    public void temperaturasParaVetorUtils() {
+        final double[] temperaturas = {21.5, 19.0, 22.25, 18.5, 20.0};
+        final SerieTemperatura serie = new SerieTemperatura(2);
+        serie.adiciona(0, 60, temperaturas);
+
+        assertArrayEquals(temperaturas, serie.getTemperaturas());
+        assertEquals(VetorUtils.menorTemperatura(temperaturas),
+                serie.getMenor());
+        assertEquals(18.5, serie.getMenor(120, 180));
+        assertEquals(22.25, serie.getMaior(100, 200));
+        assertTrue(Double.isNaN(serie.getMenor(241, 1000)));
+    }
+
+    @Test
+    public void vazia() {
+        final SerieTemperatura serie = new SerieTemperatura();
+        assertTrue(Double.isNaN(serie.getMenor()));
+        assertTrue(Double.isNaN(serie.getMaior()));
+        assertEquals(0, serie.getTemperaturas().length);
+        assertEquals(0, serie.getBytes());
+    }
+
+    @Test
+    public void gravaELe() throws IOException {
+        final SerieTemperatura serie = new SerieTemperatura(3);
+        final double[] temperaturas = {1, 2, 3, 4, 5, 6, 7};
+        serie.adiciona(100, 10, temperaturas);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        serie.escreve(new DataOutputStream(bytes));
+        final SerieTemperatura lida = SerieTemperatura.le(
+                new DataInputStream(
+                        new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertArrayEquals(temperaturas, lida.getTemperaturas());
+        assertEquals(7, lida.getMaior());
+
+        lida.adiciona(170, 0.5);
+        assertEquals(0.5, lida.getMenor());
+        assertEquals(8, lida.getQuantidade());
+        assertThrows(IllegalArgumentException.class,
+                () -> lida.adiciona(169, 0));
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SerieTemperatura(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SerieTemperatura().adiciona(0, -1,
+                        new double[] {1}));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulacaoSorteioTest {
+
+    @Test
+    public void frequenciasEMaisSorteados() {
+        final SimulacaoSorteio simulacao = SimulacaoSorteio.executa(
+                5_000_000, 1000, 42);
+
+        long total = 0;
+        long maior = 0;
+        for (int numero = 0; numero < simulacao.getFaixa(); numero++) {
+            total += simulacao.getFrequencia(numero);
+            maior = Math.max(maior, simulacao.getFrequencia(numero));
+        }
+        assertEquals(5_000_000, total);
+        assertEquals(maior, simulacao.getMaiorFrequencia());
+        for (final int numero : simulacao.getMaisSorteados()) {
+            assertEquals(maior, simulacao.getFrequencia(numero));
+        }
+        assertTrue(simulacao.getMaisSorteados().length >= 1);
+    }
+
+    @Test
+    public void reproduzivelComQualquerQuantidadeDeThreads()
+            throws Exception {
+        final SimulacaoSorteio paralela = SimulacaoSorteio.executa(
+                10_000_000, 37, 7);
+        final ForkJoinPool umaThread = new ForkJoinPool(1);
+        final SimulacaoSorteio sequencial = umaThread.submit(
+                () -> SimulacaoSorteio.executa(10_000_000, 37, 7)).get();
+        umaThread.shutdown();
+
+        for (int numero = 0; numero < 37; numero++) {
+            assertEquals(sequencial.getFrequencia(numero),
+                    paralela.getFrequencia(numero));
+        }
+        assertArrayEquals(sequencial.getMaisSorteados(),
+                paralela.getMaisSorteados());
+    }
+
+    @Test
+    public void reproduzivelComTrechosDeBlocosDesiguais() throws Exception {
+        final long sorteios = 7 * (1L << 20) + 12_345;
+        final ForkJoinPool umaThread = new ForkJoinPool(1);
+        final ForkJoinPool tresThreads = new ForkJoinPool(3);
+        final SimulacaoSorteio densaSequencial = umaThread.submit(
+                () -> SimulacaoSorteio.executa(sorteios, 101, 11)).get();
+        final SimulacaoSorteio densaParalela = tresThreads.submit(
+                () -> SimulacaoSorteio.executa(sorteios, 101, 11)).get();
+        final SimulacaoSorteio esparsaSequencial = umaThread.submit(
+                () -> SimulacaoSorteio.executa(sorteios, Integer.MAX_VALUE,
+                        11)).get();
+        final SimulacaoSorteio esparsaParalela = tresThreads.submit(
+                () -> SimulacaoSorteio.executa(sorteios, Integer.MAX_VALUE,
+                        11)).get();
+        umaThread.shutdown();
+        tresThreads.shutdown();
+
+        for (int numero = 0; numero < 101; numero++) {
+            assertEquals(densaSequencial.getFrequencia(numero),
+                    densaParalela.getFrequencia(numero));
+        }
+        assertArrayEquals(densaSequencial.getMaisSorteados(),
+                densaParalela.getMaisSorteados());
+        assertEquals(esparsaSequencial.getMaiorFrequencia(),
+                esparsaParalela.getMaiorFrequencia());
+        assertArrayEquals(esparsaSequencial.getMaisSorteados(),
+                esparsaParalela.getMaisSorteados());
+    }
+
+    @Test
+    public void faixaEsparsa() {
+        final SimulacaoSorteio simulacao = SimulacaoSorteio.executa(
+                3_000_000, Integer.MAX_VALUE, 3);
+
+        assertTrue(simulacao.getMaiorFrequencia() >= 1);
+        for (final int numero : simulacao.getMaisSorteados()) {
+            assertEquals(simulacao.getMaiorFrequencia(),
+                    simulacao.getFrequencia(numero));
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> simulacao.getFrequencia(-1));
+
+        final SimulacaoSorteio pequena = SimulacaoSorteio.executa(10_000,
+                1 << 16, 3);
+        long total = 0;
+        for (int numero = 0; numero < pequena.getFaixa(); numero++) {
+            total += pequena.getFrequencia(numero);
+        }
+        assertEquals(10_000, total);
+    }
+
+    @Test
+    public void semSorteios() {
+        final SimulacaoSorteio simulacao = SimulacaoSorteio.executa(0, 10, 1);
+
+        assertEquals(0, simulacao.getMaiorFrequencia());
+        assertEquals(0, simulacao.getMaisSorteados().length);
+    }
+
+    @Test
+    public void faixaUnitaria() {
+        final SimulacaoSorteio simulacao = SimulacaoSorteio.executa(
+                3_000_001, 1, 1);
+
+        assertEquals(3_000_001, simulacao.getMaiorFrequencia());
+        assertArrayEquals(new int[] {0}, simulacao.getMaisSorteados());
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulacaoSorteio.executa(-1, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulacaoSorteio.executa(10, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulacaoSorteio.executa(Long.MAX_VALUE, 10, 1));
+    }
+}
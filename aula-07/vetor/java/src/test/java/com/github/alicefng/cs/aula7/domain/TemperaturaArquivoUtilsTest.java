@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TemperaturaArquivoUtilsTest {
+
+    private static Path arquivoTemporario(final byte[] conteudo)
+            throws IOException {
+        final Path arquivo = Files.createTempFile("temperaturas", ".bin");
+        arquivo.toFile().deleteOnExit();
+        return Files.write(arquivo, conteudo);
+    }
+
+    @Test
+    public void arquivoDeDoubles() throws IOException {
+        final int total = 20_000_000;
+        final ByteBuffer dados = ByteBuffer.allocate(total * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < total; i++) {
+            dados.putDouble(i % 1000 == 999 ? Double.NaN : i % 100 - 50.5);
+        }
+        dados.putDouble(12_345_678 * Double.BYTES, -80);
+        final Path arquivo = arquivoTemporario(dados.array());
+
+        final EstatisticasTemperatura estatisticas =
+                TemperaturaArquivoUtils.estatisticas(arquivo,
+                        TemperaturaArquivoUtils.Amostra.DOUBLE,
+                        ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(total - total / 1000, estatisticas.getQuantidade());
+        assertEquals(total / 1000, estatisticas.getQuantidadeNaN());
+        assertEquals(-80, estatisticas.getMenor());
+        assertEquals(12_345_678, estatisticas.getPosicaoMenor());
+        assertEquals(48.5, estatisticas.getMaior());
+    }
+
+    @Test
+    public void arquivoDeFloats() throws IOException {
+        final float[] valores = {30, 100.25f, -55, 2, -55};
+        final ByteBuffer dados = ByteBuffer.allocate(valores.length
+                * Float.BYTES).order(ByteOrder.BIG_ENDIAN);
+        for (final float valor : valores) {
+            dados.putFloat(valor);
+        }
+        final Path arquivo = arquivoTemporario(dados.array());
+
+        final EstatisticasTemperatura estatisticas =
+                TemperaturaArquivoUtils.estatisticas(arquivo,
+                        TemperaturaArquivoUtils.Amostra.FLOAT,
+                        ByteOrder.BIG_ENDIAN);
+
+        assertEquals(5, estatisticas.getQuantidade());
+        assertEquals(-55, estatisticas.getMenor());
+        assertEquals(2, estatisticas.getPosicaoMenor());
+        assertEquals(100.25, estatisticas.getMaior());
+        assertEquals(4.45, estatisticas.getMedia(), 1e-9);
+    }
+
+    @Test
+    public void arquivoComTamanhoInvalido() throws IOException {
+        final Path arquivo = arquivoTemporario(new byte[]{1, 2, 3});
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TemperaturaArquivoUtils.estatisticas(arquivo,
+                        TemperaturaArquivoUtils.Amostra.DOUBLE,
+                        ByteOrder.LITTLE_ENDIAN));
+    }
+
+}
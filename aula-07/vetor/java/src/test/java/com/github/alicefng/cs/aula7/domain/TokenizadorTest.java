@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenizadorTest {
+
+    private static List<String> palavras(final Tokenizador tokenizador,
+                                         final String texto) {
+        final List<String> palavras = new ArrayList<>();
+        tokenizador.percorre(texto,
+                (inicio, fim) -> palavras.add(texto.substring(inicio, fim)));
+        return palavras;
+    }
+
+    private static List<String> palavrasUtf8(final Tokenizador tokenizador,
+                                             final String texto) {
+        final byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        final List<String> palavras = new ArrayList<>();
+        tokenizador.percorre(utf8, 0, utf8.length,
+                (inicio, fim) -> palavras.add(new String(utf8, inicio,
+                        fim - inicio, StandardCharsets.UTF_8)));
+        return palavras;
+    }
+
+    @Test
+    public void separaPorEspaco() {
+        assertEquals(Arrays.asList("a", "bb", "c"),
+                palavras(Tokenizador.espaco(), "  a bb   c "));
+        assertEquals(Arrays.asList("a\tb"),
+                palavras(Tokenizador.espaco(), "a\tb"));
+        assertTrue(palavras(Tokenizador.espaco(), "").isEmpty());
+        assertTrue(palavras(Tokenizador.espaco(), "   ").isEmpty());
+    }
+
+    @Test
+    public void separaPorEspacosEmBrancoUnicode() {
+        final String texto = "ação é\tbom dia\n　fim";
+        final List<String> esperadas = Arrays.asList("ação", "é", "bom",
+                "dia", "fim");
+
+        assertEquals(esperadas,
+                palavras(Tokenizador.espacosEmBranco(), texto));
+        assertEquals(esperadas,
+                palavrasUtf8(Tokenizador.espacosEmBranco(), texto));
+    }
+
+    @Test
+    public void delimitadoresConfiguraveis() {
+        final Tokenizador tokenizador = Tokenizador.delimitadoPor(",;—");
+
+        assertEquals(Arrays.asList("a b", "c", "d", "😀"),
+                palavras(tokenizador, "a b,c;;d—😀,"));
+        assertEquals(Arrays.asList("a b", "c", "d", "😀"),
+                palavrasUtf8(tokenizador, "a b,c;;d—😀,"));
+        assertTrue(tokenizador.isDelimitador('—'));
+        assertFalse(tokenizador.isDelimitador(' '));
+        assertThrows(IllegalArgumentException.class,
+                () -> Tokenizador.delimitadoPor(""));
+    }
+
+    @Test
+    public void comVaziosReproduzSplit() {
+        final Tokenizador tokenizador = Tokenizador.espaco().comVazios();
+        final String[] casos = {"", " ", "   ", "a", " a", "  a", "a  b",
+                "a b  ", " a  b c   d "};
+        for (final String caso : casos) {
+            assertArrayEquals(caso.split(" "),
+                    palavras(tokenizador, caso).toArray(new String[0]),
+                    caso);
+        }
+
+        final Random gerador = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder texto = new StringBuilder();
+            for (int j = gerador.nextInt(20); j > 0; j--) {
+                texto.append(gerador.nextBoolean() ? " " : "x");
+            }
+            final String caso = texto.toString();
+            assertArrayEquals(caso.split(" "),
+                    palavras(tokenizador, caso).toArray(new String[0]),
+                    caso);
+            assertArrayEquals(caso.split(" "),
+                    palavrasUtf8(tokenizador, caso).toArray(new String[0]),
+                    caso);
+        }
+    }
+
+    @Test
+    public void cursorSobreTrechoUtf8() {
+        final byte[] utf8 = "xx ação ok yy".getBytes(StandardCharsets.UTF_8);
+        final Tokenizador.Cursor cursor = Tokenizador.espaco().cursor(utf8,
+                3, utf8.length - 3);
+
+        assertTrue(cursor.proximo());
+        assertEquals(3, cursor.inicio());
+        assertEquals(9, cursor.fim());
+        assertTrue(cursor.proximo());
+        assertEquals(10, cursor.inicio());
+        assertEquals(12, cursor.fim());
+        assertFalse(cursor.proximo());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> Tokenizador.espaco().cursor(utf8, 2, utf8.length + 1));
+    }
+
+    @Test
+    public void utf8Invalido() {
+        final byte[] utf8 = {'a', (byte) 0xC3, ' ', (byte) 0xFF, 'b'};
+
+        assertEquals(2, Tokenizador.espacosEmBranco().percorre(utf8, 0,
+                utf8.length, (inicio, fim) -> { }));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VetorParaleloUtilsTest {
+
+    private static final int TAMANHO = 10 * VetorParaleloUtils.getLimiar() + 7;
+
+    @Test
+    public void limiarCalibrado() {
+        assertTrue(VetorParaleloUtils.getLimiar() >= 1 << 12);
+        assertTrue(VetorParaleloUtils.getLimiar() <= 1 << 22);
+    }
+
+    @Test
+    public void vetoresPequenos() {
+        assertEquals(-55, VetorParaleloUtils.menorTemperatura(
+                new double[]{30, 100.2, -55}));
+        assertEquals(123, VetorParaleloUtils.somaImpares(
+                new int[]{10, 3, 7, 1, 11, 101, 2, 8, 20}));
+        assertEquals(0, VetorParaleloUtils.somaImpares(new int[0]));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> VetorParaleloUtils.menorTemperatura(new double[0]));
+    }
+
+    @Test
+    public void numerosIguaisAVersaoSequencial() {
+        final Random gerador = new Random(1);
+        final int[] inteiros = new int[TAMANHO];
+        final double[] reais = new double[TAMANHO];
+        for (int i = 0; i < TAMANHO; i++) {
+            inteiros[i] = gerador.nextInt();
+            reais[i] = gerador.nextInt(1000) / 10.0;
+        }
+        reais[TAMANHO - 3] = -1;
+
+        assertEquals(VetorUtils.somaImpares(inteiros),
+                VetorParaleloUtils.somaImpares(inteiros));
+        assertEquals(VetorUtils.menorTemperatura(reais),
+                VetorParaleloUtils.menorTemperatura(reais));
+        assertEquals(VetorUtils.conteIguais(reais, 50),
+                VetorParaleloUtils.conteIguais(reais, 50));
+        assertEquals(VetorUtils.conteIguais(reais, 50, 0.5),
+                VetorParaleloUtils.conteIguais(reais, 50, 0.5));
+    }
+
+    @Test
+    public void nanNoInicioDeTrecho() {
+        final double[] reais = new double[TAMANHO];
+        Arrays.fill(reais, 5.0);
+        // As divisões ocorrem ao meio: TAMANHO / 2 e TAMANHO / 4 iniciam
+        // trechos.
+        reais[TAMANHO / 2] = Double.NaN;
+        reais[TAMANHO / 2 + 1] = -1.0;
+        reais[TAMANHO / 4] = Double.NaN;
+        assertEquals(-1.0, VetorUtils.menorTemperatura(reais));
+        assertEquals(-1.0, VetorParaleloUtils.menorTemperatura(reais));
+
+        // NaN na primeira posição domina as duas versões.
+        reais[0] = Double.NaN;
+        assertTrue(Double.isNaN(VetorUtils.menorTemperatura(reais)));
+        assertTrue(Double.isNaN(VetorParaleloUtils.menorTemperatura(reais)));
+    }
+
+    @Test
+    public void textosIguaisAVersaoSequencial() {
+        final Random gerador = new Random(2);
+        final char[] caracteres = new char[TAMANHO];
+        final String[] palavras = new String[TAMANHO];
+        for (int i = 0; i < TAMANHO; i++) {
+            caracteres[i] = (char) (' ' + gerador.nextInt(96));
+            palavras[i] = Integer.toString(gerador.nextInt(10));
+        }
+        final String frase = new String(caracteres);
+
+        assertArrayEquals(VetorUtils.conteLetras(frase),
+                VetorParaleloUtils.conteLetras(frase));
+        assertEquals(VetorUtils.contePalavra("7", palavras),
+                VetorParaleloUtils.contePalavra("7", palavras));
+    }
+
+}
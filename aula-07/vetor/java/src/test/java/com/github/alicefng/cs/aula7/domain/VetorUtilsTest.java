@@ -8,6 +8,8 @@ package com.github.alicefng.cs.aula7.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class VetorUtilsTest {
@@ -32,6 +34,40 @@ public class VetorUtilsTest {
         assertEquals(0, VetorUtils.somaImpares(vetorTest3));
     }
 
+    @Test
+    public void testMenorTemperaturaComRestoENaN() {
+        double[] vetorTest = {30, Double.NaN, 100.2, -55, 7, 9, -56, 3, 1};
+
+        assertEquals(-56, VetorUtils.menorTemperatura(vetorTest));
+        assertTrue(Double.isNaN(VetorUtils.menorTemperatura(
+                new double[]{Double.NaN, 1, 2, 3, 4})));
+    }
+
+    @Test
+    public void testSomaImparesSemEstouro() {
+        int[] vetorTest = {Integer.MAX_VALUE, Integer.MAX_VALUE, -3, 4, -7};
+
+        assertEquals(2L * Integer.MAX_VALUE - 10,
+                VetorUtils.somaImpares(vetorTest));
+        assertEquals(Integer.MIN_VALUE + 1L,
+                VetorUtils.somaImpares(new int[]{Integer.MIN_VALUE,
+                        Integer.MIN_VALUE + 1}));
+    }
+
+    @Test
+    public void testConteIguaisComTolerancia() {
+        double[] vetorTest1 = {2, 3, 5.1, 10, 20.5, 2.05, 1.9, Double.NaN};
+
+        assertEquals(1, VetorUtils.conteIguais(vetorTest1, 2, 0));
+        assertEquals(3, VetorUtils.conteIguais(vetorTest1, 2, 0.11));
+        assertEquals(7, VetorUtils.conteIguais(vetorTest1, 0,
+                Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> VetorUtils.conteIguais(vetorTest1, 2, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> VetorUtils.conteIguais(vetorTest1, 2, Double.NaN));
+    }
+
     @Test
     public void testConteIguais() {
         double[] vetorTest1 = {2, 3, 5.1, 10, 20.5, 2, 2};
@@ -53,6 +89,12 @@ public class VetorUtilsTest {
                 0, 0, 0, 0, 0, 0, 0, 0, 0};
         assertArrayEquals(esperado2, VetorUtils.conteLetras(teste2));
 
+        int[] esperado3 = new int[26];
+        esperado3['a' - 'a'] = 3;
+        esperado3['c' - 'a'] = 1;
+        esperado3['o' - 'a'] = 1;
+        assertArrayEquals(esperado3, VetorUtils.conteLetras("AÇÃO à"));
+
     }
 
     @Test
@@ -64,6 +106,14 @@ public class VetorUtilsTest {
         assertEquals(0, VetorUtils.contePalavra("hello", strTest2));
     }
 
+    @Test
+    public void testContePalavraEmTexto() {
+        assertEquals(3, VetorUtils.contePalavra("hello",
+                "hello\thello  world\nhelloo hello"));
+        assertEquals(0, VetorUtils.contePalavra("hello", ""));
+        assertEquals(1, VetorUtils.contePalavra("ação", "a ação\u00A0é"));
+    }
+
     @Test
     public void testPalavraMaisFrequente() {
         String strTest1 = "a ola como como como";
@@ -75,6 +125,55 @@ public class VetorUtilsTest {
                 VetorUtils.palavraMaisFrequente(strTest2));
     }
 
+    @Test
+    public void testPalavraMaisFrequenteEmpateEEspacos() {
+        assertEquals("b", VetorUtils.palavraMaisFrequente("b a a b c"));
+        assertEquals("", VetorUtils.palavraMaisFrequente(""));
+        assertEquals("", VetorUtils.palavraMaisFrequente("a  b  c"));
+        assertEquals("x", VetorUtils.palavraMaisFrequente("x y x   "));
+        assertThrows(IllegalArgumentException.class,
+                () -> VetorUtils.palavraMaisFrequente("   "));
+    }
+
+    @Test
+    public void testPalavraMaisFrequenteConfereComSplit() {
+        final Random gerador = new Random(3);
+        for (int caso = 0; caso < 200; caso++) {
+            final StringBuilder frase = new StringBuilder("p");
+            for (int i = 0; i < gerador.nextInt(300); i++) {
+                frase.append(gerador.nextInt(4) == 0 ? " " : " p")
+                        .append(gerador.nextInt(40));
+            }
+
+            final String[] palavras = frase.toString().split(" ");
+            String esperada = palavras[0];
+            long maior = VetorUtils.contePalavra(esperada, palavras);
+            for (final String palavra : palavras) {
+                final long frequencia = VetorUtils.contePalavra(palavra,
+                        palavras);
+                if (frequencia > maior) {
+                    esperada = palavra;
+                    maior = frequencia;
+                }
+            }
+
+            assertEquals(esperada,
+                    VetorUtils.palavraMaisFrequente(frase.toString()));
+        }
+    }
+
+    @Test
+    public void testPalavraMaisFrequenteTextoGrande() {
+        final StringBuilder frase = new StringBuilder();
+        for (int i = 0; i < 1_000_000; i++) {
+            frase.append("palavra").append(i % 50_000).append(' ');
+        }
+        frase.append("palavra49999");
+
+        assertEquals("palavra49999",
+                VetorUtils.palavraMaisFrequente(frase.toString()));
+    }
+
     @Test
     public void testNumeroMaisSorteado() {
         assertNotNull(VetorUtils.numeroMaiSorteado());
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntCounterTest {
+
+    @Test
+    public void contaOcorrencias() {
+        final IntCounter contagem = new IntCounter();
+        assertTrue(contagem.isEmpty());
+
+        assertEquals(1, contagem.increment(0));
+        assertEquals(1, contagem.increment(42));
+        assertEquals(2, contagem.increment(42));
+        assertEquals(12, contagem.add(42, 10));
+        assertEquals(12, contagem.get(42));
+        assertEquals(1, contagem.get(0));
+        assertEquals(0, contagem.get(43));
+        assertEquals(2, contagem.size());
+
+        contagem.clear();
+        assertEquals(0, contagem.get(42));
+        assertTrue(contagem.isEmpty());
+    }
+
+    @Test
+    public void combinaContagens() {
+        final Random gerador = new Random(17);
+        final IntCounter a = new IntCounter();
+        final IntCounter b = new IntCounter(1000, 0.9f);
+        final Map<Integer, Long> referencia = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            final int valor = gerador.nextInt();
+            (i % 2 == 0 ? a : b).increment(valor);
+            referencia.merge(valor, 1L, Long::sum);
+        }
+
+        a.addAll(b);
+
+        assertEquals(referencia.size(), a.size());
+        final Map<Integer, Long> percorrido = new HashMap<>();
+        a.forEach(percorrido::put);
+        assertEquals(referencia, percorrido);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntIntHashMapTest {
+
+    @Test
+    public void operacoesBasicas() {
+        final IntIntHashMap mapa = new IntIntHashMap();
+        assertTrue(mapa.isEmpty());
+
+        assertEquals(0, mapa.put(7, 70));
+        assertEquals(70, mapa.put(7, 71));
+        assertEquals(5, mapa.addTo(0, 5));
+        assertEquals(8, mapa.addTo(0, 3));
+        assertEquals(-1, mapa.addTo(-9, -1));
+
+        assertEquals(3, mapa.size());
+        assertEquals(71, mapa.getOrDefault(7, -1));
+        assertEquals(8, mapa.getOrDefault(0, -1));
+        assertEquals(-1, mapa.getOrDefault(8, -1));
+        assertTrue(mapa.containsKey(0));
+        assertFalse(mapa.containsKey(8));
+
+        assertEquals(8, mapa.remove(0));
+        assertEquals(71, mapa.remove(7));
+        assertEquals(0, mapa.remove(7));
+        assertEquals(1, mapa.size());
+
+        mapa.clear();
+        assertTrue(mapa.isEmpty());
+        assertFalse(mapa.containsKey(-9));
+    }
+
+    @Test
+    public void confereComHashMap() {
+        final Random gerador = new Random(11);
+        final IntIntHashMap mapa = new IntIntHashMap(4, 0.75f);
+        final Map<Integer, Integer> referencia = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            final int chave = gerador.nextInt(5000) - 2500;
+            switch (gerador.nextInt(3)) {
+                case 0:
+                    mapa.put(chave, i);
+                    referencia.put(chave, i);
+                    break;
+                case 1:
+                    mapa.addTo(chave, 1);
+                    referencia.merge(chave, 1, Integer::sum);
+                    break;
+                default:
+                    mapa.remove(chave);
+                    referencia.remove(chave);
+                    break;
+            }
+        }
+
+        assertEquals(referencia.size(), mapa.size());
+        final Map<Integer, Integer> percorrido = new HashMap<>();
+        mapa.forEach(percorrido::put);
+        assertEquals(referencia, percorrido);
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IntIntHashMap(-1, 0.5f));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IntIntHashMap(10, 1f));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IntIntHashMap(Integer.MAX_VALUE, 0.5f));
+    }
+}
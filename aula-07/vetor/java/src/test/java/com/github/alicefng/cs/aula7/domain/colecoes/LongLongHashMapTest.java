@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019.
+ * Fábrica de Software - Instituto de Informática (UFG)
+ * Creative Commons Attribution 4.0 International License.
+ */
+
+package com.github.alicefng.cs.aula7.domain.colecoes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void operacoesBasicas() {
+        final LongLongHashMap mapa = new LongLongHashMap();
+
+        assertEquals(0, mapa.put(1L << 40, 3));
+        assertEquals(Long.MAX_VALUE, mapa.addTo(0, Long.MAX_VALUE));
+        assertEquals(3, mapa.getOrDefault(1L << 40, -1));
+        assertEquals(-1, mapa.getOrDefault(1, -1));
+        assertTrue(mapa.containsKey(0));
+        assertEquals(2, mapa.size());
+
+        assertEquals(3, mapa.remove(1L << 40));
+        assertFalse(mapa.containsKey(1L << 40));
+        assertEquals(1, mapa.size());
+    }
+
+    @Test
+    public void confereComHashMap() {
+        final Random gerador = new Random(13);
+        final LongLongHashMap mapa = new LongLongHashMap(4, 0.6f);
+        final Map<Long, Long> referencia = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Chaves que diferem apenas nos bits altos.
+            final long chave = (long) gerador.nextInt(3000) << 33;
+            switch (gerador.nextInt(3)) {
+                case 0:
+                    mapa.put(chave, i);
+                    referencia.put(chave, (long) i);
+                    break;
+                case 1:
+                    mapa.addTo(chave, 2);
+                    referencia.merge(chave, 2L, Long::sum);
+                    break;
+                default:
+                    mapa.remove(chave);
+                    referencia.remove(chave);
+                    break;
+            }
+        }
+
+        assertEquals(referencia.size(), mapa.size());
+        final Map<Long, Long> percorrido = new HashMap<>();
+        mapa.forEach(percorrido::put);
+        assertEquals(referencia, percorrido);
+    }
+}
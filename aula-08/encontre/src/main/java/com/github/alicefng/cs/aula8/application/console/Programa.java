@@ -1,8 +1,21 @@
 package com.github.alicefng.cs.aula8.application.console;
 
+import com.github.alicefng.cs.aula8.domain.Busca;
+import com.github.alicefng.cs.aula8.domain.BuscaDiretorio;
+import com.github.alicefng.cs.aula8.domain.BuscaMultipla;
 import com.github.alicefng.cs.aula8.domain.EncontraPalavraUtils;
+import com.github.alicefng.cs.aula8.domain.Equivalencia;
+import com.github.alicefng.cs.aula8.domain.Ocorrencia;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Classe para executar o EncontraPalavraUtils pelo terminal.
@@ -14,6 +27,56 @@ public final class Programa {
      */
     private static final int NUMERO_PARAMETROS = 2;
 
+    /**
+     * Opção que indica que a palavra é uma expressão regular.
+     */
+    private static final String OPCAO_REGEX = "--regex";
+
+    /**
+     * Opção que indica que o caminho é um diretório a ser percorrido.
+     */
+    private static final String OPCAO_RECURSIVO = "--recursivo";
+
+    /**
+     * Prefixo da opção que restringe os arquivos a um padrão glob.
+     */
+    private static final String OPCAO_INCLUIR = "--incluir=";
+
+    /**
+     * Prefixo da opção que exclui arquivos e diretórios por um padrão glob.
+     */
+    private static final String OPCAO_EXCLUIR = "--excluir=";
+
+    /**
+     * Opção que indica que apenas o total de ocorrências é produzido.
+     */
+    private static final String OPCAO_CONTAR = "--contar";
+
+    /**
+     * Prefixo da opção que limita a quantidade de linhas do relatório.
+     */
+    private static final String OPCAO_MAXIMO = "--maximo=";
+
+    /**
+     * Opção que indica que maiúsculas e minúsculas são equivalentes.
+     */
+    private static final String OPCAO_IGNORAR_CAIXA = "--ignorar-caixa";
+
+    /**
+     * Opção que indica que letras acentuadas equivalem às sem acento.
+     */
+    private static final String OPCAO_IGNORAR_ACENTOS = "--ignorar-acentos";
+
+    /**
+     * Marca o fim das opções.
+     */
+    private static final String FIM_OPCOES = "--";
+
+    /**
+     * Tamanho do buffer da saída padrão.
+     */
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
     /**
      * Construtor privado para evitar instanciação.
      */
@@ -23,28 +86,283 @@ public final class Programa {
     /**
      * Programa para executar pelo terminal e fazer um relatório de quantas
      * vezes uma  palavra ocorre em determinado arquivo e em quais locais.
+     * A palavra é procurada literalmente, exceto se precedida pela opção
+     * {@code --regex}, quando é interpretada como expressão regular.
+     * As linhas são escritas à medida que são encontradas, de forma que o
+     * relatório não é mantido em memória. Com mais de uma palavra, são
+     * produzidos o total de cada palavra e então as linhas com ocorrências,
+     * em ordem, cada uma precedida da palavra ("never: L1 C6: ...").
+     *
+     * <p>Com a opção {@code --recursivo}, o caminho é um diretório, cujos
+     * arquivos são lidos em paralelo, e é produzido um relatório para cada
+     * arquivo com ocorrências, precedido da linha "Arquivo: (caminho)". As
+     * opções {@code --incluir=GLOB} e {@code --excluir=GLOB}, que podem ser
+     * repetidas, filtram os arquivos; {@code --} encerra as opções.
+     * Arquivos vazios ou com qualquer trecho que não está em UTF-8 são
+     * omitidos silenciosamente, ainda que tenham ocorrências antes desse
+     * trecho, assim como os removidos durante a busca; qualquer outro erro
+     * de leitura encerra a busca.</p>
+     *
+     * <p>Para uma palavra em um arquivo, a opção {@code --contar} produz
+     * apenas o total de ocorrências, sem que as linhas sejam produzidas, e
+     * a opção {@code --maximo=N} limita o relatório às N primeiras linhas
+     * com ocorrências (e o total, a essas linhas), encerrando a leitura
+     * assim que são encontradas.</p>
+     *
+     * <p>Para uma palavra procurada literalmente, as opções
+     * {@code --ignorar-caixa} e {@code --ignorar-acentos} tornam
+     * equivalentes maiúsculas e minúsculas e letras acentuadas e sem acento,
+     * respectivamente ("Ação", "acao" e "AÇÃO", com ambas).</p>
      *
      * @param args Caminho do arquivo e palavra a ser procurada a ser informado
-     *             pelo usuário no terminal
+     *             pelo usuário no terminal, opcionalmente precedidos de
+     *             opções; palavras adicionais podem seguir a primeira
      * @throws IOException              se houver problema na leitura do caminho
      *                                  do arquivo
      * @throws IllegalArgumentException se não for passado nenhum argumento
-     *                                  pela linha de comando, ou se for
-     *                                  passando somente um dos argumentos
+     *                                  pela linha de comando, se for
+     *                                  passando somente um dos argumentos ou
+     *                                  se as opções são inválidas
      */
     public static void main(final String[] args) throws IOException {
-        if (args.length < NUMERO_PARAMETROS) {
-            if (args.length == 0) {
+        boolean regex = false;
+        boolean recursivo = false;
+        boolean contar = false;
+        boolean ignorarCaixa = false;
+        boolean ignorarAcentos = false;
+        long maximo = Long.MAX_VALUE;
+        final List<String> incluidos = new ArrayList<>();
+        final List<String> excluidos = new ArrayList<>();
+        int primeiro = 0;
+        while (primeiro < args.length && args[primeiro].startsWith("--")) {
+            final String opcao = args[primeiro++];
+            if (FIM_OPCOES.equals(opcao)) {
+                break;
+            } else if (OPCAO_REGEX.equals(opcao)) {
+                regex = true;
+            } else if (OPCAO_RECURSIVO.equals(opcao)) {
+                recursivo = true;
+            } else if (OPCAO_CONTAR.equals(opcao)) {
+                contar = true;
+            } else if (OPCAO_IGNORAR_CAIXA.equals(opcao)) {
+                ignorarCaixa = true;
+            } else if (OPCAO_IGNORAR_ACENTOS.equals(opcao)) {
+                ignorarAcentos = true;
+            } else if (opcao.startsWith(OPCAO_MAXIMO)) {
+                maximo = maximo(opcao.substring(OPCAO_MAXIMO.length()));
+            } else if (opcao.startsWith(OPCAO_INCLUIR)) {
+                incluidos.add(opcao.substring(OPCAO_INCLUIR.length()));
+            } else if (opcao.startsWith(OPCAO_EXCLUIR)) {
+                excluidos.add(opcao.substring(OPCAO_EXCLUIR.length()));
+            } else {
+                throw new IllegalArgumentException("Opção desconhecida: "
+                        + opcao);
+            }
+        }
+
+        if (args.length - primeiro < NUMERO_PARAMETROS) {
+            if (args.length == primeiro) {
                 throw new IllegalArgumentException("Nenhum argumento foi "
                         + "fornecido.");
             }
             throw new IllegalArgumentException("Um dos argumentos não foi "
                     + "fornecido.");
         }
+        if (!recursivo && !(incluidos.isEmpty() && excluidos.isEmpty())) {
+            throw new IllegalArgumentException("As opções " + OPCAO_INCLUIR
+                    + " e " + OPCAO_EXCLUIR + " exigem " + OPCAO_RECURSIVO
+                    + ".");
+        }
+
+        final boolean limitado = contar || maximo != Long.MAX_VALUE;
+        if (limitado && (recursivo
+                || args.length - primeiro > NUMERO_PARAMETROS)) {
+            throw new IllegalArgumentException("As opções " + OPCAO_CONTAR
+                    + " e " + OPCAO_MAXIMO + "N aceitam uma única palavra e "
+                    + "um único arquivo.");
+        }
+
+        final Equivalencia equivalencia = equivalencia(ignorarCaixa,
+                ignorarAcentos);
+        if (equivalencia != null && (regex
+                || args.length - primeiro > NUMERO_PARAMETROS)) {
+            throw new IllegalArgumentException("As opções "
+                    + OPCAO_IGNORAR_CAIXA + " e " + OPCAO_IGNORAR_ACENTOS
+                    + " aceitam uma única palavra, procurada literalmente.");
+        }
+
+        if ((regex || recursivo)
+                && args.length - primeiro > NUMERO_PARAMETROS) {
+            throw new IllegalArgumentException("As opções " + OPCAO_REGEX
+                    + " e " + OPCAO_RECURSIVO + " aceitam uma única palavra.");
+        }
+
+        final String arquivo = args[primeiro];
+        final PrintStream saida = new PrintStream(
+                new BufferedOutputStream(System.out, TAMANHO_BUFFER), false);
+        if (args.length - primeiro > NUMERO_PARAMETROS) {
+            try {
+                escrevePalavras(saida, arquivo, new BuscaMultipla(
+                        Arrays.copyOfRange(args, primeiro + 1, args.length)));
+                saida.println();
+            } finally {
+                saida.flush();
+            }
+            return;
+        }
+
+        final String palavra = args[primeiro + 1];
+
+        // Pré-passagem para o total, que precede as linhas no relatório:
+        // as ocorrências são descartadas sem que as linhas sejam montadas.
+        final Consumer<Ocorrencia> descarta = ocorrencia -> { };
+        final Consumer<Ocorrencia> escreve = saida::println;
+        try {
+            if (recursivo) {
+                final BuscaDiretorio busca = new BuscaDiretorio(
+                        Paths.get(arquivo), criaBusca(palavra, regex,
+                        equivalencia));
+                incluidos.forEach(busca::inclui);
+                excluidos.forEach(busca::exclui);
+                busca.percorre((caminho, total) -> {
+                    saida.printf("Arquivo: %s%nEncontradas: %d%n", caminho,
+                            total);
+                    return escreve;
+                });
+            } else if (contar && !regex && equivalencia == null
+                    && maximo == Long.MAX_VALUE) {
+                // Contagem sobre os bytes, sem separação das linhas.
+                saida.printf("Encontradas: %d%n", EncontraPalavraUtils
+                        .conteOcorrenciasArquivo(arquivo, palavra));
+            } else if (regex || equivalencia != null) {
+                final Busca busca = criaBusca(palavra, regex, equivalencia)
+                        .get();
+                final long total = EncontraPalavraUtils.percorreOcorrencias(
+                        arquivo, busca, maximo, descarta);
+                saida.printf("Encontradas: %d%n", total);
+                if (!contar) {
+                    EncontraPalavraUtils.percorreOcorrencias(arquivo, busca,
+                            maximo, escreve);
+                }
+            } else {
+                // Como nas demais buscas, todo o arquivo lido deve estar em
+                // UTF-8, e não apenas as linhas com ocorrências.
+                final long total = EncontraPalavraUtils
+                        .percorreOcorrenciasArquivo(arquivo, palavra, maximo,
+                                descarta);
+                saida.printf("Encontradas: %d%n", total);
+                if (!contar) {
+                    EncontraPalavraUtils.percorreOcorrenciasArquivo(arquivo,
+                            palavra, maximo, escreve);
+                }
+            }
+            saida.println();
+        } finally {
+            // As linhas já escritas não se perdem se a busca falha.
+            saida.flush();
+        }
+    }
+
+    /**
+     * Escreve o relatório de várias palavras: o total de cada palavra,
+     * precedido da linha "Palavra: (palavra)", e então as linhas com
+     * ocorrências, em ordem, cada uma precedida da palavra. O arquivo é
+     * lido duas vezes, qualquer que seja a quantidade de palavras: a
+     * primeira leitura apenas soma os totais, e a segunda escreve as linhas
+     * à medida que são encontradas, sem acumulá-las.
+     *
+     * @param saida   A saída
+     * @param arquivo O path do arquivo
+     * @param busca   A busca pelas palavras
+     * @throws IOException Se houver problema ao fechar o arquivo
+     */
+    private static void escrevePalavras(final PrintStream saida,
+                                        final String arquivo,
+                                        final BuscaMultipla busca)
+            throws IOException {
+        final long[] totais = EncontraPalavraUtils.percorreOcorrencias(
+                arquivo, busca, (termo, ocorrencia) -> { });
+        for (int termo = 0; termo < totais.length; termo++) {
+            saida.printf("Palavra: %s%nEncontradas: %d%n",
+                    busca.getTermo(termo), totais[termo]);
+        }
+
+        EncontraPalavraUtils.percorreOcorrencias(arquivo, busca,
+                (termo, ocorrencia) -> {
+                    saida.print(busca.getTermo(termo));
+                    saida.print(": ");
+                    saida.println(ocorrencia);
+                });
+    }
+
+    /**
+     * Interpreta o valor da opção {@code --maximo=N}.
+     *
+     * @param valor O valor
+     * @return A quantidade máxima de linhas
+     * @throws IllegalArgumentException Se o valor não é um inteiro não
+     *                                  negativo
+     */
+    private static long maximo(final String valor) {
+        try {
+            final long maximo = Long.parseLong(valor);
+            if (maximo >= 0) {
+                return maximo;
+            }
+        } catch (NumberFormatException exp) {
+            // Tratado abaixo, com a mesma mensagem.
+        }
+
+        throw new IllegalArgumentException("Valor inválido para "
+                + OPCAO_MAXIMO + "N: " + valor);
+    }
+
+    /**
+     * Determina a equivalência entre caracteres das opções
+     * {@code --ignorar-caixa} e {@code --ignorar-acentos}.
+     *
+     * @param ignorarCaixa   Indica se maiúsculas e minúsculas são
+     *                       equivalentes
+     * @param ignorarAcentos Indica se letras acentuadas equivalem às sem
+     *                       acento
+     * @return A equivalência, ou null, se nenhuma opção foi fornecida
+     */
+    private static Equivalencia equivalencia(final boolean ignorarCaixa,
+                                             final boolean ignorarAcentos) {
+        if (ignorarCaixa && ignorarAcentos) {
+            return Equivalencia.CAIXA_E_ACENTOS;
+        } else if (ignorarCaixa) {
+            return Equivalencia.CAIXA;
+        } else if (ignorarAcentos) {
+            return Equivalencia.ACENTOS;
+        }
+
+        return null;
+    }
+
+    /**
+     * Produz a criação de buscas pela palavra, uma para cada thread.
+     *
+     * @param palavra      A palavra ou expressão procurada
+     * @param regex        Indica se a palavra é uma expressão regular
+     * @param equivalencia A equivalência entre caracteres da busca literal,
+     *                     ou null, para a busca exata
+     * @return A criação de buscas
+     */
+    private static Supplier<Busca> criaBusca(final String palavra,
+                                             final boolean regex,
+                                             final Equivalencia
+                                                     equivalencia) {
+        if (regex) {
+            // Valida a expressão antes que os arquivos sejam percorridos.
+            Busca.expressaoRegular(palavra);
+            return () -> Busca.expressaoRegular(palavra);
+        }
+        if (equivalencia != null) {
+            return () -> Busca.literal(palavra, equivalencia);
+        }
 
-        final String resultado =
-                EncontraPalavraUtils.encontraPalavra(args[0], args[1]);
-        System.out.println(resultado);
+        return () -> Busca.literal(palavra);
     }
 
 }
@@ -0,0 +1,67 @@
+package com.github.alicefng.cs.aula8.domain;
+
+/**
+ * Procura de um termo em textos, preparada uma única vez e aplicada a
+ * cada linha. As ocorrências contadas não se sobrepõem.
+ */
+public interface Busca {
+
+    /**
+     * Cria busca pelo termo literal, em que nenhum caractere tem
+     * significado especial.
+     *
+     * @param termo O termo procurado
+     * @return A busca
+     */
+    static Busca literal(final String termo) {
+        return new BuscaLiteral(termo);
+    }
+
+    /**
+     * Cria busca pelo termo literal segundo uma equivalência entre
+     * caracteres (por exemplo, sem diferenciar maiúsculas de minúsculas).
+     * O texto não é convertido: cada caractere é substituído pelo seu
+     * representante por uma consulta à tabela da equivalência.
+     *
+     * @param termo        O termo procurado
+     * @param equivalencia A equivalência entre caracteres
+     * @return A busca
+     */
+    static Busca literal(final String termo,
+                         final Equivalencia equivalencia) {
+        return new BuscaLiteral(termo, equivalencia);
+    }
+
+    /**
+     * Cria busca por uma expressão regular, compilada uma única vez. A
+     * busca não é segura para uso por várias threads.
+     *
+     * @param expressao A expressão regular
+     * @return A busca
+     * @throws java.util.regex.PatternSyntaxException Se a expressão é
+     *                                                inválida
+     */
+    static Busca expressaoRegular(final String expressao) {
+        return new BuscaExpressaoRegular(expressao);
+    }
+
+    /**
+     * Procura a primeira ocorrência a partir de uma posição.
+     *
+     * @param texto  O texto
+     * @param inicio Posição a partir da qual a ocorrência é procurada
+     * @return A posição da ocorrência, ou -1, se não há
+     */
+    int procura(CharSequence texto, int inicio);
+
+    /**
+     * Conta as ocorrências em um texto, a partir da primeira, já
+     * encontrada por {@link #procura(CharSequence, int)}.
+     *
+     * @param texto    O texto
+     * @param primeira Posição da primeira ocorrência no texto
+     * @return A quantidade de ocorrências (ao menos 1)
+     */
+    int conteOcorrencias(CharSequence texto, int primeira);
+
+}
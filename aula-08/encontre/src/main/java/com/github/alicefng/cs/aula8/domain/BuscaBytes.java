@@ -0,0 +1,119 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Busca de termo literal em bytes pelo algoritmo de Boyer-Moore-Horspool,
+ * com tabela de avanços calculada uma única vez. Para textos e termos em
+ * UTF-8, as ocorrências em bytes correspondem exatamente às ocorrências em
+ * caracteres, pois nenhuma sequência UTF-8 válida começa no meio de outra.
+ */
+final class BuscaBytes {
+
+    /**
+     * Quantidade de valores de um byte.
+     */
+    private static final int VALORES = 256;
+
+    /**
+     * O termo procurado.
+     */
+    private final byte[] termo;
+
+    /**
+     * Avanço da janela de acordo com o seu último byte.
+     */
+    private final int[] avancos = new int[VALORES];
+
+    /**
+     * Prepara a busca por um termo.
+     *
+     * @param termo O termo procurado
+     */
+    BuscaBytes(final byte[] termo) {
+        this.termo = termo.clone();
+
+        final int ultimo = termo.length - 1;
+        Arrays.fill(avancos, termo.length);
+        for (int i = 0; i < ultimo; i++) {
+            avancos[termo[i] & (VALORES - 1)] = ultimo - i;
+        }
+    }
+
+    /**
+     * Recupera o tamanho do termo.
+     *
+     * @return A quantidade de bytes do termo
+     */
+    int tamanho() {
+        return termo.length;
+    }
+
+    /**
+     * Procura a primeira ocorrência em um trecho.
+     *
+     * @param texto  O texto
+     * @param inicio Posição inicial do trecho (inclusive)
+     * @param fim    Posição final do trecho (exclusive)
+     * @return A posição da ocorrência, ou -1, se não há
+     */
+    int procura(final ByteBuffer texto, final int inicio, final int fim) {
+        final int ultimo = termo.length - 1;
+        if (ultimo < 0) {
+            return inicio <= fim ? inicio : -1;
+        }
+
+        final byte u = termo[ultimo];
+        final int limite = fim - termo.length;
+        int i = inicio;
+        while (i <= limite) {
+            final byte b = texto.get(i + ultimo);
+            if (b == u && confere(texto, i)) {
+                return i;
+            }
+            i += avancos[b & (VALORES - 1)];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Conta as ocorrências, sem sobreposição, em um trecho a partir da
+     * primeira, já encontrada. O termo não pode ser vazio.
+     *
+     * @param texto    O texto
+     * @param primeira Posição da primeira ocorrência
+     * @param fim      Posição final do trecho (exclusive)
+     * @return A quantidade de ocorrências
+     */
+    int conteOcorrencias(final ByteBuffer texto, final int primeira,
+                         final int fim) {
+        int ocorrencias = 1;
+        int i = primeira + termo.length;
+        while ((i = procura(texto, i, fim)) != -1) {
+            ocorrencias++;
+            i += termo.length;
+        }
+
+        return ocorrencias;
+    }
+
+    /**
+     * Confere os bytes da janela, exceto o último.
+     *
+     * @param texto  O texto
+     * @param inicio Posição inicial da janela
+     * @return verdadeiro, se a janela contém o termo
+     */
+    private boolean confere(final ByteBuffer texto, final int inicio) {
+        for (int j = 0; j < termo.length - 1; j++) {
+            if (texto.get(inicio + j) != termo[j]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,607 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Busca recursiva nos arquivos texto (UTF-8) de um diretório, com filtros
+ * de inclusão e exclusão por padrões glob.
+ *
+ * <p>Um padrão sem "/" é comparado ao nome de cada arquivo ou diretório
+ * (por exemplo, {@code *.log}); um padrão com "/", ao caminho relativo ao
+ * diretório raiz (por exemplo, {@code antigos/**}). Diretórios excluídos
+ * não são percorridos.</p>
+ *
+ * <p>Os arquivos são lidos em paralelo por um número fixo de threads, que
+ * limita também a quantidade de arquivos abertos simultaneamente; as
+ * leituras avançam apenas um número limitado de arquivos à frente do
+ * último entregue. As ocorrências de cada arquivo são entregues após o
+ * seu total, na ordem dos caminhos, de forma que as de arquivos distintos
+ * nunca se misturam. Até a entrega, as ocorrências de cada arquivo são
+ * mantidas em memória apenas até um limite; as demais são gravadas em um
+ * arquivo temporário, de forma que a memória empregada não depende da
+ * quantidade de ocorrências. Arquivos vazios ou com qualquer trecho que
+ * não está em UTF-8 (por exemplo, binários) são ignorados, ainda que
+ * tenham ocorrências antes desse trecho, assim como arquivos removidos
+ * após a listagem; qualquer outro erro de leitura (por exemplo, falta de
+ * permissão) encerra a busca.</p>
+ */
+public final class BuscaDiretorio {
+
+    /**
+     * Quantidade padrão de arquivos lidos simultaneamente.
+     */
+    public static final int ARQUIVOS_ABERTOS = 16;
+
+    /**
+     * Arquivos lidos à frente do último entregue, por thread.
+     */
+    private static final int ARQUIVOS_POR_THREAD = 2;
+
+    /**
+     * Memória padrão, em caracteres, para as ocorrências de cada arquivo
+     * ainda não entregue.
+     */
+    private static final long CARACTERES_POR_ARQUIVO = 256 * 1024;
+
+    /**
+     * Custo, em caracteres, de cada ocorrência mantida em memória, além da
+     * sua linha.
+     */
+    private static final int CUSTO_OCORRENCIA = 32;
+
+    /**
+     * Recebe as ocorrências de cada arquivo.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeArquivos {
+
+        /**
+         * Recebe o total de um arquivo com ao menos uma ocorrência e
+         * produz o receptor das suas linhas com ocorrências, entregues em
+         * seguida, em ordem.
+         *
+         * @param arquivo Caminho do arquivo, relativo à raiz
+         * @param total   O número de ocorrências total no arquivo
+         * @return Recebe cada linha com ocorrência do arquivo
+         */
+        Consumer<Ocorrencia> aceita(Path arquivo, long total);
+    }
+
+    /**
+     * O diretório raiz.
+     */
+    private final Path raiz;
+
+    /**
+     * Cria a busca de cada thread (buscas podem não ser seguras para uso
+     * por várias threads).
+     */
+    private final Supplier<Busca> criaBusca;
+
+    /**
+     * Padrões de inclusão de arquivos (vazio, se todos são incluídos).
+     */
+    private final List<Padrao> incluidos = new ArrayList<>();
+
+    /**
+     * Padrões de exclusão de arquivos e diretórios.
+     */
+    private final List<Padrao> excluidos = new ArrayList<>();
+
+    /**
+     * Quantidade de arquivos lidos simultaneamente.
+     */
+    private int arquivosAbertos = ARQUIVOS_ABERTOS;
+
+    /**
+     * Memória, em caracteres, para as ocorrências de cada arquivo ainda não
+     * entregue.
+     */
+    private long caracteresPorArquivo = CARACTERES_POR_ARQUIVO;
+
+    /**
+     * Prepara a busca em um diretório.
+     *
+     * @param raiz      O diretório raiz
+     * @param criaBusca Cria a busca pelo termo, uma para cada thread
+     * @throws IllegalArgumentException Se a raiz não é um diretório
+     */
+    public BuscaDiretorio(final Path raiz, final Supplier<Busca> criaBusca) {
+        if (!Files.isDirectory(raiz)) {
+            throw new IllegalArgumentException(String.format(
+                    "Diretorio invalido: %s", raiz));
+        }
+
+        this.raiz = raiz;
+        this.criaBusca = criaBusca;
+    }
+
+    /**
+     * Restringe a busca aos arquivos que satisfazem algum dos padrões de
+     * inclusão fornecidos.
+     *
+     * @param glob O padrão
+     * @return Esta busca
+     * @throws IllegalArgumentException Se o padrão é inválido
+     */
+    public BuscaDiretorio inclui(final String glob) {
+        incluidos.add(new Padrao(raiz.getFileSystem(), glob));
+        return this;
+    }
+
+    /**
+     * Exclui da busca os arquivos e diretórios que satisfazem o padrão.
+     *
+     * @param glob O padrão
+     * @return Esta busca
+     * @throws IllegalArgumentException Se o padrão é inválido
+     */
+    public BuscaDiretorio exclui(final String glob) {
+        excluidos.add(new Padrao(raiz.getFileSystem(), glob));
+        return this;
+    }
+
+    /**
+     * Define a quantidade de arquivos lidos simultaneamente.
+     *
+     * @param quantidade A quantidade de arquivos (e de threads)
+     * @return Esta busca
+     * @throws IllegalArgumentException Se a quantidade não é positiva
+     */
+    public BuscaDiretorio limitaArquivosAbertos(final int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "quantidade de arquivos invalida: %d", quantidade));
+        }
+
+        arquivosAbertos = quantidade;
+        return this;
+    }
+
+    /**
+     * Define a memória, em caracteres, para as ocorrências de cada arquivo
+     * ainda não entregue; cada ocorrência custa a sua linha e mais
+     * {@link #CUSTO_OCORRENCIA} caracteres.
+     *
+     * @param caracteres A quantidade de caracteres (0, para que todas as
+     *                   ocorrências sejam gravadas em arquivo temporário)
+     * @return Esta busca
+     */
+    BuscaDiretorio limitaCaracteresPorArquivo(final long caracteres) {
+        caracteresPorArquivo = caracteres;
+        return this;
+    }
+
+    /**
+     * Lista os arquivos a serem lidos.
+     *
+     * @return Os caminhos dos arquivos, relativos à raiz, em ordem
+     * @throws IOException Se ocorrer erro ao percorrer a raiz
+     */
+    public List<Path> getArquivos() throws IOException {
+        final List<Path> arquivos = new ArrayList<>();
+        Files.walkFileTree(raiz, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(
+                    final Path diretorio, final BasicFileAttributes atributos) {
+                return diretorio.equals(raiz)
+                        || !satisfaz(excluidos, raiz.relativize(diretorio))
+                        ? FileVisitResult.CONTINUE
+                        : FileVisitResult.SKIP_SUBTREE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(
+                    final Path arquivo, final BasicFileAttributes atributos) {
+                final Path relativo = raiz.relativize(arquivo);
+                if (atributos.isRegularFile()
+                        && (incluidos.isEmpty()
+                        || satisfaz(incluidos, relativo))
+                        && !satisfaz(excluidos, relativo)) {
+                    arquivos.add(relativo);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path arquivo,
+                                                   final IOException exp) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        Collections.sort(arquivos);
+        return arquivos;
+    }
+
+    /**
+     * Entrega, na ordem dos caminhos, as ocorrências de cada arquivo com ao
+     * menos uma ocorrência.
+     *
+     * @param consumidor Recebe as ocorrências de cada arquivo
+     * @return O número de ocorrências total em todos os arquivos
+     * @throws IOException Se ocorrer erro ao percorrer a raiz, ao ler um
+     *                     arquivo (exceto por não estar em UTF-8 ou ter
+     *                     sido removido) ou ao gravar ou ler um arquivo
+     *                     temporário
+     */
+    public long percorre(final ConsumidorDeArquivos consumidor)
+            throws IOException {
+        final List<Path> arquivos = getArquivos();
+        final ThreadLocal<Busca> buscas = ThreadLocal.withInitial(criaBusca);
+        final ExecutorService leitores = Executors.newFixedThreadPool(
+                arquivosAbertos, tarefa -> {
+                    final Thread thread = new Thread(tarefa, "encontre");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        final Queue<Future<Resultado>> pendentes = new ArrayDeque<>();
+        try {
+            final int janela = ARQUIVOS_POR_THREAD * arquivosAbertos;
+            int proximo = 0;
+            long ocorrencias = 0;
+            while (proximo < arquivos.size() || !pendentes.isEmpty()) {
+                while (proximo < arquivos.size()
+                        && pendentes.size() < janela) {
+                    final Path relativo = arquivos.get(proximo++);
+                    pendentes.add(leitores.submit(
+                            () -> procuraNoArquivo(relativo, buscas.get())));
+                }
+
+                final Resultado resultado = aguarda(pendentes.remove());
+                try {
+                    if (resultado.total > 0) {
+                        resultado.entrega(consumidor.aceita(resultado.arquivo,
+                                resultado.total));
+                        ocorrencias += resultado.total;
+                    }
+                } finally {
+                    resultado.descarta();
+                }
+            }
+
+            return ocorrencias;
+        } finally {
+            leitores.shutdownNow();
+            descartaPendentes(leitores, pendentes);
+        }
+    }
+
+    /**
+     * Procura o termo em um arquivo.
+     *
+     * @param relativo Caminho do arquivo, relativo à raiz
+     * @param busca    A busca da thread atual
+     * @return O resultado do arquivo (vazio, se o arquivo é ignorado)
+     * @throws UncheckedIOException Se ocorrer erro de leitura que não
+     *                              indica que o arquivo deve ser ignorado
+     */
+    private Resultado procuraNoArquivo(final Path relativo,
+                                       final Busca busca) {
+        final Path arquivo = raiz.resolve(relativo);
+        final Resultado resultado = new Resultado(relativo,
+                caracteresPorArquivo);
+        boolean concluido = false;
+        try {
+            if (Files.size(arquivo) > 0) {
+                resultado.conclui(EncontraPalavraUtils.percorreOcorrencias(
+                        arquivo.toString(), busca, resultado));
+            }
+            concluido = true;
+            return resultado;
+        } catch (NoSuchFileException exp) {
+            // Removido após a listagem.
+            return new Resultado(relativo, 0);
+        } catch (IllegalArgumentException exp) {
+            final Throwable causa = exp.getCause();
+            if (causa == null || causa instanceof CharacterCodingException
+                    || causa instanceof NoSuchFileException) {
+                // Não está em UTF-8, ou foi esvaziado ou removido após a
+                // listagem.
+                return new Resultado(relativo, 0);
+            }
+            if (causa instanceof IOException) {
+                throw new UncheckedIOException((IOException) causa);
+            }
+            throw exp;
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        } finally {
+            if (!concluido) {
+                resultado.descarta();
+            }
+        }
+    }
+
+    /**
+     * Descarta os arquivos temporários dos resultados não entregues, após
+     * o término das leituras em andamento (por exemplo, se o consumidor
+     * lançou uma exceção).
+     *
+     * @param leitores  As threads de leitura, já encerradas
+     * @param pendentes Os resultados não entregues
+     */
+    private static void descartaPendentes(
+            final ExecutorService leitores,
+            final Queue<Future<Resultado>> pendentes) {
+        try {
+            leitores.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (final Future<Resultado> pendente : pendentes) {
+            if (pendente.isDone() && !pendente.isCancelled()) {
+                try {
+                    pendente.get().descarta();
+                } catch (InterruptedException | ExecutionException exp) {
+                    // A leitura falhou e já descartou o seu arquivo.
+                }
+            }
+        }
+    }
+
+    /**
+     * Aguarda o resultado de um arquivo.
+     *
+     * @param pendente O resultado pendente
+     * @return O resultado
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    private static Resultado aguarda(final Future<Resultado> pendente)
+            throws IOException {
+        try {
+            return pendente.get();
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca interrompida", exp);
+        } catch (ExecutionException exp) {
+            final Throwable causa = exp.getCause();
+            if (causa instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) causa).getCause();
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /**
+     * Verifica se um caminho satisfaz algum dos padrões.
+     *
+     * @param padroes  Os padrões
+     * @param relativo Caminho relativo à raiz
+     * @return verdadeiro, se algum padrão é satisfeito
+     */
+    private static boolean satisfaz(final List<Padrao> padroes,
+                                    final Path relativo) {
+        for (final Padrao padrao : padroes) {
+            if (padrao.satisfeito(relativo)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Padrão glob, comparado ao nome ou ao caminho relativo.
+     */
+    private static final class Padrao {
+
+        /**
+         * Comparador do padrão.
+         */
+        private final PathMatcher comparador;
+
+        /**
+         * Indica se o padrão é comparado ao caminho relativo (ou ao nome).
+         */
+        private final boolean caminho;
+
+        /**
+         * Compila um padrão.
+         *
+         * @param sistema Sistema de arquivos da raiz
+         * @param glob    O padrão
+         */
+        Padrao(final FileSystem sistema, final String glob) {
+            comparador = sistema.getPathMatcher("glob:" + glob);
+            caminho = glob.indexOf('/') >= 0;
+        }
+
+        /**
+         * Compara o padrão a um caminho.
+         *
+         * @param relativo Caminho relativo à raiz
+         * @return verdadeiro, se o padrão é satisfeito
+         */
+        boolean satisfeito(final Path relativo) {
+            return comparador.matches(caminho
+                    ? relativo
+                    : relativo.getFileName());
+        }
+    }
+
+    /**
+     * Ocorrências de um arquivo, mantidas em memória até um limite e, além
+     * dele, gravadas em um arquivo temporário, lido apenas na entrega.
+     */
+    private static final class Resultado implements Consumer<Ocorrencia> {
+
+        /**
+         * Caminho do arquivo, relativo à raiz.
+         */
+        private final Path arquivo;
+
+        /**
+         * Memória, em caracteres, para as ocorrências.
+         */
+        private final long limite;
+
+        /**
+         * O número de ocorrências total no arquivo.
+         */
+        private long total;
+
+        /**
+         * As primeiras linhas com ocorrências, mantidas em memória.
+         */
+        private final List<Ocorrencia> ocorrencias = new ArrayList<>();
+
+        /**
+         * Memória, em caracteres, empregada pelas ocorrências.
+         */
+        private long caracteres;
+
+        /**
+         * Arquivo temporário com as demais ocorrências, ou null.
+         */
+        private Path excedente;
+
+        /**
+         * Gravação do arquivo temporário, ou null.
+         */
+        private DataOutputStream gravacao;
+
+        /**
+         * Quantidade de ocorrências gravadas no arquivo temporário.
+         */
+        private long excedentes;
+
+        /**
+         * Cria o resultado, vazio, de um arquivo.
+         *
+         * @param arquivo Caminho do arquivo, relativo à raiz
+         * @param limite  Memória, em caracteres, para as ocorrências
+         */
+        Resultado(final Path arquivo, final long limite) {
+            this.arquivo = arquivo;
+            this.limite = limite;
+        }
+
+        @Override
+        public void accept(final Ocorrencia ocorrencia) {
+            final String texto = ocorrencia.getTexto();
+            final long custo = texto.length() + CUSTO_OCORRENCIA;
+            if (excedente == null && caracteres + custo <= limite) {
+                ocorrencias.add(ocorrencia);
+                caracteres += custo;
+                return;
+            }
+
+            try {
+                if (excedente == null) {
+                    excedente = Files.createTempFile("encontre", ".tmp");
+                    gravacao = new DataOutputStream(new BufferedOutputStream(
+                            Files.newOutputStream(excedente)));
+                }
+                final byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                gravacao.writeLong(ocorrencia.getLinha());
+                gravacao.writeInt(ocorrencia.getColuna());
+                gravacao.writeInt(ocorrencia.getQuantidade());
+                gravacao.writeInt(bytes.length);
+                gravacao.write(bytes);
+                excedentes++;
+            } catch (IOException exp) {
+                throw new UncheckedIOException(exp);
+            }
+        }
+
+        /**
+         * Registra o total, concluída a leitura do arquivo.
+         *
+         * @param ocorrenciaTotal O número de ocorrências total
+         * @throws IOException Se ocorrer erro ao gravar o arquivo
+         *                     temporário
+         */
+        void conclui(final long ocorrenciaTotal) throws IOException {
+            total = ocorrenciaTotal;
+            if (gravacao != null) {
+                gravacao.close();
+            }
+        }
+
+        /**
+         * Entrega as ocorrências, em ordem: as mantidas em memória e então
+         * as gravadas no arquivo temporário.
+         *
+         * @param consumidor Recebe cada linha com ocorrência
+         * @throws IOException Se ocorrer erro ao ler o arquivo temporário
+         */
+        void entrega(final Consumer<Ocorrencia> consumidor)
+                throws IOException {
+            ocorrencias.forEach(consumidor);
+            if (excedente == null) {
+                return;
+            }
+
+            try (DataInputStream leitura = new DataInputStream(
+                    new BufferedInputStream(
+                            Files.newInputStream(excedente)))) {
+                for (long i = 0; i < excedentes; i++) {
+                    final long linha = leitura.readLong();
+                    final int coluna = leitura.readInt();
+                    final int quantidade = leitura.readInt();
+                    final byte[] bytes = new byte[leitura.readInt()];
+                    leitura.readFully(bytes);
+                    consumidor.accept(new Ocorrencia(linha, coluna,
+                            quantidade,
+                            new String(bytes, StandardCharsets.UTF_8)));
+                }
+            }
+        }
+
+        /**
+         * Remove o arquivo temporário, se houver.
+         */
+        void descarta() {
+            if (excedente == null) {
+                return;
+            }
+
+            try {
+                gravacao.close();
+            } catch (IOException exp) {
+                // O arquivo é removido mesmo assim.
+            }
+            try {
+                Files.deleteIfExists(excedente);
+            } catch (IOException exp) {
+                // Permanece no diretório temporário do sistema.
+            }
+        }
+    }
+
+}
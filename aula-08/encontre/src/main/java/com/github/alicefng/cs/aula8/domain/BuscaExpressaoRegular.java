@@ -0,0 +1,51 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Busca por expressão regular, compilada uma única vez. O mesmo
+ * {@link Matcher} é reaproveitado em cada texto, de forma que a busca não é
+ * segura para uso por várias threads.
+ */
+final class BuscaExpressaoRegular implements Busca {
+
+    /**
+     * Localizador reaproveitado em cada texto.
+     */
+    private final Matcher localizador;
+
+    /**
+     * Compila a expressão regular.
+     *
+     * @param expressao A expressão regular
+     */
+    BuscaExpressaoRegular(final String expressao) {
+        localizador = Pattern.compile(expressao).matcher("");
+    }
+
+    @Override
+    public int procura(final CharSequence texto, final int inicio) {
+        localizador.reset(texto);
+        return inicio <= texto.length() && localizador.find(inicio)
+                ? localizador.start()
+                : -1;
+    }
+
+    @Override
+    public int conteOcorrencias(final CharSequence texto,
+                                final int primeira) {
+        localizador.reset(texto);
+        if (!localizador.find(primeira)) {
+            return 0;
+        }
+
+        int ocorrencias = 1;
+        while (localizador.find()) {
+            ocorrencias++;
+        }
+
+        return ocorrencias;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.util.Arrays;
+
+/**
+ * Busca de termo literal pelo algoritmo de Boyer-Moore-Horspool: o último
+ * caractere da janela determina, por uma tabela calculada uma única vez, o
+ * quanto a janela pode avançar sem perder ocorrências. Os caracteres são
+ * agrupados pelo byte menos significativo, de forma que a tabela tem 256
+ * posições (para caracteres de um mesmo grupo, o menor avanço).
+ *
+ * <p>Segundo uma {@link Equivalencia}, o termo é substituído pelos seus
+ * representantes uma única vez, e cada caractere do texto, à medida que é
+ * examinado, por uma consulta à tabela da equivalência, sem que o texto
+ * seja copiado ou convertido; na busca exata, não há consulta.</p>
+ */
+final class BuscaLiteral implements Busca {
+
+    /**
+     * Tamanho da tabela de avanços.
+     */
+    private static final int GRUPOS = 256;
+
+    /**
+     * Representante de cada caractere, ou null, na busca exata.
+     */
+    private final char[] representantes;
+
+    /**
+     * O termo procurado (ou os seus representantes).
+     */
+    private final char[] termo;
+
+    /**
+     * Avanço da janela de acordo com o grupo do seu último caractere.
+     */
+    private final int[] avancos = new int[GRUPOS];
+
+    /**
+     * Prepara a busca exata por um termo.
+     *
+     * @param termo O termo procurado
+     */
+    BuscaLiteral(final String termo) {
+        this(termo.toCharArray(), null);
+    }
+
+    /**
+     * Prepara a busca por um termo segundo uma equivalência entre
+     * caracteres.
+     *
+     * @param termo        O termo procurado
+     * @param equivalencia A equivalência entre caracteres
+     */
+    BuscaLiteral(final String termo, final Equivalencia equivalencia) {
+        this(equivalencia.representantes(termo).toCharArray(),
+                equivalencia.tabela());
+    }
+
+    /**
+     * Prepara a busca.
+     *
+     * @param termo          O termo procurado (ou os seus representantes)
+     * @param representantes Representante de cada caractere, ou null
+     */
+    private BuscaLiteral(final char[] termo, final char[] representantes) {
+        this.termo = termo;
+        this.representantes = representantes;
+
+        final int ultimo = termo.length - 1;
+        Arrays.fill(avancos, termo.length);
+        for (int i = 0; i < ultimo; i++) {
+            avancos[termo[i] & (GRUPOS - 1)] = ultimo - i;
+        }
+    }
+
+    @Override
+    public int procura(final CharSequence texto, final int inicio) {
+        final int ultimo = termo.length - 1;
+        if (ultimo < 0) {
+            return inicio <= texto.length() ? inicio : -1;
+        }
+
+        final char fim = termo[ultimo];
+        final int limite = texto.length() - termo.length;
+        int i = inicio;
+        while (i <= limite) {
+            final char c = representante(texto.charAt(i + ultimo));
+            if (c == fim && confere(texto, i)) {
+                return i;
+            }
+            i += avancos[c & (GRUPOS - 1)];
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int conteOcorrencias(final CharSequence texto,
+                                final int primeira) {
+        if (termo.length == 0) {
+            return texto.length() - primeira + 1;
+        }
+
+        int ocorrencias = 1;
+        int i = primeira + termo.length;
+        while ((i = procura(texto, i)) != -1) {
+            ocorrencias++;
+            i += termo.length;
+        }
+
+        return ocorrencias;
+    }
+
+    /**
+     * Confere os caracteres da janela, exceto o último.
+     *
+     * @param texto  O texto
+     * @param inicio Posição inicial da janela
+     * @return verdadeiro, se a janela contém o termo
+     */
+    private boolean confere(final CharSequence texto, final int inicio) {
+        for (int j = 0; j < termo.length - 1; j++) {
+            if (representante(texto.charAt(inicio + j)) != termo[j]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Recupera o caractere comparado ao termo.
+     *
+     * @param c O caractere do texto
+     * @return O representante do caractere, ou ele mesmo, na busca exata
+     */
+    private char representante(final char c) {
+        return representantes == null ? c : representantes[c];
+    }
+
+}
@@ -0,0 +1,417 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * Busca simultânea de vários termos literais pelo algoritmo de
+ * Aho-Corasick: um autômato construído uma única vez percorre cada linha
+ * uma só vez, qualquer que seja a quantidade de termos.
+ *
+ * <p>As transições por caracteres ASCII estão em uma tabela densa,
+ * completa (sem necessidade de seguir ligações de falha); as demais, em
+ * vetores ordenados por nó, consultados por busca binária e complementados
+ * pelas ligações de falha.</p>
+ *
+ * <p>As ocorrências de cada termo são contadas sem sobreposição, como em
+ * {@link Busca#literal(String)}, de forma que o resultado para cada termo é
+ * o mesmo de uma busca apenas por ele. O autômato não é alterado após a
+ * construção; o estado de cada varredura é mantido à parte.</p>
+ */
+public final class BuscaMultipla {
+
+    /**
+     * Quantidade de caracteres ASCII.
+     */
+    private static final int ASCII = 128;
+
+    /**
+     * Deslocamento que produz a linha de um nó na tabela ASCII.
+     */
+    private static final int BITS_ASCII = 7;
+
+    /**
+     * Indica ausência de termo ou de nó.
+     */
+    private static final int NENHUM = -1;
+
+    /**
+     * Os termos procurados.
+     */
+    private final String[] termos;
+
+    /**
+     * Transições ASCII: posição {@code (no << 7) | c}.
+     */
+    private int[] ascii;
+
+    /**
+     * Caracteres não ASCII das transições de cada nó, em ordem (ou null).
+     */
+    private char[][] chaves;
+
+    /**
+     * Destinos das transições não ASCII de cada nó (ou null).
+     */
+    private int[][] filhos;
+
+    /**
+     * Ligação de falha de cada nó: o nó do maior sufixo próprio.
+     */
+    private final int[] falhas;
+
+    /**
+     * Primeiro termo que termina em cada nó, ou {@link #NENHUM}.
+     */
+    private final int[] terminais;
+
+    /**
+     * Próximo termo igual a cada termo, ou {@link #NENHUM}.
+     */
+    private final int[] iguais;
+
+    /**
+     * Nó mais próximo na cadeia de falhas em que termina um termo, ou
+     * {@link #NENHUM}.
+     */
+    private final int[] saidas;
+
+    /**
+     * Quantidade de nós.
+     */
+    private int nos;
+
+    /**
+     * Recebe cada linha com ocorrência de um termo.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeOcorrencias {
+
+        /**
+         * Recebe as ocorrências de um termo em uma linha.
+         *
+         * @param termo      Índice do termo
+         * @param ocorrencia Linha, coluna da primeira ocorrência do termo e
+         *                   quantidade de ocorrências do termo
+         */
+        void aceita(int termo, Ocorrencia ocorrencia);
+    }
+
+    /**
+     * Constrói o autômato para os termos.
+     *
+     * @param termos Os termos procurados (repetições são permitidas)
+     * @throws IllegalArgumentException Se não há termos ou se algum termo é
+     *                                  vazio
+     */
+    public BuscaMultipla(final String... termos) {
+        if (termos.length == 0) {
+            throw new IllegalArgumentException("Nenhum termo fornecido");
+        }
+
+        this.termos = termos.clone();
+        int capacidade = 1;
+        for (final String termo : this.termos) {
+            if (termo.isEmpty()) {
+                throw new IllegalArgumentException("Termo vazio");
+            }
+            capacidade += termo.length();
+        }
+
+        ascii = new int[ASCII];
+        chaves = new char[capacidade][];
+        filhos = new int[capacidade][];
+        terminais = new int[capacidade];
+        Arrays.fill(terminais, NENHUM);
+        iguais = new int[this.termos.length];
+        nos = 1;
+        for (int i = 0; i < this.termos.length; i++) {
+            insere(i);
+        }
+
+        falhas = new int[nos];
+        saidas = new int[nos];
+        constroiFalhas();
+    }
+
+    /**
+     * Recupera a quantidade de termos.
+     *
+     * @return A quantidade de termos
+     */
+    public int getQuantidade() {
+        return termos.length;
+    }
+
+    /**
+     * Recupera um termo.
+     *
+     * @param termo Índice do termo
+     * @return O termo
+     */
+    public String getTermo(final int termo) {
+        return termos[termo];
+    }
+
+    /**
+     * Cria o estado de uma varredura, a ser empregado por uma única
+     * thread.
+     *
+     * @return A varredura
+     */
+    Varredura varredura() {
+        return new Varredura();
+    }
+
+    /**
+     * Insere um termo na árvore de prefixos.
+     *
+     * @param termo Índice do termo
+     */
+    private void insere(final int termo) {
+        final String texto = termos[termo];
+        int no = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            final char c = texto.charAt(i);
+            int filho = filho(no, c);
+            if (filho == 0) {
+                filho = nos++;
+                adicionaFilho(no, c, filho);
+            }
+            no = filho;
+        }
+
+        iguais[termo] = terminais[no];
+        terminais[no] = termo;
+    }
+
+    /**
+     * Recupera o filho de um nó na árvore de prefixos (transição
+     * direta, sem ligações de falha).
+     *
+     * @param no O nó
+     * @param c  O caractere
+     * @return O filho, ou 0 (raiz), se não há
+     */
+    private int filho(final int no, final char c) {
+        if (c < ASCII) {
+            final int posicao = (no << BITS_ASCII) | c;
+            return posicao < ascii.length ? ascii[posicao] : 0;
+        }
+
+        final char[] doNo = chaves[no];
+        if (doNo == null) {
+            return 0;
+        }
+        final int posicao = Arrays.binarySearch(doNo, c);
+        return posicao < 0 ? 0 : filhos[no][posicao];
+    }
+
+    /**
+     * Acrescenta um filho a um nó.
+     *
+     * @param no    O nó
+     * @param c     O caractere da transição
+     * @param filho O filho
+     */
+    private void adicionaFilho(final int no, final char c, final int filho) {
+        if (c < ASCII) {
+            final int posicao = (no << BITS_ASCII) | c;
+            if (posicao >= ascii.length) {
+                ascii = Arrays.copyOf(ascii, Math.max(2 * ascii.length,
+                        (no + 1) << BITS_ASCII));
+            }
+            ascii[posicao] = filho;
+            return;
+        }
+
+        final char[] doNo = chaves[no] == null ? new char[0] : chaves[no];
+        final int[] destinos = filhos[no] == null ? new int[0] : filhos[no];
+        final int posicao = -Arrays.binarySearch(doNo, c) - 1;
+        final char[] novasChaves = new char[doNo.length + 1];
+        final int[] novosFilhos = new int[doNo.length + 1];
+        System.arraycopy(doNo, 0, novasChaves, 0, posicao);
+        System.arraycopy(destinos, 0, novosFilhos, 0, posicao);
+        novasChaves[posicao] = c;
+        novosFilhos[posicao] = filho;
+        System.arraycopy(doNo, posicao, novasChaves, posicao + 1,
+                doNo.length - posicao);
+        System.arraycopy(destinos, posicao, novosFilhos, posicao + 1,
+                doNo.length - posicao);
+        chaves[no] = novasChaves;
+        filhos[no] = novosFilhos;
+    }
+
+    /**
+     * Calcula, em largura, as ligações de falha e de saída, e completa a
+     * tabela ASCII com as transições que seguem as ligações de falha.
+     */
+    private void constroiFalhas() {
+        ascii = Arrays.copyOf(ascii, nos << BITS_ASCII);
+        chaves = Arrays.copyOf(chaves, nos);
+        filhos = Arrays.copyOf(filhos, nos);
+        saidas[0] = NENHUM;
+
+        final Queue<Integer> fila = new ArrayDeque<>();
+        fila.add(0);
+        while (!fila.isEmpty()) {
+            final int no = fila.remove();
+            final int linha = no << BITS_ASCII;
+            final int linhaFalha = falhas[no] << BITS_ASCII;
+            for (int c = 0; c < ASCII; c++) {
+                final int filho = ascii[linha | c];
+                if (filho != 0) {
+                    defineFalha(filho, no == 0 ? 0 : ascii[linhaFalha | c]);
+                    fila.add(filho);
+                } else if (no != 0) {
+                    ascii[linha | c] = ascii[linhaFalha | c];
+                }
+            }
+
+            if (chaves[no] != null) {
+                for (int i = 0; i < chaves[no].length; i++) {
+                    final int filho = filhos[no][i];
+                    defineFalha(filho, no == 0
+                            ? 0
+                            : transicaoNaoAscii(falhas[no], chaves[no][i]));
+                    fila.add(filho);
+                }
+            }
+        }
+    }
+
+    /**
+     * Define as ligações de falha e de saída de um nó.
+     *
+     * @param no    O nó
+     * @param falha O nó do maior sufixo próprio
+     */
+    private void defineFalha(final int no, final int falha) {
+        falhas[no] = falha;
+        saidas[no] = terminais[falha] != NENHUM ? falha : saidas[falha];
+    }
+
+    /**
+     * Calcula a transição por um caractere não ASCII, seguindo as
+     * ligações de falha.
+     *
+     * @param no O estado atual
+     * @param c  O caractere
+     * @return O próximo estado
+     */
+    private int transicaoNaoAscii(final int no, final char c) {
+        int atual = no;
+        while (true) {
+            final int filho = filho(atual, c);
+            if (filho != 0 || atual == 0) {
+                return filho;
+            }
+            atual = falhas[atual];
+        }
+    }
+
+    /**
+     * Estado da varredura de linhas: contagens de cada termo na linha
+     * atual. Não é seguro para uso por várias threads.
+     */
+    final class Varredura {
+
+        /**
+         * Quantidade de ocorrências de cada termo na linha atual.
+         */
+        private final int[] contagens = new int[termos.length];
+
+        /**
+         * Coluna da primeira ocorrência de cada termo na linha atual.
+         */
+        private final int[] colunas = new int[termos.length];
+
+        /**
+         * Menor posição em que pode começar a próxima ocorrência contada
+         * de cada termo (sem sobreposição).
+         */
+        private final int[] proximas = new int[termos.length];
+
+        /**
+         * Termos com ocorrência na linha atual.
+         */
+        private final int[] encontrados = new int[termos.length];
+
+        /**
+         * Quantidade de termos com ocorrência na linha atual.
+         */
+        private int quantidadeEncontrados;
+
+        /**
+         * Total de ocorrências de cada termo em todas as linhas.
+         */
+        private final long[] totais = new long[termos.length];
+
+        /**
+         * Percorre uma linha, entregando, em ordem de termo, as ocorrências
+         * de cada termo encontrado.
+         *
+         * @param linha       A linha
+         * @param numeroLinha O número da linha, a partir de 1
+         * @param consumidor  Recebe as ocorrências de cada termo
+         */
+        void percorre(final String linha, final long numeroLinha,
+                      final ConsumidorDeOcorrencias consumidor) {
+            int estado = 0;
+            for (int i = 0; i < linha.length(); i++) {
+                final char c = linha.charAt(i);
+                estado = c < ASCII
+                        ? ascii[(estado << BITS_ASCII) | c]
+                        : transicaoNaoAscii(estado, c);
+
+                int no = terminais[estado] != NENHUM ? estado : saidas[estado];
+                while (no != NENHUM) {
+                    for (int t = terminais[no]; t != NENHUM; t = iguais[t]) {
+                        registra(t, i + 1 - termos[t].length());
+                    }
+                    no = saidas[no];
+                }
+            }
+
+            Arrays.sort(encontrados, 0, quantidadeEncontrados);
+            for (int i = 0; i < quantidadeEncontrados; i++) {
+                final int termo = encontrados[i];
+                totais[termo] += contagens[termo];
+                consumidor.aceita(termo, new Ocorrencia(numeroLinha,
+                        colunas[termo], contagens[termo], linha));
+                contagens[termo] = 0;
+            }
+            quantidadeEncontrados = 0;
+        }
+
+        /**
+         * Recupera o total de ocorrências de cada termo.
+         *
+         * @return Os totais, por índice de termo
+         */
+        long[] getTotais() {
+            return totais.clone();
+        }
+
+        /**
+         * Registra uma ocorrência, se não se sobrepõe à anterior contada do
+         * mesmo termo.
+         *
+         * @param termo  Índice do termo
+         * @param inicio Posição inicial da ocorrência
+         */
+        private void registra(final int termo, final int inicio) {
+            if (contagens[termo] == 0) {
+                encontrados[quantidadeEncontrados++] = termo;
+                colunas[termo] = inicio;
+            } else if (inicio < proximas[termo]) {
+                return;
+            }
+
+            contagens[termo]++;
+            proximas[termo] = inicio + termos[termo].length();
+        }
+    }
+
+}
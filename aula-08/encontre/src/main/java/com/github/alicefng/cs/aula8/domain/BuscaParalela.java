@@ -0,0 +1,616 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Busca literal em arquivo UTF-8 mapeado em memória, em trechos
+ * processados em paralelo diretamente sobre os bytes.
+ *
+ * <p>Cada trecho processa as linhas que se iniciam no seu intervalo
+ * nominal e conta quantas são; a soma das contagens dos trechos anteriores
+ * fornece o número exato de cada linha. Como em
+ * {@link java.io.BufferedReader#readLine()}, as linhas terminam em "\n",
+ * "\r" ou "\r\n". As ocorrências são entregues em ordem, trecho a trecho,
+ * e as linhas só são decodificadas quando solicitadas.</p>
+ *
+ * <p>Na busca estrita, os bytes de todas as linhas percorridas são
+ * validados como UTF-8 durante a separação das linhas, sem decodificação:
+ * apenas os bytes não ASCII exigem verificação adicional.</p>
+ *
+ * <p>A contagem ({@link #conte()}) não separa as linhas: como o termo não
+ * contém terminadores, nenhuma ocorrência atravessa linhas, e a contagem
+ * sem sobreposição sobre todo o trecho coincide com a soma das contagens
+ * de cada linha. Na contagem estrita, os bytes de cada trecho são
+ * validados antes da busca, em uma passagem que salta oito bytes ASCII de
+ * uma vez.</p>
+ */
+final class BuscaParalela {
+
+    /**
+     * Tamanho padrão (em bytes) do intervalo nominal de cada trecho.
+     */
+    static final long TAMANHO_TRECHO = 8L * 1024 * 1024;
+
+    /**
+     * Trechos processados à frente do último entregue, por thread.
+     */
+    private static final int TRECHOS_POR_THREAD = 2;
+
+    /**
+     * Um byte 0x01 em cada posição de um long.
+     */
+    private static final long UNS = 0x0101010101010101L;
+
+    /**
+     * Bit mais significativo de cada byte de um long.
+     */
+    private static final long ALTOS = 0x8080808080808080L;
+
+    /**
+     * O arquivo.
+     */
+    private final Path arquivo;
+
+    /**
+     * A busca pelo termo em UTF-8, ou null, se o termo não tem codificação
+     * em UTF-8 (contém substitutos isolados) e, portanto, não ocorre em
+     * texto UTF-8.
+     */
+    private final BuscaBytes busca;
+
+    /**
+     * Tamanho do intervalo nominal de cada trecho.
+     */
+    private final long tamanhoTrecho;
+
+    /**
+     * Indica se a contagem exige a separação das linhas: o termo é vazio
+     * (ocorre em cada posição de cada linha) ou contém terminadores (não
+     * ocorre em linha alguma).
+     */
+    private final boolean contagemPorLinha;
+
+    /**
+     * Indica se os bytes de todas as linhas percorridas são validados (ou
+     * apenas os das linhas decodificadas).
+     */
+    private final boolean estrita;
+
+    /**
+     * Prepara a busca em um arquivo, validando apenas as linhas
+     * decodificadas.
+     *
+     * @param arquivo       O arquivo, em UTF-8
+     * @param termo         O termo procurado
+     * @param tamanhoTrecho Tamanho do intervalo nominal de cada trecho
+     */
+    BuscaParalela(final Path arquivo, final String termo,
+                  final long tamanhoTrecho) {
+        this(arquivo, termo, tamanhoTrecho, false);
+    }
+
+    /**
+     * Prepara a busca em um arquivo.
+     *
+     * @param arquivo       O arquivo, em UTF-8
+     * @param termo         O termo procurado
+     * @param tamanhoTrecho Tamanho do intervalo nominal de cada trecho
+     * @param estrita       Indica se os bytes de todas as linhas percorridas
+     *                      são validados
+     */
+    BuscaParalela(final Path arquivo, final String termo,
+                  final long tamanhoTrecho, final boolean estrita) {
+        this.arquivo = arquivo;
+        this.estrita = estrita;
+        this.busca = codifica(termo);
+        this.tamanhoTrecho = tamanhoTrecho;
+        this.contagemPorLinha = termo.isEmpty() || termo.indexOf('\n') >= 0
+                || termo.indexOf('\r') >= 0;
+    }
+
+    /**
+     * Entrega as ocorrências, em ordem, até uma quantidade máxima de
+     * linhas. Os trechos são processados em paralelo, mas apenas um número
+     * limitado à frente do último entregue, de forma que a memória empregada
+     * não depende do tamanho do arquivo; atingido o máximo, nenhum trecho é
+     * iniciado, e cada trecho se encerra ao encontrar o máximo de linhas.
+     *
+     * @param consumidor Recebe cada linha com ocorrência
+     * @param maximo     Quantidade máxima de linhas entregues
+     * @return A quantidade total de ocorrências nas linhas entregues
+     * @throws IOException Se ocorrer erro de leitura ou, na busca estrita,
+     *                     se uma linha percorrida não está em UTF-8
+     */
+    long percorre(final Consumer<Ocorrencia> consumidor, final long maximo)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            final long tamanho = canal.size();
+            final long quantidade = (tamanho + tamanhoTrecho - 1)
+                    / tamanhoTrecho;
+            final int janela = TRECHOS_POR_THREAD
+                    * ForkJoinPool.getCommonPoolParallelism();
+
+            final Queue<CompletableFuture<Trecho>> pendentes =
+                    new ArrayDeque<>();
+            final int maximoTrecho = (int) Math.min(maximo, Integer.MAX_VALUE);
+            long proximo = 0;
+            long ocorrencias = 0;
+            long linhasAnteriores = 0;
+            long entregues = 0;
+            while (entregues < maximo
+                    && (proximo < quantidade || !pendentes.isEmpty())) {
+                while (proximo < quantidade && pendentes.size() < janela) {
+                    final long inicio = proximo++ * tamanhoTrecho;
+                    pendentes.add(CompletableFuture.supplyAsync(
+                            () -> procuraNoTrecho(canal, inicio, tamanho,
+                                    maximoTrecho)));
+                }
+
+                final Trecho trecho = pendentes.remove().join();
+                for (final Achado achado : trecho.achados) {
+                    if (entregues == maximo) {
+                        break;
+                    }
+                    final ByteBuffer linha = trecho.bytes.duplicate();
+                    linha.limit(achado.fim).position(achado.inicio);
+                    consumidor.accept(new Ocorrencia(
+                            linhasAnteriores + achado.linha + 1,
+                            achado.deslocamento, achado.quantidade, linha));
+                    ocorrencias += achado.quantidade;
+                    entregues++;
+                }
+                linhasAnteriores += trecho.linhas;
+            }
+
+            for (final CompletableFuture<Trecho> pendente : pendentes) {
+                pendente.cancel(false);
+            }
+            return ocorrencias;
+        } catch (CompletionException exp) {
+            if (exp.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) exp.getCause()).getCause();
+            }
+            throw exp;
+        }
+    }
+
+    /**
+     * Conta as ocorrências, sem produzir as linhas: cada trecho, alinhado
+     * ao início de linhas, é percorrido apenas pela busca em bytes.
+     *
+     * @return A quantidade total de ocorrências
+     * @throws IOException Se ocorrer erro de leitura ou, na busca estrita,
+     *                     se o arquivo não está em UTF-8
+     */
+    long conte() throws IOException {
+        if (contagemPorLinha) {
+            return percorre(ocorrencia -> { }, Long.MAX_VALUE);
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            final long tamanho = canal.size();
+            final long quantidade = (tamanho + tamanhoTrecho - 1)
+                    / tamanhoTrecho;
+            return LongStream.range(0, quantidade).parallel()
+                    .map(trecho -> conteNoTrecho(canal,
+                            trecho * tamanhoTrecho, tamanho))
+                    .sum();
+        } catch (UncheckedIOException exp) {
+            throw exp.getCause();
+        }
+    }
+
+    /**
+     * Conta as ocorrências nas linhas que se iniciam em um intervalo
+     * nominal (a última, processada até o seu término).
+     *
+     * @param canal   Canal do arquivo
+     * @param inicio  Posição inicial do intervalo nominal
+     * @param tamanho Tamanho do arquivo
+     * @return A quantidade de ocorrências
+     */
+    private long conteNoTrecho(final FileChannel canal, final long inicio,
+                               final long tamanho) {
+        final long base = inicio == 0 ? 0 : inicio - 1;
+        final int mapeado = (int) Math.min(tamanho - base, Integer.MAX_VALUE);
+        final ByteBuffer bytes = mapeia(canal, base, mapeado);
+
+        final int limite = (int) (Math.min(inicio + tamanhoTrecho, tamanho)
+                - base);
+        final int primeiraLinha = proximaLinha(bytes, (int) (inicio - base),
+                limite);
+        if (primeiraLinha == limite) {
+            return 0;
+        }
+
+        final int fim = proximaLinha(bytes, limite, mapeado);
+        if (estrita) {
+            valida(bytes, primeiraLinha, fim);
+        }
+        if (busca == null) {
+            return 0;
+        }
+        final int primeira = busca.procura(bytes, primeiraLinha, fim);
+        return primeira == -1 ? 0 : busca.conteOcorrencias(bytes, primeira,
+                fim);
+    }
+
+    /**
+     * Procura o termo nas linhas que se iniciam em um intervalo nominal.
+     * A última dessas linhas é processada até o seu término, ainda que
+     * ultrapasse o intervalo (limitada a 2 GiB a partir do intervalo).
+     *
+     * @param canal   Canal do arquivo
+     * @param inicio  Posição inicial do intervalo nominal
+     * @param tamanho Tamanho do arquivo
+     * @param maximo  Quantidade de linhas com ocorrências após a qual o
+     *                trecho se encerra
+     * @return O resultado do trecho
+     */
+    private Trecho procuraNoTrecho(final FileChannel canal,
+                                   final long inicio, final long tamanho,
+                                   final int maximo) {
+        // Um byte anterior indica se uma linha se inicia em inicio.
+        final long base = inicio == 0 ? 0 : inicio - 1;
+        final int mapeado = (int) Math.min(tamanho - base, Integer.MAX_VALUE);
+        final ByteBuffer bytes = mapeia(canal, base, mapeado);
+
+        final int limite = (int) (Math.min(inicio + tamanhoTrecho, tamanho)
+                - base);
+        int i = proximaLinha(bytes, (int) (inicio - base), limite);
+
+        final Trecho trecho = new Trecho(bytes);
+        while (i < limite && trecho.achados.size() < maximo) {
+            int fimLinha = i;
+            // Oito bytes ASCII sem terminadores são saltados de uma vez.
+            while (fimLinha + Long.BYTES <= mapeado
+                    && simples(bytes.getLong(fimLinha))) {
+                fimLinha += Long.BYTES;
+            }
+            while (fimLinha < mapeado) {
+                final byte b = bytes.get(fimLinha);
+                if (terminador(b)) {
+                    break;
+                }
+                // Bytes de continuação nunca são terminadores.
+                fimLinha += estrita && b < 0
+                        ? sequenciaUtf8(bytes, fimLinha, mapeado)
+                        : 1;
+            }
+
+            procuraNaLinha(bytes, i, fimLinha, trecho);
+            trecho.linhas++;
+
+            i = fimLinha + 1;
+            if (fimLinha + 1 < mapeado && bytes.get(fimLinha) == '\r'
+                    && bytes.get(fimLinha + 1) == '\n') {
+                i++;
+            }
+        }
+
+        return trecho;
+    }
+
+    /**
+     * Procura o termo em uma linha, registrando a primeira ocorrência e a
+     * quantidade de ocorrências.
+     *
+     * @param bytes  O trecho mapeado
+     * @param inicio Posição inicial da linha
+     * @param fim    Posição final da linha (exclusive, sem o terminador)
+     * @param trecho Resultado do trecho, a ser atualizado
+     */
+    private void procuraNaLinha(final ByteBuffer bytes, final int inicio,
+                                final int fim, final Trecho trecho) {
+        if (busca == null) {
+            return;
+        }
+        final int primeira = busca.procura(bytes, inicio, fim);
+        if (primeira == -1) {
+            return;
+        }
+
+        // O termo vazio ocorre em cada posição (em caracteres) da linha.
+        final int quantidade = busca.tamanho() == 0
+                ? Ocorrencia.unidadesUtf16(bytes, inicio, fim) + 1
+                : busca.conteOcorrencias(bytes, primeira, fim);
+        trecho.achados.add(new Achado(trecho.linhas, primeira - inicio,
+                quantidade, inicio, fim));
+    }
+
+    /**
+     * Prepara a busca pelos bytes do termo em UTF-8. Diferentemente de
+     * {@link String#getBytes(java.nio.charset.Charset)}, que substitui
+     * substitutos isolados por "?", a codificação falha para esses termos,
+     * que não ocorrem em texto UTF-8 decodificado.
+     *
+     * @param termo O termo procurado
+     * @return A busca, ou null, se o termo não tem codificação em UTF-8
+     */
+    private static BuscaBytes codifica(final String termo) {
+        try {
+            final ByteBuffer codificado = StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .encode(CharBuffer.wrap(termo));
+            final byte[] bytes = new byte[codificado.remaining()];
+            codificado.get(bytes);
+            return new BuscaBytes(bytes);
+        } catch (CharacterCodingException exp) {
+            return null;
+        }
+    }
+
+    /**
+     * Mapeia parte do arquivo.
+     *
+     * @param canal   Canal do arquivo
+     * @param base    Posição inicial
+     * @param mapeado Quantidade de bytes
+     * @return Os bytes mapeados
+     */
+    private static ByteBuffer mapeia(final FileChannel canal, final long base,
+                                     final int mapeado) {
+        try {
+            return canal.map(FileChannel.MapMode.READ_ONLY, base, mapeado);
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        }
+    }
+
+    /**
+     * Encontra a primeira linha que se inicia a partir de uma posição.
+     *
+     * @param bytes   O trecho mapeado (a partir do byte anterior ao
+     *                intervalo nominal, exceto no início do arquivo)
+     * @param posicao A posição
+     * @param limite  Posição máxima
+     * @return O início da linha, ou o limite, se nenhuma linha se inicia
+     * antes dele
+     */
+    private static int proximaLinha(final ByteBuffer bytes, final int posicao,
+                                    final int limite) {
+        int i = posicao;
+        while (i < limite && i > 0 && !inicioDeLinha(bytes, i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Verifica se uma linha se inicia em uma posição (posterior à primeira
+     * mapeada): após "\n", ou após "\r" não seguido de "\n".
+     *
+     * @param bytes   O trecho mapeado
+     * @param posicao A posição
+     * @return verdadeiro, se uma linha se inicia na posição
+     */
+    private static boolean inicioDeLinha(final ByteBuffer bytes,
+                                         final int posicao) {
+        final byte anterior = bytes.get(posicao - 1);
+        return anterior == '\n'
+                || anterior == '\r' && (posicao == bytes.limit()
+                || bytes.get(posicao) != '\n');
+    }
+
+    /**
+     * Verifica se oito bytes são ASCII e nenhum é terminador de linha.
+     *
+     * @param bytes Os bytes
+     * @return verdadeiro, se nenhum byte é "\n", "\r" ou não ASCII
+     */
+    private static boolean simples(final long bytes) {
+        return ((temZero(bytes ^ ('\n' * UNS)) | temZero(bytes ^ ('\r' * UNS))
+                | bytes) & ALTOS) == 0;
+    }
+
+    /**
+     * Sinaliza os bytes nulos de um long: o resultado é não nulo se, e
+     * somente se, algum byte é nulo.
+     *
+     * @param bytes Os bytes
+     * @return Os bits mais significativos sinalizados
+     */
+    private static long temZero(final long bytes) {
+        return (bytes - UNS) & ~bytes & ALTOS;
+    }
+
+    /**
+     * Verifica se um byte termina uma linha.
+     *
+     * @param b O byte
+     * @return verdadeiro, se o byte é "\n" ou "\r"
+     */
+    private static boolean terminador(final byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Valida os bytes de um intervalo como UTF-8. Oito bytes ASCII são
+     * saltados de uma vez.
+     *
+     * @param bytes  O trecho mapeado
+     * @param inicio Posição inicial do intervalo
+     * @param fim    Posição final do intervalo (exclusive), no término de
+     *               uma linha
+     * @throws UncheckedIOException Se alguma sequência é inválida
+     */
+    private static void valida(final ByteBuffer bytes, final int inicio,
+                               final int fim) {
+        int i = inicio;
+        while (i < fim) {
+            if (i + Long.BYTES <= fim && (bytes.getLong(i) & ALTOS) == 0) {
+                i += Long.BYTES;
+            } else {
+                i += bytes.get(i) < 0 ? sequenciaUtf8(bytes, i, fim) : 1;
+            }
+        }
+    }
+
+    /**
+     * Valida a sequência UTF-8 iniciada por um byte não ASCII, com as
+     * mesmas restrições do decodificador da plataforma (sem formas
+     * longas, substitutos ou valores acima de U+10FFFF).
+     *
+     * @param bytes   O trecho mapeado
+     * @param posicao Posição do primeiro byte da sequência
+     * @param limite  Posição final do trecho mapeado (exclusive)
+     * @return A quantidade de bytes da sequência
+     * @throws UncheckedIOException Se a sequência é inválida
+     */
+    private static int sequenciaUtf8(final ByteBuffer bytes,
+                                     final int posicao, final int limite) {
+        final int b = bytes.get(posicao) & 0xFF;
+        final int tamanho;
+        int minimo = 0x80;
+        int maximo = 0xBF;
+        if (b >= 0xC2 && b <= 0xDF) {
+            tamanho = 2;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            tamanho = 3;
+            if (b == 0xE0) {
+                minimo = 0xA0;
+            } else if (b == 0xED) {
+                maximo = 0x9F;
+            }
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            tamanho = 4;
+            if (b == 0xF0) {
+                minimo = 0x90;
+            } else if (b == 0xF4) {
+                maximo = 0x8F;
+            }
+        } else {
+            throw invalida(1);
+        }
+
+        if (posicao + tamanho > limite) {
+            throw invalida(limite - posicao);
+        }
+        for (int j = 1; j < tamanho; j++) {
+            final int c = bytes.get(posicao + j) & 0xFF;
+            if (c < minimo || c > maximo) {
+                throw invalida(j);
+            }
+            // Apenas o segundo byte tem limites próprios.
+            minimo = 0x80;
+            maximo = 0xBF;
+        }
+
+        return tamanho;
+    }
+
+    /**
+     * Produz a exceção de sequência UTF-8 inválida.
+     *
+     * @param tamanho Quantidade de bytes inválidos
+     * @return A exceção
+     */
+    private static UncheckedIOException invalida(final int tamanho) {
+        return new UncheckedIOException(new MalformedInputException(tamanho));
+    }
+
+    /**
+     * Resultado da busca em um trecho.
+     */
+    private static final class Trecho {
+
+        /**
+         * O trecho mapeado, mantido para a decodificação das linhas.
+         */
+        private final ByteBuffer bytes;
+
+        /**
+         * Quantidade de linhas que se iniciam no trecho.
+         */
+        private int linhas;
+
+        /**
+         * Linhas com ocorrências, em ordem.
+         */
+        private final List<Achado> achados = new ArrayList<>();
+
+        /**
+         * Cria resultado vazio.
+         *
+         * @param bytes O trecho mapeado
+         */
+        Trecho(final ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Linha com ocorrência do termo, identificada no trecho.
+     */
+    private static final class Achado {
+
+        /**
+         * Número da linha no trecho, a partir de 0.
+         */
+        private final int linha;
+
+        /**
+         * Posição em bytes da primeira ocorrência, relativa ao início da
+         * linha.
+         */
+        private final int deslocamento;
+
+        /**
+         * Quantidade de ocorrências na linha.
+         */
+        private final int quantidade;
+
+        /**
+         * Posição inicial da linha no trecho mapeado.
+         */
+        private final int inicio;
+
+        /**
+         * Posição final da linha no trecho mapeado (exclusive).
+         */
+        private final int fim;
+
+        /**
+         * Cria registro de linha com ocorrência.
+         *
+         * @param linha        Número da linha no trecho, a partir de 0
+         * @param deslocamento Posição em bytes da primeira ocorrência,
+         *                     relativa ao início da linha
+         * @param quantidade   Quantidade de ocorrências na linha
+         * @param inicio       Posição inicial da linha
+         * @param fim          Posição final da linha (exclusive)
+         */
+        Achado(final int linha, final int deslocamento, final int quantidade,
+               final int inicio, final int fim) {
+            this.linha = linha;
+            this.deslocamento = deslocamento;
+            this.quantidade = quantidade;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+
+}
@@ -3,19 +3,41 @@ package com.github.alicefng.cs.aula8.domain;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.FilenameUtils;
 
 /**
- * Classe utilizada para encontrar palavras em arquivos.
+ * Classe utilizada para encontrar palavras em arquivos. A palavra é
+ * procurada literalmente, a menos que uma {@link Busca} por expressão
+ * regular seja fornecida.
+ *
+ * <p>Os relatórios em {@link String} são adequados a poucas ocorrências;
+ * para arquivos grandes, os métodos {@code percorreOcorrencias} entregam
+ * cada linha com ocorrência assim que encontrada, sem acumulá-las.</p>
  */
 public final class EncontraPalavraUtils {
 
+    /**
+     * Recebe cada linha lida de um arquivo.
+     */
+    @FunctionalInterface
+    private interface ConsumidorDeLinhas {
+
+        /**
+         * Recebe uma linha.
+         *
+         * @param linha  O conteúdo da linha
+         * @param numero O número da linha, a partir de 1
+         * @return verdadeiro, se a leitura deve prosseguir
+         */
+        boolean aceita(String linha, long numero);
+    }
+
     /**
      * Construtor privado para não haver instanciação da classe.
      */
@@ -24,7 +46,9 @@ public final class EncontraPalavraUtils {
 
     /**
      * Produz relatório sobre em que linhas e colunas determinada palavra
-     * ocorre em um arquivo texto.
+     * ocorre em um arquivo texto. O arquivo não é decodificado: a palavra
+     * é procurada diretamente nos bytes em UTF-8, que são apenas validados,
+     * e somente as linhas com ocorrências são convertidas em texto.
      *
      * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
      *                         palavra
@@ -32,58 +56,506 @@ public final class EncontraPalavraUtils {
      * @return Relatório do número de ocorrências total da palavra procurada
      * no arquivo, bem como de cada linha e coluna em que a palavra ocorre
      * @throws IOException              Se houver problema na leitura do arquivo
-     * @throws IllegalArgumentException Se arquivo estiver vazio
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não estiver
+     *                                  em UTF-8
      */
     public static String encontraPalavra(final String caminhoArquivo,
                                          final String palavraProcurada)
             throws IOException {
-        final File checkFile =
-                new File(FilenameUtils.getFullPath(caminhoArquivo),
-                        FilenameUtils.getName(caminhoArquivo));
+        return encontraPalavraBytes(caminhoArquivo, palavraProcurada,
+                BuscaParalela.TAMANHO_TRECHO);
+    }
 
-        if (checkFile.length() == 0) {
-            throw new IllegalArgumentException("Arquivo com dados "
-                    + "insuficientes");
+    /**
+     * Produz o relatório de {@link #encontraPalavra(String, String)}, com
+     * trechos de tamanho fornecido.
+     *
+     * @param caminhoArquivo   O path do arquivo
+     * @param palavraProcurada A palavra a ser procurada
+     * @param tamanhoTrecho    Tamanho (em bytes) de cada trecho
+     * @return Relatório do número de ocorrências e das linhas
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não estiver
+     *                                  em UTF-8
+     */
+    static String encontraPalavraBytes(final String caminhoArquivo,
+                                       final String palavraProcurada,
+                                       final long tamanhoTrecho) {
+        final StringBuilder sb = new StringBuilder();
+        final long ocorrenciaTotal = percorreBytes(caminhoArquivo,
+                palavraProcurada, tamanhoTrecho, Long.MAX_VALUE, true,
+                ocorrencia -> adiciona(sb, ocorrencia));
+
+        return relatorio(ocorrenciaTotal, sb);
+    }
+
+    /**
+     * Produz o relatório de {@link #encontraPalavra(String, String)} sem
+     * diferenciar caracteres equivalentes: "Ação", "acao" e "AÇÃO", por
+     * exemplo, ocorrem uns nos outros segundo
+     * {@link Equivalencia#CAIXA_E_ACENTOS}. As colunas se referem ao texto
+     * original de cada linha.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada no arquivo texto
+     * @param equivalencia     A equivalência entre caracteres
+     * @return Relatório do número de ocorrências total da palavra procurada
+     * no arquivo, bem como de cada linha e coluna em que a palavra ocorre
+     * @throws IOException              Se houver problema na leitura do arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio
+     */
+    public static String encontraPalavra(final String caminhoArquivo,
+                                         final String palavraProcurada,
+                                         final Equivalencia equivalencia)
+            throws IOException {
+        return encontraPalavra(caminhoArquivo,
+                Busca.literal(palavraProcurada, equivalencia));
+    }
+
+    /**
+     * Produz relatório sobre em que linhas e colunas ocorre o termo de uma
+     * busca em um arquivo texto.
+     *
+     * @param caminhoArquivo O path do arquivo a ser utilizado para buscar o
+     *                       termo
+     * @param busca          A busca, preparada uma única vez para todas as
+     *                       linhas
+     * @return Relatório do número de ocorrências total do termo no arquivo,
+     * bem como de cada linha e coluna em que o termo ocorre pela primeira vez
+     * @throws IOException              Se houver problema na leitura do arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio
+     */
+    public static String encontraPalavra(final String caminhoArquivo,
+                                         final Busca busca)
+            throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final long ocorrenciaTotal = percorreOcorrencias(caminhoArquivo,
+                busca, ocorrencia -> adiciona(sb, ocorrencia));
+
+        return relatorio(ocorrenciaTotal, sb);
+    }
+
+    /**
+     * Produz o relatório de {@link #encontraPalavra(String, String)} com no
+     * máximo uma quantidade de linhas: a leitura se encerra assim que a
+     * quantidade é atingida, e o total se refere apenas a essas linhas.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @param maximoLinhas     Quantidade máxima de linhas do relatório
+     * @return Relatório do número de ocorrências nas linhas relatadas e de
+     * cada linha e coluna em que a palavra ocorre
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o máximo é negativo
+     */
+    public static String encontraPalavra(final String caminhoArquivo,
+                                         final String palavraProcurada,
+                                         final long maximoLinhas) {
+        final StringBuilder sb = new StringBuilder();
+        final long ocorrenciaTotal = percorreOcorrenciasParalelo(
+                caminhoArquivo, palavraProcurada, maximoLinhas,
+                ocorrencia -> adiciona(sb, ocorrencia));
+
+        return relatorio(ocorrenciaTotal, sb);
+    }
+
+    /**
+     * Entrega, em ordem e assim que encontradas, as linhas de um arquivo
+     * texto em que ocorre o termo de uma busca. O arquivo é lido
+     * sequencialmente e deve estar inteiramente em UTF-8.
+     *
+     * @param caminhoArquivo O path do arquivo a ser utilizado para buscar o
+     *                       termo
+     * @param busca          A busca, preparada uma única vez para todas as
+     *                       linhas
+     * @param consumidor     Recebe cada linha com ocorrência
+     * @return O número de ocorrências total do termo no arquivo
+     * @throws IOException              Se houver problema ao fechar o arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido
+     */
+    public static long percorreOcorrencias(final String caminhoArquivo,
+                                           final Busca busca,
+                                           final Consumer<Ocorrencia>
+                                                   consumidor)
+            throws IOException {
+        return percorreOcorrencias(caminhoArquivo, busca, Long.MAX_VALUE,
+                consumidor);
+    }
+
+    /**
+     * Entrega, como {@link #percorreOcorrencias(String, Busca, Consumer)},
+     * no máximo uma quantidade de linhas com ocorrências; a leitura se
+     * encerra assim que a quantidade é atingida.
+     *
+     * @param caminhoArquivo O path do arquivo a ser utilizado para buscar o
+     *                       termo
+     * @param busca          A busca, preparada uma única vez para todas as
+     *                       linhas
+     * @param maximoLinhas   Quantidade máxima de linhas entregues
+     * @param consumidor     Recebe cada linha com ocorrência
+     * @return O número de ocorrências total do termo nas linhas entregues
+     * @throws IOException              Se houver problema ao fechar o arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o máximo é negativo
+     */
+    public static long percorreOcorrencias(final String caminhoArquivo,
+                                           final Busca busca,
+                                           final long maximoLinhas,
+                                           final Consumer<Ocorrencia>
+                                                   consumidor)
+            throws IOException {
+        verificaMaximo(maximoLinhas);
+        if (maximoLinhas == 0) {
+            verificaArquivo(caminhoArquivo);
+            return 0;
         }
 
-        BufferedReader br = null;
+        final long[] ocorrenciaTotal = new long[1];
+        final long[] linhasEntregues = new long[1];
+        percorreLinhas(caminhoArquivo, (conteudoLinha, numeroLinha) -> {
+            final int numeroColuna = busca.procura(conteudoLinha, 0);
+            if (numeroColuna == -1) {
+                return true;
+            }
+
+            // A contagem prossegue da ocorrência já encontrada.
+            final int ocorrencias = busca.conteOcorrencias(
+                    conteudoLinha, numeroColuna);
+            ocorrenciaTotal[0] = ocorrenciaTotal[0] + ocorrencias;
+            consumidor.accept(new Ocorrencia(numeroLinha,
+                    numeroColuna, ocorrencias, conteudoLinha));
+            return ++linhasEntregues[0] < maximoLinhas;
+        });
+
+        return ocorrenciaTotal[0];
+    }
+
+    /**
+     * Produz, para cada palavra, o relatório de
+     * {@link #encontraPalavra(String, String)}, precedido da linha
+     * "Palavra: (palavra)". O arquivo é lido uma única vez, qualquer que
+     * seja a quantidade de palavras.
+     *
+     * @param caminhoArquivo     O path do arquivo a ser utilizado para buscar
+     *                           as palavras
+     * @param palavrasProcuradas As palavras a serem procuradas (literalmente)
+     * @return Os relatórios, na ordem das palavras
+     * @throws IOException              Se houver problema na leitura do arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio, se não há
+     *                                  palavras ou se alguma é vazia
+     */
+    public static String encontraPalavras(final String caminhoArquivo,
+                                          final String... palavrasProcuradas)
+            throws IOException {
+        final BuscaMultipla busca = new BuscaMultipla(palavrasProcuradas);
+        final StringBuilder[] corpos =
+                new StringBuilder[busca.getQuantidade()];
+        for (int i = 0; i < corpos.length; i++) {
+            corpos[i] = new StringBuilder();
+        }
+
+        final long[] totais = percorreOcorrencias(caminhoArquivo, busca,
+                (termo, ocorrencia) -> adiciona(corpos[termo], ocorrencia));
+
         final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < corpos.length; i++) {
+            sb.append("Palavra: ").append(busca.getTermo(i))
+                    .append(System.lineSeparator())
+                    .append(relatorio(totais[i], corpos[i]));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Entrega, em ordem de linha e, em cada linha, de termo, as ocorrências
+     * de vários termos em um arquivo texto, lido uma única vez.
+     *
+     * @param caminhoArquivo O path do arquivo a ser utilizado para buscar os
+     *                       termos
+     * @param busca          A busca pelos termos
+     * @param consumidor     Recebe, para cada linha e termo com ocorrência,
+     *                       a coluna da primeira e a quantidade de
+     *                       ocorrências do termo
+     * @return O número de ocorrências total de cada termo, por índice
+     * @throws IOException              Se houver problema ao fechar o arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido
+     */
+    public static long[] percorreOcorrencias(
+            final String caminhoArquivo, final BuscaMultipla busca,
+            final BuscaMultipla.ConsumidorDeOcorrencias consumidor)
+            throws IOException {
+        final BuscaMultipla.Varredura varredura = busca.varredura();
+        percorreLinhas(caminhoArquivo, (conteudoLinha, numeroLinha) -> {
+            varredura.percorre(conteudoLinha, numeroLinha, consumidor);
+            return true;
+        });
+
+        return varredura.getTotais();
+    }
+
+    /**
+     * Lê sequencialmente as linhas de um arquivo texto em UTF-8, até que o
+     * consumidor solicite o encerramento.
+     *
+     * @param caminhoArquivo O path do arquivo
+     * @param consumidor     Recebe cada linha
+     * @throws IOException              Se houver problema ao fechar o arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido (com o erro de leitura como
+     *                                  causa)
+     */
+    private static void percorreLinhas(final String caminhoArquivo,
+                                       final ConsumidorDeLinhas consumidor)
+            throws IOException {
+        verificaArquivo(caminhoArquivo);
+
+        BufferedReader br = null;
         try {
             final Charset utf8 = Charset.forName("UTF-8");
             br = Files.newBufferedReader(Paths.get(caminhoArquivo), utf8);
 
             String conteudoLinha;
-            int numeroLinha = 1;
-            int ocorrenciaTotal = 0;
-
-            while ((conteudoLinha = br.readLine()) != null) {
-                final int numeroColuna =
-                        conteudoLinha.indexOf(palavraProcurada);
-                if (numeroColuna != -1) {
-                    sb.append(String.format("L%d C%d: %s%n",
-                            numeroLinha, numeroColuna, conteudoLinha));
-                }
-                numeroLinha++;
-
-                ocorrenciaTotal = ocorrenciaTotal
-                        + conteOcorrencias(palavraProcurada, conteudoLinha);
+            long numeroLinha = 1;
 
+            while ((conteudoLinha = br.readLine()) != null
+                    && consumidor.aceita(conteudoLinha, numeroLinha)) {
+                numeroLinha++;
             }
-
-            sb.insert(0, String.format("Encontradas: %d%n", ocorrenciaTotal));
-        } catch (Exception ex) {
-            throw new IllegalArgumentException("Arquivo invalido");
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Arquivo invalido", ex);
         } finally {
             if (br != null) {
                 br.close();
             }
         }
+    }
 
-        return sb.toString();
+    /**
+     * Produz o mesmo relatório de {@link #encontraPalavra(String, String)},
+     * para arquivos em UTF-8 de qualquer tamanho.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @return Relatório do número de ocorrências total da palavra procurada
+     * no arquivo, bem como de cada linha e coluna em que a palavra ocorre
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido
+     * @see #percorreOcorrenciasParalelo(String, String, Consumer)
+     */
+    public static String encontraPalavraParalelo(
+            final String caminhoArquivo, final String palavraProcurada) {
+        return encontraPalavraParalelo(caminhoArquivo, palavraProcurada,
+                BuscaParalela.TAMANHO_TRECHO);
+    }
+
+    /**
+     * Produz o relatório de
+     * {@link #encontraPalavraParalelo(String, String)}, com trechos de
+     * tamanho fornecido.
+     *
+     * @param caminhoArquivo   O path do arquivo
+     * @param palavraProcurada A palavra a ser procurada
+     * @param tamanhoTrecho    Tamanho (em bytes) de cada trecho
+     * @return Relatório do número de ocorrências e das linhas
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido
+     */
+    static String encontraPalavraParalelo(final String caminhoArquivo,
+                                          final String palavraProcurada,
+                                          final long tamanhoTrecho) {
+        final StringBuilder sb = new StringBuilder();
+        final long ocorrenciaTotal = percorreOcorrenciasParalelo(
+                caminhoArquivo, palavraProcurada, tamanhoTrecho,
+                Long.MAX_VALUE, ocorrencia -> adiciona(sb, ocorrencia));
+
+        return relatorio(ocorrenciaTotal, sb);
+    }
+
+    /**
+     * Entrega, em ordem, as linhas de um arquivo texto em UTF-8 em que
+     * ocorre uma palavra. O arquivo é mapeado em memória e dividido em
+     * trechos alinhados ao início de linhas, processados em paralelo sobre
+     * os bytes; a memória empregada não depende do tamanho do arquivo. O
+     * texto de cada linha só é decodificado (e validado) se solicitado por
+     * {@link Ocorrencia#getTexto()}.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @param consumidor       Recebe cada linha com ocorrência
+     * @return O número de ocorrências total da palavra no arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o texto de uma linha
+     *                                  solicitado não está em UTF-8
+     */
+    public static long percorreOcorrenciasParalelo(
+            final String caminhoArquivo, final String palavraProcurada,
+            final Consumer<Ocorrencia> consumidor) {
+        return percorreOcorrenciasParalelo(caminhoArquivo, palavraProcurada,
+                Long.MAX_VALUE, consumidor);
+    }
+
+    /**
+     * Entrega, como
+     * {@link #percorreOcorrenciasParalelo(String, String, Consumer)}, no
+     * máximo uma quantidade de linhas com ocorrências. Atingida a
+     * quantidade, nenhuma outra parte do arquivo é lida.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @param maximoLinhas     Quantidade máxima de linhas entregues
+     * @param consumidor       Recebe cada linha com ocorrência
+     * @return O número de ocorrências total da palavra nas linhas entregues
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o máximo é negativo
+     */
+    public static long percorreOcorrenciasParalelo(
+            final String caminhoArquivo, final String palavraProcurada,
+            final long maximoLinhas, final Consumer<Ocorrencia> consumidor) {
+        return percorreOcorrenciasParalelo(caminhoArquivo, palavraProcurada,
+                BuscaParalela.TAMANHO_TRECHO, maximoLinhas, consumidor);
+    }
+
+    /**
+     * Entrega as linhas com ocorrências, como
+     * {@link #percorreOcorrenciasParalelo(String, String, long, Consumer)},
+     * com trechos de tamanho fornecido.
+     *
+     * @param caminhoArquivo   O path do arquivo
+     * @param palavraProcurada A palavra a ser procurada
+     * @param tamanhoTrecho    Tamanho (em bytes) de cada trecho
+     * @param maximoLinhas     Quantidade máxima de linhas entregues
+     * @param consumidor       Recebe cada linha com ocorrência
+     * @return O número de ocorrências total da palavra nas linhas entregues
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o máximo é negativo
+     */
+    static long percorreOcorrenciasParalelo(
+            final String caminhoArquivo, final String palavraProcurada,
+            final long tamanhoTrecho, final long maximoLinhas,
+            final Consumer<Ocorrencia> consumidor) {
+        return percorreBytes(caminhoArquivo, palavraProcurada, tamanhoTrecho,
+                maximoLinhas, false, consumidor);
+    }
+
+    /**
+     * Entrega, como
+     * {@link #percorreOcorrenciasParalelo(String, String, long, Consumer)},
+     * as linhas com ocorrências, mas exige, como
+     * {@link #encontraPalavra(String, String)}, que todas as linhas lidas
+     * estejam em UTF-8, com ou sem ocorrências. A validação é feita sobre
+     * os bytes, durante a separação das linhas.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @param maximoLinhas     Quantidade máxima de linhas entregues
+     * @param consumidor       Recebe cada linha com ocorrência
+     * @return O número de ocorrências total da palavra nas linhas entregues
+     * @throws IllegalArgumentException Se arquivo estiver vazio, não puder
+     *                                  ser lido ou não estiver em UTF-8, ou
+     *                                  se o máximo é negativo
+     */
+    public static long percorreOcorrenciasArquivo(
+            final String caminhoArquivo, final String palavraProcurada,
+            final long maximoLinhas, final Consumer<Ocorrencia> consumidor) {
+        return percorreBytes(caminhoArquivo, palavraProcurada,
+                BuscaParalela.TAMANHO_TRECHO, maximoLinhas, true, consumidor);
+    }
+
+    /**
+     * Entrega as linhas com ocorrências de uma palavra, procurada
+     * diretamente nos bytes do arquivo mapeado em memória.
+     *
+     * @param caminhoArquivo   O path do arquivo
+     * @param palavraProcurada A palavra a ser procurada
+     * @param tamanhoTrecho    Tamanho (em bytes) de cada trecho
+     * @param maximoLinhas     Quantidade máxima de linhas entregues
+     * @param estrita          Indica se todas as linhas lidas (e não apenas
+     *                         as decodificadas) devem estar em UTF-8
+     * @param consumidor       Recebe cada linha com ocorrência
+     * @return O número de ocorrências total da palavra nas linhas entregues
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não puder
+     *                                  ser lido, ou se o máximo é negativo
+     */
+    private static long percorreBytes(final String caminhoArquivo,
+                                      final String palavraProcurada,
+                                      final long tamanhoTrecho,
+                                      final long maximoLinhas,
+                                      final boolean estrita,
+                                      final Consumer<Ocorrencia> consumidor) {
+        verificaMaximo(maximoLinhas);
+        verificaArquivo(caminhoArquivo);
+
+        try {
+            return new BuscaParalela(Paths.get(caminhoArquivo),
+                    palavraProcurada, tamanhoTrecho, estrita)
+                    .percorre(consumidor, maximoLinhas);
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalArgumentException("Arquivo invalido");
+        }
     }
 
     /**
-     * Produz número de ocorrências de uma palavra em um texto (String).
+     * Conta as ocorrências de uma palavra em um arquivo texto em UTF-8, com
+     * o mesmo resultado do total de
+     * {@link #encontraPalavra(String, String)}, mas sem produzir as linhas:
+     * o arquivo é mapeado em memória e percorrido em paralelo apenas pela
+     * busca sobre os bytes, validados como UTF-8.
+     *
+     * @param caminhoArquivo   O path do arquivo a ser utilizado para buscar a
+     *                         palavra
+     * @param palavraProcurada A palavra a ser procurada (literalmente) no
+     *                         arquivo texto
+     * @return O número de ocorrências total da palavra no arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio, não puder
+     *                                  ser lido ou não estiver em UTF-8
+     */
+    public static long conteOcorrenciasArquivo(final String caminhoArquivo,
+                                               final String palavraProcurada) {
+        return conteOcorrenciasArquivo(caminhoArquivo, palavraProcurada,
+                BuscaParalela.TAMANHO_TRECHO);
+    }
+
+    /**
+     * Conta as ocorrências, como
+     * {@link #conteOcorrenciasArquivo(String, String)}, com trechos de
+     * tamanho fornecido.
+     *
+     * @param caminhoArquivo   O path do arquivo
+     * @param palavraProcurada A palavra a ser procurada
+     * @param tamanhoTrecho    Tamanho (em bytes) de cada trecho
+     * @return O número de ocorrências total da palavra no arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio, não puder
+     *                                  ser lido ou não estiver em UTF-8
+     */
+    static long conteOcorrenciasArquivo(final String caminhoArquivo,
+                                        final String palavraProcurada,
+                                        final long tamanhoTrecho) {
+        verificaArquivo(caminhoArquivo);
+
+        try {
+            return new BuscaParalela(Paths.get(caminhoArquivo),
+                    palavraProcurada, tamanhoTrecho, true).conte();
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalArgumentException("Arquivo invalido");
+        }
+    }
+
+    /**
+     * Produz número de ocorrências de uma palavra em um texto (String). A
+     * palavra é procurada literalmente.
      *
      * @param palavraProcurada A palavra a ser procurada no texto
      * @param texto            O texto no qual a palavra deve ser procurada
@@ -91,15 +563,78 @@ public final class EncontraPalavraUtils {
      */
     public static int conteOcorrencias(final String palavraProcurada,
                                        final String texto) {
-        final Pattern p = Pattern.compile(palavraProcurada);
-        final Matcher m = p.matcher(texto);
+        return conteOcorrencias(Busca.literal(palavraProcurada), texto);
+    }
+
+    /**
+     * Produz número de ocorrências do termo de uma busca em um texto.
+     *
+     * @param busca A busca
+     * @param texto O texto no qual o termo deve ser procurado
+     * @return O número de ocorrências do termo no texto
+     */
+    public static int conteOcorrencias(final Busca busca,
+                                       final String texto) {
+        final int primeira = busca.procura(texto, 0);
+        return primeira == -1 ? 0 : busca.conteOcorrencias(texto, primeira);
+    }
 
-        int ocorrencias = 0;
-        while (m.find()) {
-            ocorrencias++;
+    /**
+     * Verifica se o arquivo contém dados.
+     *
+     * @param caminhoArquivo O path do arquivo
+     * @throws IllegalArgumentException Se arquivo estiver vazio ou não
+     *                                  existir
+     */
+    private static void verificaArquivo(final String caminhoArquivo) {
+        final File checkFile =
+                new File(FilenameUtils.getFullPath(caminhoArquivo),
+                        FilenameUtils.getName(caminhoArquivo));
+
+        if (checkFile.length() == 0) {
+            throw new IllegalArgumentException("Arquivo com dados "
+                    + "insuficientes");
         }
+    }
 
-        return ocorrencias;
+    /**
+     * Verifica a quantidade máxima de linhas.
+     *
+     * @param maximoLinhas A quantidade máxima de linhas
+     * @throws IllegalArgumentException Se a quantidade é negativa
+     */
+    private static void verificaMaximo(final long maximoLinhas) {
+        if (maximoLinhas < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Maximo de linhas invalido: %d", maximoLinhas));
+        }
+    }
+
+    /**
+     * Acrescenta uma ocorrência ao corpo de um relatório.
+     *
+     * @param sb         O corpo do relatório
+     * @param ocorrencia A ocorrência
+     */
+    private static void adiciona(final StringBuilder sb,
+                                 final Ocorrencia ocorrencia) {
+        sb.append(ocorrencia).append(System.lineSeparator());
+    }
+
+    /**
+     * Produz o relatório a partir do total e do corpo, sem deslocar o
+     * corpo para inserir o total.
+     *
+     * @param ocorrenciaTotal O número de ocorrências total
+     * @param corpo           As linhas com ocorrências
+     * @return O relatório
+     */
+    private static String relatorio(final long ocorrenciaTotal,
+                                    final CharSequence corpo) {
+        final String cabecalho =
+                String.format("Encontradas: %d%n", ocorrenciaTotal);
+        return new StringBuilder(cabecalho.length() + corpo.length())
+                .append(cabecalho).append(corpo).toString();
     }
 
 }
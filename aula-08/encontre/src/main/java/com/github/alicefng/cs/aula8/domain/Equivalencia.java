@@ -0,0 +1,211 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.text.Normalizer;
+
+/**
+ * Equivalências entre caracteres empregadas em buscas que não diferenciam
+ * maiúsculas de minúsculas ou letras acentuadas das sem acento. Cada
+ * equivalência associa a cada caractere um representante, por uma tabela
+ * com todos os caracteres de {@code char}, calculada uma única vez (na
+ * primeira utilização); textos equivalentes têm os mesmos representantes.
+ *
+ * <p>Cada caractere tem um único representante, de forma que as posições
+ * no texto original e no texto de representantes coincidem. Os acentos
+ * são reconhecidos apenas em caracteres compostos (forma NFC, usual em
+ * textos em português); caracteres fora do plano básico (pares
+ * substitutos) são representados por si mesmos.</p>
+ */
+public enum Equivalencia {
+
+    /**
+     * Maiúsculas e minúsculas são equivalentes ("Ação" e "AÇÃO").
+     */
+    CAIXA,
+
+    /**
+     * Letras acentuadas (ou com outros diacríticos) equivalem às sem
+     * acento ("Ação" e "Acao").
+     */
+    ACENTOS,
+
+    /**
+     * Maiúsculas e minúsculas, acentuadas ou não, são equivalentes
+     * ("Ação", "acao" e "AÇÃO").
+     */
+    CAIXA_E_ACENTOS;
+
+    /**
+     * Quantidade de valores de {@code char}.
+     */
+    private static final int CARACTERES = Character.MAX_VALUE + 1;
+
+    /**
+     * Primeiro caractere com acento (À).
+     */
+    private static final char PRIMEIRO_ACENTUADO = 'À';
+
+    /**
+     * Primeira sílaba Hangul, que se decompõe em letras (e não em acentos).
+     */
+    private static final char PRIMEIRA_SILABA_HANGUL = '\uAC00';
+
+    /**
+     * Última sílaba Hangul.
+     */
+    private static final char ULTIMA_SILABA_HANGUL = '\uD7A3';
+
+    /**
+     * Recupera o representante de um caractere.
+     *
+     * @param c O caractere
+     * @return O representante
+     */
+    public char representante(final char c) {
+        return tabela()[c];
+    }
+
+    /**
+     * Produz o texto de representantes, de mesmo tamanho do texto.
+     *
+     * @param texto O texto
+     * @return O texto com cada caractere substituído pelo representante
+     */
+    public String representantes(final CharSequence texto) {
+        final char[] tabela = tabela();
+        final char[] resultado = new char[texto.length()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = tabela[texto.charAt(i)];
+        }
+
+        return new String(resultado);
+    }
+
+    /**
+     * Recupera a tabela de representantes, indexada pelo caractere.
+     *
+     * @return A tabela (não deve ser alterada)
+     */
+    char[] tabela() {
+        switch (this) {
+            case CAIXA:
+                return TabelaCaixa.REPRESENTANTES;
+            case ACENTOS:
+                return TabelaAcentos.REPRESENTANTES;
+            default:
+                return TabelaCaixaEAcentos.REPRESENTANTES;
+        }
+    }
+
+    /**
+     * Produz a tabela em que cada caractere representa a si mesmo.
+     *
+     * @return A tabela
+     */
+    private static char[] identidade() {
+        final char[] tabela = new char[CARACTERES];
+        for (int c = 0; c < CARACTERES; c++) {
+            tabela[c] = (char) c;
+        }
+
+        return tabela;
+    }
+
+    /**
+     * Substitui cada representante de uma tabela pela sua minúscula. A
+     * maiúscula é obtida antes, de forma que variantes de uma mesma letra
+     * (como "ſ" e "s") tenham o mesmo representante.
+     *
+     * @param tabela A tabela, alterada
+     * @return A tabela
+     */
+    private static char[] semCaixa(final char[] tabela) {
+        for (int c = 0; c < CARACTERES; c++) {
+            tabela[c] = Character.toLowerCase(
+                    Character.toUpperCase(tabela[c]));
+        }
+
+        return tabela;
+    }
+
+    /**
+     * Produz a tabela em que cada caractere cuja decomposição canônica
+     * (NFD) consiste em um caractere seguido apenas de marcas combinantes
+     * é representado por esse caractere.
+     *
+     * @return A tabela
+     */
+    private static char[] semAcentos() {
+        final char[] tabela = identidade();
+        for (int c = PRIMEIRO_ACENTUADO; c < CARACTERES; c++) {
+            final char caractere = (char) c;
+            if (!decomponivel(caractere)) {
+                continue;
+            }
+
+            final String decomposto = Normalizer.normalize(
+                    String.valueOf(caractere), Normalizer.Form.NFD);
+            boolean acentos = decomposto.length() > 1;
+            for (int i = 1; acentos && i < decomposto.length(); i++) {
+                acentos = Character.getType(decomposto.charAt(i))
+                        == Character.NON_SPACING_MARK;
+            }
+            if (acentos) {
+                tabela[c] = decomposto.charAt(0);
+            }
+        }
+
+        return tabela;
+    }
+
+    /**
+     * Descarta, sem consultar a decomposição, os caracteres que não podem
+     * se decompor em letra e acentos: não atribuídos, de uso privado,
+     * substitutos, ideogramas e sílabas Hangul.
+     *
+     * @param c O caractere
+     * @return verdadeiro, se a decomposição deve ser consultada
+     */
+    private static boolean decomponivel(final char c) {
+        final int tipo = Character.getType(c);
+        return tipo != Character.UNASSIGNED
+                && tipo != Character.PRIVATE_USE
+                && tipo != Character.SURROGATE
+                && !Character.isIdeographic(c)
+                && (c < PRIMEIRA_SILABA_HANGUL || c > ULTIMA_SILABA_HANGUL);
+    }
+
+    /**
+     * Tabela de {@link #CAIXA}, calculada no primeiro acesso.
+     */
+    private static final class TabelaCaixa {
+
+        /**
+         * Representante de cada caractere.
+         */
+        static final char[] REPRESENTANTES = semCaixa(identidade());
+    }
+
+    /**
+     * Tabela de {@link #ACENTOS}, calculada no primeiro acesso.
+     */
+    private static final class TabelaAcentos {
+
+        /**
+         * Representante de cada caractere.
+         */
+        static final char[] REPRESENTANTES = semAcentos();
+    }
+
+    /**
+     * Tabela de {@link #CAIXA_E_ACENTOS}, calculada no primeiro acesso.
+     */
+    private static final class TabelaCaixaEAcentos {
+
+        /**
+         * Representante de cada caractere.
+         */
+        static final char[] REPRESENTANTES =
+                semCaixa(TabelaAcentos.REPRESENTANTES.clone());
+    }
+
+}
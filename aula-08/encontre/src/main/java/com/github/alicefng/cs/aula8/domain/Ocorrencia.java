@@ -0,0 +1,190 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Linha de um arquivo em que o termo procurado ocorre. O conteúdo da linha
+ * é produzido apenas quando solicitado: em buscas sobre bytes, a linha só é
+ * decodificada por {@link #getTexto()}, e a coluna, conhecida apenas em
+ * bytes, só é convertida em posição de {@link String} por
+ * {@link #getColuna()}.
+ */
+public final class Ocorrencia {
+
+    /**
+     * Indica coluna ainda não convertida.
+     */
+    private static final int DESCONHECIDA = -1;
+
+    /**
+     * Caractere que substitui sequências UTF-8 inválidas.
+     */
+    private static final char SUBSTITUTO = '\uFFFD';
+
+    /**
+     * Número da linha, a partir de 1.
+     */
+    private final long linha;
+
+    /**
+     * Coluna da primeira ocorrência, a partir de 0, ou
+     * {@link #DESCONHECIDA}.
+     */
+    private int coluna;
+
+    /**
+     * Posição em bytes da primeira ocorrência, relativa ao início da linha
+     * (apenas em linha ainda não decodificada).
+     */
+    private final int deslocamento;
+
+    /**
+     * Quantidade de ocorrências na linha.
+     */
+    private final int quantidade;
+
+    /**
+     * Bytes da linha em UTF-8, se ainda não decodificada.
+     */
+    private ByteBuffer bytes;
+
+    /**
+     * Conteúdo da linha, se já decodificada.
+     */
+    private String texto;
+
+    /**
+     * Cria ocorrência em linha já decodificada.
+     *
+     * @param linha      Número da linha, a partir de 1
+     * @param coluna     Coluna da primeira ocorrência
+     * @param quantidade Quantidade de ocorrências na linha
+     * @param texto      Conteúdo da linha
+     */
+    Ocorrencia(final long linha, final int coluna, final int quantidade,
+               final String texto) {
+        this.linha = linha;
+        this.coluna = coluna;
+        this.deslocamento = 0;
+        this.quantidade = quantidade;
+        this.texto = texto;
+    }
+
+    /**
+     * Cria ocorrência em linha a ser decodificada quando solicitada.
+     *
+     * @param linha        Número da linha, a partir de 1
+     * @param deslocamento Posição em bytes da primeira ocorrência, relativa
+     *                     ao início da linha
+     * @param quantidade   Quantidade de ocorrências na linha
+     * @param bytes        Bytes da linha em UTF-8 (entre posição e limite)
+     */
+    Ocorrencia(final long linha, final int deslocamento,
+               final int quantidade, final ByteBuffer bytes) {
+        this.linha = linha;
+        this.coluna = DESCONHECIDA;
+        this.deslocamento = deslocamento;
+        this.quantidade = quantidade;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Recupera o número da linha.
+     *
+     * @return O número da linha, a partir de 1
+     */
+    public long getLinha() {
+        return linha;
+    }
+
+    /**
+     * Recupera a coluna (posição na {@link String} da linha) da primeira
+     * ocorrência.
+     *
+     * @return A coluna, a partir de 0
+     */
+    public int getColuna() {
+        if (coluna == DESCONHECIDA) {
+            final int inicio = bytes.position();
+            coluna = unidadesUtf16(bytes, inicio, inicio + deslocamento);
+        }
+
+        return coluna;
+    }
+
+    /**
+     * Recupera a quantidade de ocorrências, sem sobreposição, na linha.
+     *
+     * @return A quantidade de ocorrências
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Recupera o conteúdo da linha, decodificando-o se necessário.
+     *
+     * @return O conteúdo da linha, sem o terminador
+     * @throws UncheckedIOException Se a linha não está em UTF-8
+     */
+    public String getTexto() {
+        if (texto == null) {
+            // A coluna depende dos bytes, liberados após a decodificação.
+            getColuna();
+            final byte[] copia = new byte[bytes.remaining()];
+            bytes.duplicate().get(copia);
+            texto = new String(copia, StandardCharsets.UTF_8);
+            // Sequências inválidas seriam substituídas por U+FFFD; apenas
+            // nesse caso a linha é decodificada novamente, com validação.
+            if (texto.indexOf(SUBSTITUTO) >= 0) {
+                try {
+                    texto = StandardCharsets.UTF_8.newDecoder()
+                            .decode(ByteBuffer.wrap(copia)).toString();
+                } catch (CharacterCodingException exp) {
+                    texto = null;
+                    throw new UncheckedIOException(exp);
+                }
+            }
+            bytes = null;
+        }
+
+        return texto;
+    }
+
+    /**
+     * Produz a linha do relatório correspondente à ocorrência.
+     *
+     * @return A ocorrência no formato "L(linha) C(coluna): (texto)"
+     */
+    @Override
+    public String toString() {
+        return "L" + linha + " C" + getColuna() + ": " + getTexto();
+    }
+
+    /**
+     * Calcula a quantidade de unidades UTF-16 (posições de {@link String})
+     * correspondentes a um trecho em UTF-8.
+     *
+     * @param bytes  O texto em UTF-8
+     * @param inicio Posição inicial (inclusive)
+     * @param fim    Posição final (exclusive)
+     * @return A quantidade de unidades UTF-16
+     */
+    static int unidadesUtf16(final ByteBuffer bytes, final int inicio,
+                             final int fim) {
+        int unidades = 0;
+        for (int i = inicio; i < fim; i++) {
+            final int b = bytes.get(i);
+            if ((b & 0xC0) != 0x80) {
+                // Sequências de 4 bytes correspondem a um par substituto.
+                unidades += (b & 0xF8) == 0xF0 ? 2 : 1;
+            }
+        }
+
+        return unidades;
+    }
+
+}
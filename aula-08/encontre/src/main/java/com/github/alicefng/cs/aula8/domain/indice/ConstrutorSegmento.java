@@ -0,0 +1,256 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Construção de um {@link Segmento}: as listas de ocorrências dos arquivos
+ * acrescentados são codificadas em memória, à medida que os arquivos são
+ * lidos, e gravadas no formato do segmento.
+ *
+ * <p>Não é seguro para uso por várias threads.</p>
+ */
+final class ConstrutorSegmento {
+
+    /**
+     * Lista de ocorrências de cada termo.
+     */
+    private final Map<String, ListaCodificada> listas = new HashMap<>();
+
+    /**
+     * Quantidade de documentos acrescentados.
+     */
+    private int documentos;
+
+    /**
+     * Indexa um arquivo como o próximo documento. O arquivo é lido em
+     * UTF-8; sequências inválidas são substituídas e separam palavras.
+     *
+     * @param arquivo O arquivo
+     * @return O número do documento no segmento
+     * @throws IOException Se ocorrer erro de leitura
+     */
+    int adiciona(final Path arquivo) throws IOException {
+        final int documento = documentos++;
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(arquivo), StandardCharsets.UTF_8))) {
+            String linha;
+            long numeroLinha = 0;
+            while ((linha = leitor.readLine()) != null) {
+                final String texto = linha;
+                final long numero = ++numeroLinha;
+                Palavras.percorre(texto, (inicio, fim, ordinal) ->
+                        listas.computeIfAbsent(texto.substring(inicio, fim),
+                                termo -> new ListaCodificada())
+                                .adiciona(documento, numero, ordinal,
+                                        inicio));
+            }
+        }
+
+        return documento;
+    }
+
+    /**
+     * Grava o segmento, forçando a sua gravação em disco antes de retornar,
+     * de forma que possa ser referenciado por um catálogo.
+     *
+     * @param destino O arquivo do segmento
+     * @throws IOException           Se ocorrer erro de escrita
+     * @throws IllegalStateException Se o segmento excede 2 GiB
+     */
+    void escreve(final Path destino) throws IOException {
+        final int termos = listas.size();
+        final byte[][] textos = new byte[termos][];
+        final ListaCodificada[] codificadas = new ListaCodificada[termos];
+        int i = 0;
+        for (final Map.Entry<String, ListaCodificada> entrada
+                : listas.entrySet()) {
+            textos[i] = entrada.getKey().getBytes(StandardCharsets.UTF_8);
+            codificadas[i] = entrada.getValue();
+            i++;
+        }
+        final Integer[] ordem = new Integer[termos];
+        for (i = 0; i < termos; i++) {
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> compara(textos[a], textos[b]));
+
+        long tamanhoTextos = 0;
+        long tamanhoListas = 0;
+        for (i = 0; i < termos; i++) {
+            tamanhoTextos += textos[i].length;
+            tamanhoListas += codificadas[i].tamanho;
+        }
+        final long inicioTextos = Segmento.TAMANHO_CABECALHO
+                + (long) termos * Segmento.TAMANHO_ENTRADA;
+        final long inicioListas = inicioTextos + tamanhoTextos;
+        if (inicioListas + tamanhoListas > Integer.MAX_VALUE) {
+            throw new IllegalStateException(String.format(
+                    "segmento excede 2 GiB: %d bytes",
+                    inicioListas + tamanhoListas));
+        }
+
+        try (FileChannel canal = FileChannel.open(destino,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream saida = new DataOutputStream(
+                     new BufferedOutputStream(
+                             Channels.newOutputStream(canal)))) {
+            saida.writeInt(Segmento.MAGICO);
+            saida.writeInt(Segmento.VERSAO);
+            saida.writeInt(termos);
+            saida.writeInt(documentos);
+            saida.writeLong(inicioTextos);
+            saida.writeLong(inicioListas);
+
+            int texto = 0;
+            long lista = 0;
+            for (final int termo : ordem) {
+                saida.writeLong(lista);
+                saida.writeInt(texto);
+                saida.writeInt(textos[termo].length);
+                saida.writeLong(codificadas[termo].quantidade);
+                texto += textos[termo].length;
+                lista += codificadas[termo].tamanho;
+            }
+            for (final int termo : ordem) {
+                saida.write(textos[termo]);
+            }
+            for (final int termo : ordem) {
+                saida.write(codificadas[termo].bytes, 0,
+                        codificadas[termo].tamanho);
+            }
+
+            saida.flush();
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Compara dois textos em UTF-8 byte a byte, sem sinal.
+     *
+     * @param a Um texto
+     * @param b Outro texto
+     * @return Negativo, zero ou positivo, como em
+     * {@link Comparable#compareTo(Object)}
+     */
+    private static int compara(final byte[] a, final byte[] b) {
+        final int minimo = Math.min(a.length, b.length);
+        for (int i = 0; i < minimo; i++) {
+            final int diferenca = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diferenca != 0) {
+                return diferenca;
+            }
+        }
+
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * Lista de ocorrências de um termo, codificada à medida que as
+     * ocorrências são acrescentadas, em ordem.
+     */
+    private static final class ListaCodificada {
+
+        /**
+         * Capacidade inicial, em bytes.
+         */
+        private static final int CAPACIDADE_INICIAL = 16;
+
+        /**
+         * Ocorrências codificadas.
+         */
+        private byte[] bytes = new byte[CAPACIDADE_INICIAL];
+
+        /**
+         * Quantidade de bytes empregados.
+         */
+        private int tamanho;
+
+        /**
+         * Quantidade de ocorrências.
+         */
+        private long quantidade;
+
+        /**
+         * Documento da última ocorrência.
+         */
+        private int documento;
+
+        /**
+         * Linha da última ocorrência.
+         */
+        private long linha;
+
+        /**
+         * Ordem na linha da última ocorrência.
+         */
+        private int ordinal;
+
+        /**
+         * Coluna da última ocorrência.
+         */
+        private int coluna;
+
+        /**
+         * Acrescenta uma ocorrência, posterior às já acrescentadas.
+         *
+         * @param novoDocumento O documento
+         * @param novaLinha     A linha, a partir de 1
+         * @param novoOrdinal   A ordem da palavra na linha
+         * @param novaColuna    A coluna
+         */
+        void adiciona(final int novoDocumento, final long novaLinha,
+                      final int novoOrdinal, final int novaColuna) {
+            if (novoDocumento != documento) {
+                linha = 0;
+            }
+            if (novoDocumento != documento || novaLinha != linha) {
+                ordinal = 0;
+                coluna = 0;
+            }
+
+            escreve(novoDocumento - documento);
+            escreve(novaLinha - linha);
+            escreve(novoOrdinal - ordinal);
+            escreve(novaColuna - coluna);
+            documento = novoDocumento;
+            linha = novaLinha;
+            ordinal = novoOrdinal;
+            coluna = novaColuna;
+            quantidade++;
+        }
+
+        /**
+         * Codifica um valor não negativo, 7 bits por byte.
+         *
+         * @param valor O valor
+         */
+        private void escreve(final long valor) {
+            if (bytes.length - tamanho < Long.SIZE / Segmento.BITS_POR_BYTE
+                    + 1) {
+                bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+            }
+
+            long restante = valor;
+            while (restante >= Segmento.CONTINUA) {
+                bytes[tamanho++] = (byte) (restante | Segmento.CONTINUA);
+                restante >>>= Segmento.BITS_POR_BYTE;
+            }
+            bytes[tamanho++] = (byte) restante;
+        }
+    }
+
+}
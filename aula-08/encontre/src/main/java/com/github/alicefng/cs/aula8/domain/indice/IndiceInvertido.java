@@ -0,0 +1,566 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índice invertido persistente de um conjunto de arquivos texto (UTF-8),
+ * para consultas repetidas por palavras e frases sem que os arquivos sejam
+ * lidos novamente: para cada palavra, o índice mantém o arquivo, a linha e
+ * a coluna de cada ocorrência.
+ *
+ * <p>O índice é um diretório com um catálogo (arquivo, tamanho, data de
+ * modificação e localização de cada arquivo indexado) e segmentos
+ * imutáveis, mapeados em memória ({@link Segmento}). Cada atualização
+ * indexa, em um novo segmento, apenas os arquivos novos ou cujo tamanho
+ * ou data de modificação mudaram; as versões anteriores deixam de ser
+ * consideradas, e segmentos sem arquivos vigentes são removidos. Acima de
+ * {@link #MAXIMO_SEGMENTOS} segmentos, todos os arquivos são reindexados em
+ * um só. O novo segmento e o catálogo são gravados em disco
+ * ({@link FileChannel#force(boolean)}) antes que o catálogo substitua
+ * atomicamente o anterior, de forma que uma atualização interrompida, por
+ * falha do processo ou do sistema, não corrompe o índice. Uma atualização
+ * que falha (por exemplo, por um arquivo inexistente) não altera o
+ * índice, em memória ou em disco.</p>
+ *
+ * <p>Palavras são sequências máximas de letras e dígitos; diferentemente
+ * de {@link com.github.alicefng.cs.aula8.domain.EncontraPalavraUtils}, uma
+ * consulta encontra apenas palavras inteiras (e com as mesmas maiúsculas e
+ * minúsculas). Consultas podem ser feitas por várias threads, mas não
+ * durante uma atualização; apenas um processo deve atualizar o índice.</p>
+ */
+public final class IndiceInvertido {
+
+    /**
+     * Quantidade de segmentos acima da qual os arquivos são reindexados em
+     * um único segmento.
+     */
+    public static final int MAXIMO_SEGMENTOS = 8;
+
+    /**
+     * Nome do catálogo no diretório do índice.
+     */
+    private static final String CATALOGO = "catalogo";
+
+    /**
+     * Extensão dos arquivos de segmento.
+     */
+    private static final String EXTENSAO = ".seg";
+
+    /**
+     * Identifica o catálogo.
+     */
+    private static final int MAGICO = 0x43415431;
+
+    /**
+     * Versão do formato do catálogo.
+     */
+    private static final int VERSAO = 1;
+
+    /**
+     * O diretório do índice.
+     */
+    private final Path diretorio;
+
+    /**
+     * Situação de cada arquivo indexado, por caminho absoluto.
+     */
+    private final Map<Path, Situacao> arquivos = new TreeMap<>();
+
+    /**
+     * Segmentos, por número.
+     */
+    private final Map<Integer, Segmento> segmentos = new TreeMap<>();
+
+    /**
+     * Arquivos vigentes de cada segmento, por documento (null, se a versão
+     * do documento não é mais vigente).
+     */
+    private final Map<Integer, Path[]> vigentes = new HashMap<>();
+
+    /**
+     * Número do próximo segmento.
+     */
+    private int proximoSegmento;
+
+    /**
+     * Cria índice.
+     *
+     * @param diretorio O diretório do índice
+     */
+    private IndiceInvertido(final Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Abre o índice de um diretório, criando índice vazio se o diretório não
+     * contém um.
+     *
+     * @param diretorio O diretório do índice
+     * @return O índice
+     * @throws IOException Se ocorrer erro de leitura ou se o índice é
+     *                     inválido
+     */
+    public static IndiceInvertido abre(final Path diretorio)
+            throws IOException {
+        Files.createDirectories(diretorio);
+        final IndiceInvertido indice = new IndiceInvertido(diretorio);
+        final Path catalogo = diretorio.resolve(CATALOGO);
+        if (Files.exists(catalogo)) {
+            indice.leCatalogo(catalogo);
+        }
+
+        return indice;
+    }
+
+    /**
+     * Atualiza o índice para um conjunto de arquivos: indexa os arquivos
+     * novos e os alterados desde a última atualização, e descarta os que não
+     * fazem mais parte do conjunto.
+     *
+     * @param conjunto Os arquivos a serem indexados
+     * @return A quantidade de arquivos (re)indexados
+     * @throws IOException Se ocorrer erro de leitura ou de escrita, ou se um
+     *                     dos arquivos não existe (o índice permanece como
+     *                     antes da atualização)
+     */
+    public int atualiza(final Collection<Path> conjunto) throws IOException {
+        final Set<Path> caminhos = new LinkedHashSet<>();
+        for (final Path arquivo : conjunto) {
+            caminhos.add(arquivo.toAbsolutePath().normalize());
+        }
+
+        final List<Path> alterados = new ArrayList<>();
+        for (final Path caminho : caminhos) {
+            final Situacao situacao = arquivos.get(caminho);
+            if (situacao == null || !situacao.atual(caminho)) {
+                alterados.add(caminho);
+            }
+        }
+
+        // O novo estado é montado em cópias, que só substituem o atual
+        // depois que o catálogo é gravado.
+        final Map<Path, Situacao> novosArquivos = new TreeMap<>(arquivos);
+        final boolean removidos = novosArquivos.keySet().retainAll(caminhos);
+        if (alterados.isEmpty() && !removidos) {
+            return 0;
+        }
+
+        final Map<Integer, Segmento> novosSegmentos =
+                new TreeMap<>(segmentos);
+        int proximo = proximoSegmento;
+        Path novo = null;
+        try {
+            if (!alterados.isEmpty()) {
+                if (segmentosVigentes(novosArquivos, alterados)
+                        >= MAXIMO_SEGMENTOS) {
+                    alterados.clear();
+                    alterados.addAll(caminhos);
+                }
+                final int numero = proximo++;
+                novo = diretorio.resolve(nomeSegmento(numero));
+                novosSegmentos.put(numero,
+                        indexa(alterados, numero, novo, novosArquivos));
+            }
+            novosSegmentos.keySet().retainAll(numerosVigentes(novosArquivos));
+
+            escreveCatalogo(proximo, novosSegmentos.keySet(), novosArquivos);
+        } catch (IOException | RuntimeException exp) {
+            if (novo != null) {
+                Files.deleteIfExists(novo);
+            }
+            throw exp;
+        }
+
+        arquivos.clear();
+        arquivos.putAll(novosArquivos);
+        segmentos.clear();
+        segmentos.putAll(novosSegmentos);
+        proximoSegmento = proximo;
+        atualizaVigentes();
+        removeSegmentosDescartados();
+        return alterados.size();
+    }
+
+    /**
+     * Recupera os arquivos indexados.
+     *
+     * @return Os caminhos absolutos dos arquivos, em ordem
+     */
+    public List<Path> getArquivos() {
+        return new ArrayList<>(arquivos.keySet());
+    }
+
+    /**
+     * Recupera a quantidade de segmentos.
+     *
+     * @return A quantidade de segmentos
+     */
+    public int getSegmentos() {
+        return segmentos.size();
+    }
+
+    /**
+     * Procura uma palavra ou uma frase: palavras consecutivas em uma mesma
+     * linha (os demais caracteres da consulta apenas separam as palavras).
+     *
+     * @param consulta A palavra ou frase
+     * @return A posição de cada ocorrência (da primeira palavra, para
+     * frases), ordenadas por arquivo, linha e coluna
+     * @throws IllegalArgumentException Se a consulta não contém palavras
+     */
+    public List<Posicao> procura(final String consulta) {
+        final List<String> palavras = Palavras.divide(consulta);
+        if (palavras.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "Consulta sem palavras: %s", consulta));
+        }
+        final byte[][] termos = new byte[palavras.size()][];
+        for (int i = 0; i < termos.length; i++) {
+            termos[i] = palavras.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        final List<Posicao> posicoes = new ArrayList<>();
+        for (final Map.Entry<Integer, Segmento> segmento
+                : segmentos.entrySet()) {
+            ListaInvertida lista = segmento.getValue().lista(termos[0]);
+            for (int i = 1; lista != null && i < termos.length; i++) {
+                final ListaInvertida seguinte =
+                        segmento.getValue().lista(termos[i]);
+                lista = seguinte == null ? null : lista.seguidaPor(seguinte, i);
+            }
+            if (lista == null) {
+                continue;
+            }
+
+            final Path[] documentos = vigentes.get(segmento.getKey());
+            for (int i = 0; i < lista.getTamanho(); i++) {
+                final Path arquivo = documentos[lista.getDocumento(i)];
+                if (arquivo != null) {
+                    posicoes.add(new Posicao(arquivo, lista.getLinha(i),
+                            lista.getColuna(i)));
+                }
+            }
+        }
+
+        Collections.sort(posicoes);
+        return posicoes;
+    }
+
+    /**
+     * Indexa arquivos em um novo segmento. A situação de cada arquivo é
+     * obtida antes da leitura, de forma que alterações durante a leitura
+     * são detectadas na próxima atualização.
+     *
+     * @param caminhos Os arquivos
+     * @param numero   Número do segmento
+     * @param arquivo  Arquivo do segmento
+     * @param situacao Situação de cada arquivo, a ser atualizada com os
+     *                 arquivos indexados
+     * @return O segmento
+     * @throws IOException Se ocorrer erro de leitura ou de escrita
+     */
+    private static Segmento indexa(final List<Path> caminhos,
+                                   final int numero, final Path arquivo,
+                                   final Map<Path, Situacao> situacao)
+            throws IOException {
+        final ConstrutorSegmento construtor = new ConstrutorSegmento();
+        final Map<Path, Situacao> indexados = new HashMap<>();
+        for (final Path caminho : caminhos) {
+            final BasicFileAttributes atributos = Files.readAttributes(
+                    caminho, BasicFileAttributes.class);
+            if (!atributos.isRegularFile()) {
+                throw new IOException(String.format(
+                        "Arquivo invalido: %s", caminho));
+            }
+            final int documento = construtor.adiciona(caminho);
+            indexados.put(caminho, new Situacao(atributos.size(),
+                    atributos.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                    numero, documento));
+        }
+
+        construtor.escreve(arquivo);
+        final Segmento segmento = Segmento.abre(arquivo);
+        situacao.putAll(indexados);
+        return segmento;
+    }
+
+    /**
+     * Conta os segmentos com arquivos vigentes, exceto os arquivos a serem
+     * reindexados.
+     *
+     * @param situacao    Situação de cada arquivo vigente
+     * @param reindexados Arquivos a serem reindexados
+     * @return A quantidade de segmentos
+     */
+    private static int segmentosVigentes(
+            final Map<Path, Situacao> situacao,
+            final Collection<Path> reindexados) {
+        final Set<Integer> numeros = new LinkedHashSet<>();
+        for (final Map.Entry<Path, Situacao> arquivo : situacao.entrySet()) {
+            if (!reindexados.contains(arquivo.getKey())) {
+                numeros.add(arquivo.getValue().segmento);
+            }
+        }
+
+        return numeros.size();
+    }
+
+    /**
+     * Produz os números dos segmentos com arquivos vigentes.
+     *
+     * @param situacao Situação de cada arquivo vigente
+     * @return Os números dos segmentos
+     */
+    private static Set<Integer> numerosVigentes(
+            final Map<Path, Situacao> situacao) {
+        final Set<Integer> numeros = new LinkedHashSet<>();
+        for (final Situacao arquivo : situacao.values()) {
+            numeros.add(arquivo.segmento);
+        }
+
+        return numeros;
+    }
+
+    /**
+     * Recalcula os arquivos vigentes de cada segmento.
+     */
+    private void atualizaVigentes() {
+        vigentes.clear();
+        for (final Map.Entry<Integer, Segmento> segmento
+                : segmentos.entrySet()) {
+            vigentes.put(segmento.getKey(),
+                    new Path[segmento.getValue().getDocumentos()]);
+        }
+        for (final Map.Entry<Path, Situacao> arquivo : arquivos.entrySet()) {
+            vigentes.get(arquivo.getValue().segmento)
+                    [arquivo.getValue().documento] = arquivo.getKey();
+        }
+    }
+
+    /**
+     * Lê o catálogo e mapeia os segmentos.
+     *
+     * @param catalogo O arquivo do catálogo
+     * @throws IOException Se ocorrer erro de leitura ou se o catálogo é
+     *                     inválido
+     */
+    private void leCatalogo(final Path catalogo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(catalogo)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSAO) {
+                throw new IOException("catalogo invalido");
+            }
+
+            proximoSegmento = entrada.readInt();
+            for (int i = entrada.readInt(); i > 0; i--) {
+                final int numero = entrada.readInt();
+                segmentos.put(numero, Segmento.abre(
+                        diretorio.resolve(nomeSegmento(numero))));
+            }
+            for (int i = entrada.readInt(); i > 0; i--) {
+                final Path caminho = diretorio.getFileSystem()
+                        .getPath(entrada.readUTF());
+                final Situacao situacao = new Situacao(entrada.readLong(),
+                        entrada.readLong(), entrada.readInt(),
+                        entrada.readInt());
+                final Segmento segmento = segmentos.get(situacao.segmento);
+                if (segmento == null || situacao.documento < 0
+                        || situacao.documento >= segmento.getDocumentos()) {
+                    throw new IOException("catalogo invalido");
+                }
+                arquivos.put(caminho, situacao);
+            }
+        }
+
+        atualizaVigentes();
+    }
+
+    /**
+     * Grava o catálogo em um arquivo temporário, forçado em disco, que
+     * substitui atomicamente o anterior.
+     *
+     * @param proximo   Número do próximo segmento
+     * @param numeros   Números dos segmentos
+     * @param indexados Situação de cada arquivo indexado
+     * @throws IOException Se ocorrer erro de escrita
+     */
+    private void escreveCatalogo(final int proximo,
+                                 final Collection<Integer> numeros,
+                                 final Map<Path, Situacao> indexados)
+            throws IOException {
+        final Path temporario = diretorio.resolve(CATALOGO + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream saida = new DataOutputStream(
+                     new BufferedOutputStream(
+                             Channels.newOutputStream(canal)))) {
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO);
+            saida.writeInt(proximo);
+            saida.writeInt(numeros.size());
+            for (final int numero : numeros) {
+                saida.writeInt(numero);
+            }
+            saida.writeInt(indexados.size());
+            for (final Map.Entry<Path, Situacao> arquivo
+                    : indexados.entrySet()) {
+                final Situacao situacao = arquivo.getValue();
+                saida.writeUTF(arquivo.getKey().toString());
+                saida.writeLong(situacao.tamanho);
+                saida.writeLong(situacao.modificacao);
+                saida.writeInt(situacao.segmento);
+                saida.writeInt(situacao.documento);
+            }
+
+            saida.flush();
+            canal.force(true);
+        }
+
+        Files.move(temporario, diretorio.resolve(CATALOGO),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        forcaDiretorio();
+    }
+
+    /**
+     * Força em disco a entrada do catálogo no diretório, de forma que a
+     * substituição persista. Nem todos os sistemas permitem abrir um
+     * diretório: nesses, a substituição é apenas atômica.
+     */
+    private void forcaDiretorio() {
+        try (FileChannel canal = FileChannel.open(diretorio,
+                StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException exp) {
+            // Não suportado (por exemplo, no Windows).
+        }
+    }
+
+    /**
+     * Remove os arquivos de segmentos que não constam do catálogo
+     * (descartados ou deixados por uma atualização interrompida).
+     *
+     * @throws IOException Se ocorrer erro ao listar o diretório
+     */
+    private void removeSegmentosDescartados() throws IOException {
+        try (DirectoryStream<Path> arquivosSegmento =
+                     Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            for (final Path arquivo : arquivosSegmento) {
+                final String nome = arquivo.getFileName().toString();
+                final String numero = nome.substring(0,
+                        nome.length() - EXTENSAO.length());
+                if (!segmentos.containsKey(numeroSegmento(numero))) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Produz o nome do arquivo de um segmento.
+     *
+     * @param numero O número do segmento
+     * @return O nome do arquivo
+     */
+    private static String nomeSegmento(final int numero) {
+        return String.format("%08d%s", numero, EXTENSAO);
+    }
+
+    /**
+     * Interpreta o número de um segmento a partir do nome do arquivo.
+     *
+     * @param nome O nome, sem extensão
+     * @return O número, ou -1, se o nome não é de um segmento
+     */
+    private static int numeroSegmento(final String nome) {
+        try {
+            return Integer.parseInt(nome);
+        } catch (NumberFormatException exp) {
+            return -1;
+        }
+    }
+
+    /**
+     * Situação de um arquivo indexado: tamanho e data de modificação no
+     * momento da indexação, e localização no índice.
+     */
+    private static final class Situacao {
+
+        /**
+         * Tamanho do arquivo, em bytes.
+         */
+        private final long tamanho;
+
+        /**
+         * Data de modificação, em nanossegundos.
+         */
+        private final long modificacao;
+
+        /**
+         * Número do segmento.
+         */
+        private final int segmento;
+
+        /**
+         * Número do documento no segmento.
+         */
+        private final int documento;
+
+        /**
+         * Cria situação.
+         *
+         * @param tamanho     Tamanho do arquivo
+         * @param modificacao Data de modificação, em nanossegundos
+         * @param segmento    Número do segmento
+         * @param documento   Número do documento no segmento
+         */
+        Situacao(final long tamanho, final long modificacao,
+                 final int segmento, final int documento) {
+            this.tamanho = tamanho;
+            this.modificacao = modificacao;
+            this.segmento = segmento;
+            this.documento = documento;
+        }
+
+        /**
+         * Verifica se o arquivo não foi alterado desde a indexação.
+         *
+         * @param caminho O arquivo
+         * @return verdadeiro, se o tamanho e a data de modificação são os
+         * mesmos
+         * @throws IOException Se o arquivo não existe ou não pode ser lido
+         */
+        boolean atual(final Path caminho) throws IOException {
+            final BasicFileAttributes atributos = Files.readAttributes(
+                    caminho, BasicFileAttributes.class);
+            return atributos.size() == tamanho
+                    && atributos.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                    == modificacao;
+        }
+    }
+
+}
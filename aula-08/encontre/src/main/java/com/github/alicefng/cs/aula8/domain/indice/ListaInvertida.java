@@ -0,0 +1,152 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+/**
+ * Ocorrências decodificadas de um termo em um segmento, em vetores
+ * paralelos, ordenadas por documento, linha e ordem na linha.
+ */
+final class ListaInvertida {
+
+    /**
+     * Documento de cada ocorrência.
+     */
+    private final int[] documentos;
+
+    /**
+     * Linha de cada ocorrência, a partir de 1.
+     */
+    private final long[] linhas;
+
+    /**
+     * Ordem da palavra na linha, a partir de 0.
+     */
+    private final int[] ordinais;
+
+    /**
+     * Coluna de cada ocorrência, a partir de 0.
+     */
+    private final int[] colunas;
+
+    /**
+     * Quantidade de ocorrências.
+     */
+    private int tamanho;
+
+    /**
+     * Cria lista vazia.
+     *
+     * @param capacidade Quantidade de ocorrências a serem acrescentadas
+     */
+    ListaInvertida(final int capacidade) {
+        documentos = new int[capacidade];
+        linhas = new long[capacidade];
+        ordinais = new int[capacidade];
+        colunas = new int[capacidade];
+    }
+
+    /**
+     * Acrescenta uma ocorrência, em ordem.
+     *
+     * @param documento O documento
+     * @param linha     A linha
+     * @param ordinal   A ordem da palavra na linha
+     * @param coluna    A coluna
+     */
+    void adiciona(final int documento, final long linha, final int ordinal,
+                  final int coluna) {
+        documentos[tamanho] = documento;
+        linhas[tamanho] = linha;
+        ordinais[tamanho] = ordinal;
+        colunas[tamanho] = coluna;
+        tamanho++;
+    }
+
+    /**
+     * Recupera a quantidade de ocorrências.
+     *
+     * @return A quantidade de ocorrências
+     */
+    int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Recupera o documento de uma ocorrência.
+     *
+     * @param i Índice da ocorrência
+     * @return O documento
+     */
+    int getDocumento(final int i) {
+        return documentos[i];
+    }
+
+    /**
+     * Recupera a linha de uma ocorrência.
+     *
+     * @param i Índice da ocorrência
+     * @return A linha, a partir de 1
+     */
+    long getLinha(final int i) {
+        return linhas[i];
+    }
+
+    /**
+     * Recupera a coluna de uma ocorrência.
+     *
+     * @param i Índice da ocorrência
+     * @return A coluna, a partir de 0
+     */
+    int getColuna(final int i) {
+        return colunas[i];
+    }
+
+    /**
+     * Seleciona as ocorrências seguidas, na mesma linha e a uma distância
+     * fornecida (em palavras), por uma ocorrência de outra lista. As duas
+     * listas são percorridas uma única vez, em paralelo.
+     *
+     * @param outra     A outra lista
+     * @param distancia Distância, em palavras
+     * @return As ocorrências selecionadas desta lista
+     */
+    ListaInvertida seguidaPor(final ListaInvertida outra,
+                              final int distancia) {
+        final ListaInvertida selecionadas = new ListaInvertida(
+                Math.min(tamanho, outra.tamanho));
+        int j = 0;
+        for (int i = 0; i < tamanho && j < outra.tamanho; i++) {
+            while (j < outra.tamanho && compara(outra, j, i, distancia) < 0) {
+                j++;
+            }
+            if (j < outra.tamanho && compara(outra, j, i, distancia) == 0) {
+                selecionadas.adiciona(documentos[i], linhas[i], ordinais[i],
+                        colunas[i]);
+            }
+        }
+
+        return selecionadas;
+    }
+
+    /**
+     * Compara a ocorrência de outra lista, recuada de uma distância, com
+     * uma ocorrência desta lista.
+     *
+     * @param outra     A outra lista
+     * @param j         Índice na outra lista
+     * @param i         Índice nesta lista
+     * @param distancia Distância, em palavras
+     * @return Negativo, zero ou positivo, como em
+     * {@link Comparable#compareTo(Object)}
+     */
+    private int compara(final ListaInvertida outra, final int j, final int i,
+                        final int distancia) {
+        if (outra.documentos[j] != documentos[i]) {
+            return Integer.compare(outra.documentos[j], documentos[i]);
+        }
+        if (outra.linhas[j] != linhas[i]) {
+            return Long.compare(outra.linhas[j], linhas[i]);
+        }
+        return Long.compare((long) outra.ordinais[j] - distancia,
+                ordinais[i]);
+    }
+
+}
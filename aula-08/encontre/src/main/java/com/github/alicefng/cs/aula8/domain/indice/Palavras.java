@@ -0,0 +1,77 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divisão de linhas em palavras: sequências máximas de letras e dígitos
+ * ({@link Character#isLetterOrDigit(int)}). Os demais caracteres separam
+ * palavras e não são indexados.
+ */
+final class Palavras {
+
+    /**
+     * Recebe cada palavra de uma linha.
+     */
+    @FunctionalInterface
+    interface ConsumidorDePalavras {
+
+        /**
+         * Recebe uma palavra.
+         *
+         * @param inicio  Posição inicial da palavra (inclusive)
+         * @param fim     Posição final da palavra (exclusive)
+         * @param ordinal Ordem da palavra na linha, a partir de 0
+         */
+        void aceita(int inicio, int fim, int ordinal);
+    }
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private Palavras() {
+    }
+
+    /**
+     * Percorre as palavras de uma linha.
+     *
+     * @param linha      A linha
+     * @param consumidor Recebe cada palavra
+     */
+    static void percorre(final CharSequence linha,
+                         final ConsumidorDePalavras consumidor) {
+        int ordinal = 0;
+        int inicio = -1;
+        int i = 0;
+        while (i < linha.length()) {
+            final int c = Character.codePointAt(linha, i);
+            if (Character.isLetterOrDigit(c)) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                consumidor.aceita(inicio, i, ordinal++);
+                inicio = -1;
+            }
+            i += Character.charCount(c);
+        }
+
+        if (inicio >= 0) {
+            consumidor.aceita(inicio, linha.length(), ordinal);
+        }
+    }
+
+    /**
+     * Divide um texto em palavras.
+     *
+     * @param texto O texto
+     * @return As palavras, em ordem
+     */
+    static List<String> divide(final String texto) {
+        final List<String> palavras = new ArrayList<>();
+        percorre(texto, (inicio, fim, ordinal) ->
+                palavras.add(texto.substring(inicio, fim)));
+        return palavras;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import java.nio.file.Path;
+
+/**
+ * Posição de uma palavra (ou da primeira palavra de uma frase) em um
+ * arquivo indexado.
+ */
+public final class Posicao implements Comparable<Posicao> {
+
+    /**
+     * O arquivo.
+     */
+    private final Path arquivo;
+
+    /**
+     * Número da linha, a partir de 1.
+     */
+    private final long linha;
+
+    /**
+     * Coluna (posição na {@link String} da linha), a partir de 0.
+     */
+    private final int coluna;
+
+    /**
+     * Cria posição.
+     *
+     * @param arquivo O arquivo
+     * @param linha   Número da linha, a partir de 1
+     * @param coluna  Coluna, a partir de 0
+     */
+    Posicao(final Path arquivo, final long linha, final int coluna) {
+        this.arquivo = arquivo;
+        this.linha = linha;
+        this.coluna = coluna;
+    }
+
+    /**
+     * Recupera o arquivo.
+     *
+     * @return O caminho absoluto do arquivo
+     */
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Recupera o número da linha.
+     *
+     * @return O número da linha, a partir de 1
+     */
+    public long getLinha() {
+        return linha;
+    }
+
+    /**
+     * Recupera a coluna, como em
+     * {@link com.github.alicefng.cs.aula8.domain.Ocorrencia#getColuna()}.
+     *
+     * @return A coluna, a partir de 0
+     */
+    public int getColuna() {
+        return coluna;
+    }
+
+    @Override
+    public int compareTo(final Posicao outra) {
+        final int porArquivo = arquivo.compareTo(outra.arquivo);
+        if (porArquivo != 0) {
+            return porArquivo;
+        }
+        final int porLinha = Long.compare(linha, outra.linha);
+        return porLinha != 0 ? porLinha : Integer.compare(coluna, outra.coluna);
+    }
+
+    @Override
+    public boolean equals(final Object objeto) {
+        if (!(objeto instanceof Posicao)) {
+            return false;
+        }
+
+        final Posicao outra = (Posicao) objeto;
+        return arquivo.equals(outra.arquivo) && linha == outra.linha
+                && coluna == outra.coluna;
+    }
+
+    @Override
+    public int hashCode() {
+        return (arquivo.hashCode() * 31 + Long.hashCode(linha)) * 31 + coluna;
+    }
+
+    /**
+     * Produz a posição no formato "(arquivo) L(linha) C(coluna)".
+     *
+     * @return A posição
+     */
+    @Override
+    public String toString() {
+        return arquivo + " L" + linha + " C" + coluna;
+    }
+
+}
@@ -0,0 +1,272 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Segmento imutável do índice, mapeado em memória: o dicionário de termos,
+ * ordenado pelos bytes em UTF-8 e consultado por busca binária, e as
+ * listas de ocorrências de cada termo, com diferenças codificadas em bytes
+ * de tamanho variável. Apenas as listas dos termos consultados são
+ * decodificadas.
+ *
+ * <p>Formato: cabeçalho ({@link #MAGICO}, {@link #VERSAO}, quantidade de
+ * termos, quantidade de documentos, início dos textos e início das listas);
+ * uma entrada de {@link #TAMANHO_ENTRADA} bytes por termo (posição da
+ * lista, posição e tamanho do texto, quantidade de ocorrências); os textos
+ * dos termos; e as listas. Cada ocorrência de uma lista é codificada como
+ * quatro diferenças em relação à anterior: documento, linha, ordem na linha
+ * e coluna (linha, ordem e coluna recomeçam de 0 a cada documento, e ordem
+ * e coluna, a cada linha).</p>
+ *
+ * <p>As consultas empregam apenas leituras absolutas, de forma que podem
+ * ser feitas por várias threads.</p>
+ */
+final class Segmento {
+
+    /**
+     * Identifica arquivos de segmento.
+     */
+    static final int MAGICO = 0x53454731;
+
+    /**
+     * Versão do formato.
+     */
+    static final int VERSAO = 1;
+
+    /**
+     * Tamanho do cabeçalho, em bytes.
+     */
+    static final int TAMANHO_CABECALHO = 32;
+
+    /**
+     * Tamanho de cada entrada do dicionário, em bytes.
+     */
+    static final int TAMANHO_ENTRADA = 24;
+
+    /**
+     * Bits de dados de cada byte de um valor codificado.
+     */
+    static final int BITS_POR_BYTE = 7;
+
+    /**
+     * Indica que o valor continua no próximo byte.
+     */
+    static final int CONTINUA = 0x80;
+
+    /**
+     * O conteúdo do segmento.
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Quantidade de termos.
+     */
+    private final int termos;
+
+    /**
+     * Quantidade de documentos.
+     */
+    private final int documentos;
+
+    /**
+     * Posição dos textos dos termos.
+     */
+    private final int inicioTextos;
+
+    /**
+     * Posição das listas de ocorrências.
+     */
+    private final int inicioListas;
+
+    /**
+     * Cria segmento sobre o conteúdo de um arquivo.
+     *
+     * @param bytes O conteúdo
+     * @throws IOException Se o conteúdo não é um segmento válido
+     */
+    private Segmento(final ByteBuffer bytes) throws IOException {
+        if (bytes.capacity() < TAMANHO_CABECALHO
+                || bytes.getInt(0) != MAGICO || bytes.getInt(4) != VERSAO) {
+            throw new IOException("segmento invalido");
+        }
+
+        this.bytes = bytes;
+        termos = bytes.getInt(8);
+        documentos = bytes.getInt(12);
+        final long textos = bytes.getLong(16);
+        final long listas = bytes.getLong(24);
+        if (termos < 0 || documentos < 0
+                || textos != TAMANHO_CABECALHO + (long) termos * TAMANHO_ENTRADA
+                || listas < textos || listas > bytes.capacity()) {
+            throw new IOException("segmento invalido");
+        }
+        inicioTextos = (int) textos;
+        inicioListas = (int) listas;
+    }
+
+    /**
+     * Mapeia um arquivo de segmento.
+     *
+     * @param arquivo O arquivo
+     * @return O segmento
+     * @throws IOException Se ocorrer erro de leitura ou se o arquivo não é
+     *                     um segmento válido
+     */
+    static Segmento abre(final Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("segmento invalido");
+            }
+            return new Segmento(canal.map(FileChannel.MapMode.READ_ONLY, 0,
+                    canal.size()));
+        }
+    }
+
+    /**
+     * Recupera a quantidade de documentos.
+     *
+     * @return A quantidade de documentos
+     */
+    int getDocumentos() {
+        return documentos;
+    }
+
+    /**
+     * Decodifica a lista de ocorrências de um termo.
+     *
+     * @param termo O termo, em UTF-8
+     * @return A lista, ou null, se o termo não ocorre no segmento
+     */
+    ListaInvertida lista(final byte[] termo) {
+        final int entrada = procura(termo);
+        if (entrada < 0) {
+            return null;
+        }
+
+        final int base = TAMANHO_CABECALHO + entrada * TAMANHO_ENTRADA;
+        final long quantidade = bytes.getLong(base + 16);
+        if (quantidade > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(String.format(
+                    "termo com ocorrencias demais: %d", quantidade));
+        }
+
+        final ListaInvertida lista = new ListaInvertida((int) quantidade);
+        final Leitor leitor = new Leitor(inicioListas
+                + (int) bytes.getLong(base));
+        int documento = 0;
+        long linha = 0;
+        int ordinal = 0;
+        int coluna = 0;
+        for (int i = 0; i < quantidade; i++) {
+            final int diferencaDocumento = (int) leitor.proximo();
+            final long diferencaLinha = leitor.proximo();
+            if (diferencaDocumento > 0) {
+                documento += diferencaDocumento;
+                linha = 0;
+            }
+            if (diferencaDocumento > 0 || diferencaLinha > 0) {
+                linha += diferencaLinha;
+                ordinal = 0;
+                coluna = 0;
+            }
+            ordinal += (int) leitor.proximo();
+            coluna += (int) leitor.proximo();
+            lista.adiciona(documento, linha, ordinal, coluna);
+        }
+
+        return lista;
+    }
+
+    /**
+     * Procura um termo no dicionário, por busca binária.
+     *
+     * @param termo O termo, em UTF-8
+     * @return O índice da entrada do termo, ou -1, se não há
+     */
+    private int procura(final byte[] termo) {
+        int inferior = 0;
+        int superior = termos - 1;
+        while (inferior <= superior) {
+            final int meio = (inferior + superior) >>> 1;
+            final int comparacao = compara(meio, termo);
+            if (comparacao < 0) {
+                inferior = meio + 1;
+            } else if (comparacao > 0) {
+                superior = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compara, byte a byte e sem sinal, o texto de uma entrada com um
+     * termo.
+     *
+     * @param entrada O índice da entrada
+     * @param termo   O termo, em UTF-8
+     * @return Negativo, zero ou positivo, como em
+     * {@link Comparable#compareTo(Object)}
+     */
+    private int compara(final int entrada, final byte[] termo) {
+        final int base = TAMANHO_CABECALHO + entrada * TAMANHO_ENTRADA;
+        final int texto = inicioTextos + bytes.getInt(base + 8);
+        final int tamanho = bytes.getInt(base + 12);
+        final int minimo = Math.min(tamanho, termo.length);
+        for (int i = 0; i < minimo; i++) {
+            final int diferenca = (bytes.get(texto + i) & 0xFF)
+                    - (termo[i] & 0xFF);
+            if (diferenca != 0) {
+                return diferenca;
+            }
+        }
+
+        return Integer.compare(tamanho, termo.length);
+    }
+
+    /**
+     * Decodifica valores de tamanho variável a partir de uma posição.
+     */
+    private final class Leitor {
+
+        /**
+         * Posição do próximo byte.
+         */
+        private int posicao;
+
+        /**
+         * Cria leitor.
+         *
+         * @param posicao Posição do primeiro valor
+         */
+        Leitor(final int posicao) {
+            this.posicao = posicao;
+        }
+
+        /**
+         * Decodifica o próximo valor.
+         *
+         * @return O valor
+         */
+        long proximo() {
+            long valor = 0;
+            int deslocamento = 0;
+            int b;
+            do {
+                b = bytes.get(posicao++) & 0xFF;
+                valor |= (long) (b & ~CONTINUA) << deslocamento;
+                deslocamento += BITS_POR_BYTE;
+            } while ((b & CONTINUA) != 0);
+
+            return valor;
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+/**
+ * Índice invertido persistente para consultas repetidas por palavras e
+ * frases em um conjunto de arquivos. Contém as classes:
+ * {@link com.github.alicefng.cs.aula8.domain.indice.IndiceInvertido} e
+ * {@link com.github.alicefng.cs.aula8.domain.indice.Posicao}
+ * @see com.github.alicefng.cs.aula8.domain.indice.IndiceInvertido
+ * @see com.github.alicefng.cs.aula8.domain.indice.Posicao
+ */
+package com.github.alicefng.cs.aula8.domain.indice;
@@ -1,6 +1,20 @@
 /**
- * Pacote do repositório "cs-2019-01". Contém uma classe:
- * {@link com.github.alicefng.cs.aula8.domain.EncontraPalavraUtils}
+ * Pacote do repositório "cs-2019-01". Contém as classes:
+ * {@link com.github.alicefng.cs.aula8.domain.EncontraPalavraUtils},
+ * {@link com.github.alicefng.cs.aula8.domain.Busca} (busca literal ou por
+ * expressão regular),
+ * {@link com.github.alicefng.cs.aula8.domain.Equivalencia} (buscas sem
+ * diferenciar maiúsculas ou acentos),
+ * {@link com.github.alicefng.cs.aula8.domain.BuscaMultipla} (busca de vários
+ * termos em uma só leitura),
+ * {@link com.github.alicefng.cs.aula8.domain.BuscaDiretorio} (busca
+ * recursiva em diretórios) e
+ * {@link com.github.alicefng.cs.aula8.domain.Ocorrencia}
  * @see com.github.alicefng.cs.aula8.domain.EncontraPalavraUtils
+ * @see com.github.alicefng.cs.aula8.domain.Busca
+ * @see com.github.alicefng.cs.aula8.domain.Equivalencia
+ * @see com.github.alicefng.cs.aula8.domain.BuscaMultipla
+ * @see com.github.alicefng.cs.aula8.domain.BuscaDiretorio
+ * @see com.github.alicefng.cs.aula8.domain.Ocorrencia
  */
 package com.github.alicefng.cs.aula8.domain;
@@ -2,8 +2,12 @@ package com.github.alicefng.cs.aula8.application.console;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +33,173 @@ public class ProgramaTest {
         Programa.main(args);
     }
 
+    private String saida(String[] args) throws IOException {
+        final PrintStream original = System.out;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            Programa.main(args);
+        } finally {
+            System.setOut(original);
+        }
+        return bytes.toString();
+    }
+
+    @Test
+    public void testMainExpressaoRegular() throws IOException {
+        String[] args = {"--regex", getFilename("arquivo-com-frase.txt"),
+                "ne.er"};
+        Programa.main(args);
+    }
+
+    @Test
+    public void testMainSaida() throws IOException {
+        String esperado = String.format("Encontradas: 3%n"
+                + "L1 C6: It is never too late to be what you might have been. "
+                + "George Eliot%n"
+                + "L3 C1:  never never%n%n");
+
+        assertEquals(esperado, saida(new String[] {
+                getFilename("arquivo-com-frase.txt"), "never"}));
+        assertEquals(esperado, saida(new String[] {"--regex",
+                getFilename("arquivo-com-frase.txt"), "n[e]ver"}));
+    }
+
+    @Test
+    public void testMainVariasPalavras() throws IOException {
+        String esperado = String.format("Palavra: never%n"
+                + "Encontradas: 3%n"
+                + "Palavra: Eliot%n"
+                + "Encontradas: 1%n"
+                + "never: L1 C6: It is never too late to be what you might "
+                + "have been. George Eliot%n"
+                + "Eliot: L1 C60: It is never too late to be what you might "
+                + "have been. George Eliot%n"
+                + "never: L3 C1:  never never%n%n");
+
+        assertEquals(esperado, saida(new String[] {
+                getFilename("arquivo-com-frase.txt"), "never", "Eliot"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--regex",
+                        getFilename("arquivo-com-frase.txt"), "a", "b"}));
+    }
+
+    @Test
+    public void testMainContarEMaximo() throws IOException {
+        final String arquivo = getFilename("arquivo-com-frase.txt");
+        assertEquals(String.format("Encontradas: 3%n%n"),
+                saida(new String[] {"--contar", arquivo, "never"}));
+        assertEquals(String.format("Encontradas: 3%n%n"),
+                saida(new String[] {"--contar", "--regex", arquivo, "nev.r"}));
+        assertEquals(String.format("Encontradas: 1%n"
+                        + "L3 C1:  never never%n%n"),
+                saida(new String[] {"--maximo=1", "--regex", arquivo,
+                        "never n"}));
+        assertEquals(String.format("Encontradas: 1%n"
+                        + "L1 C6: It is never too late to be what you might "
+                        + "have been. George Eliot%n%n"),
+                saida(new String[] {"--maximo=1", arquivo, "never"}));
+        assertEquals(String.format("Encontradas: 1%n%n"),
+                saida(new String[] {"--maximo=1", "--contar", arquivo,
+                        "never"}));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--maximo=-1", arquivo,
+                        "never"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--maximo=x", arquivo,
+                        "never"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--contar", arquivo,
+                        "never", "late"}));
+    }
+
+    @Test
+    public void testMainRecursivo() throws IOException {
+        final Path raiz = Files.createTempDirectory("encontre");
+        final Path log = raiz.resolve("a.log");
+        final Path txt = raiz.resolve("b.txt");
+        Files.write(log, "sem\nnever never\n".getBytes("UTF-8"));
+        Files.write(txt, "never\n".getBytes("UTF-8"));
+        try {
+            assertEquals(String.format("Arquivo: a.log%n"
+                            + "Encontradas: 2%n"
+                            + "L2 C0: never never%n%n"),
+                    saida(new String[] {"--recursivo", "--incluir=*.log",
+                            raiz.toString(), "never"}));
+            assertEquals(String.format("Arquivo: a.log%n"
+                            + "Encontradas: 2%n"
+                            + "L2 C0: never never%n"
+                            + "Arquivo: b.txt%n"
+                            + "Encontradas: 1%n"
+                            + "L1 C0: never%n%n"),
+                    saida(new String[] {"--recursivo", "--regex", "--",
+                            raiz.toString(), "nev.r"}));
+        } finally {
+            Files.delete(log);
+            Files.delete(txt);
+            Files.delete(raiz);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--incluir=*.log",
+                        getFilename("arquivo-com-frase.txt"), "never"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--desconhecida",
+                        getFilename("arquivo-com-frase.txt"), "never"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(new String[] {"--recursivo",
+                        getFilename("arquivo-com-frase.txt"), "never"}));
+    }
+
+    @Test
+    public void testMainEquivalencia() throws IOException {
+        final Path arquivo = Files.createTempFile("encontre", ".txt");
+        try {
+            Files.write(arquivo, "Acao acao\nACAO\n".getBytes("UTF-8"));
+            final String caminho = arquivo.toString();
+            assertEquals(String.format("Encontradas: 3%n"
+                            + "L1 C0: Acao acao%nL2 C0: ACAO%n%n"),
+                    saida(new String[] {"--ignorar-caixa", caminho,
+                            "acaO"}));
+            assertEquals(String.format("Encontradas: 1%n"
+                            + "L1 C5: Acao acao%n%n"),
+                    saida(new String[] {"--ignorar-acentos", caminho,
+                            "ação"}));
+            assertEquals(String.format("Encontradas: 3%n%n"),
+                    saida(new String[] {"--ignorar-caixa",
+                            "--ignorar-acentos", "--contar", caminho,
+                            "AÇÃO"}));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> Programa.main(new String[] {"--regex",
+                            "--ignorar-caixa", caminho, "a.a"}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> Programa.main(new String[] {"--ignorar-acentos",
+                            caminho, "acao", "ACAO"}));
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+
+    @Test
+    public void testMainArquivoInvalido() throws IOException {
+        final Path arquivo = Files.createTempFile("encontre", ".txt");
+        try {
+            Files.write(arquivo, new byte[] {'a', 'b', 'c', '\n',
+                    (byte) 0xff, (byte) 0xfe, '\n'});
+            final String caminho = arquivo.toString();
+            assertThrows(IllegalArgumentException.class,
+                    () -> saida(new String[] {caminho, "abc"}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> saida(new String[] {"--contar", caminho, "abc"}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> saida(new String[] {"--regex", caminho, "abc"}));
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+
     @Test
     public void testMainExcecoes() throws IOException {
         String[] args = {getFilename("arquivo-vazio.txt"), "texto"};
@@ -42,6 +213,10 @@ public class ProgramaTest {
         String[] args3 = {getFilename("arquivo-vazio.txt")};
         assertThrows(IllegalArgumentException.class,
                 () -> Programa.main(args3));
+
+        String[] args4 = {"--regex", "texto"};
+        assertThrows(IllegalArgumentException.class,
+                () -> Programa.main(args4));
     }
 
 }
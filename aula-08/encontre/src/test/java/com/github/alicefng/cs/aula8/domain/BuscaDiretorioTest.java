@@ -0,0 +1,215 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BuscaDiretorioTest {
+
+    private Path raiz;
+
+    @BeforeEach
+    public void criaDiretorio() throws IOException {
+        raiz = Files.createTempDirectory("encontre");
+        escreve("a.log", "erro um\nok\nerro erro\n");
+        escreve("b.txt", "erro em texto\n");
+        escreve("sub/c.log", "nada\n");
+        escreve("sub/d.log", "ainda um erro\n");
+        escreve("sub/antigos/e.log", "erro antigo\n");
+        escreve("vazio.log", "");
+        Files.write(raiz.resolve("binario.log"),
+                new byte[] {'e', 'r', 'r', 'o', (byte) 0xff, '\n'});
+    }
+
+    @AfterEach
+    public void removeDiretorio() throws IOException {
+        try (Stream<Path> caminhos = Files.walk(raiz)) {
+            for (final Path caminho : caminhos
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList())) {
+                Files.delete(caminho);
+            }
+        }
+    }
+
+    private void escreve(final String relativo, final String conteudo)
+            throws IOException {
+        final Path arquivo = raiz.resolve(relativo);
+        Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Path> caminhos(final String... relativos) {
+        final List<Path> caminhos = new ArrayList<>();
+        for (final String relativo : relativos) {
+            caminhos.add(Paths.get(relativo));
+        }
+        return caminhos;
+    }
+
+    @Test
+    public void filtros() throws IOException {
+        assertEquals(caminhos("a.log", "b.txt", "binario.log",
+                "sub/antigos/e.log", "sub/c.log", "sub/d.log", "vazio.log"),
+                new BuscaDiretorio(raiz, () -> Busca.literal("erro"))
+                        .getArquivos());
+
+        assertEquals(caminhos("a.log", "binario.log", "sub/c.log",
+                "sub/d.log", "vazio.log"),
+                new BuscaDiretorio(raiz, () -> Busca.literal("erro"))
+                        .inclui("*.log").exclui("antigos").getArquivos());
+
+        assertEquals(caminhos("a.log", "b.txt", "binario.log", "vazio.log"),
+                new BuscaDiretorio(raiz, () -> Busca.literal("erro"))
+                        .exclui("sub/**").getArquivos());
+    }
+
+    @Test
+    public void percorreEmOrdem() throws IOException {
+        final List<String> saida = new ArrayList<>();
+        final long total = new BuscaDiretorio(raiz,
+                () -> Busca.expressaoRegular("er+o"))
+                .limitaArquivosAbertos(2)
+                .percorre((arquivo, ocorrencias) -> {
+                    saida.add(arquivo + " " + ocorrencias);
+                    return linha -> saida.add(linha.toString());
+                });
+
+        assertEquals(Arrays.asList("a.log 3", "L1 C0: erro um",
+                "L3 C0: erro erro", "b.txt 1", "L1 C0: erro em texto",
+                "sub/antigos/e.log 1", "L1 C0: erro antigo",
+                "sub/d.log 1", "L1 C9: ainda um erro"), saida);
+        assertEquals(6, total);
+    }
+
+    @Test
+    public void ocorrenciasExcedentesEmArquivoTemporario()
+            throws IOException {
+        final StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            conteudo.append("erro ").append(i).append(" \u00e7\n");
+        }
+        escreve("sub/muitos.log", conteudo.toString());
+
+        for (final long limite : new long[] {0, 200, Long.MAX_VALUE}) {
+            final List<String> saida = new ArrayList<>();
+            final long total = new BuscaDiretorio(raiz,
+                    () -> Busca.literal("erro"))
+                    .limitaCaracteresPorArquivo(limite)
+                    .limitaArquivosAbertos(2)
+                    .inclui("muitos.log")
+                    .percorre((arquivo, ocorrencias) -> {
+                        saida.add(arquivo + " " + ocorrencias);
+                        return linha -> saida.add(linha.toString());
+                    });
+
+            assertEquals(50, total);
+            assertEquals(51, saida.size());
+            assertEquals("sub/muitos.log 50", saida.get(0));
+            for (int i = 0; i < 50; i++) {
+                assertEquals("L" + (i + 1) + " C0: erro " + i + " \u00e7",
+                        saida.get(i + 1), "limite " + limite);
+            }
+        }
+    }
+
+    @Test
+    public void arquivoRemovidoAposListagem() throws IOException {
+        final Path removido = raiz.resolve("b.txt");
+        final List<String> arquivos = new ArrayList<>();
+        final long total = new BuscaDiretorio(raiz, () -> {
+            // Chamado na primeira leitura, após a listagem.
+            apaga(removido);
+            return Busca.literal("erro");
+        }).limitaArquivosAbertos(1).percorre((arquivo, ocorrencias) -> {
+            arquivos.add(arquivo.toString());
+            return linha -> { };
+        });
+
+        assertEquals(Arrays.asList("a.log", "sub/antigos/e.log",
+                "sub/d.log"), arquivos);
+        assertEquals(5, total);
+    }
+
+    @Test
+    public void erroDeLeituraEncerraBusca() throws IOException {
+        final Path substituido = raiz.resolve("b.txt");
+        final BuscaDiretorio busca = new BuscaDiretorio(raiz, () -> {
+            // Um diretório no lugar do arquivo não pode ser lido.
+            apaga(substituido);
+            try {
+                Files.createDirectory(substituido);
+            } catch (IOException exp) {
+                throw new UncheckedIOException(exp);
+            }
+            return Busca.literal("erro");
+        }).limitaArquivosAbertos(1);
+
+        assertThrows(IOException.class, () -> busca.percorre(
+                (arquivo, ocorrencias) -> linha -> { }));
+    }
+
+    private static void apaga(final Path caminho) {
+        try {
+            Files.deleteIfExists(caminho);
+        } catch (IOException exp) {
+            throw new UncheckedIOException(exp);
+        }
+    }
+
+    @Test
+    public void muitosArquivos() throws IOException {
+        for (int i = 0; i < 200; i++) {
+            escreve(String.format("muitos/%03d.txt", i),
+                    i % 3 == 0 ? "x\n" + i + "\n" : "x\n");
+        }
+
+        final List<String> arquivos = new ArrayList<>();
+        final long total = new BuscaDiretorio(raiz.resolve("muitos"),
+                () -> Busca.literal("0"))
+                .limitaArquivosAbertos(3)
+                .percorre((arquivo, ocorrencias) -> {
+                    arquivos.add(arquivo.toString());
+                    return linha -> { };
+                });
+
+        final List<String> esperados = new ArrayList<>();
+        long esperado = 0;
+        for (int i = 0; i < 200; i += 3) {
+            final String numero = Integer.toString(i);
+            if (numero.contains("0")) {
+                esperados.add(String.format("%03d.txt", i));
+                esperado += EncontraPalavraUtils.conteOcorrencias("0",
+                        numero);
+            }
+        }
+        assertEquals(esperados, arquivos);
+        assertEquals(esperado, total);
+    }
+
+    @Test
+    public void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BuscaDiretorio(raiz.resolve("a.log"),
+                        () -> Busca.literal("erro")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BuscaDiretorio(raiz, () -> Busca.literal("erro"))
+                        .limitaArquivosAbertos(0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BuscaMultiplaTest {
+
+    private static String aleatorio(final Random gerador,
+                                    final String alfabeto, final int maximo) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 1 + gerador.nextInt(maximo); i > 0; i--) {
+            sb.append(alfabeto.charAt(gerador.nextInt(alfabeto.length())));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void confereComBuscaLiteral() {
+        final Random gerador = new Random(45);
+        // ASCII e não ASCII, com caracteres de mesmo byte inferior.
+        final String alfabeto = "abãšŠ";
+        for (int caso = 0; caso < 300; caso++) {
+            final String[] termos = new String[1 + gerador.nextInt(6)];
+            for (int i = 0; i < termos.length; i++) {
+                termos[i] = aleatorio(gerador, alfabeto, 3);
+            }
+            final BuscaMultipla busca = new BuscaMultipla(termos);
+            final BuscaMultipla.Varredura varredura = busca.varredura();
+
+            final String linha = aleatorio(gerador, alfabeto, 40);
+            final List<String> obtidas = new ArrayList<>();
+            varredura.percorre(linha, 1, (termo, ocorrencia) ->
+                    obtidas.add(termo + ":" + ocorrencia.getColuna() + ":"
+                            + ocorrencia.getQuantidade()));
+
+            final List<String> esperadas = new ArrayList<>();
+            final long[] totais = new long[termos.length];
+            for (int i = 0; i < termos.length; i++) {
+                final Busca literal = Busca.literal(termos[i]);
+                final int coluna = literal.procura(linha, 0);
+                if (coluna != -1) {
+                    final int quantidade =
+                            literal.conteOcorrencias(linha, coluna);
+                    esperadas.add(i + ":" + coluna + ":" + quantidade);
+                    totais[i] = quantidade;
+                }
+            }
+
+            assertEquals(esperadas, obtidas,
+                    String.join(",", termos) + " em " + linha);
+            assertArrayEquals(totais, varredura.getTotais());
+        }
+    }
+
+    @Test
+    public void termosSobrepostos() {
+        final BuscaMultipla busca = new BuscaMultipla("he", "she", "hers",
+                "he");
+        final BuscaMultipla.Varredura varredura = busca.varredura();
+        varredura.percorre("ushers", 1, (termo, ocorrencia) -> { });
+        varredura.percorre("he", 2, (termo, ocorrencia) -> { });
+
+        assertArrayEquals(new long[] {2, 1, 1, 2}, varredura.getTotais());
+        assertEquals("hers", busca.getTermo(2));
+        assertEquals(4, busca.getQuantidade());
+    }
+
+    @Test
+    public void termosInvalidos() {
+        assertThrows(IllegalArgumentException.class, BuscaMultipla::new);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BuscaMultipla("a", ""));
+    }
+}
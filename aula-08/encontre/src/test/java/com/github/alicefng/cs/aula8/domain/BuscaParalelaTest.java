@@ -0,0 +1,208 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BuscaParalelaTest {
+
+    private static Path arquivo(final byte[] conteudo) throws IOException {
+        final Path arquivo = Files.createTempFile("busca", ".txt");
+        arquivo.toFile().deleteOnExit();
+        Files.write(arquivo, conteudo);
+        return arquivo;
+    }
+
+    @Test
+    public void confereComBuscaSequencial() throws IOException {
+        final Random gerador = new Random(43);
+        final String[] pedacos = {"ab", "a", "b", " ", "ção", "😀", "\n",
+                "\r\n", "\r"};
+        final String[] termos = {"ab", "a", "ção", "😀a", "bç", ""};
+        for (int caso = 0; caso < 200; caso++) {
+            final StringBuilder texto = new StringBuilder();
+            for (int i = 1 + gerador.nextInt(80); i > 0; i--) {
+                texto.append(pedacos[gerador.nextInt(pedacos.length)]);
+            }
+            final String caminho = arquivo(texto.toString()
+                    .getBytes(StandardCharsets.UTF_8)).toString();
+            final String termo = termos[caso % termos.length];
+
+            final String esperado = EncontraPalavraUtils.encontraPalavra(
+                    caminho, Busca.literal(termo));
+            for (final long trecho : new long[] {1, 2, 3, 7, 64, 1 << 20}) {
+                assertEquals(esperado, EncontraPalavraUtils
+                                .encontraPalavraParalelo(caminho, termo,
+                                        trecho),
+                        "trecho " + trecho + ": " + texto);
+                assertEquals(esperado, EncontraPalavraUtils
+                                .encontraPalavraBytes(caminho, termo, trecho),
+                        "trecho " + trecho + ": " + texto);
+            }
+        }
+    }
+
+    @Test
+    public void contagemEMaximoDeLinhas() throws IOException {
+        final Random gerador = new Random(48);
+        final String[] pedacos = {"ab", "a", "b", " ", "ção", "\n", "\r\n",
+                "\r"};
+        final String[] termos = {"ab", "a", "ção", "bç", "", "\n", "a\r"};
+        for (int caso = 0; caso < 140; caso++) {
+            final StringBuilder texto = new StringBuilder();
+            for (int i = 1 + gerador.nextInt(80); i > 0; i--) {
+                texto.append(pedacos[gerador.nextInt(pedacos.length)]);
+            }
+            final String caminho = arquivo(texto.toString()
+                    .getBytes(StandardCharsets.UTF_8)).toString();
+            final String termo = termos[caso % termos.length];
+
+            final List<Ocorrencia> todas = new ArrayList<>();
+            final long total = EncontraPalavraUtils.percorreOcorrencias(
+                    caminho, Busca.literal(termo), todas::add);
+            for (final long trecho : new long[] {1, 2, 3, 7, 1 << 20}) {
+                assertEquals(total, EncontraPalavraUtils
+                        .conteOcorrenciasArquivo(caminho, termo, trecho),
+                        "trecho " + trecho + ": " + texto);
+            }
+
+            for (final int maximo : new int[] {0, 1, 2, 5}) {
+                final List<String> esperadas = new ArrayList<>();
+                long esperado = 0;
+                for (final Ocorrencia ocorrencia : todas.subList(0,
+                        Math.min(maximo, todas.size()))) {
+                    esperadas.add(ocorrencia.toString());
+                    esperado += ocorrencia.getQuantidade();
+                }
+
+                final List<String> sequenciais = new ArrayList<>();
+                assertEquals(esperado, EncontraPalavraUtils
+                        .percorreOcorrencias(caminho, Busca.literal(termo),
+                                maximo, o -> sequenciais.add(o.toString())));
+                assertEquals(esperadas, sequenciais);
+                for (final long trecho : new long[] {1, 3, 1 << 20}) {
+                    final List<String> paralelas = new ArrayList<>();
+                    assertEquals(esperado, EncontraPalavraUtils
+                            .percorreOcorrenciasParalelo(caminho, termo,
+                                    trecho, maximo,
+                                    o -> paralelas.add(o.toString())));
+                    assertEquals(esperadas, paralelas,
+                            "trecho " + trecho + ": " + texto);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void arquivoComFrase() throws IOException {
+        final Path arquivo = arquivo(("It is never too late\n\n"
+                + " never never").getBytes(StandardCharsets.UTF_8));
+        assertEquals(String.format("Encontradas: 3%n"
+                        + "L1 C6: It is never too late%n"
+                        + "L3 C1:  never never%n"),
+                EncontraPalavraUtils.encontraPalavraParalelo(
+                        arquivo.toString(), "never"));
+    }
+
+    @Test
+    public void linhaInvalida() throws IOException {
+        final Path arquivo = arquivo(new byte[] {'a', (byte) 0xFF, '\n'});
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.encontraPalavraParalelo(
+                        arquivo.toString(), "a"));
+        // Linhas sem ocorrência não são decodificadas.
+        assertEquals(String.format("Encontradas: 0%n"),
+                EncontraPalavraUtils.encontraPalavraParalelo(
+                        arquivo.toString(), "b"));
+        // Nem as com ocorrência, se o texto não é solicitado.
+        assertEquals(1, EncontraPalavraUtils.percorreOcorrenciasParalelo(
+                arquivo.toString(), "a", ocorrencia -> { }));
+    }
+
+    @Test
+    public void validacaoEstritaConfereComDecodificacao() throws IOException {
+        final Random gerador = new Random(49);
+        final byte[][] pedacos = {{'a'}, {'b'}, {'\n'}, {'\r'},
+                {(byte) 0xC3, (byte) 0xA7}, {(byte) 0xC3}, {(byte) 0xA7},
+                {(byte) 0xC0, (byte) 0x80}, {(byte) 0xE0, (byte) 0x9F},
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+                {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x80},
+                {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+                {(byte) 0xFF}};
+        for (int caso = 0; caso < 300; caso++) {
+            final ByteArrayOutputStream conteudo =
+                    new ByteArrayOutputStream();
+            for (int i = 1 + gerador.nextInt(20); i > 0; i--) {
+                final byte[] pedaco = gerador.nextInt(4) == 0
+                        ? pedacos[gerador.nextInt(pedacos.length)]
+                        : pedacos[gerador.nextInt(5)];
+                conteudo.write(pedaco, 0, pedaco.length);
+            }
+            final String caminho = arquivo(conteudo.toByteArray()).toString();
+
+            String esperado;
+            try {
+                esperado = EncontraPalavraUtils.encontraPalavra(caminho,
+                        Busca.literal("b"));
+            } catch (IllegalArgumentException exp) {
+                esperado = null;
+            }
+            for (final long trecho : new long[] {1, 2, 5, 1 << 20}) {
+                String obtido;
+                try {
+                    obtido = EncontraPalavraUtils.encontraPalavraBytes(
+                            caminho, "b", trecho);
+                } catch (IllegalArgumentException exp) {
+                    obtido = null;
+                }
+                assertEquals(esperado, obtido, "trecho " + trecho);
+            }
+        }
+    }
+
+    @Test
+    public void termoComSubstitutoIsolado() throws IOException {
+        final String caminho = arquivo("a?b\n".getBytes(
+                StandardCharsets.UTF_8)).toString();
+        final String termo = "\uD800";
+        final String esperado = EncontraPalavraUtils.encontraPalavra(caminho,
+                Busca.literal(termo));
+
+        assertEquals(String.format("Encontradas: 0%n"), esperado);
+        assertEquals(esperado, EncontraPalavraUtils.encontraPalavra(caminho,
+                termo));
+        assertEquals(esperado, EncontraPalavraUtils.encontraPalavraParalelo(
+                caminho, termo));
+        assertEquals(0, EncontraPalavraUtils.conteOcorrenciasArquivo(caminho,
+                termo));
+        assertEquals(0, EncontraPalavraUtils.conteOcorrenciasArquivo(caminho,
+                "a\uDC00", 1));
+
+        // O arquivo continua a ser validado.
+        final String invalido = arquivo(new byte[] {'a', (byte) 0xFF, '\n'})
+                .toString();
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.encontraPalavra(invalido, termo));
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.conteOcorrenciasArquivo(invalido,
+                        termo));
+    }
+
+    @Test
+    public void arquivoVazio() throws IOException {
+        final Path arquivo = arquivo(new byte[0]);
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.encontraPalavraParalelo(
+                        arquivo.toString(), "a"));
+    }
+}
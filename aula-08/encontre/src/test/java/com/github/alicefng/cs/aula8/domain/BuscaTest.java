@@ -0,0 +1,128 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BuscaTest {
+
+    private static int conteComIndexOf(final String termo,
+                                       final String texto) {
+        int ocorrencias = 0;
+        int i = texto.indexOf(termo);
+        while (i != -1) {
+            ocorrencias++;
+            i = texto.indexOf(termo, i + termo.length());
+        }
+        return ocorrencias;
+    }
+
+    @Test
+    public void literalConfereComIndexOf() {
+        final Random gerador = new Random(42);
+        // Caracteres com o mesmo byte menos significativo (a e š).
+        final String alfabeto = "abš ";
+        for (int caso = 0; caso < 2000; caso++) {
+            final StringBuilder texto = new StringBuilder();
+            for (int i = gerador.nextInt(60); i > 0; i--) {
+                texto.append(alfabeto.charAt(gerador.nextInt(4)));
+            }
+            final StringBuilder termo = new StringBuilder();
+            for (int i = 1 + gerador.nextInt(4); i > 0; i--) {
+                termo.append(alfabeto.charAt(gerador.nextInt(4)));
+            }
+
+            final Busca busca = Busca.literal(termo.toString());
+            final String t = texto.toString();
+            for (int inicio = 0; inicio <= t.length(); inicio++) {
+                assertEquals(t.indexOf(termo.toString(), inicio),
+                        busca.procura(t, inicio));
+            }
+            assertEquals(conteComIndexOf(termo.toString(), t),
+                    EncontraPalavraUtils.conteOcorrencias(busca, t));
+        }
+    }
+
+    @Test
+    public void literalSemMetacaracteres() {
+        final Busca busca = Busca.literal("a.b");
+        assertEquals(-1, busca.procura("axb", 0));
+        assertEquals(2, busca.procura("axa.b", 0));
+        assertEquals(2, busca.conteOcorrencias("a.ba.b", 0));
+    }
+
+    @Test
+    public void literalSemSobreposicao() {
+        final Busca busca = Busca.literal("aa");
+        assertEquals(2, busca.conteOcorrencias("aaaaa", 0));
+        assertEquals(1, busca.conteOcorrencias("aaaaa", 2));
+    }
+
+    @Test
+    public void termoVazio() {
+        final Busca busca = Busca.literal("");
+        assertEquals(0, busca.procura("abc", 0));
+        assertEquals(3, busca.procura("abc", 3));
+        assertEquals(-1, busca.procura("abc", 4));
+        assertEquals(4, busca.conteOcorrencias("abc", 0));
+    }
+
+    @Test
+    public void literalEquivalenteConfereComRepresentantes() {
+        final Random gerador = new Random(50);
+        // Š e Ś têm o mesmo byte menos significativo que a e Z.
+        final String alfabeto = "aAãÃçÇcCšŠZ ";
+        for (final Equivalencia equivalencia : Equivalencia.values()) {
+            for (int caso = 0; caso < 1000; caso++) {
+                final StringBuilder texto = new StringBuilder();
+                for (int i = gerador.nextInt(60); i > 0; i--) {
+                    texto.append(alfabeto.charAt(
+                            gerador.nextInt(alfabeto.length())));
+                }
+                final StringBuilder termo = new StringBuilder();
+                for (int i = 1 + gerador.nextInt(4); i > 0; i--) {
+                    termo.append(alfabeto.charAt(
+                            gerador.nextInt(alfabeto.length())));
+                }
+
+                final Busca busca = Busca.literal(termo.toString(),
+                        equivalencia);
+                final String t = equivalencia.representantes(texto);
+                final String u = equivalencia.representantes(termo);
+                for (int inicio = 0; inicio <= t.length(); inicio++) {
+                    assertEquals(t.indexOf(u, inicio),
+                            busca.procura(texto, inicio));
+                }
+                assertEquals(conteComIndexOf(u, t), EncontraPalavraUtils
+                        .conteOcorrencias(busca, texto.toString()));
+            }
+        }
+    }
+
+    @Test
+    public void literalEquivalente() {
+        final Busca busca = Busca.literal("ação",
+                Equivalencia.CAIXA_E_ACENTOS);
+        assertEquals(3, busca.procura("Da AÇÃO à Acao", 0));
+        assertEquals(3, busca.conteOcorrencias("Da AÇÃO à Acao e ação", 3));
+        assertEquals(-1, Busca.literal("ação", Equivalencia.CAIXA)
+                .procura("Da acao", 0));
+        assertEquals(-1, Busca.literal("ação", Equivalencia.ACENTOS)
+                .procura("Da ACAO", 0));
+    }
+
+    @Test
+    public void expressaoRegular() {
+        final Busca busca = Busca.expressaoRegular("n.v");
+        assertEquals(2, busca.procura("a nov nav", 0));
+        assertEquals(6, busca.procura("a nov nav", 3));
+        assertEquals(2, busca.conteOcorrencias("a nov nav", 2));
+        assertEquals(-1, busca.procura("abc", 4));
+        assertThrows(PatternSyntaxException.class,
+                () -> Busca.expressaoRegular("("));
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,6 +35,26 @@ public final class EncontraPalavraUtilsTest {
                 "nesse texto essa palavra não existe"));
     }
 
+    @Test
+    public void testConteOcorrenciasLiteral() {
+        assertEquals(1, EncontraPalavraUtils.conteOcorrencias("2.5",
+                "2x5 e 2.5"));
+        assertEquals(2, EncontraPalavraUtils.conteOcorrencias(
+                Busca.expressaoRegular("2.5"), "2x5 e 2.5"));
+    }
+
+    @Test
+    public void testEncontraPalavraExpressaoRegular() throws IOException {
+        String stringEsperada = String.format("Encontradas: 3%n"
+                + "L1 C6: It is never too late to be what you might have been. "
+                + "George Eliot%n"
+                + "L3 C1:  never never%n");
+
+        assertEquals(stringEsperada, EncontraPalavraUtils.encontraPalavra(
+                getFilename("arquivo-com-frase.txt"),
+                Busca.expressaoRegular("nev[aeiou]r")));
+    }
+
     @Test
     public void testEncontraPalavra() throws IOException {
         String stringEsperada = String.format("Encontradas: 3%n"
@@ -48,6 +70,81 @@ public final class EncontraPalavraUtilsTest {
                 getFilename("arquivo-com-frase.txt"), "oi"));
     }
 
+    @Test
+    public void testPercorreOcorrencias() throws IOException {
+        final List<Ocorrencia> ocorrencias = new ArrayList<>();
+        assertEquals(3, EncontraPalavraUtils.percorreOcorrencias(
+                getFilename("arquivo-com-frase.txt"), Busca.literal("never"),
+                ocorrencias::add));
+
+        assertEquals(2, ocorrencias.size());
+        assertEquals(1, ocorrencias.get(0).getLinha());
+        assertEquals(6, ocorrencias.get(0).getColuna());
+        assertEquals(1, ocorrencias.get(0).getQuantidade());
+        assertEquals(3, ocorrencias.get(1).getLinha());
+        assertEquals(2, ocorrencias.get(1).getQuantidade());
+        assertEquals(" never never", ocorrencias.get(1).getTexto());
+    }
+
+    @Test
+    public void testContagemEMaximo() {
+        final String arquivo = getFilename("arquivo-com-frase.txt");
+        assertEquals(3, EncontraPalavraUtils.conteOcorrenciasArquivo(arquivo,
+                "never"));
+        assertEquals(String.format("Encontradas: 1%n"
+                        + "L1 C6: It is never too late to be what you might "
+                        + "have been. George Eliot%n"),
+                EncontraPalavraUtils.encontraPalavra(arquivo, "never", 1));
+        assertEquals(String.format("Encontradas: 0%n"),
+                EncontraPalavraUtils.encontraPalavra(arquivo, "never", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.encontraPalavra(arquivo, "never",
+                        -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> EncontraPalavraUtils.conteOcorrenciasArquivo(
+                        getFilename("arquivo-vazio.txt"), "never"));
+    }
+
+    @Test
+    public void testEncontraPalavraEquivalente() throws IOException {
+        final String arquivo = getFilename("arquivo-com-frase.txt");
+        assertEquals(String.format("Encontradas: 1%n"
+                        + "L1 C53: It is never too late to be what you "
+                        + "might have been. George Eliot%n"),
+                EncontraPalavraUtils.encontraPalavra(arquivo, "GEÓRGE",
+                        Equivalencia.CAIXA_E_ACENTOS));
+        assertEquals(String.format("Encontradas: 0%n"),
+                EncontraPalavraUtils.encontraPalavra(arquivo, "GEÓRGE",
+                        Equivalencia.CAIXA));
+    }
+
+    @Test
+    public void testPercorreOcorrenciasParalelo() {
+        final List<String> linhas = new ArrayList<>();
+        assertEquals(3, EncontraPalavraUtils.percorreOcorrenciasParalelo(
+                getFilename("arquivo-com-frase.txt"), "never",
+                ocorrencia -> linhas.add(ocorrencia.toString())));
+
+        assertEquals(2, linhas.size());
+        assertEquals("L3 C1:  never never", linhas.get(1));
+    }
+
+    @Test
+    public void testEncontraPalavras() throws IOException {
+        final String arquivo = getFilename("arquivo-com-frase.txt");
+        final String[] palavras = {"never", "e", "oi", "George"};
+
+        final StringBuilder esperado = new StringBuilder();
+        for (final String palavra : palavras) {
+            esperado.append(String.format("Palavra: %s%n", palavra))
+                    .append(EncontraPalavraUtils.encontraPalavra(arquivo,
+                            palavra));
+        }
+
+        assertEquals(esperado.toString(),
+                EncontraPalavraUtils.encontraPalavras(arquivo, palavras));
+    }
+
     @Test
     public void testArquivoInexistente() {
         assertThrows(NullPointerException.class,
@@ -0,0 +1,50 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EquivalenciaTest {
+
+    @Test
+    public void caixa() {
+        final Equivalencia caixa = Equivalencia.CAIXA;
+        assertEquals(caixa.representantes("Ação"),
+                caixa.representantes("AÇÃO"));
+        assertEquals("ação 1!", caixa.representantes("AÇÃO 1!"));
+        assertEquals('s', caixa.representante('ſ'));
+        assertEquals('k', caixa.representante('K'));
+    }
+
+    @Test
+    public void acentos() {
+        final Equivalencia acentos = Equivalencia.ACENTOS;
+        assertEquals("Acao AEIOU aeiou nc", acentos.representantes(
+                "Ação ÁÊÍÕÜ àéîóú ñç"));
+        // Letras sem decomposição e sílabas Hangul não se alteram.
+        assertEquals("ø ł 가", acentos.representantes("ø ł 가"));
+    }
+
+    @Test
+    public void caixaEAcentos() {
+        final Equivalencia ambas = Equivalencia.CAIXA_E_ACENTOS;
+        assertEquals("acao", ambas.representantes("Ação"));
+        assertEquals("acao", ambas.representantes("AÇÃO"));
+        assertEquals("acao", ambas.representantes("acao"));
+    }
+
+    @Test
+    public void mesmoTamanho() {
+        final String texto = "😀 Ǆ ß ﬁ e\u0301";
+        for (final Equivalencia equivalencia : Equivalencia.values()) {
+            final String representantes =
+                    equivalencia.representantes(texto);
+            assertEquals(texto.length(), representantes.length());
+            // Pares substitutos e marcas combinantes não se alteram.
+            assertEquals(texto.substring(0, 2),
+                    representantes.substring(0, 2));
+            assertEquals('\u0301', representantes.charAt(
+                    texto.length() - 1));
+        }
+    }
+}
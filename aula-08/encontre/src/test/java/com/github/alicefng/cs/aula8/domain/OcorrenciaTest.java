@@ -0,0 +1,47 @@
+package com.github.alicefng.cs.aula8.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OcorrenciaTest {
+
+    @Test
+    public void decodificaQuandoSolicitado() {
+        final ByteBuffer bytes = ByteBuffer.wrap(
+                "xx ação yy".getBytes(StandardCharsets.UTF_8));
+        bytes.position(3).limit(9);
+        final Ocorrencia ocorrencia = new Ocorrencia(7, 1, 2, bytes);
+
+        assertEquals(7, ocorrencia.getLinha());
+        assertEquals(1, ocorrencia.getColuna());
+        assertEquals(2, ocorrencia.getQuantidade());
+        assertEquals("ação", ocorrencia.getTexto());
+        assertEquals("L7 C1: ação", ocorrencia.toString());
+    }
+
+    @Test
+    public void colunaConvertidaDosBytes() {
+        final ByteBuffer bytes = ByteBuffer.wrap(
+                "ação 😀 fim".getBytes(StandardCharsets.UTF_8));
+        // "ação " ocupa 7 bytes e "😀 ", 5, mas 5 e 3 posições.
+        assertEquals(5, new Ocorrencia(1, 7, 1, bytes).getColuna());
+        assertEquals(8, new Ocorrencia(1, 12, 1, bytes).getColuna());
+
+        final Ocorrencia decodificada = new Ocorrencia(1, 12, 1, bytes);
+        assertEquals("L1 C8: ação 😀 fim", decodificada.toString());
+        assertEquals(8, decodificada.getColuna());
+    }
+
+    @Test
+    public void linhaInvalida() {
+        final Ocorrencia ocorrencia = new Ocorrencia(1, 0, 1,
+                ByteBuffer.wrap(new byte[] {'a', (byte) 0xC3}));
+        assertThrows(UncheckedIOException.class, ocorrencia::getTexto);
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.alicefng.cs.aula8.domain.indice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndiceInvertidoTest {
+
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{Nd}]+");
+
+    private static final String[] VOCABULARIO = {"erro", "aviso", "ação",
+            "x1", "Erro", "falha", "2019"};
+
+    private static final String[] SEPARADORES = {" ", ", ", ".", "\t",
+            " 😀 ", "-"};
+
+    private Path raiz;
+
+    private Path indice;
+
+    @BeforeEach
+    public void criaDiretorio() throws IOException {
+        raiz = Files.createTempDirectory("corpus");
+        indice = raiz.resolve("indice");
+    }
+
+    @AfterEach
+    public void removeDiretorio() throws IOException {
+        try (Stream<Path> caminhos = Files.walk(raiz)) {
+            for (final Path caminho : caminhos
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList())) {
+                Files.delete(caminho);
+            }
+        }
+    }
+
+    private Path escreve(final String nome, final String conteudo)
+            throws IOException {
+        final Path arquivo = raiz.resolve(nome);
+        Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+        return arquivo.toAbsolutePath().normalize();
+    }
+
+    private static String aleatorio(final Random gerador) {
+        final StringBuilder sb = new StringBuilder();
+        for (int linha = gerador.nextInt(30); linha > 0; linha--) {
+            for (int palavra = gerador.nextInt(8); palavra > 0; palavra--) {
+                sb.append(VOCABULARIO[gerador.nextInt(VOCABULARIO.length)])
+                        .append(SEPARADORES[gerador.nextInt(
+                                SEPARADORES.length)]);
+            }
+            sb.append(gerador.nextBoolean() ? "\n" : "\r\n");
+        }
+        return sb.toString();
+    }
+
+    // Busca por força bruta: lê cada arquivo e compara as palavras.
+    private static List<Posicao> forcaBruta(final List<Path> arquivos,
+                                            final String... frase)
+            throws IOException {
+        final List<Posicao> posicoes = new ArrayList<>();
+        for (final Path arquivo : arquivos) {
+            long numero = 0;
+            for (final String linha : Files.readAllLines(arquivo)) {
+                numero++;
+                final List<String> palavras = new ArrayList<>();
+                final List<Integer> colunas = new ArrayList<>();
+                final Matcher m = PALAVRA.matcher(linha);
+                while (m.find()) {
+                    palavras.add(m.group());
+                    colunas.add(m.start());
+                }
+                for (int i = 0; i + frase.length <= palavras.size(); i++) {
+                    if (palavras.subList(i, i + frase.length)
+                            .equals(Arrays.asList(frase))) {
+                        posicoes.add(new Posicao(arquivo, numero,
+                                colunas.get(i)));
+                    }
+                }
+            }
+        }
+        Collections.sort(posicoes);
+        return posicoes;
+    }
+
+    private List<Path> corpus(final Random gerador, final int quantidade)
+            throws IOException {
+        final List<Path> arquivos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            arquivos.add(escreve("arquivo" + i + ".txt",
+                    aleatorio(gerador)));
+        }
+        return arquivos;
+    }
+
+    @Test
+    public void confereComForcaBruta() throws IOException {
+        final List<Path> arquivos = corpus(new Random(47), 12);
+        final IndiceInvertido indiceInvertido = IndiceInvertido.abre(indice);
+        assertEquals(12, indiceInvertido.atualiza(arquivos));
+
+        for (final String palavra : VOCABULARIO) {
+            assertEquals(forcaBruta(arquivos, palavra),
+                    indiceInvertido.procura(palavra), palavra);
+            assertEquals(forcaBruta(arquivos, palavra, "erro"),
+                    indiceInvertido.procura(palavra + " erro"), palavra);
+            assertEquals(forcaBruta(arquivos, "falha", palavra, "x1"),
+                    indiceInvertido.procura("falha, " + palavra + ".x1"));
+        }
+        assertEquals(Collections.emptyList(),
+                indiceInvertido.procura("inexistente"));
+        assertFalse(indiceInvertido.procura("erro").isEmpty());
+    }
+
+    @Test
+    public void persisteEAtualiza() throws IOException {
+        final Path a = escreve("a.txt", "um erro\n");
+        final Path b = escreve("b.txt", "outro erro aqui\n");
+        IndiceInvertido indiceInvertido = IndiceInvertido.abre(indice);
+        assertEquals(2, indiceInvertido.atualiza(Arrays.asList(a, b)));
+
+        indiceInvertido = IndiceInvertido.abre(indice);
+        assertEquals(Arrays.asList(a, b), indiceInvertido.getArquivos());
+        assertEquals(Arrays.asList(new Posicao(a, 1, 3),
+                new Posicao(b, 1, 6)), indiceInvertido.procura("erro"));
+        assertEquals(0, indiceInvertido.atualiza(Arrays.asList(a, b)));
+
+        escreve("a.txt", "sem\nnovo erro\n");
+        assertEquals(1, indiceInvertido.atualiza(Arrays.asList(a, b)));
+        assertEquals(Arrays.asList(new Posicao(a, 2, 5),
+                new Posicao(b, 1, 6)), indiceInvertido.procura("erro"));
+        assertEquals(Collections.emptyList(), indiceInvertido.procura("um"));
+
+        assertEquals(0, indiceInvertido.atualiza(
+                Collections.singletonList(a)));
+        assertEquals(Collections.singletonList(new Posicao(a, 2, 5)),
+                IndiceInvertido.abre(indice).procura("erro"));
+        assertEquals(1, IndiceInvertido.abre(indice).getSegmentos());
+    }
+
+    @Test
+    public void compactaSegmentos() throws IOException {
+        final Random gerador = new Random(8);
+        final List<Path> arquivos = corpus(gerador, 3);
+        final IndiceInvertido indiceInvertido = IndiceInvertido.abre(indice);
+        for (int i = 0; i < 3 * IndiceInvertido.MAXIMO_SEGMENTOS; i++) {
+            arquivos.add(escreve("novo" + i + ".txt", aleatorio(gerador)));
+            indiceInvertido.atualiza(arquivos);
+            assertTrue(indiceInvertido.getSegmentos()
+                    <= IndiceInvertido.MAXIMO_SEGMENTOS);
+        }
+
+        final long segmentos;
+        try (Stream<Path> nomes = Files.list(indice)) {
+            segmentos = nomes.filter(
+                    p -> p.toString().endsWith(".seg")).count();
+        }
+        assertEquals(indiceInvertido.getSegmentos(), segmentos);
+        assertEquals(forcaBruta(arquivos, "erro", "aviso"),
+                IndiceInvertido.abre(indice).procura("erro aviso"));
+    }
+
+    @Test
+    public void consultasEArquivosInvalidos() throws IOException {
+        final IndiceInvertido indiceInvertido = IndiceInvertido.abre(indice);
+        assertThrows(IllegalArgumentException.class,
+                () -> indiceInvertido.procura(" ,. "));
+        assertThrows(NoSuchFileException.class,
+                () -> indiceInvertido.atualiza(Collections.singletonList(
+                        raiz.resolve("inexistente.txt"))));
+        assertEquals(Collections.emptyList(), indiceInvertido.getArquivos());
+    }
+
+    @Test
+    public void atualizacaoComFalhaNaoAlteraIndice() throws IOException {
+        final Path x = escreve("x.txt", "alfa x\n");
+        final Path y = escreve("y.txt", "alfa y\n");
+        final Path inexistente = raiz.resolve("inexistente.txt");
+        final IndiceInvertido indiceInvertido = IndiceInvertido.abre(indice);
+        assertEquals(2, indiceInvertido.atualiza(Arrays.asList(x, y)));
+        final List<Posicao> antes = indiceInvertido.procura("alfa");
+
+        assertThrows(NoSuchFileException.class,
+                () -> indiceInvertido.atualiza(Arrays.asList(x,
+                        inexistente)));
+        assertEquals(Arrays.asList(x, y), indiceInvertido.getArquivos());
+        assertEquals(antes, indiceInvertido.procura("alfa"));
+        assertEquals(Arrays.asList(x, y),
+                IndiceInvertido.abre(indice).getArquivos());
+
+        // A nova tentativa remove y.txt, no índice e no catálogo.
+        assertEquals(0, indiceInvertido.atualiza(
+                Collections.singletonList(x)));
+        assertEquals(Collections.singletonList(x),
+                indiceInvertido.getArquivos());
+        assertEquals(1, indiceInvertido.procura("alfa").size());
+        assertEquals(Collections.singletonList(x),
+                IndiceInvertido.abre(indice).getArquivos());
+        assertEquals(1, IndiceInvertido.abre(indice).procura("alfa").size());
+    }
+}